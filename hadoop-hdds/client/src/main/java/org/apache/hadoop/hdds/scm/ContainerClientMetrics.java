@@ -27,8 +27,13 @@
 import org.apache.hadoop.metrics2.lib.Interns;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableQuantiles;
+import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.util.MetricUtil;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -46,11 +51,24 @@ public final class ContainerClientMetrics {
   private static final String SOURCE_NAME =
       ContainerClientMetrics.class.getSimpleName();
   private static int instanceCount = 0;
+  private static final int[] QUANTILE_INTERVALS = {60, 300, 900};
 
   @Metric
   private MutableCounterLong totalWriteChunkCalls;
   @Metric
   private MutableCounterLong totalWriteChunkBytes;
+  @Metric(about = "Latency of hsync calls in nanoseconds")
+  private MutableRate hsyncLatencyNs;
+  private final List<MutableQuantiles> hsyncLatencyNsQuantiles;
+  @Metric(about = "Bytes of direct buffers allocated by buffer arenas")
+  private MutableGaugeLong bufferArenaAllocatedBytes;
+  @Metric(about = "Bytes of buffer arena buffers held by output streams")
+  private MutableGaugeLong bufferArenaUsedBytes;
+  @Metric(about = "Time spent waiting for a buffer arena buffer in "
+      + "nanoseconds")
+  private MutableRate bufferArenaWaitNs;
+  @Metric(about = "Number of writes failed waiting for a buffer arena buffer")
+  private MutableCounterLong bufferArenaWaitTimeouts;
   private final Map<PipelineID, MutableCounterLong> writeChunkCallsByPipeline;
   private final Map<PipelineID, MutableCounterLong> writeChunkBytesByPipeline;
   private final Map<UUID, MutableCounterLong> writeChunksCallsByLeaders;
@@ -84,6 +102,9 @@ private ContainerClientMetrics() {
     writeChunkCallsByPipeline = new ConcurrentHashMap<>();
     writeChunkBytesByPipeline = new ConcurrentHashMap<>();
     writeChunksCallsByLeaders = new ConcurrentHashMap<>();
+    hsyncLatencyNsQuantiles = MetricUtil.createQuantiles(registry,
+        "hsyncLatency", "Latency percentiles of hsync calls in nanoseconds",
+        "ops", "latencyNs", QUANTILE_INTERVALS);
   }
 
   public void recordWriteChunk(Pipeline pipeline, long chunkSizeBytes) {
@@ -111,6 +132,49 @@ public void recordWriteChunk(Pipeline pipeline, long chunkSizeBytes) {
     totalWriteChunkBytes.incr(chunkSizeBytes);
   }
 
+  public void addHsyncLatency(long latencyNs) {
+    hsyncLatencyNs.add(latencyNs);
+    for (MutableQuantiles q : hsyncLatencyNsQuantiles) {
+      q.add(latencyNs);
+    }
+  }
+
+  public void incrBufferArenaAllocatedBytes(long delta) {
+    bufferArenaAllocatedBytes.incr(delta);
+  }
+
+  public void incrBufferArenaUsedBytes(long delta) {
+    bufferArenaUsedBytes.incr(delta);
+  }
+
+  public void addBufferArenaWait(long waitNs) {
+    bufferArenaWaitNs.add(waitNs);
+  }
+
+  public void incrBufferArenaWaitTimeouts() {
+    bufferArenaWaitTimeouts.incr();
+  }
+
+  @VisibleForTesting
+  public MutableRate getHsyncLatencyNs() {
+    return hsyncLatencyNs;
+  }
+
+  @VisibleForTesting
+  public MutableGaugeLong getBufferArenaAllocatedBytes() {
+    return bufferArenaAllocatedBytes;
+  }
+
+  @VisibleForTesting
+  public MutableGaugeLong getBufferArenaUsedBytes() {
+    return bufferArenaUsedBytes;
+  }
+
+  @VisibleForTesting
+  public MutableRate getBufferArenaWaitNs() {
+    return bufferArenaWaitNs;
+  }
+
   @VisibleForTesting
   public MutableCounterLong getTotalWriteChunkBytes() {
     return totalWriteChunkBytes;
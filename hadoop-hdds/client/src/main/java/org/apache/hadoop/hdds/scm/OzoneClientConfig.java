@@ -30,6 +30,8 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration values for Ozone Client.
  */
@@ -223,11 +225,78 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private String fsDefaultBucketLayout = "FILE_SYSTEM_OPTIMIZED";
 
+  @Config(key = "om.metadata.cache.enabled",
+      defaultValue = "false",
+      description = "If true, the client caches volume and bucket details "
+          + "returned by OM, so that repeated lookups of the same volume or "
+          + "bucket do not go to OM. Cached entries may show usage and "
+          + "properties up to ozone.client.om.metadata.cache.ttl old. "
+          + "Changes made through the same client invalidate the entry.",
+      tags = ConfigTag.CLIENT)
+  private boolean omMetadataCacheEnabled = false;
+
+  @Config(key = "om.metadata.cache.ttl",
+      defaultValue = "10s",
+      type = ConfigType.TIME,
+      timeUnit = TimeUnit.MILLISECONDS,
+      description = "Time after which a cached volume or bucket entry is "
+          + "fetched again from OM.",
+      tags = ConfigTag.CLIENT)
+  private long omMetadataCacheTtl = 10 * 1000;
+
+  @Config(key = "om.metadata.cache.max.entries",
+      defaultValue = "10000",
+      description = "Maximum number of volume and bucket entries each kept "
+          + "in the client side metadata cache.",
+      tags = ConfigTag.CLIENT)
+  private int omMetadataCacheMaxEntries = 10000;
+
+  @Config(key = "buffer.arena.max.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "If positive, the write buffers of all keys written "
+          + "through the same client are taken from a shared pool of direct "
+          + "buffers limited to this size, and returned to it when the key is "
+          + "closed. A key takes ozone.client.stream.buffer.max.size from the "
+          + "pool when it starts writing data, and waits if the pool does not "
+          + "have that much left. Must not be less than "
+          + "ozone.client.stream.buffer.max.size. If zero, each key "
+          + "allocates its own heap buffers.",
+      tags = ConfigTag.CLIENT)
+  private long bufferArenaMaxSize = 0;
+
+  @Config(key = "buffer.arena.wait.timeout",
+      defaultValue = "60s",
+      type = ConfigType.TIME,
+      timeUnit = TimeUnit.MILLISECONDS,
+      description = "Maximum time a write waits for a buffer from the pool "
+          + "limited by ozone.client.buffer.arena.max.size before failing.",
+      tags = ConfigTag.CLIENT)
+  private long bufferArenaWaitTimeout = 60 * 1000;
+
+  @Config(key = "enable.putblock.piggybacking",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      description = "If true, the PutBlock of a flush, hsync or close is "
+          + "sent together with the last WriteChunk in a single request, "
+          + "saving one Ratis transaction per sync. It is only used if all "
+          + "datanodes of the pipeline support it.",
+      tags = ConfigTag.CLIENT)
+  private boolean enablePutblockPiggybacking = false;
+
   @PostConstruct
   private void validate() {
     Preconditions.checkState(streamBufferSize > 0);
     Preconditions.checkState(streamBufferFlushSize > 0);
     Preconditions.checkState(streamBufferMaxSize > 0);
+    Preconditions.checkState(omMetadataCacheTtl >= 0);
+    Preconditions.checkState(omMetadataCacheMaxEntries >= 0);
+    Preconditions.checkState(bufferArenaMaxSize >= 0);
+    Preconditions.checkState(bufferArenaWaitTimeout >= 0);
+    Preconditions.checkState(bufferArenaMaxSize == 0
+            || bufferArenaMaxSize >= streamBufferMaxSize,
+        "buffer arena size (%s) must be at least the max. buffer size (%s)",
+        bufferArenaMaxSize, streamBufferMaxSize);
 
     Preconditions.checkArgument(bufferIncrement < streamBufferSize,
         "Buffer increment should be smaller than the size of the stream "
@@ -397,6 +466,51 @@ public String getFsDefaultBucketLayout() {
     return fsDefaultBucketLayout;
   }
 
+  public boolean isOmMetadataCacheEnabled() {
+    return omMetadataCacheEnabled;
+  }
+
+  public void setOmMetadataCacheEnabled(boolean omMetadataCacheEnabled) {
+    this.omMetadataCacheEnabled = omMetadataCacheEnabled;
+  }
+
+  public long getOmMetadataCacheTtl() {
+    return omMetadataCacheTtl;
+  }
+
+  public void setOmMetadataCacheTtl(long omMetadataCacheTtl) {
+    this.omMetadataCacheTtl = omMetadataCacheTtl;
+  }
+
+  public int getOmMetadataCacheMaxEntries() {
+    return omMetadataCacheMaxEntries;
+  }
+
+  public long getBufferArenaMaxSize() {
+    return bufferArenaMaxSize;
+  }
+
+  public void setBufferArenaMaxSize(long bufferArenaMaxSize) {
+    this.bufferArenaMaxSize = bufferArenaMaxSize;
+  }
+
+  public long getBufferArenaWaitTimeout() {
+    return bufferArenaWaitTimeout;
+  }
+
+  public void setBufferArenaWaitTimeout(long bufferArenaWaitTimeout) {
+    this.bufferArenaWaitTimeout = bufferArenaWaitTimeout;
+  }
+
+  public boolean getEnablePutblockPiggybacking() {
+    return enablePutblockPiggybacking;
+  }
+
+  public void setEnablePutblockPiggybacking(
+      boolean enablePutblockPiggybacking) {
+    this.enablePutblockPiggybacking = enablePutblockPiggybacking;
+  }
+
   public boolean isDatastreamPipelineMode() {
     return datastreamPipelineMode;
   }
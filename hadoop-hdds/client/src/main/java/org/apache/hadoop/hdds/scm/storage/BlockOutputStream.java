@@ -29,6 +29,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.hadoop.hdds.DatanodeVersion;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -128,6 +129,7 @@ public class BlockOutputStream extends OutputStream {
   private int replicationIndex;
   private Pipeline pipeline;
   private final ContainerClientMetrics clientMetrics;
+  private final boolean allowPutBlockPiggybacking;
 
   /**
    * Creates a new BlockOutputStream.
@@ -192,6 +194,30 @@ public BlockOutputStream(
     this.clientMetrics = clientMetrics;
     this.pipeline = pipeline;
     this.streamBufferArgs = streamBufferArgs;
+    this.allowPutBlockPiggybacking = config.getEnablePutblockPiggybacking()
+        && allDataNodesSupportPiggybacking(pipeline);
+  }
+
+  private static boolean allDataNodesSupportPiggybacking(Pipeline pipeline) {
+    for (DatanodeDetails dn : pipeline.getNodes()) {
+      if (dn.getCurrentVersion() < DatanodeVersion
+          .COMBINED_PUTBLOCK_WRITECHUNK_RPC.toProtoValue()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the PutBlock of a flush may be sent along with the last
+   * WriteChunk in a single request.
+   */
+  boolean allowPutBlockPiggybacking() {
+    return allowPutBlockPiggybacking;
+  }
+
+  ContainerClientMetrics getClientMetrics() {
+    return clientMetrics;
   }
 
   void refreshCurrentBuffer() {
@@ -316,7 +342,7 @@ private void doFlushOrWatchIfNeeded() throws IOException {
     }
   }
 
-  private void allocateNewBufferIfNeeded() {
+  private void allocateNewBufferIfNeeded() throws IOException {
     if (currentBufferRemaining == 0) {
       currentBuffer = bufferPool.allocateBuffer(config.getBufferIncrement());
       currentBufferRemaining = currentBuffer.remaining();
@@ -480,22 +506,8 @@ ContainerCommandResponseProto> executePutBlock(boolean close,
         }
         // if the ioException is not set, putBlock is successful
         if (getIoException() == null && !force) {
-          BlockID responseBlockID = BlockID.getFromProtobuf(
-              e.getPutBlock().getCommittedBlockLength().getBlockID());
-          Preconditions.checkState(blockID.get().getContainerBlockID()
-              .equals(responseBlockID.getContainerBlockID()));
-          // updates the bcsId of the block
-          blockID.set(responseBlockID);
-          if (LOG.isDebugEnabled()) {
-            LOG.debug(
-                "Adding index " + asyncReply.getLogIndex() + " flushLength "
-                    + flushPos + " numBuffers " + byteBufferList.size()
-                    + " blockID " + blockID + " bufferPool size" + bufferPool
-                    .getSize() + " currentBufferIndex " + bufferPool
-                    .getCurrentBufferIndex());
-          }
-          // for standalone protocol, logIndex will always be 0.
-          updateCommitInfo(asyncReply, byteBufferList);
+          handleSuccessfulPutBlock(e.getPutBlock().getCommittedBlockLength(),
+              asyncReply, flushPos, byteBufferList);
         }
         return e;
       }, responseExecutor).exceptionally(e -> {
@@ -517,6 +529,28 @@ ContainerCommandResponseProto> executePutBlock(boolean close,
     return flushFuture;
   }
 
+  private void handleSuccessfulPutBlock(
+      ContainerProtos.GetCommittedBlockLengthResponseProto committedBlockLength,
+      XceiverClientReply asyncReply, long flushPos,
+      List<ChunkBuffer> byteBufferList) {
+    BlockID responseBlockID = BlockID.getFromProtobuf(
+        committedBlockLength.getBlockID());
+    Preconditions.checkState(blockID.get().getContainerBlockID()
+        .equals(responseBlockID.getContainerBlockID()));
+    // updates the bcsId of the block
+    blockID.set(responseBlockID);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+          "Adding index " + asyncReply.getLogIndex() + " flushLength "
+              + flushPos + " numBuffers " + byteBufferList.size()
+              + " blockID " + blockID + " bufferPool size" + bufferPool
+              .getSize() + " currentBufferIndex " + bufferPool
+              .getCurrentBufferIndex());
+    }
+    // for standalone protocol, logIndex will always be 0.
+    updateCommitInfo(asyncReply, byteBufferList);
+  }
+
   void putFlushFuture(long flushPos,
       CompletableFuture<ContainerCommandResponseProto> flushFuture) {
   }
@@ -534,6 +568,11 @@ public void flush() throws IOException {
 
   private void writeChunk(ChunkBuffer buffer)
       throws IOException {
+    addToBufferList(buffer);
+    writeChunkToContainer(buffer.duplicate(0, buffer.position()));
+  }
+
+  private void addToBufferList(ChunkBuffer buffer) {
     // This data in the buffer will be pushed to datanode and a reference will
     // be added to the bufferList. Once putBlock gets executed, this list will
     // be marked null. Hence, during first writeChunk call after every putBlock
@@ -543,7 +582,24 @@ private void writeChunk(ChunkBuffer buffer)
       bufferList = new ArrayList<>();
     }
     bufferList.add(buffer);
-    writeChunkToContainer(buffer.duplicate(0, buffer.position()));
+  }
+
+  /**
+   * Writes the last chunk of a flush together with the PutBlock in a single
+   * request, saving one round trip and one Ratis transaction per flush.
+   */
+  private void writeChunkAndPutBlock(ChunkBuffer buffer, boolean close)
+      throws IOException {
+    addToBufferList(buffer);
+    final List<ChunkBuffer> byteBufferList = bufferList;
+    bufferList = null;
+    // the flush length must include this chunk before the block is put
+    updateFlushLength();
+    final long flushPos = totalDataFlushedLength;
+    final CompletableFuture<ContainerCommandResponseProto> flushFuture =
+        writeChunkToContainer(buffer.duplicate(0, buffer.position()),
+            true, close, flushPos, byteBufferList);
+    putFlushFuture(flushPos, flushFuture);
   }
 
   /**
@@ -575,14 +631,18 @@ private void handleFlushInternal(boolean close)
     if (totalDataFlushedLength < writtenDataLength) {
       refreshCurrentBuffer();
       Preconditions.checkArgument(currentBuffer.position() > 0);
-      if (currentBuffer.hasRemaining()) {
-        writeChunk(currentBuffer);
-      }
       // This can be a partially filled chunk. Since we are flushing the buffer
       // here, we just limit this buffer to the current position. So that next
       // write will happen in new buffer
-      updateFlushLength();
-      executePutBlock(close, false);
+      if (currentBuffer.hasRemaining() && allowPutBlockPiggybacking()) {
+        writeChunkAndPutBlock(currentBuffer, close);
+      } else {
+        if (currentBuffer.hasRemaining()) {
+          writeChunk(currentBuffer);
+        }
+        updateFlushLength();
+        executePutBlock(close, false);
+      }
     } else if (close) {
       // forcing an "empty" putBlock if stream is being closed without new
       // data since latest flush - we need to send the "EOF" flag
@@ -696,6 +756,18 @@ public boolean isClosed() {
    */
   CompletableFuture<ContainerCommandResponseProto> writeChunkToContainer(
       ChunkBuffer chunk) throws IOException {
+    return writeChunkToContainer(chunk, false, false, 0, null);
+  }
+
+  /**
+   * Writes buffered data as a new chunk to the container. If putBlock is
+   * set, the block data including the new chunk is sent in the same request
+   * and the response is handled as the response of a PutBlock.
+   */
+  private CompletableFuture<ContainerCommandResponseProto>
+      writeChunkToContainer(ChunkBuffer chunk, boolean putBlock,
+      boolean close, long flushPos, List<ChunkBuffer> byteBufferList)
+      throws IOException {
     int effectiveChunkSize = chunk.remaining();
     final long offset = chunkOffset.getAndAdd(effectiveChunkSize);
     final ByteString data = chunk.toByteString(
@@ -726,8 +798,14 @@ CompletableFuture<ContainerCommandResponseProto> writeChunkToContainer(
     }
 
     try {
+      BlockData blockData = null;
+      if (putBlock) {
+        containerBlockData.addChunks(chunkInfo);
+        blockData = containerBlockData.build();
+      }
       XceiverClientReply asyncReply = writeChunkAsync(xceiverClient, chunkInfo,
-          blockID.get(), data, tokenString, replicationIndex);
+          blockID.get(), data, tokenString, replicationIndex, blockData,
+          close);
       CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
           respFuture = asyncReply.getResponse();
       CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
@@ -735,8 +813,16 @@ CompletableFuture<ContainerCommandResponseProto> writeChunkToContainer(
             try {
               validateResponse(e);
             } catch (IOException sce) {
+              if (putBlock) {
+                throw new CompletionException(sce);
+              }
               respFuture.completeExceptionally(sce);
             }
+            if (putBlock && getIoException() == null) {
+              handleSuccessfulPutBlock(
+                  e.getWriteChunk().getCommittedBlockLength(), asyncReply,
+                  flushPos, byteBufferList);
+            }
             return e;
           }, responseExecutor).exceptionally(e -> {
             String msg = "Failed to write chunk " + chunkInfo.getChunkName() +
@@ -746,7 +832,9 @@ CompletableFuture<ContainerCommandResponseProto> writeChunkToContainer(
             setIoException(ce);
             throw ce;
           });
-      containerBlockData.addChunks(chunkInfo);
+      if (!putBlock) {
+        containerBlockData.addChunks(chunkInfo);
+      }
       clientMetrics.recordWriteChunk(pipeline, chunkInfo.getLen());
       return validateFuture;
     } catch (IOException | ExecutionException e) {
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+
+import org.apache.ratis.util.Preconditions;
+
+/**
+ * Direct buffers shared by the {@link BufferPool}s of all output streams
+ * of a client.
+ * <p>
+ * Free buffers are kept by size, so streams with different buffer sizes can
+ * share the arena.  The total size of the buffers allocated by the arena is
+ * limited.  If there is no free buffer of the requested size and the limit
+ * is reached, free buffers of other sizes are dropped to make room,
+ * otherwise the caller waits until another stream returns its buffers.
+ * Streams take all the buffers they may need at once, see
+ * {@link #acquire(int, int)}, so waiting streams hold no buffers and the
+ * streams holding buffers can always complete.
+ */
+public class BufferArena {
+
+  private final long maxSize;
+  private final long waitTimeoutMs;
+  private final ContainerClientMetrics metrics;
+  private final Map<Integer, Deque<ChunkBuffer>> freeBuffers =
+      new HashMap<>();
+  private long allocatedBytes;
+  private long usedBytes;
+
+  public BufferArena(long maxSize, long waitTimeoutMs,
+      ContainerClientMetrics metrics) {
+    Preconditions.assertTrue(maxSize > 0, () -> "maxSize = " + maxSize);
+    this.maxSize = maxSize;
+    this.waitTimeoutMs = waitTimeoutMs;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Takes a cleared buffer of the given size from the arena, waiting for
+   * other streams to release their buffers if the arena is full.
+   *
+   * @throws IOException if no buffer becomes available within the wait
+   * timeout or the thread is interrupted while waiting
+   */
+  public ChunkBuffer acquire(int size) throws IOException {
+    return acquire(size, 1).get(0);
+  }
+
+  /**
+   * Takes {@code count} cleared buffers of the given size from the arena at
+   * once, waiting for other streams to release their buffers if the arena
+   * is full.  No buffer is taken until all of them are available, so a
+   * stream never holds part of its buffers while waiting for the rest.
+   *
+   * @throws IOException if the buffers do not become available within the
+   * wait timeout, they would exceed the size of the arena, or the thread is
+   * interrupted while waiting
+   */
+  public synchronized List<ChunkBuffer> acquire(int size, int count)
+      throws IOException {
+    Preconditions.assertTrue(size > 0 && count > 0, () ->
+        "buffer size " + size + " and count " + count + " must be positive");
+    final long bytes = (long) size * count;
+    if (bytes > maxSize) {
+      throw new IOException(count + " buffers of " + size + " bytes exceed "
+          + "the buffer arena size of " + maxSize + " bytes");
+    }
+    final long start = System.nanoTime();
+    final long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+    boolean waited = false;
+    while (true) {
+      final Deque<ChunkBuffer> free =
+          freeBuffers.computeIfAbsent(size, k -> new ArrayDeque<>());
+      final int newCount = Math.max(0, count - free.size());
+      if (hasRoomFor(size, (long) size * newCount)) {
+        final List<ChunkBuffer> buffers = new ArrayList<>(count);
+        while (buffers.size() < count - newCount) {
+          buffers.add(free.pop());
+        }
+        for (int i = 0; i < newCount; i++) {
+          buffers.add(ChunkBuffer.wrap(ByteBuffer.allocateDirect(size)));
+        }
+        allocatedBytes += (long) size * newCount;
+        metrics.incrBufferArenaAllocatedBytes((long) size * newCount);
+        usedBytes += bytes;
+        metrics.incrBufferArenaUsedBytes(bytes);
+        if (waited) {
+          metrics.addBufferArenaWait(System.nanoTime() - start);
+        }
+        return buffers;
+      }
+
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        metrics.incrBufferArenaWaitTimeouts();
+        throw new IOException("Timed out after " + waitTimeoutMs
+            + " ms waiting for " + count + " buffers of " + size + " bytes, "
+            + usedBytes + " of " + maxSize
+            + " bytes are held by output streams");
+      }
+      waited = true;
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for "
+            + count + " buffers of " + size + " bytes");
+      }
+    }
+  }
+
+  /**
+   * Returns a buffer taken by {@link #acquire(int)} to the arena.  The
+   * buffer must not be used by the caller afterwards.
+   */
+  public synchronized void release(ChunkBuffer buffer) {
+    buffer.clear();
+    final int size = buffer.limit();
+    freeBuffers.computeIfAbsent(size, k -> new ArrayDeque<>()).push(buffer);
+    usedBytes -= size;
+    metrics.incrBufferArenaUsedBytes(-size);
+    notifyAll();
+  }
+
+  /**
+   * @return whether new buffers of the given total size can be allocated,
+   * after dropping free buffers of sizes other than {@code size} if needed.
+   * The memory of dropped buffers is reclaimed by the garbage collector.
+   */
+  private boolean hasRoomFor(int size, long bytes) {
+    final Iterator<Map.Entry<Integer, Deque<ChunkBuffer>>> i =
+        freeBuffers.entrySet().iterator();
+    while (allocatedBytes + bytes > maxSize && i.hasNext()) {
+      final Map.Entry<Integer, Deque<ChunkBuffer>> entry = i.next();
+      if (entry.getKey() == size) {
+        continue;
+      }
+      final Deque<ChunkBuffer> free = entry.getValue();
+      while (allocatedBytes + bytes > maxSize && !free.isEmpty()) {
+        final int dropped = free.pop().limit();
+        allocatedBytes -= dropped;
+        metrics.incrBufferArenaAllocatedBytes(-dropped);
+      }
+    }
+    return allocatedBytes + bytes <= maxSize;
+  }
+
+  @VisibleForTesting
+  synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  @VisibleForTesting
+  synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+}
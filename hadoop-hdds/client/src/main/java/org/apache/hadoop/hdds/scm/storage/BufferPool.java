@@ -18,8 +18,11 @@
 
 package org.apache.hadoop.hdds.scm.storage;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.function.Function;
 
@@ -43,6 +46,9 @@ public class BufferPool {
   private final int bufferSize;
   private final int capacity;
   private final Function<ByteBuffer, ByteString> byteStringConversion;
+  private final BufferArena arena;
+  // buffers taken from the arena but not allocated yet
+  private final Deque<ChunkBuffer> reserved = new ArrayDeque<>();
 
   public static BufferPool empty() {
     return EMPTY;
@@ -55,11 +61,25 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, null);
+  }
+
+  /**
+   * @param arena if not null, buffers are taken from the arena and returned
+   *              to it by {@link #clearBufferPool()}.  All {@code capacity}
+   *              buffers are taken together when the first one is needed,
+   *              so that a stream never waits for the arena while holding
+   *              buffers other streams are waiting for.
+   */
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion,
+      BufferArena arena) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     bufferList = capacity == 0 ? emptyList() : new ArrayList<>(capacity);
     currentBufferIndex = -1;
     this.byteStringConversion = byteStringConversion;
+    this.arena = arena;
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -77,21 +97,31 @@ ChunkBuffer getCurrentBuffer() {
    * <p>
    * In case, the currentBufferIndex == buffer.size and buffer size is still
    * less than the capacity to be allocated, just allocate a buffer of size
-   * chunk size.
+   * chunk size, or take one reserved from the arena.  The first buffer
+   * reserves the whole capacity, waiting if the arena is exhausted.
    */
-  public ChunkBuffer allocateBuffer(int increment) {
+  public ChunkBuffer allocateBuffer(int increment) throws IOException {
     final int nextBufferIndex = currentBufferIndex + 1;
 
     Preconditions.assertTrue(nextBufferIndex < capacity, () ->
         "next index: " + nextBufferIndex + " >= capacity: " + capacity);
 
-    currentBufferIndex = nextBufferIndex;
-
-    if (currentBufferIndex < bufferList.size()) {
+    if (nextBufferIndex < bufferList.size()) {
+      currentBufferIndex = nextBufferIndex;
       return getBuffer(currentBufferIndex);
     } else {
-      final ChunkBuffer newBuffer = ChunkBuffer.allocate(bufferSize, increment);
+      final ChunkBuffer newBuffer;
+      if (arena != null) {
+        if (reserved.isEmpty()) {
+          reserved.addAll(
+              arena.acquire(bufferSize, capacity - bufferList.size()));
+        }
+        newBuffer = reserved.pop();
+      } else {
+        newBuffer = ChunkBuffer.allocate(bufferSize, increment);
+      }
       bufferList.add(newBuffer);
+      currentBufferIndex = nextBufferIndex;
       return newBuffer;
     }
   }
@@ -111,6 +141,11 @@ void releaseBuffer(ChunkBuffer chunkBuffer) {
   }
 
   public void clearBufferPool() {
+    if (arena != null) {
+      bufferList.forEach(arena::release);
+      reserved.forEach(arena::release);
+      reserved.clear();
+    }
     bufferList.clear();
     currentBufferIndex = -1;
   }
@@ -83,6 +83,12 @@ public ECBlockOutputStream(
     this.datanodeDetails = pipeline.getClosestNode();
   }
 
+  @Override
+  boolean allowPutBlockPiggybacking() {
+    // EC block groups are put with the stripe checksum in a separate call.
+    return false;
+  }
+
   @Override
   public void write(byte[] b, int off, int len) throws IOException {
     this.currentChunkRspFuture =
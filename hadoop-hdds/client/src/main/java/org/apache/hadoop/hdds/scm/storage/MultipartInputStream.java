@@ -20,11 +20,13 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSExceptionMessages;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -173,6 +175,84 @@ public synchronized void seek(long pos) throws IOException {
     prevPartIndex = partIndex;
   }
 
+  /**
+   * Reads up to {@code buf.remaining()} bytes starting at the given position
+   * of the key without changing the current position of this stream.
+   * <p>
+   * Only the part streams covering the requested range are locked, so
+   * positioned reads of ranges residing in different parts can proceed
+   * concurrently.
+   *
+   * @return the number of bytes read, or -1 if position is at or past EOF
+   */
+  public int read(long position, ByteBuffer buf) throws IOException {
+    checkOpen();
+    if (position < 0) {
+      throw new EOFException(
+          "EOF encountered at pos: " + position + " for key: " + key);
+    }
+    if (!buf.hasRemaining()) {
+      return 0;
+    }
+    if (position >= length) {
+      return EOF;
+    }
+
+    int index = Arrays.binarySearch(partOffsets, position);
+    if (index < 0) {
+      // same adjustment as in seek: index = insertionPoint - 1
+      index = -index - 2;
+    }
+
+    int totalReadLen = 0;
+    long pos = position;
+    while (buf.hasRemaining() && index < partStreams.size()) {
+      PartInputStream part = partStreams.get(index);
+      long offsetInPart = pos - partOffsets[index];
+      long remainingInPart = part.getLength() - offsetInPart;
+      if (remainingInPart <= 0) {
+        // empty part, or the position is already past its end
+        index++;
+        continue;
+      }
+      int toRead = (int) Math.min(buf.remaining(), remainingInPart);
+      int numBytesRead = readFromPart(part, offsetInPart, buf, toRead);
+      if (numBytesRead <= 0) {
+        break;
+      }
+      totalReadLen += numBytesRead;
+      pos += numBytesRead;
+      if (numBytesRead == remainingInPart) {
+        index++;
+      }
+    }
+    return totalReadLen == 0 ? EOF : totalReadLen;
+  }
+
+  private static int readFromPart(PartInputStream part, long offsetInPart,
+      ByteBuffer buf, int len) throws IOException {
+    ByteBuffer target = buf.duplicate();
+    target.limit(target.position() + len);
+    int totalReadLen = 0;
+    synchronized (part) {
+      long oldPos = part.getPos();
+      try {
+        part.seek(offsetInPart);
+        while (target.hasRemaining()) {
+          int numBytesRead = ((ByteBufferReadable) part).read(target);
+          if (numBytesRead <= 0) {
+            break;
+          }
+          totalReadLen += numBytesRead;
+        }
+      } finally {
+        part.seek(oldPos);
+      }
+    }
+    buf.position(buf.position() + totalReadLen);
+    return totalReadLen;
+  }
+
   @Override
   public synchronized long getPos() throws IOException {
     return length == 0 ? 0 :
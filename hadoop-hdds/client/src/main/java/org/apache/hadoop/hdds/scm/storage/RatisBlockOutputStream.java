@@ -30,6 +30,7 @@
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.security.token.Token;
 import org.apache.hadoop.security.token.TokenIdentifier;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -139,10 +140,12 @@ public void hflush() throws IOException {
   @Override
   public void hsync() throws IOException {
     if (!isClosed()) {
+      final long start = Time.monotonicNowNanos();
       if (getBufferPool() != null && getBufferPool().getSize() > 0) {
         handleFlush(false);
       }
       waitForFlushAndCommit(false);
+      getClientMetrics().addHsyncLatency(Time.monotonicNowNanos() - start);
     }
   }
 }
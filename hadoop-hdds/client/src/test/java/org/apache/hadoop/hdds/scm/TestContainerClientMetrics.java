@@ -82,6 +82,17 @@ public void testRecordChunkMetrics() {
         metrics.getWriteChunksCallsByLeaders().get(leaderId2).value());
   }
 
+  @Test
+  public void testRecordHsyncLatency() {
+    ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+
+    metrics.addHsyncLatency(100);
+    metrics.addHsyncLatency(300);
+
+    assertEquals(2, metrics.getHsyncLatencyNs().lastStat().numSamples());
+    assertEquals(200, metrics.getHsyncLatencyNs().lastStat().mean());
+  }
+
   @Test
   public void testReleaseWithoutUse() {
     assertThrows(IllegalStateException.class, ContainerClientMetrics::release);
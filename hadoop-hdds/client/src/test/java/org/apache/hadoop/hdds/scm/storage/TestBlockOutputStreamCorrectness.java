@@ -22,10 +22,12 @@
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.BlockData;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
@@ -33,6 +35,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutBlockResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.WriteChunkResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
 import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.hdds.scm.OzoneClientConfig;
@@ -90,16 +93,46 @@ public void test() throws IOException {
     }
   }
 
+  @Test
+  public void testPutBlockPiggybacking() throws IOException {
+    final BufferPool bufferPool = new BufferPool(4 * 1024 * 1024, 32 / 4);
+    final Pipeline pipeline = MockPipeline.createRatisPipeline();
+    final MockXceiverClientSpi client = new MockXceiverClientSpi(pipeline);
+    RatisBlockOutputStream outputStream = (RatisBlockOutputStream)
+        createBlockOutputStream(bufferPool, pipeline, client, true);
+
+    Random random = new Random(SEED);
+    for (int i = 0; i < 3; i++) {
+      for (int t = 0; t < 1024; t++) {
+        outputStream.write((byte) random.nextInt());
+      }
+      outputStream.hsync();
+    }
+    outputStream.close();
+
+    // each hsync sends a single WriteChunk carrying the PutBlock, close
+    // only sends the EOF PutBlock
+    assertEquals(3, client.getCommandCount(Type.WriteChunk));
+    assertEquals(3, client.getPiggybackedPutBlockCount());
+    assertEquals(1, client.getCommandCount(Type.PutBlock));
+  }
+
   private BlockOutputStream createBlockOutputStream(BufferPool bufferPool)
       throws IOException {
-
     final Pipeline pipeline = MockPipeline.createRatisPipeline();
+    return createBlockOutputStream(bufferPool, pipeline,
+        new MockXceiverClientSpi(pipeline), false);
+  }
+
+  private BlockOutputStream createBlockOutputStream(BufferPool bufferPool,
+      Pipeline pipeline, XceiverClientSpi client, boolean piggybacking)
+      throws IOException {
 
     final XceiverClientManager xcm = mock(XceiverClientManager.class);
-    when(xcm.acquireClient(any()))
-        .thenReturn(new MockXceiverClientSpi(pipeline));
+    when(xcm.acquireClient(any())).thenReturn(client);
 
     OzoneClientConfig config = new OzoneClientConfig();
+    config.setEnablePutblockPiggybacking(piggybacking);
     config.setStreamBufferSize(4 * 1024 * 1024);
     config.setStreamBufferMaxSize(32 * 1024 * 1024);
     config.setStreamBufferFlushDelay(true);
@@ -130,6 +163,11 @@ private static class MockXceiverClientSpi extends XceiverClientSpi {
 
     private final AtomicInteger counter = new AtomicInteger();
 
+    private final Map<Type, AtomicInteger> commandCounts =
+        new ConcurrentHashMap<>();
+
+    private final AtomicInteger piggybackedPutBlocks = new AtomicInteger();
+
     MockXceiverClientSpi(Pipeline pipeline) {
       super();
       this.pipeline = pipeline;
@@ -158,6 +196,8 @@ public XceiverClientReply sendCommandAsync(
           ContainerCommandResponseProto.newBuilder()
               .setResult(Result.SUCCESS)
               .setCmdType(request.getCmdType());
+      commandCounts.computeIfAbsent(request.getCmdType(),
+          k -> new AtomicInteger()).incrementAndGet();
 
       switch (request.getCmdType()) {
       case PutBlock:
@@ -178,6 +218,16 @@ public XceiverClientReply sendCommandAsync(
           byte expectedByte = (byte) expectedRandomStream.nextInt();
           assertEquals(expectedByte, b);
         }
+        if (request.getWriteChunk().hasBlock()) {
+          piggybackedPutBlocks.incrementAndGet();
+          BlockData blockData =
+              request.getWriteChunk().getBlock().getBlockData();
+          builder.setWriteChunk(WriteChunkResponseProto.newBuilder()
+              .setCommittedBlockLength(
+                  GetCommittedBlockLengthResponseProto.newBuilder()
+                      .setBlockID(blockData.getBlockID())
+                      .setBlockLength(blockData.getSize())));
+        }
         break;
       default:
         //no-op
@@ -189,6 +239,15 @@ public XceiverClientReply sendCommandAsync(
 
     }
 
+    int getCommandCount(Type type) {
+      AtomicInteger count = commandCounts.get(type);
+      return count == null ? 0 : count.get();
+    }
+
+    int getPiggybackedPutBlockCount() {
+      return piggybackedPutBlocks.get();
+    }
+
     @Override
     public ReplicationType getPipelineType() {
       return null;
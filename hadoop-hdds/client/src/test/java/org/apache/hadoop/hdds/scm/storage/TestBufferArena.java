@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link BufferArena}.
+ */
+class TestBufferArena {
+
+  private static final int SIZE = 1 << 10;
+
+  private ContainerClientMetrics metrics;
+
+  @BeforeEach
+  void setup() {
+    metrics = ContainerClientMetrics.acquire();
+  }
+
+  @AfterEach
+  void cleanup() {
+    ContainerClientMetrics.release();
+  }
+
+  @Test
+  void testReleasedBufferIsReused() throws IOException {
+    final BufferArena arena = new BufferArena(4 * SIZE, 0, metrics);
+    final ChunkBuffer buffer = arena.acquire(SIZE);
+    assertEquals(SIZE, buffer.limit());
+    assertEquals(0, buffer.position());
+    buffer.put(new byte[10]);
+
+    arena.release(buffer);
+    assertEquals(0, arena.getUsedBytes());
+
+    final ChunkBuffer reused = arena.acquire(SIZE);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(SIZE, arena.getAllocatedBytes());
+    assertEquals(SIZE, arena.getUsedBytes());
+  }
+
+  @Test
+  void testTimeoutWhenExhausted() throws IOException {
+    final BufferArena arena = new BufferArena(2 * SIZE, 10, metrics);
+    arena.acquire(SIZE);
+    arena.acquire(SIZE);
+
+    assertThrows(IOException.class, () -> arena.acquire(SIZE));
+    assertEquals(2 * SIZE, arena.getAllocatedBytes());
+  }
+
+  @Test
+  void testAcquireAllOrNothing() throws IOException {
+    final BufferArena arena = new BufferArena(4 * SIZE, 10, metrics);
+    assertThrows(IOException.class, () -> arena.acquire(SIZE, 5));
+
+    arena.acquire(SIZE, 2);
+    // only two of the three buffers are available, none is taken
+    assertThrows(IOException.class, () -> arena.acquire(SIZE, 3));
+    assertEquals(2 * SIZE, arena.getUsedBytes());
+    assertEquals(2, arena.acquire(SIZE, 2).size());
+    assertEquals(4 * SIZE, arena.getUsedBytes());
+  }
+
+  @Test
+  void testWaitForRelease() throws Exception {
+    final BufferArena arena = new BufferArena(SIZE, 60_000, metrics);
+    final ChunkBuffer buffer = arena.acquire(SIZE);
+
+    final CompletableFuture<ChunkBuffer> waiting =
+        CompletableFuture.supplyAsync(() -> {
+          try {
+            return arena.acquire(SIZE);
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+        });
+    Thread.sleep(100);
+    assertFalse(waiting.isDone());
+
+    arena.release(buffer);
+    assertSame(buffer, waiting.get(10, TimeUnit.SECONDS));
+    assertEquals(SIZE, metrics.getBufferArenaUsedBytes().value());
+    assertEquals(SIZE, metrics.getBufferArenaAllocatedBytes().value());
+  }
+
+  @Test
+  void testFreeBuffersOfOtherSizeAreDropped() throws IOException {
+    final BufferArena arena = new BufferArena(4 * SIZE, 0, metrics);
+    final ChunkBuffer small1 = arena.acquire(SIZE);
+    final ChunkBuffer small2 = arena.acquire(SIZE);
+    arena.acquire(SIZE);
+    arena.release(small1);
+    arena.release(small2);
+
+    // no room for a new buffer unless the free small buffers are dropped
+    final ChunkBuffer large = arena.acquire(2 * SIZE);
+    assertEquals(2 * SIZE, large.limit());
+    assertEquals(4 * SIZE, arena.getAllocatedBytes());
+    assertEquals(3 * SIZE, arena.getUsedBytes());
+  }
+}
@@ -18,13 +18,23 @@
 
 package org.apache.hadoop.hdds.scm.storage;
 
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -37,21 +47,112 @@
 class TestBufferPool {
 
   @Test
-  void testBufferPool() {
+  void testBufferPool() throws IOException {
     testBufferPool(BufferPool.empty());
     testBufferPool(1, 1);
     testBufferPool(3, 1 << 20);
     testBufferPool(10, 1 << 10);
   }
 
-  private static void testBufferPool(final int capacity, final int bufferSize) {
+  @Test
+  void testBufferPoolWithArena() throws IOException {
+    final ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    try {
+      final BufferArena arena = new BufferArena(8 << 10, 1000, metrics);
+      final BufferPool pool = new BufferPool(1 << 10, 5,
+          ByteStringConversion.createByteBufferConversion(false), arena);
+      testBufferPool(pool);
+      assertEquals(5 << 10, arena.getUsedBytes());
+
+      pool.clearBufferPool();
+      assertEquals(0, arena.getUsedBytes());
+      assertEquals(5 << 10, arena.getAllocatedBytes());
+      assertEmpty(pool);
+
+      // a new pool reuses the buffers returned to the arena
+      final BufferPool next = new BufferPool(1 << 10, 5,
+          ByteStringConversion.createByteBufferConversion(false), arena);
+      testBufferPool(next);
+      assertEquals(5 << 10, arena.getAllocatedBytes());
+      next.clearBufferPool();
+    } finally {
+      ContainerClientMetrics.release();
+    }
+  }
+
+  @Test
+  void testMoreStreamsThanArenaCanHold() throws Exception {
+    final int capacity = 4;
+    final int streams = 8;
+    final ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    final ExecutorService executor = Executors.newFixedThreadPool(streams);
+    try {
+      // room for the buffers of two streams at a time
+      final BufferArena arena =
+          new BufferArena(2 * capacity << 10, 60_000, metrics);
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < streams; i++) {
+        futures.add(executor.submit(() -> {
+          final BufferPool pool = new BufferPool(1 << 10, capacity,
+              ByteStringConversion.createByteBufferConversion(false), arena);
+          testBufferPool(pool);
+          pool.clearBufferPool();
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+      assertEquals(0, arena.getUsedBytes());
+    } finally {
+      executor.shutdownNow();
+      ContainerClientMetrics.release();
+    }
+  }
+
+  @Test
+  void testWaitingPoolHoldsNoBuffers() throws Exception {
+    final ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    try {
+      final BufferArena arena = new BufferArena(3 << 10, 60_000, metrics);
+      final BufferPool first = new BufferPool(1 << 10, 2,
+          ByteStringConversion.createByteBufferConversion(false), arena);
+      first.allocateBuffer(0);
+      assertEquals(2 << 10, arena.getUsedBytes());
+
+      final BufferPool second = new BufferPool(1 << 10, 2,
+          ByteStringConversion.createByteBufferConversion(false), arena);
+      final CompletableFuture<ChunkBuffer> waiting =
+          CompletableFuture.supplyAsync(() -> {
+            try {
+              return second.allocateBuffer(0);
+            } catch (IOException e) {
+              throw new IllegalStateException(e);
+            }
+          });
+      Thread.sleep(100);
+      assertFalse(waiting.isDone());
+      assertEquals(2 << 10, arena.getUsedBytes());
+
+      first.clearBufferPool();
+      waiting.get(10, TimeUnit.SECONDS);
+      assertEquals(2 << 10, arena.getUsedBytes());
+      second.clearBufferPool();
+    } finally {
+      ContainerClientMetrics.release();
+    }
+  }
+
+  private static void testBufferPool(final int capacity, final int bufferSize)
+      throws IOException {
     final BufferPool pool = new BufferPool(bufferSize, capacity);
     assertEquals(capacity, pool.getCapacity());
     assertEquals(bufferSize, pool.getBufferSize());
     testBufferPool(pool);
   }
 
-  private static void testBufferPool(final BufferPool pool) {
+  private static void testBufferPool(final BufferPool pool)
+      throws IOException {
     assertEmpty(pool);
     final Deque<ChunkBuffer> buffers = assertAllocate(pool);
     assertFull(pool);
@@ -65,7 +166,8 @@ private static void assertEmpty(BufferPool pool) {
     assertEquals(-1, pool.getCurrentBufferIndex());
   }
 
-  private static Deque<ChunkBuffer> assertAllocate(BufferPool pool) {
+  private static Deque<ChunkBuffer> assertAllocate(BufferPool pool)
+      throws IOException {
     final int capacity = pool.getCapacity();
     final int size = pool.getBufferSize();
     final Deque<ChunkBuffer> buffers = new LinkedList<>();
@@ -101,7 +203,7 @@ private static void assertFull(BufferPool pool) {
 
   // buffers are released and reallocated FIFO
   private static void assertReallocate(BufferPool pool,
-      Deque<ChunkBuffer> buffers) {
+      Deque<ChunkBuffer> buffers) throws IOException {
     final int capacity = pool.getCapacity();
     for (int i = 0; i < 3 * capacity; i++) {
       if (capacity > 1) {
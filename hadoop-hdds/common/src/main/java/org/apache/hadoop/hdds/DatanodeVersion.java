@@ -32,6 +32,9 @@ public enum DatanodeVersion implements ComponentVersion {
 
   SEPARATE_RATIS_PORTS_AVAILABLE(1, "Version with separated Ratis port."),
 
+  COMBINED_PUTBLOCK_WRITECHUNK_RPC(2, "WriteChunk can optionally carry a "
+      + "PutBlock request."),
+
   FUTURE_VERSION(-1, "Used internally in the client when the server side is "
       + " newer and an unknown server version has arrived to the client.");
 
@@ -173,6 +173,9 @@ public final class HddsConfigKeys {
   public static final String HDDS_CONTAINER_TOKEN_ENABLED =
       "hdds.container.token.enabled";
   public static final boolean HDDS_CONTAINER_TOKEN_ENABLED_DEFAULT = false;
+  public static final String HDDS_TOKEN_VERIFICATION_CACHE_SIZE =
+      "hdds.token.verification.cache.size";
+  public static final int HDDS_TOKEN_VERIFICATION_CACHE_SIZE_DEFAULT = 10000;
 
   public static final String HDDS_X509_DIR_NAME = "hdds.x509.dir.name";
   public static final String HDDS_X509_DIR_NAME_DEFAULT = "certs";
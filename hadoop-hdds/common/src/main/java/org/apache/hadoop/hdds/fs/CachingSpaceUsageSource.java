@@ -50,6 +50,8 @@ public class CachingSpaceUsageSource implements SpaceUsageSource {
   private final Duration refresh;
   private final SpaceUsageSource source;
   private final SpaceUsagePersistence persistence;
+  private final boolean incremental;
+  private volatile boolean initialized;
   private boolean running;
   private ScheduledFuture<?> scheduledFuture;
   private final AtomicBoolean isRefreshRunning;
@@ -65,6 +67,7 @@ public CachingSpaceUsageSource(SpaceUsageCheckParams params) {
     refresh = params.getRefresh();
     source = params.getSource();
     persistence = params.getPersistence();
+    incremental = params.isIncremental();
     this.executor = executor;
     isRefreshRunning = new AtomicBoolean();
 
@@ -131,13 +134,20 @@ public void refreshNow() {
   private void loadInitialValue() {
     final OptionalLong initialValue = persistence.load();
     initialValue.ifPresent(cachedValue::set);
+    // zero is never saved, same as in start()
+    initialized = cachedValue.get() > 0;
   }
 
   private void refresh() {
     //only one `refresh` can be running at a certain moment
     if (isRefreshRunning.compareAndSet(false, true)) {
       try {
-        cachedValue.set(source.getUsedSpace());
+        if (incremental && initialized) {
+          reconcile();
+        } else {
+          cachedValue.set(source.getUsedSpace());
+          initialized = true;
+        }
       } catch (RuntimeException e) {
         LOG.warn("Error refreshing space usage for {}", source, e);
       } finally {
@@ -146,6 +156,23 @@ private void refresh() {
     }
   }
 
+  /**
+   * Keeps the incrementally tracked usage within what the file system
+   * reports as used, which is cheap to get, and saves it so that the next
+   * start does not need to compute it again.
+   */
+  private void reconcile() {
+    long fsUsed = Math.max(source.getCapacity() - source.getAvailable(), 0);
+    long used = cachedValue.get();
+    if (used < 0 || used > fsUsed) {
+      long reconciled = Math.min(Math.max(used, 0), fsUsed);
+      LOG.debug("Reconciled space usage for {} from {} to {}",
+          source, used, reconciled);
+      cachedValue.compareAndSet(used, reconciled);
+    }
+    persistence.save(this);
+  }
+
   private static @Nullable ScheduledExecutorService createExecutor(
       SpaceUsageCheckParams params) {
 
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.fs;
+
+import java.io.File;
+import java.time.Duration;
+
+import org.apache.hadoop.hdds.conf.Config;
+import org.apache.hadoop.hdds.conf.ConfigGroup;
+import org.apache.hadoop.hdds.conf.ConfigTag;
+import org.apache.hadoop.hdds.conf.ConfigType;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+
+/**
+ * Tracks space usage of all volumes from the writes and deletes of the
+ * datanode instead of running DU periodically.  DU is only run if there is
+ * no saved value, eg. on the first start.  The value is saved in the same
+ * cache file as by {@link DUFactory}.
+ */
+public class IncrementalSpaceUsageFactory implements SpaceUsageCheckFactory {
+
+  private static final String DU_CACHE_FILE = "scmUsed";
+  private static final String EXCLUDE_PATTERN = "*.tmp.*";
+  private static final String CONFIG_PREFIX = "hdds.datanode.du.incremental";
+
+  private Conf conf;
+
+  @Override
+  public SpaceUsageCheckFactory setConfiguration(
+      ConfigurationSource configuration) {
+    conf = configuration.getObject(Conf.class);
+    return this;
+  }
+
+  @Override
+  public SpaceUsageCheckParams paramsFor(File dir) {
+    SpaceUsageSource source = new DU(dir, EXCLUDE_PATTERN);
+
+    SpaceUsagePersistence persistence = new SaveSpaceUsageToFile(
+        new File(dir, DU_CACHE_FILE), conf.getSavedUsageExpiry());
+
+    return new SpaceUsageCheckParams(dir, source, conf.getRefreshPeriod(),
+        persistence, true);
+  }
+
+  /**
+   * Configuration for {@link IncrementalSpaceUsageFactory}.
+   */
+  @ConfigGroup(prefix = CONFIG_PREFIX)
+  public static class Conf {
+
+    @Config(
+        key = "refresh.period",
+        defaultValue = "5m",
+        type = ConfigType.TIME,
+        tags = { ConfigTag.DATANODE },
+        description = "Period of checking the tracked disk space usage"
+            + " against the space used on the file system, and saving it."
+    )
+    private Duration refreshPeriod;
+
+    @Config(
+        key = "saved.usage.expiry",
+        defaultValue = "7d",
+        type = ConfigType.TIME,
+        tags = { ConfigTag.DATANODE },
+        description = "Saved disk space usage older than this is ignored"
+            + " on startup, and DU is run to compute it again."
+    )
+    private Duration savedUsageExpiry;
+
+    public void setRefreshPeriod(Duration duration) {
+      refreshPeriod = duration;
+    }
+
+    public Duration getRefreshPeriod() {
+      return refreshPeriod;
+    }
+
+    public void setSavedUsageExpiry(Duration duration) {
+      savedUsageExpiry = duration;
+    }
+
+    public Duration getSavedUsageExpiry() {
+      return savedUsageExpiry;
+    }
+  }
+}
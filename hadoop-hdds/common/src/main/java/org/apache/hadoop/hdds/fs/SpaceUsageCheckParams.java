@@ -40,6 +40,7 @@ public class SpaceUsageCheckParams {
   private final SpaceUsagePersistence persistence;
   private final String path;
   private final File dir;
+  private final boolean incremental;
 
   /**
    * @param refresh The period of refreshing space usage information from
@@ -50,6 +51,19 @@ public class SpaceUsageCheckParams {
    */
   public SpaceUsageCheckParams(File dir, SpaceUsageSource source,
       Duration refresh, SpaceUsagePersistence persistence) {
+    this(dir, source, refresh, persistence, false);
+  }
+
+  /**
+   * @param incremental If true, {@code source} is only used to initialize
+   *                    space usage if {@code persistence} has no saved value.
+   *                    Afterwards usage is tracked from the changes reported
+   *                    by the datanode, and each refresh only caps it by the
+   *                    space used on the file system, and saves it.
+   */
+  public SpaceUsageCheckParams(File dir, SpaceUsageSource source,
+      Duration refresh, SpaceUsagePersistence persistence,
+      boolean incremental) {
 
     checkArgument(dir != null, "dir == null");
     checkArgument(source != null, "source == null");
@@ -61,6 +75,7 @@ public SpaceUsageCheckParams(File dir, SpaceUsageSource source,
     this.source = source;
     this.refresh = refresh;
     this.persistence = persistence;
+    this.incremental = incremental;
 
     try {
       path = dir.getCanonicalPath();
@@ -89,4 +104,8 @@ public SpaceUsagePersistence getPersistence() {
     return persistence;
   }
 
+  public boolean isIncremental() {
+    return incremental;
+  }
+
 }
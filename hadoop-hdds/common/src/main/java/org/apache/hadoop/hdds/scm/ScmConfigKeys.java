@@ -612,6 +612,19 @@ public final class ScmConfigKeys {
   public static final long
           OZONE_SCM_HA_RATIS_REQUEST_TIMEOUT_DEFAULT = 30 * 1000L;
 
+  public static final String OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED =
+      "ozone.scm.ha.ratis.request.batching.enabled";
+  public static final boolean
+      OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED_DEFAULT = false;
+  public static final String OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE =
+      "ozone.scm.ha.ratis.request.batch.max.size";
+  public static final int
+      OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE_DEFAULT = 100;
+  public static final String OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_BYTES =
+      "ozone.scm.ha.ratis.request.batch.max.bytes";
+  public static final String
+      OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_BYTES_DEFAULT = "1MB";
+
   public static final String OZONE_SCM_HA_RATIS_SERVER_ELECTION_PRE_VOTE =
       "ozone.scm.ha.ratis.server.leaderelection.pre-vote";
   public static final boolean
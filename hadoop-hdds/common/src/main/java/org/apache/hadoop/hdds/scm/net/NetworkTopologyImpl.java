@@ -63,6 +63,11 @@ public class NetworkTopologyImpl implements NetworkTopology {
   private final Consumer<List<? extends Node>> shuffleOperation;
   /** Lock to coordinate cluster tree access. */
   private final ReadWriteLock netlock = new ReentrantReadWriteLock(true);
+  /**
+   * Distance view of the cluster tree, dropped on every change of the tree
+   * and rebuilt by the next distance query.
+   */
+  private volatile NetworkTopologySnapshot snapshot;
 
   public NetworkTopologyImpl(ConfigurationSource conf) {
     schemaManager = NodeSchemaManager.getInstance();
@@ -116,6 +121,7 @@ public void add(Node node) {
     boolean add;
     try {
       add = clusterTree.add(node);
+      snapshot = null;
     } finally {
       netlock.writeLock().unlock();
     }
@@ -170,6 +176,7 @@ public void update(Node oldNode, Node newNode) {
       }
 
       add = clusterTree.add(newNode);
+      snapshot = null;
     } finally {
       netlock.writeLock().unlock();
     }
@@ -196,6 +203,7 @@ public void remove(Node node) {
     netlock.writeLock().lock();
     try {
       clusterTree.remove(node);
+      snapshot = null;
     } finally {
       netlock.writeLock().unlock();
     }
@@ -723,6 +731,16 @@ public int getDistanceCost(Node node1, Node node2) {
       return Integer.MAX_VALUE;
     }
 
+    // leaves located in the tree are served from the snapshot
+    if (level1 == maxLevel && level2 == maxLevel) {
+      NetworkTopologySnapshot current = getSnapshot();
+      int location1 = current.getLocationIndex(node1.getParent());
+      int location2 = current.getLocationIndex(node2.getParent());
+      if (location1 >= 0 && location2 >= 0) {
+        return current.getDistanceCost(location1, location2);
+      }
+    }
+
     int cost = 0;
     netlock.readLock().lock();
     try {
@@ -753,6 +771,26 @@ public int getDistanceCost(Node node1, Node node2) {
     }
   }
 
+  private NetworkTopologySnapshot getSnapshot() {
+    NetworkTopologySnapshot current = snapshot;
+    if (current == null) {
+      netlock.readLock().lock();
+      try {
+        current = snapshot;
+        if (current == null) {
+          // publish while holding the read lock, so that a concurrent
+          // change can not be overwritten by a snapshot of the old tree
+          current = new NetworkTopologySnapshot(
+              clusterTree.getNodes(maxLevel - 1), maxLevel - 1);
+          snapshot = current;
+        }
+      } finally {
+        netlock.readLock().unlock();
+      }
+    }
+    return current;
+  }
+
   /**
    * Sort nodes array by network distance to <i>reader</i> to reduces network
    * traffic and improves performance.
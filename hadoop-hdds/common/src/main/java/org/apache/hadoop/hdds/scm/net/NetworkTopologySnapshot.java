@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.net;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the leaf locations (the parents of the leaves) of a
+ * {@link NetworkTopologyImpl}, used to answer distance queries between
+ * leaves without walking the tree or taking the topology lock.
+ * <p>
+ * Each location gets an index. For every location the ids of its ancestors
+ * and the cost of climbing up to each of them are kept in arrays, and when
+ * the number of locations is small enough the distances between all pairs
+ * of locations are precomputed into a table.
+ */
+final class NetworkTopologySnapshot {
+
+  /** Locations above which the pairwise distance table is not built. */
+  static final int MAX_DISTANCE_TABLE_LOCATIONS = 1024;
+
+  private final Map<Node, Integer> locationIndex;
+  /** ancestorIds[loc][level - 1]: id of the ancestor of loc at level. */
+  private final int[][] ancestorIds;
+  /**
+   * costs[loc][level - 1]: sum of the costs of the ancestors of loc, loc
+   * included, which are at or below level.
+   */
+  private final int[][] costs;
+  /** Distances between all pairs of locations, null if too many. */
+  private final int[] distances;
+
+  NetworkTopologySnapshot(List<Node> locations, int locationLevel) {
+    int size = locations.size();
+    locationIndex = new IdentityHashMap<>(size);
+    ancestorIds = new int[size][];
+    costs = new int[size][];
+
+    Map<Node, Integer> ids = new IdentityHashMap<>();
+    for (int i = 0; i < size; i++) {
+      Node location = locations.get(i);
+      locationIndex.put(location, i);
+      int[] locationAncestors = new int[locationLevel];
+      int[] locationCosts = new int[locationLevel];
+      int cost = 0;
+      Node ancestor = location;
+      for (int level = locationLevel; level >= NetConstants.ROOT_LEVEL;
+           level--) {
+        cost += ancestor.getCost();
+        locationCosts[level - 1] = cost;
+        Integer id = ids.get(ancestor);
+        if (id == null) {
+          id = ids.size();
+          ids.put(ancestor, id);
+        }
+        locationAncestors[level - 1] = id;
+        ancestor = ancestor.getParent();
+      }
+      ancestorIds[i] = locationAncestors;
+      costs[i] = locationCosts;
+    }
+
+    if (size <= MAX_DISTANCE_TABLE_LOCATIONS) {
+      distances = new int[size * size];
+      for (int i = 0; i < size; i++) {
+        for (int j = i; j < size; j++) {
+          int distance = computeDistanceCost(i, j);
+          distances[i * size + j] = distance;
+          distances[j * size + i] = distance;
+        }
+      }
+    } else {
+      distances = null;
+    }
+  }
+
+  /**
+   * @return the index of the given location, or -1 if it is not part of
+   * this snapshot
+   */
+  int getLocationIndex(Node location) {
+    Integer index = location == null ? null : locationIndex.get(location);
+    return index == null ? -1 : index;
+  }
+
+  int getNumOfLocations() {
+    return ancestorIds.length;
+  }
+
+  /**
+   * @return the distance cost between two different leaves at the given
+   * locations
+   */
+  int getDistanceCost(int location1, int location2) {
+    if (distances != null) {
+      return distances[location1 * ancestorIds.length + location2];
+    }
+    return computeDistanceCost(location1, location2);
+  }
+
+  private int computeDistanceCost(int location1, int location2) {
+    int[] ancestors1 = ancestorIds[location1];
+    int[] ancestors2 = ancestorIds[location2];
+    // the closest common ancestor, the root is common to all locations
+    int common = ancestors1.length - 1;
+    while (common > 0 && ancestors1[common] != ancestors2[common]) {
+      common--;
+    }
+    return costs[location1][common] + costs[location2][common];
+  }
+}
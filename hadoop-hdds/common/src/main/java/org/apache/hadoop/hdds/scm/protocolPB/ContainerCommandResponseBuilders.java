@@ -40,6 +40,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ListBlockResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.WriteChunkResponseProto;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 
@@ -144,6 +145,26 @@ public static ContainerCommandResponseProto putBlockResponseSuccess(
         .build();
   }
 
+  /**
+   * Returns writeChunk response success for a request that carried a
+   * PutBlock as well.
+   * @param msg - Request.
+   * @param blockData - block data stored by the PutBlock part.
+   * @return Response.
+   */
+  public static ContainerCommandResponseProto writeChunkResponseSuccess(
+      ContainerCommandRequestProto msg, BlockData blockData) {
+
+    WriteChunkResponseProto.Builder writeChunk =
+        WriteChunkResponseProto.newBuilder()
+            .setCommittedBlockLength(getCommittedBlockLengthResponseBuilder(
+                blockData.getSize(), blockData.getBlockID()));
+
+    return getSuccessResponseBuilder(msg)
+        .setWriteChunk(writeChunk)
+        .build();
+  }
+
   /**
    * Returns successful blockResponse.
    * @param msg - Request.
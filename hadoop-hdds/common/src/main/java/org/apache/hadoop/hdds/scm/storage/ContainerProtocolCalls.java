@@ -365,6 +365,29 @@ public static XceiverClientReply writeChunkAsync(
       XceiverClientSpi xceiverClient, ChunkInfo chunk, BlockID blockID,
       ByteString data, String tokenString, int replicationIndex)
       throws IOException, ExecutionException, InterruptedException {
+    return writeChunkAsync(xceiverClient, chunk, blockID, data, tokenString,
+        replicationIndex, null, false);
+  }
+
+  /**
+   * Calls the container protocol to write a chunk, optionally followed by a
+   * PutBlock of the same block in the same request.
+   *
+   * @param xceiverClient client to perform call
+   * @param chunk information about chunk to write
+   * @param blockID ID of the block
+   * @param data the data of the chunk to write
+   * @param tokenString serialized block token
+   * @param blockData block to put after the chunk is written (may be null)
+   * @param close whether this is the last putBlock for the same block
+   * @throws IOException if there is an I/O error while performing the call
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  public static XceiverClientReply writeChunkAsync(
+      XceiverClientSpi xceiverClient, ChunkInfo chunk, BlockID blockID,
+      ByteString data, String tokenString, int replicationIndex,
+      BlockData blockData, boolean close)
+      throws IOException, ExecutionException, InterruptedException {
     WriteChunkRequestProto.Builder writeChunkRequest =
         WriteChunkRequestProto.newBuilder()
             .setBlockID(DatanodeBlockID.newBuilder()
@@ -375,6 +398,11 @@ public static XceiverClientReply writeChunkAsync(
                 .build())
             .setChunkData(chunk)
             .setData(data);
+    if (blockData != null) {
+      writeChunkRequest.setBlock(PutBlockRequestProto.newBuilder()
+          .setBlockData(blockData)
+          .setEof(close));
+    }
     String id = xceiverClient.getPipeline().getFirstNode().getUuidString();
     ContainerCommandRequestProto.Builder builder =
         ContainerCommandRequestProto.newBuilder()
@@ -120,6 +120,7 @@ public class SecurityConfig {
   private final long blockTokenExpiryDurationMs;
   private final boolean tokenSanityChecksEnabled;
   private final boolean containerTokenEnabled;
+  private final int tokenVerificationCacheSize;
   private final String certificateDir;
   private final String certificateFileName;
   private final boolean grpcTlsEnabled;
@@ -189,6 +190,9 @@ public SecurityConfig(ConfigurationSource configuration) {
     this.containerTokenEnabled = configuration.getBoolean(
         HDDS_CONTAINER_TOKEN_ENABLED,
         HDDS_CONTAINER_TOKEN_ENABLED_DEFAULT);
+    this.tokenVerificationCacheSize = configuration.getInt(
+        HddsConfigKeys.HDDS_TOKEN_VERIFICATION_CACHE_SIZE,
+        HddsConfigKeys.HDDS_TOKEN_VERIFICATION_CACHE_SIZE_DEFAULT);
 
     this.grpcTlsEnabled = configuration.getBoolean(HDDS_GRPC_TLS_ENABLED,
         HDDS_GRPC_TLS_ENABLED_DEFAULT);
@@ -537,6 +541,14 @@ public boolean isContainerTokenEnabled() {
     return this.containerTokenEnabled;
   }
 
+  /**
+   * Maximum number of verified tokens remembered by datanodes, so that
+   * requests with the same token skip verifying its signature again.
+   */
+  public int getTokenVerificationCacheSize() {
+    return tokenVerificationCacheSize;
+  }
+
   /**
    * Returns true if TLS is enabled for gRPC services.
    *
@@ -41,7 +41,9 @@ public enum HDDSLayoutFeature implements LayoutFeature {
   WEBUI_PORTS_IN_DATANODEDETAILS(6, "Adding HTTP and HTTPS ports " +
       "to DatanodeDetails."),
   HADOOP_PRC_PORTS_IN_DATANODEDETAILS(7, "Adding Hadoop RPC ports " +
-                                     "to DatanodeDetails.");
+                                     "to DatanodeDetails."),
+  SCM_RATIS_REQUEST_BATCHING(8, "Replicating concurrent SCM HA requests " +
+      "as a single Ratis log entry.");
 
   //////////////////////////////  //////////////////////////////
 
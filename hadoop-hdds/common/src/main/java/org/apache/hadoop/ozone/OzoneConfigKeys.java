@@ -482,6 +482,10 @@ public final class OzoneConfigKeys {
       "ozone.fs.iterate.batch-size";
   public static final int OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT = 100;
 
+  public static final String OZONE_FS_ITERATE_BATCHES_IN_FLIGHT =
+      "ozone.fs.iterate.batches-in-flight";
+  public static final int OZONE_FS_ITERATE_BATCHES_IN_FLIGHT_DEFAULT = 4;
+
   // Ozone Client Retry and Failover configurations
   public static final String OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_KEY =
       "ozone.client.failover.max.attempts";
@@ -636,6 +640,18 @@ public final class OzoneConfigKeys {
   public static final String
       OZONE_FS_LISTING_PAGE_SIZE_MAX = "ozone.fs.listing.page.size.max";
 
+  // Whether fs listing iterators fetch the next page in the background
+  public static final String
+      OZONE_FS_LISTING_PREFETCH_ENABLED = "ozone.fs.listing.prefetch.enabled";
+
+  public static final boolean
+      OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT = false;
+
+  public static final String
+      OZONE_FS_LISTING_PREFETCH_THREADS = "ozone.fs.listing.prefetch.threads";
+
+  public static final int OZONE_FS_LISTING_PREFETCH_THREADS_DEFAULT = 4;
+
 
   public static final String FS_TRASH_CLASSNAME = "fs.trash.classname";
   public static final String FS_TRASH_CLASSNAME_DEFAULT =
@@ -169,6 +169,9 @@ public static Versioning getVersioning(boolean versioning) {
   public static final String CONTAINER_BYTES_USED = "#BYTESUSED";
   public static final String PENDING_DELETE_BLOCK_COUNT =
       "#PENDINGDELETEBLOCKCOUNT";
+  public static final String CONTAINER_DATA_CHECKSUM = "#DATACHECKSUM";
+  public static final String DATA_SCAN_CURSOR = "#DATASCANCURSOR";
+  public static final String DATA_SCAN_ROUND = "#DATASCANROUND";
 
   /**
    * OM LevelDB prefixes.
@@ -316,6 +319,7 @@ private OzoneConsts() {
   public static final String MAX_KEYS = "maxKeys";
   public static final String PREFIX = "prefix";
   public static final String KEY_PREFIX = "keyPrefix";
+  public static final String DELIMITER = "delimiter";
   public static final String ACL = "acl";
   public static final String ACLS = "acls";
   public static final String USER_ACL = "userAcl";
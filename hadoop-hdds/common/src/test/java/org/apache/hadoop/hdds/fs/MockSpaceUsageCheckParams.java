@@ -39,6 +39,7 @@ public static final class Builder {
     private Duration refresh = Duration.ZERO;
     private SpaceUsagePersistence persistence =
         SpaceUsagePersistence.None.INSTANCE;
+    private boolean incremental;
 
     private Builder(File dir) {
       this.dir = dir;
@@ -59,8 +60,14 @@ public Builder withPersistence(SpaceUsagePersistence newPersistence) {
       return this;
     }
 
+    public Builder withIncremental(boolean newIncremental) {
+      this.incremental = newIncremental;
+      return this;
+    }
+
     public SpaceUsageCheckParams build() {
-      return new SpaceUsageCheckParams(dir, source, refresh, persistence);
+      return new SpaceUsageCheckParams(dir, source, refresh, persistence,
+          incremental);
     }
   }
 
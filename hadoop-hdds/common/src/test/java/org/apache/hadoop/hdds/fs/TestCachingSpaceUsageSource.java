@@ -142,6 +142,74 @@ public void savesValueOnShutdown() {
     verify(executor).shutdown();
   }
 
+  @Test
+  public void incrementalTracksChangesFromSavedValue() {
+    long initialValue = validInitialValue();
+    AtomicLong savedValue = new AtomicLong(initialValue);
+    SpaceUsageCheckParams params = paramsBuilder(savedValue)
+        .withIncremental(true)
+        .build();
+    ScheduledExecutorService executor = sameThreadExecutorWithoutDelay();
+
+    CachingSpaceUsageSource subject =
+        new CachingSpaceUsageSource(params, executor);
+    subject.start();
+
+    verifyRefreshWasScheduled(executor, params.getRefresh().toMillis(),
+        params.getRefresh());
+    assertEquals(initialValue, subject.getUsedSpace(),
+        "saved value should not be replaced by the source");
+
+    subject.incrementUsedSpace(50);
+    subject.decrementUsedSpace(20);
+    assertEquals(initialValue + 30, subject.getUsedSpace());
+    subject.refreshNow();
+    assertEquals(initialValue + 30, savedValue.get(),
+        "value should have been saved to file");
+  }
+
+  @Test
+  public void incrementalUsesSourceIfInitialValueMissing() {
+    AtomicLong savedValue = new AtomicLong(missingInitialValue());
+    SpaceUsageCheckParams params = paramsBuilder(savedValue)
+        .withSource(MockSpaceUsageSource.fixed(10000, 1000, 500))
+        .withIncremental(true)
+        .build();
+    ScheduledExecutorService executor = sameThreadExecutorWithoutDelay();
+
+    CachingSpaceUsageSource subject =
+        new CachingSpaceUsageSource(params, executor);
+    subject.start();
+
+    verifyRefreshWasScheduled(executor, 0L, params.getRefresh());
+    assertSubjectWasRefreshed(params.getSource().getUsedSpace(), subject);
+
+    subject.incrementUsedSpace(10);
+    subject.refreshNow();
+    assertEquals(params.getSource().getUsedSpace() + 10,
+        subject.getUsedSpace(), "source should be used only once");
+  }
+
+  @Test
+  public void incrementalIsCappedByFileSystemUsage() {
+    SpaceUsageSource source = MockSpaceUsageSource.fixed(10000, 1000);
+    AtomicLong savedValue = new AtomicLong(9500);
+    SpaceUsageCheckParams params = paramsBuilder(savedValue)
+        .withSource(source)
+        .withIncremental(true)
+        .build();
+    ScheduledExecutorService executor = sameThreadExecutorWithoutDelay();
+
+    CachingSpaceUsageSource subject =
+        new CachingSpaceUsageSource(params, executor);
+    subject.start();
+    assertEquals(9000, subject.getUsedSpace());
+
+    subject.decrementUsedSpace(10000);
+    subject.refreshNow();
+    assertEquals(0, subject.getUsedSpace());
+  }
+
   private static long missingInitialValue() {
     return 0L;
   }
@@ -176,6 +244,12 @@ private static ScheduledExecutorService sameThreadExecutorWithoutDelay(
           task.run();
           return result;
         });
+    when(executor.schedule(any(Runnable.class), anyLong(), any()))
+        .thenAnswer((Answer<ScheduledFuture<?>>) invocation -> {
+          Runnable task = invocation.getArgument(0);
+          task.run();
+          return result;
+        });
     return executor;
   }
 
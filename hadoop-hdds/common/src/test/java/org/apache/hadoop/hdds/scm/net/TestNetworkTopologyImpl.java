@@ -811,6 +811,87 @@ void testCost() {
     assertEquals(18, newCluster.getDistanceCost(nodeList[0], nodeList[3]));
   }
 
+  /**
+   * Distances of a 5000 node cluster, with few large racks (served from the
+   * precomputed distance table) and with many small racks.
+   */
+  @ParameterizedTest
+  @MethodSource("largeClusterRackCounts")
+  void testDistanceCostOfLargeCluster(int racksPerDc, int nodesPerRack) {
+    NodeSchemaManager manager = NodeSchemaManager.getInstance();
+    manager.init(new NodeSchema[] {
+        new NodeSchema.Builder()
+            .setType(NodeSchema.LayerType.ROOT).setCost(5).build(),
+        new NodeSchema.Builder()
+            .setType(NodeSchema.LayerType.INNER_NODE).setCost(3).build(),
+        new NodeSchema.Builder()
+            .setType(NodeSchema.LayerType.INNER_NODE).setCost(1).build(),
+        new NodeSchema.Builder()
+            .setType(NodeSchema.LayerType.LEAF_NODE).build()}, true);
+    NetworkTopology newCluster =
+        new NetworkTopologyImpl(manager, mockedShuffleOperation);
+    int dcs = 4;
+    List<Node> nodes = new ArrayList<>();
+    for (int d = 0; d < dcs; d++) {
+      for (int r = 0; r < racksPerDc; r++) {
+        for (int n = 0; n < nodesPerRack; n++) {
+          Node node = createDatanode("10." + d + "." + r + "." + n,
+              "/d" + d + "/r" + r);
+          newCluster.add(node);
+          nodes.add(node);
+        }
+      }
+    }
+    assertEquals(5000, newCluster.getNumOfLeafNode(null));
+
+    for (int i = 0; i < 20000; i++) {
+      Node node1 = nodes.get(random.nextInt(nodes.size()));
+      Node node2 = nodes.get(random.nextInt(nodes.size()));
+      assertEquals(expectedDistanceCost(node1, node2),
+          newCluster.getDistanceCost(node1, node2));
+    }
+
+    Node reader = nodes.get(random.nextInt(nodes.size()));
+    List<Node> sorted = newCluster.sortByDistanceCost(reader,
+        nodes.subList(0, 100), 100);
+    for (int i = 1; i < sorted.size(); i++) {
+      assertThat(newCluster.getDistanceCost(reader, sorted.get(i - 1)))
+          .isLessThanOrEqualTo(
+              newCluster.getDistanceCost(reader, sorted.get(i)));
+    }
+
+    // distances follow changes of the topology
+    Node moved = nodes.get(0);
+    Node target = nodes.get(nodes.size() - 1);
+    assertEquals(18, newCluster.getDistanceCost(moved, target));
+    Node updated = createDatanode(moved.getNetworkName(),
+        target.getNetworkLocation());
+    newCluster.update(moved, updated);
+    assertEquals(Integer.MAX_VALUE, newCluster.getDistanceCost(moved, target));
+    assertEquals(2, newCluster.getDistanceCost(updated, target));
+    newCluster.remove(updated);
+    assertEquals(Integer.MAX_VALUE,
+        newCluster.getDistanceCost(updated, target));
+  }
+
+  private static Stream<Arguments> largeClusterRackCounts() {
+    return Stream.of(
+        arguments(50, 25),
+        arguments(625, 2));
+  }
+
+  private static int expectedDistanceCost(Node node1, Node node2) {
+    if (node1 == node2) {
+      return 0;
+    }
+    Node rack1 = node1.getParent();
+    Node rack2 = node2.getParent();
+    if (rack1 == rack2) {
+      return 2;
+    }
+    return rack1.getParent() == rack2.getParent() ? 8 : 18;
+  }
+
   @ParameterizedTest
   @MethodSource("topologies")
   void testSortByDistanceCost(NodeSchema[] schemas, Node[] nodeArray) {
@@ -25,6 +25,7 @@
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.ozone.container.common.impl.BlockDeletingService;
+import org.apache.hadoop.util.Time;
 
 /**
  * Metrics related to Block Deleting Service running on Datanode.
@@ -78,6 +79,17 @@ public final class BlockDeletingServiceMetrics {
       " to container lock wait timeout.")
   private MutableGaugeLong totalLockTimeoutTransactionCount;
 
+  @Metric(about = "The bytes of blocks deleted per second during the last"
+      + " interval of the block deleting service.")
+  private MutableGaugeLong reclaimedBytesPerSecond;
+
+  @Metric(about = "The number of volumes on which block deletion is slowed"
+      + " down due to high foreground I/O latency.")
+  private MutableGaugeLong throttledVolumeCount;
+
+  private long lastSuccessBytes;
+  private long lastSuccessBytesTime = Time.monotonicNow();
+
   private BlockDeletingServiceMetrics() {
   }
 
@@ -148,6 +160,25 @@ public void incrTotalLockTimeoutTransactionCount() {
     totalLockTimeoutTransactionCount.incr();
   }
 
+  /**
+   * Sets the reclaimed bytes per second from the bytes deleted since the
+   * previous call.
+   */
+  public synchronized void updateReclaimedBytesPerSecond() {
+    final long now = Time.monotonicNow();
+    final long bytes = successBytes.value();
+    final long elapsed = now - lastSuccessBytesTime;
+    if (elapsed > 0) {
+      reclaimedBytesPerSecond.set((bytes - lastSuccessBytes) * 1000 / elapsed);
+      lastSuccessBytes = bytes;
+      lastSuccessBytesTime = now;
+    }
+  }
+
+  public void setThrottledVolumeCount(long count) {
+    throttledVolumeCount.set(count);
+  }
+
   public long getSuccessCount() {
     return successCount.value();
   }
@@ -184,6 +215,14 @@ public long getTotalLockTimeoutTransactionCount() {
     return totalLockTimeoutTransactionCount.value();
   }
 
+  public long getReclaimedBytesPerSecond() {
+    return reclaimedBytesPerSecond.value();
+  }
+
+  public long getThrottledVolumeCount() {
+    return throttledVolumeCount.value();
+  }
+
   @Override
   public String toString() {
     StringBuffer buffer = new StringBuffer();
@@ -209,7 +248,11 @@ public String toString() {
         .append("markedBlockCount = "
             + markedBlockCount.value()).append("\t")
         .append("totalLockTimeoutTransactionCount = "
-            + totalLockTimeoutTransactionCount.value()).append("\t");
+            + totalLockTimeoutTransactionCount.value()).append("\t")
+        .append("reclaimedBytesPerSecond = "
+            + reclaimedBytesPerSecond.value()).append("\t")
+        .append("throttledVolumeCount = "
+            + throttledVolumeCount.value()).append("\t");
     return buffer.toString();
   }
 }
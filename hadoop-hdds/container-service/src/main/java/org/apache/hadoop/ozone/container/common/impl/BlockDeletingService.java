@@ -31,6 +31,7 @@
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDeletionChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.XceiverServerRatis;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.BlockDeletingTask;
 import org.apache.hadoop.ozone.container.ozoneimpl.OzoneContainer;
 import org.slf4j.Logger;
@@ -38,6 +39,8 @@
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -59,6 +62,8 @@ public class BlockDeletingService extends BackgroundService {
   private final ConfigurationSource conf;
   private final DatanodeConfiguration dnConf;
   private final BlockDeletingServiceMetrics metrics;
+  private final VolumeDeletionThrottle volumeThrottle =
+      new VolumeDeletionThrottle();
 
   // Task priority is useful when a to-delete block has weight.
   private static final int TASK_PRIORITY_DEFAULT = 1;
@@ -126,6 +131,7 @@ public Long getNumBlocksToDelete() {
   @Override
   public BackgroundTaskQueue getTasks() {
     BackgroundTaskQueue queue = new BackgroundTaskQueue();
+    metrics.updateReclaimedBytesPerSecond();
 
     try {
       // We at most list a number of containers a time,
@@ -188,10 +194,46 @@ public List<ContainerBlockInfo> chooseContainerForBlockDeletion(
             }));
 
     metrics.setTotalPendingBlockCount(totalPendingBlockCount.get());
+    if (dnConf.isBlockDeletingAdaptiveEnabled()) {
+      return chooseContainerForBlockDeletionByVolume(blockLimit,
+          deletionPolicy, containerDataMap);
+    }
     return deletionPolicy
         .chooseContainerForBlockDeletion(blockLimit, containerDataMap);
   }
 
+  /**
+   * Chooses the containers of each volume separately, with the limit split
+   * among the volumes by {@link VolumeDeletionThrottle}.  Fewer blocks, and
+   * so fewer containers and tasks, are chosen from busy volumes.
+   */
+  private List<ContainerBlockInfo> chooseContainerForBlockDeletionByVolume(
+      int blockLimit, ContainerDeletionChoosingPolicy deletionPolicy,
+      Map<Long, ContainerData> containerDataMap)
+      throws StorageContainerException {
+    Map<HddsVolume, Map<Long, ContainerData>> containersByVolume =
+        new HashMap<>();
+    Map<HddsVolume, Long> pendingBlocks = new HashMap<>();
+    for (Map.Entry<Long, ContainerData> e : containerDataMap.entrySet()) {
+      ContainerData containerData = e.getValue();
+      containersByVolume.computeIfAbsent(containerData.getVolume(),
+          v -> new HashMap<>()).put(e.getKey(), containerData);
+      pendingBlocks.merge(containerData.getVolume(),
+          ContainerUtils.getPendingDeletionBlocks(containerData), Long::sum);
+    }
+
+    Map<HddsVolume, Long> volumeLimits = volumeThrottle.allocate(blockLimit,
+        dnConf.getBlockDeletingLatencyThreshold().toMillis(), pendingBlocks);
+    metrics.setThrottledVolumeCount(volumeThrottle.getThrottledVolumeCount());
+
+    List<ContainerBlockInfo> chosen = new ArrayList<>();
+    for (Map.Entry<HddsVolume, Long> e : volumeLimits.entrySet()) {
+      chosen.addAll(deletionPolicy.chooseContainerForBlockDeletion(
+          Math.toIntExact(e.getValue()), containersByVolume.get(e.getKey())));
+    }
+    return chosen;
+  }
+
   private boolean checkPendingDeletionBlocks(ContainerData containerData) {
     return ContainerUtils.getPendingDeletionBlocks(containerData) > 0;
   }
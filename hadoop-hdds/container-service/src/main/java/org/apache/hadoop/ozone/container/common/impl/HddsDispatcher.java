@@ -390,7 +390,7 @@ private ContainerCommandResponseProto dispatchRequest(
         container2BCSIDMap.putIfAbsent(containerID, Long.valueOf(0));
       }
       if (result == Result.SUCCESS) {
-        updateBCSID(container, dispatcherContext, cmdType);
+        updateBCSID(container, dispatcherContext, msg);
         audit(action, eventType, params, AuditEventStatus.SUCCESS, null);
       } else {
         //TODO HDDS-7096:
@@ -413,9 +413,8 @@ private ContainerCommandResponseProto dispatchRequest(
   }
 
   private void updateBCSID(Container container,
-      DispatcherContext dispatcherContext, Type cmdType) {
-    if (dispatcherContext != null && (cmdType == Type.PutBlock
-        || cmdType == Type.PutSmallFile)) {
+      DispatcherContext dispatcherContext, ContainerCommandRequestProto msg) {
+    if (dispatcherContext != null && isPutBlock(msg, dispatcherContext)) {
       Preconditions.checkNotNull(container);
       long bcsID = container.getBlockCommitSequenceId();
       long containerId = container.getContainerData().getContainerID();
@@ -428,6 +427,24 @@ private void updateBCSID(Container container,
       container2BCSIDMap.computeIfPresent(containerId, (u, v) -> v = bcsID);
     }
   }
+
+  /**
+   * @return true if the request stores block data: a PutBlock, a
+   * PutSmallFile, or the commit of a WriteChunk carrying a PutBlock.
+   */
+  private static boolean isPutBlock(ContainerCommandRequestProto msg,
+      DispatcherContext dispatcherContext) {
+    switch (msg.getCmdType()) {
+    case PutBlock:
+    case PutSmallFile:
+      return true;
+    case WriteChunk:
+      return msg.getWriteChunk().hasBlock()
+          && dispatcherContext.getStage().isCommit();
+    default:
+      return false;
+    }
+  }
   /**
    * Create a container using the input container request.
    * @param containerRequest - the container request which requires container
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.impl;
+
+import org.apache.hadoop.hdds.fs.SpaceUsageSource;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the block deletion limit of an interval among the volumes of the
+ * datanode according to their foreground I/O load.
+ * <p>
+ * Each volume has a fair share of the limit, which is reduced by a factor
+ * while the volume is busy.  The average latency of the chunk reads and
+ * writes on a volume since the previous interval is taken from its
+ * {@link VolumeIOStats}.  The factor is halved while the latency is above
+ * the threshold, and grows back by {@link #FACTOR_STEP} in each interval
+ * below it.  The part of the limit left unused by throttled volumes and
+ * volumes with fewer pending blocks goes to the other volumes, fuller
+ * volumes first.  Throttled volumes never get more than their reduced share.
+ */
+class VolumeDeletionThrottle {
+
+  static final double MIN_FACTOR = 1.0 / 16;
+  static final double FACTOR_STEP = 0.25;
+
+  // Volumes of a datanode are few and fixed, so entries are never removed.
+  private final Map<HddsVolume, VolumeLoad> loads = new HashMap<>();
+
+  /**
+   * @param blockLimit the number of blocks to delete in this interval
+   * @param latencyThresholdMs the average I/O latency above which deletion
+   * on a volume is slowed down
+   * @param pendingBlocks the number of blocks pending deletion by volume
+   * @return the number of blocks to delete from each volume in this
+   * interval, fullest volumes first.  Volumes with no blocks to delete are
+   * left out.
+   */
+  synchronized Map<HddsVolume, Long> allocate(int blockLimit,
+      long latencyThresholdMs, Map<HddsVolume, Long> pendingBlocks) {
+    final List<HddsVolume> volumes = new ArrayList<>(pendingBlocks.keySet());
+    volumes.sort(Comparator.comparingDouble(
+        VolumeDeletionThrottle::getUtilization).reversed());
+
+    final double fairShare = blockLimit / (double) volumes.size();
+    final Map<HddsVolume, Double> factors = new HashMap<>();
+    final Map<HddsVolume, Long> maxBlocks = new HashMap<>();
+    final Map<HddsVolume, Long> allocated = new LinkedHashMap<>();
+    long remaining = blockLimit;
+    for (HddsVolume volume : volumes) {
+      final double factor = updateFactor(volume, latencyThresholdMs);
+      final long pending = pendingBlocks.get(volume);
+      final long share = (long) Math.ceil(fairShare * factor);
+      final long blocks = Math.min(remaining, Math.min(share, pending));
+      factors.put(volume, factor);
+      maxBlocks.put(volume, factor < 1 ? Math.min(share, pending) : pending);
+      allocated.put(volume, blocks);
+      remaining -= blocks;
+    }
+
+    // spare limit goes to unthrottled volumes first, fullest first
+    final List<HddsVolume> spareOrder = new ArrayList<>(volumes);
+    spareOrder.sort(Comparator.comparingDouble(
+        (HddsVolume volume) -> factors.get(volume)).reversed());
+    for (HddsVolume volume : spareOrder) {
+      final long extra = Math.min(remaining,
+          maxBlocks.get(volume) - allocated.get(volume));
+      if (extra > 0) {
+        allocated.merge(volume, extra, Long::sum);
+        remaining -= extra;
+      }
+    }
+    allocated.values().removeIf(blocks -> blocks <= 0);
+    return allocated;
+  }
+
+  /**
+   * @return the number of volumes whose share is currently reduced.
+   */
+  synchronized int getThrottledVolumeCount() {
+    return (int) loads.values().stream()
+        .filter(load -> load.factor < 1)
+        .count();
+  }
+
+  private double updateFactor(HddsVolume volume, long latencyThresholdMs) {
+    final VolumeIOStats stats = volume == null ? null
+        : volume.getVolumeIOStats();
+    if (stats == null) {
+      return 1;
+    }
+    final long ops = stats.getReadOpCount() + stats.getWriteOpCount();
+    final long time = stats.getReadTime() + stats.getWriteTime();
+    final VolumeLoad load = loads.get(volume);
+    if (load == null) {
+      loads.put(volume, new VolumeLoad(ops, time));
+      return 1;
+    }
+    return load.update(ops, time, latencyThresholdMs);
+  }
+
+  private static double getUtilization(HddsVolume volume) {
+    if (volume == null) {
+      return 0;
+    }
+    final SpaceUsageSource usage = volume.getCurrentUsage();
+    final long capacity = usage.getCapacity();
+    return capacity > 0 ? 1 - usage.getAvailable() / (double) capacity : 0;
+  }
+
+  /**
+   * I/O counters of a volume at the previous interval and its current share
+   * of the deletion limit.
+   */
+  private static final class VolumeLoad {
+    private long ops;
+    private long time;
+    private double factor = 1;
+
+    private VolumeLoad(long ops, long time) {
+      this.ops = ops;
+      this.time = time;
+    }
+
+    private double update(long newOps, long newTime, long thresholdMs) {
+      final long deltaOps = newOps - ops;
+      final long deltaTime = newTime - time;
+      ops = newOps;
+      time = newTime;
+      if (deltaOps > 0 && deltaTime > thresholdMs * deltaOps) {
+        factor = Math.max(MIN_FACTOR, factor / 2);
+      } else {
+        factor = Math.min(1, factor + FACTOR_STEP);
+      }
+      return factor;
+    }
+  }
+}
@@ -260,6 +260,23 @@ ContainerReplicaProto getContainerReport()
   ScanResult scanData(DataTransferThrottler throttler, Canceler canceler)
       throws InterruptedException;
 
+  /**
+   * Perform checksum verification for the container data as part of the
+   * periodic background scan.  Unlike {@link #scanData}, this may continue
+   * an interrupted background scan and verify only a sample of the blocks,
+   * and it updates the scan state persisted in the container.
+   *
+   * @param throttler A reference of {@link DataTransferThrottler} used to
+   *                  perform I/O bandwidth throttling
+   * @param canceler  A reference of {@link Canceler} used to cancel the
+   *                  I/O bandwidth throttling (e.g. for shutdown purpose).
+   * @return true if the checksum verification succeeds
+   *         false otherwise
+   * @throws InterruptedException if the scan is interrupted.
+   */
+  ScanResult scanDataInBackground(DataTransferThrottler throttler,
+      Canceler canceler) throws InterruptedException;
+
   /** Acquire read lock. */
   void readLock();
 
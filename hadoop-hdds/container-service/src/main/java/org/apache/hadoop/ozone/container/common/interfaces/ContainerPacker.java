@@ -50,6 +50,27 @@ byte[] unpackContainerData(Container<CONTAINERDATA> container,
   void pack(Container<CONTAINERDATA> container, OutputStream destination)
       throws IOException;
 
+  /**
+   * Link the files to be packed into {@code snapshotDir}, so that they can be
+   * packed by {@link #packSnapshot(Path, OutputStream)} after the container
+   * lock is released.
+   *
+   * @return false if this packer does not support snapshots
+   */
+  default boolean snapshot(Container<CONTAINERDATA> container,
+      Path snapshotDir) throws IOException {
+    return false;
+  }
+
+  /**
+   * Compress the snapshot created by {@link #snapshot(Container, Path)} to
+   * one single archive, same as {@link #pack(Container, OutputStream)}.
+   */
+  default void packSnapshot(Path snapshotDir, OutputStream destination)
+      throws IOException {
+    throw new UnsupportedOperationException("Snapshot is not supported");
+  }
+
   /**
    * Read the descriptor from the finished archive to get the data before
    * importing the container.
@@ -315,6 +315,45 @@ public void setBlockDeletionLimit(int limit) {
     this.blockLimitPerInterval = limit;
   }
 
+  @Config(key = "block.deleting.adaptive.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.DELETION },
+      description = "If enabled, the block deleting service splits the "
+          + "blocks to be deleted in an interval among the volumes, giving "
+          + "fuller volumes priority, and reduces the share of a volume "
+          + "while the average latency of its chunk reads and writes is "
+          + "above hdds.datanode.block.deleting.adaptive.latency.threshold."
+  )
+  private boolean blockDeletingAdaptiveEnabled = false;
+
+  @Config(key = "block.deleting.adaptive.latency.threshold",
+      defaultValue = "50ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.DELETION },
+      description = "Average latency of chunk reads and writes on a volume "
+          + "above which the block deleting service deletes fewer blocks "
+          + "from the volume, if hdds.datanode.block.deleting.adaptive.enabled"
+          + " is true. Unit could be defined with postfix (ns,ms,s,m,h,d)."
+  )
+  private Duration blockDeletingLatencyThreshold = Duration.ofMillis(50);
+
+  public boolean isBlockDeletingAdaptiveEnabled() {
+    return blockDeletingAdaptiveEnabled;
+  }
+
+  public void setBlockDeletingAdaptiveEnabled(boolean enabled) {
+    blockDeletingAdaptiveEnabled = enabled;
+  }
+
+  public Duration getBlockDeletingLatencyThreshold() {
+    return blockDeletingLatencyThreshold;
+  }
+
+  public void setBlockDeletingLatencyThreshold(Duration threshold) {
+    blockDeletingLatencyThreshold = threshold;
+  }
+
   @Config(key = "periodic.disk.check.interval.minutes",
       defaultValue = "60",
       type = ConfigType.LONG,
@@ -550,6 +589,36 @@ public void setWaitOnAllFollowers(boolean val) {
   private boolean bCheckEmptyContainerDir =
       OZONE_DATANODE_CHECK_EMPTY_CONTAINER_DIR_ON_DELETE_DEFAULT;
 
+  @Config(key = "chunk.read.cache.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      tags = { DATANODE },
+      description = "Total size of the small chunks of closed containers " +
+          "cached in direct memory, so that repeated reads of hot objects " +
+          "are served without reading the disk.  The cache is disabled if " +
+          "this is 0."
+  )
+  private long chunkReadCacheSize;
+
+  @Config(key = "chunk.read.cache.max.chunk.size",
+      defaultValue = "1MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE },
+      description = "Only chunk reads of at most this size are cached in " +
+          "the chunk read cache."
+  )
+  private long chunkReadCacheMaxChunkSize = 1024 * 1024;
+
+  @Config(key = "container.export.snapshot.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "true",
+      tags = { DATANODE },
+      description = "If enabled, containers are exported for replication " +
+          "from a snapshot of hard links to their files, which lets the " +
+          "container lock be released before the data is streamed."
+  )
+  private boolean containerExportSnapshotEnabled = true;
+
   @PostConstruct
   public void validate() {
     if (containerDeleteThreads < 1) {
@@ -762,6 +831,30 @@ public boolean getCheckEmptyContainerDir() {
     return bCheckEmptyContainerDir;
   }
 
+  public long getChunkReadCacheSize() {
+    return chunkReadCacheSize;
+  }
+
+  public void setChunkReadCacheSize(long size) {
+    chunkReadCacheSize = size;
+  }
+
+  public long getChunkReadCacheMaxChunkSize() {
+    return chunkReadCacheMaxChunkSize;
+  }
+
+  public void setChunkReadCacheMaxChunkSize(long size) {
+    chunkReadCacheMaxChunkSize = size;
+  }
+
+  public boolean isContainerExportSnapshotEnabled() {
+    return containerExportSnapshotEnabled;
+  }
+
+  public void setContainerExportSnapshotEnabled(boolean enabled) {
+    containerExportSnapshotEnabled = enabled;
+  }
+
   public Duration getDiskCheckMinGap() {
     return diskCheckMinGap;
   }
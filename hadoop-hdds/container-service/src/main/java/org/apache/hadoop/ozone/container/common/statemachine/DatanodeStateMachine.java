@@ -198,16 +198,17 @@ public DatanodeStateMachine(DatanodeDetails datanodeDetails,
         conf, container.getContainerSet(),
         importer,
         new SimpleContainerDownloader(conf, certClient));
+    ReplicationConfig replicationConfig =
+        conf.getObject(ReplicationConfig.class);
     ContainerReplicator pushReplicator = new PushReplicator(conf,
-        new OnDemandContainerReplicationSource(container.getController()),
+        new OnDemandContainerReplicationSource(container.getController(),
+            replicationConfig.getCompressionThreads()),
         new GrpcContainerUploader(conf, certClient)
     );
 
     pullReplicatorWithMetrics = new MeasuredReplicator(pullReplicator, "pull");
     pushReplicatorWithMetrics = new MeasuredReplicator(pushReplicator, "push");
 
-    ReplicationConfig replicationConfig =
-        conf.getObject(ReplicationConfig.class);
     supervisor = ReplicationSupervisor.newBuilder()
         .stateContext(context)
         .datanodeConfig(dnConf)
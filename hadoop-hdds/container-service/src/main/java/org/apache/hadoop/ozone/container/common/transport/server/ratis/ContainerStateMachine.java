@@ -425,13 +425,17 @@ public TransactionContext startTransaction(RaftClientRequest request)
     if (proto.getCmdType() == Type.WriteChunk) {
       final WriteChunkRequestProto write = proto.getWriteChunk();
       // create the log entry proto
-      final WriteChunkRequestProto commitWriteChunkProto =
+      final WriteChunkRequestProto.Builder commitWriteChunkBuilder =
           WriteChunkRequestProto.newBuilder()
               .setBlockID(write.getBlockID())
-              .setChunkData(write.getChunkData())
-              // skipping the data field as it is
-              // already set in statemachine data proto
-              .build();
+              .setChunkData(write.getChunkData());
+      // skipping the data field as it is
+      // already set in statemachine data proto
+      if (write.hasBlock()) {
+        commitWriteChunkBuilder.setBlock(write.getBlock());
+      }
+      final WriteChunkRequestProto commitWriteChunkProto =
+          commitWriteChunkBuilder.build();
       ContainerCommandRequestProto commitContainerCommandProto =
           ContainerCommandRequestProto
               .newBuilder(proto)
@@ -75,6 +75,8 @@ public class HddsVolume extends StorageVolume {
   public static final String HDDS_VOLUME_DIR = "hdds";
   public static final String TMP_CONTAINER_DELETE_DIR_NAME =
       "deleted-containers";
+  public static final String TMP_CONTAINER_EXPORT_DIR_NAME =
+      "container-export";
 
   private final VolumeIOStats volumeIOStats;
   private final VolumeInfoMetrics volumeInfoMetrics;
@@ -91,6 +93,7 @@ public class HddsVolume extends StorageVolume {
   // and stored as a member to prevent spawning lots of File objects.
   private File dbParentDir;
   private File deletedContainerDir;
+  private File exportContainerDir;
   private AtomicBoolean dbLoaded = new AtomicBoolean(false);
 
   /**
@@ -155,6 +158,9 @@ public void createTmpDirs(String workDirName) throws IOException {
     deletedContainerDir =
         createTmpSubdirIfNeeded(TMP_CONTAINER_DELETE_DIR_NAME);
     cleanDeletedContainerDir();
+    exportContainerDir =
+        createTmpSubdirIfNeeded(TMP_CONTAINER_EXPORT_DIR_NAME);
+    cleanExportContainerDir();
   }
 
   public File getHddsRootDir() {
@@ -193,6 +199,7 @@ public void shutdown() {
     }
     closeDbStore();
     cleanDeletedContainerDir();
+    cleanExportContainerDir();
   }
 
   /**
@@ -251,6 +258,22 @@ public void cleanDeletedContainerDir() {
     }
   }
 
+  /**
+   * Delete the snapshots left behind by container exports under
+   * <volume>/hdds/<cluster-id>/tmp/container-export.
+   */
+  private void cleanExportContainerDir() {
+    if (exportContainerDir == null || !exportContainerDir.isDirectory()) {
+      return;
+    }
+    try {
+      FileUtils.cleanDirectory(exportContainerDir);
+    } catch (IOException ex) {
+      LOG.warn("Failed to clear container export directory {}.",
+          exportContainerDir, ex);
+    }
+  }
+
   @Override
   public synchronized VolumeCheckResult check(@Nullable Boolean unused)
       throws Exception {
@@ -317,6 +340,14 @@ public File getDeletedContainerDir() {
     return this.deletedContainerDir;
   }
 
+  /**
+   * @return the directory for the snapshots of containers being exported,
+   * or null if the volume is not initialized
+   */
+  public File getExportContainerDir() {
+    return this.exportContainerDir;
+  }
+
   @VisibleForTesting
   public void setDeletedContainerDir(File deletedContainerDir) {
     this.deletedContainerDir = deletedContainerDir;
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+/**
+ * Cache of small chunks read from closed containers, so that repeated reads
+ * of hot objects are served from memory instead of the disk.
+ * <p>
+ * The data of closed containers does not change, so a cached chunk stays
+ * valid until its block is deleted.  The chunks are copied to direct
+ * buffers, which keeps the cache off the heap.  The cache is bounded by the
+ * total size of the chunks, and the least recently used chunks are evicted.
+ * A read which races with the deletion of its block may leave the chunk in
+ * the cache until it is evicted, but no key refers to the block then.
+ */
+class ChunkReadCache {
+
+  private final long maxChunkSize;
+  private final ChunkReadCacheMetrics metrics;
+  private final Cache<Key, ByteBuffer[]> cache;
+  /** The cached chunks of each block, for invalidating deleted blocks. */
+  private final Map<ContainerBlockID, Set<Key>> blocks =
+      new ConcurrentHashMap<>();
+
+  ChunkReadCache(long maxSize, long maxChunkSize,
+      ChunkReadCacheMetrics metrics) {
+    this.maxChunkSize = maxChunkSize;
+    this.metrics = metrics;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maxSize)
+        .weigher((Key key, ByteBuffer[] value) -> key.length)
+        .removalListener(this::onRemoval)
+        .build();
+  }
+
+  /**
+   * Reads a chunk from the cache, or with the given reader if the chunk is
+   * not cached.  The chunk is cached if the container is closed and the
+   * chunk is small enough.
+   */
+  ChunkBuffer read(ContainerData containerData, BlockID blockID,
+      ChunkInfo chunkInfo,
+      CheckedSupplier<ChunkBuffer, StorageContainerException> reader)
+      throws StorageContainerException {
+    final long length = chunkInfo.getLen();
+    if (length <= 0 || length > maxChunkSize
+        || !(containerData.isClosed() || containerData.isQuasiClosed())) {
+      return reader.get();
+    }
+
+    final Key key = new Key(blockID, chunkInfo);
+    final ByteBuffer[] cached = cache.getIfPresent(key);
+    if (cached != null) {
+      metrics.incrHits(length);
+      final List<ByteBuffer> buffers = new ArrayList<>(cached.length);
+      for (ByteBuffer buffer : cached) {
+        buffers.add(buffer.duplicate());
+      }
+      return ChunkBuffer.wrap(buffers);
+    }
+
+    metrics.incrMisses();
+    final ChunkBuffer data = reader.get();
+    put(key, data);
+    return data;
+  }
+
+  private void put(Key key, ChunkBuffer data) {
+    final List<ByteBuffer> buffers = data.asByteBufferList();
+    final ByteBuffer copy = ByteBuffer.allocateDirect(key.length);
+    final ByteBuffer[] slices = new ByteBuffer[buffers.size()];
+    for (int i = 0; i < slices.length; i++) {
+      final int start = copy.position();
+      copy.put(buffers.get(i).duplicate());
+      final ByteBuffer slice = copy.duplicate();
+      slice.position(start).limit(copy.position());
+      slices[i] = slice.slice().asReadOnlyBuffer();
+    }
+    if (copy.position() != key.length) {
+      // the data read does not match the chunk info, do not cache it
+      return;
+    }
+
+    blocks.computeIfAbsent(key.block, k -> ConcurrentHashMap.newKeySet())
+        .add(key);
+    cache.put(key, slices);
+    metrics.incrCachedBytes(key.length);
+  }
+
+  private void onRemoval(RemovalNotification<Key, ByteBuffer[]> removal) {
+    final Key key = removal.getKey();
+    if (removal.getCause() != RemovalCause.REPLACED) {
+      blocks.computeIfPresent(key.block, (k, keys) -> {
+        keys.remove(key);
+        return keys.isEmpty() ? null : keys;
+      });
+    }
+    metrics.incrCachedBytes(-key.length);
+    if (removal.wasEvicted()) {
+      metrics.incrEvictions();
+    }
+  }
+
+  /** Removes the chunks of a deleted block from the cache. */
+  void invalidateBlock(long containerID, long localID) {
+    final Set<Key> keys =
+        blocks.remove(new ContainerBlockID(containerID, localID));
+    if (keys != null) {
+      cache.invalidateAll(keys);
+    }
+  }
+
+  /** Removes the chunks of a deleted container from the cache. */
+  void invalidateContainer(long containerID) {
+    for (ContainerBlockID block : blocks.keySet()) {
+      if (block.getContainerID() == containerID) {
+        invalidateBlock(containerID, block.getLocalID());
+      }
+    }
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  /**
+   * The chunk read.  The client reads a chunk as a single buffer or as a
+   * buffer per checksum, depending on its version, so the layout is part of
+   * the key.
+   */
+  private static final class Key {
+    private final ContainerBlockID block;
+    private final String chunkName;
+    private final long offset;
+    private final int length;
+    private final boolean singleBuffer;
+
+    private Key(BlockID blockID, ChunkInfo chunkInfo) {
+      this.block = blockID.getContainerBlockID();
+      this.chunkName = chunkInfo.getChunkName();
+      this.offset = chunkInfo.getOffset();
+      this.length = Math.toIntExact(chunkInfo.getLen());
+      this.singleBuffer = chunkInfo.isReadDataIntoSingleBuffer();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return offset == that.offset && length == that.length
+          && singleBuffer == that.singleBuffer && block.equals(that.block)
+          && Objects.equals(chunkName, that.chunkName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(block, chunkName, offset, length, singleBuffer);
+    }
+  }
+}
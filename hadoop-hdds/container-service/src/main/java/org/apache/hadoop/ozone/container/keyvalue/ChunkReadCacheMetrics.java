@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics of the {@link ChunkReadCache}.  The hit rate is the number of
+ * hits divided by the number of lookups, i.e. hits plus misses.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Chunk Read Cache Metrics", context = OzoneConsts.OZONE)
+public final class ChunkReadCacheMetrics {
+
+  private static final String SOURCE_NAME =
+      ChunkReadCacheMetrics.class.getSimpleName();
+
+  private static ChunkReadCacheMetrics instance;
+
+  @Metric(about = "Number of chunk reads served from the cache.")
+  private MutableCounterLong hits;
+
+  @Metric(about = "Number of cacheable chunk reads not found in the cache.")
+  private MutableCounterLong misses;
+
+  @Metric(about = "Number of bytes served from the cache.")
+  private MutableCounterLong bytesServed;
+
+  @Metric(about = "Number of chunks evicted from the cache.")
+  private MutableCounterLong evictions;
+
+  @Metric(about = "Total size of the chunks in the cache.")
+  private MutableGaugeLong cachedBytes;
+
+  private ChunkReadCacheMetrics() {
+  }
+
+  public static synchronized ChunkReadCacheMetrics create() {
+    if (instance == null) {
+      instance = DefaultMetricsSystem.instance().register(SOURCE_NAME,
+          "Chunk Read Cache Metrics", new ChunkReadCacheMetrics());
+    }
+    return instance;
+  }
+
+  void incrHits(long bytes) {
+    hits.incr();
+    bytesServed.incr(bytes);
+  }
+
+  void incrMisses() {
+    misses.incr();
+  }
+
+  void incrEvictions() {
+    evictions.incr();
+  }
+
+  void incrCachedBytes(long bytes) {
+    cachedBytes.incr(bytes);
+  }
+
+  public long getHits() {
+    return hits.value();
+  }
+
+  public long getMisses() {
+    return misses.value();
+  }
+
+  public long getBytesServed() {
+    return bytesServed.value();
+  }
+
+  public long getCachedBytes() {
+    return cachedBytes.value();
+  }
+}
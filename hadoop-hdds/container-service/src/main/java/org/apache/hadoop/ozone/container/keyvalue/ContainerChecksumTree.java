@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Two level hash tree over the chunk checksums of a container replica.
+ * <p>
+ * Each block is hashed from the layout and the checksums of its chunks, and
+ * the root is the hash of the block hashes in the order the blocks are
+ * added. The data scanner verifies the chunk checksums against the data, so
+ * replicas with the same root hold the same data, and a root that differs
+ * from the one recorded earlier means blocks were added, removed or
+ * rewritten since then.
+ */
+class ContainerChecksumTree {
+
+  private static final String ALGORITHM = "SHA-256";
+
+  private final MessageDigest rootDigest = newDigest();
+  private final MessageDigest blockDigest = newDigest();
+  private final ByteBuffer longBuffer = ByteBuffer.allocate(Long.BYTES);
+  private long blockCount;
+
+  /**
+   * Adds the next block to the tree.
+   */
+  void addBlock(BlockData block) {
+    blockDigest.reset();
+    updateLong(blockDigest, block.getLocalID());
+    for (ContainerProtos.ChunkInfo chunk : block.getChunks()) {
+      updateLong(blockDigest, chunk.getOffset());
+      updateLong(blockDigest, chunk.getLen());
+      ContainerProtos.ChecksumData checksumData = chunk.getChecksumData();
+      updateLong(blockDigest, checksumData.getType().getNumber());
+      updateLong(blockDigest, checksumData.getBytesPerChecksum());
+      for (ByteString checksum : checksumData.getChecksumsList()) {
+        blockDigest.update(checksum.asReadOnlyByteBuffer());
+      }
+    }
+    rootDigest.update(blockDigest.digest());
+    blockCount++;
+  }
+
+  long getBlockCount() {
+    return blockCount;
+  }
+
+  /**
+   * Completes the tree. No more blocks can be added afterwards.
+   *
+   * @return the first 64 bits of the root hash.
+   */
+  long getRoot() {
+    return ByteBuffer.wrap(rootDigest.digest()).getLong();
+  }
+
+  private void updateLong(MessageDigest digest, long value) {
+    longBuffer.clear();
+    longBuffer.putLong(value);
+    longBuffer.flip();
+    digest.update(longBuffer);
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(ALGORITHM + " is not available", e);
+    }
+  }
+}
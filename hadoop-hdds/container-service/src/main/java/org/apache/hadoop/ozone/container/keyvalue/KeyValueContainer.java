@@ -32,6 +32,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -113,6 +114,7 @@ public class KeyValueContainer implements Container<KeyValueContainerData> {
   private Set<Long> pendingPutBlockCache;
 
   private boolean bCheckChunksFilePath;
+  private final boolean exportSnapshotEnabled;
 
   public KeyValueContainer(KeyValueContainerData containerData,
       ConfigurationSource ozoneConfig) {
@@ -132,6 +134,7 @@ public KeyValueContainer(KeyValueContainerData containerData,
     DatanodeConfiguration dnConf =
         config.getObject(DatanodeConfiguration.class);
     bCheckChunksFilePath = dnConf.getCheckEmptyContainerDir();
+    exportSnapshotEnabled = dnConf.isContainerExportSnapshotEnabled();
   }
 
   @VisibleForTesting
@@ -348,6 +351,8 @@ public void delete() throws StorageContainerException {
       File tmpDirectoryPath = KeyValueContainerUtil.getTmpDirectoryPath(
           containerData, containerData.getVolume()).toFile();
       FileUtils.deleteDirectory(tmpDirectoryPath);
+      containerData.getVolume().decrementUsedSpace(
+          containerData.getBytesUsed());
     } catch (StorageContainerException ex) {
       // Disk needs replacement.
       throw ex;
@@ -677,11 +682,18 @@ public void importContainerData(KeyValueContainerData originalContainerData)
 
     //fill in memory stat counter (keycount, byte usage)
     KeyValueContainerUtil.parseKVContainerData(containerData, config);
+
+    // The imported data has not been verified on this datanode yet.
+    try (DBHandle db = BlockUtils.getDB(containerData, config)) {
+      containerData.resetDataScanState(db);
+    }
+    containerData.getVolume().incrementUsedSpace(containerData.getBytesUsed());
   }
 
   @Override
   public void exportContainerData(OutputStream destination,
       ContainerPacker<KeyValueContainerData> packer) throws IOException {
+    Path snapshotDir = null;
     writeLock();
     try {
       // Closed/ Quasi closed and unhealthy containers are considered for
@@ -709,7 +721,10 @@ public void exportContainerData(OutputStream destination,
         writeUnlock();
       }
 
-      packContainerToDestination(destination, packer);
+      snapshotDir = snapshotForExport(packer);
+      if (snapshotDir == null) {
+        packContainerToDestination(destination, packer);
+      }
     } finally {
       if (lock.isWriteLockedByCurrentThread()) {
         writeUnlock();
@@ -717,6 +732,51 @@ public void exportContainerData(OutputStream destination,
         readUnlock();
       }
     }
+
+    if (snapshotDir != null) {
+      try {
+        packer.packSnapshot(snapshotDir, destination);
+      } finally {
+        FileUtils.deleteQuietly(snapshotDir.toFile());
+      }
+    }
+  }
+
+  /**
+   * Links the files to export into a snapshot directory on the same volume,
+   * so that the data can be streamed without holding the container lock.
+   *
+   * @return the snapshot directory, or null if the container should be
+   * packed directly
+   */
+  private Path snapshotForExport(
+      ContainerPacker<KeyValueContainerData> packer) throws IOException {
+    HddsVolume volume = containerData.getVolume();
+    File exportDir = volume != null ? volume.getExportContainerDir() : null;
+    if (!exportSnapshotEnabled || exportDir == null) {
+      return null;
+    }
+
+    Path snapshotDir = exportDir.toPath().resolve(
+        containerData.getContainerID() + "-" + UUID.randomUUID());
+    boolean created = false;
+    try {
+      if (containerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
+        // the dump files are replaced by the next export, so they must be
+        // linked before another export can start
+        synchronized (dumpLock) {
+          BlockUtils.dumpKVContainerDataToFiles(containerData, config);
+          created = packer.snapshot(this, snapshotDir);
+        }
+      } else {
+        created = packer.snapshot(this, snapshotDir);
+      }
+    } finally {
+      if (!created) {
+        FileUtils.deleteQuietly(snapshotDir.toFile());
+      }
+    }
+    return created ? snapshotDir : null;
   }
 
   /**
@@ -886,6 +946,10 @@ public ContainerReplicaProto getContainerReport()
         .setBlockCommitSequenceId(containerData.getBlockCommitSequenceId())
         .setOriginNodeId(containerData.getOriginNodeId())
         .setIsEmpty(containerData.isEmpty());
+    Long dataChecksum = containerData.getDataChecksum();
+    if (dataChecksum != null) {
+      ciBuilder.setDataChecksum(dataChecksum);
+    }
     return ciBuilder.build();
   }
 
@@ -969,6 +1033,17 @@ public boolean shouldScanData() {
   @Override
   public ScanResult scanData(DataTransferThrottler throttler, Canceler canceler)
       throws InterruptedException {
+    return scanData(throttler, canceler, false);
+  }
+
+  @Override
+  public ScanResult scanDataInBackground(DataTransferThrottler throttler,
+      Canceler canceler) throws InterruptedException {
+    return scanData(throttler, canceler, true);
+  }
+
+  private ScanResult scanData(DataTransferThrottler throttler,
+      Canceler canceler, boolean background) throws InterruptedException {
     if (!shouldScanData()) {
       throw new IllegalStateException("The checksum verification can not be" +
           " done for container in state "
@@ -980,7 +1055,7 @@ public ScanResult scanData(DataTransferThrottler throttler, Canceler canceler)
         new KeyValueContainerCheck(containerData.getMetadataPath(), config,
             containerId, containerData.getVolume(), this);
 
-    return checker.fullCheck(throttler, canceler);
+    return checker.fullCheck(throttler, canceler, background);
   }
 
   /**
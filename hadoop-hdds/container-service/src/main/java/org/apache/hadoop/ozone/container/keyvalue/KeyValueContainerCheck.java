@@ -20,9 +20,12 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.primitives.UnsignedBytes;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdfs.util.Canceler;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.Checksum;
@@ -39,6 +42,10 @@
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerLocationUtil;
+import org.apache.hadoop.ozone.container.metadata.DatanodeSchemaOneDBDefinition;
+import org.apache.hadoop.ozone.container.metadata.DatanodeSchemaThreeDBDefinition;
+import org.apache.hadoop.ozone.container.metadata.DatanodeSchemaTwoDBDefinition;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -63,6 +70,12 @@ public class KeyValueContainerCheck {
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyValueContainerCheck.class);
 
+  /**
+   * The position of an ongoing data scan is persisted after verifying this
+   * many bytes, so that the scan can resume from there after a restart.
+   */
+  private static final long CURSOR_UPDATE_BYTES = 64L * OzoneConsts.MB;
+
   private long containerID;
   private KeyValueContainerData onDiskContainerData; //loaded from fs/disk
   private ConfigurationSource checkConfig;
@@ -154,9 +167,21 @@ chunksDir, new FileNotFoundException("Chunks directory " +
    */
   public ScanResult fullCheck(DataTransferThrottler throttler,
       Canceler canceler) throws InterruptedException {
+    return fullCheck(throttler, canceler, false);
+  }
+
+  /**
+   * Same as {@link #fullCheck(DataTransferThrottler, Canceler)}, but if
+   * {@code background} is true, the data scan resumes from and updates the
+   * scan state persisted in the container, and may verify only a sample of
+   * the blocks.  Only the background data scanner should do that, other
+   * scans must verify every block and leave the scan state alone.
+   */
+  public ScanResult fullCheck(DataTransferThrottler throttler,
+      Canceler canceler, boolean background) throws InterruptedException {
     ScanResult result = fastCheck();
     if (result.isHealthy()) {
-      result = scanData(throttler, canceler);
+      result = scanData(throttler, canceler, background);
     }
 
     if (!result.isHealthy() && Thread.currentThread().isInterrupted()) {
@@ -219,13 +244,18 @@ private ScanResult checkContainerFile(File containerFile) {
   }
 
   private ScanResult scanData(DataTransferThrottler throttler,
-      Canceler canceler) {
+      Canceler canceler, boolean background) {
     /*
      * Check the integrity of the DB inside each container.
      * 1. iterate over each key (Block) and locate the chunks for the block
      * 2. garbage detection (TBD): chunks which exist in the filesystem,
      *    but not in the DB. This function will be implemented in HDDS-1202
      * 3. chunk checksum verification.
+     *
+     * A background scan resumes from the position persisted by an
+     * interrupted background scan.  If the checksum tree of the container is
+     * the same as after the last complete background scan, only one slice of
+     * the blocks is verified.  Other scans verify all blocks.
      */
     Preconditions.checkState(onDiskContainerData != null,
         "invoke loadContainerData prior to calling this function");
@@ -244,53 +274,107 @@ private ScanResult scanData(DataTransferThrottler throttler,
     onDiskContainerData.setDbFile(dbFile);
 
     try {
-      try (DBHandle db = BlockUtils.getDB(onDiskContainerData, checkConfig);
-          BlockIterator<BlockData> kvIter = db.getStore().getBlockIterator(
-              onDiskContainerData.getContainerID(),
-              onDiskContainerData.getUnprefixedKeyFilter())) {
-
-        while (kvIter.hasNext()) {
-          BlockData block = kvIter.nextBlock();
-
-          // If holding read lock for the entire duration, including wait()
-          // calls in DataTransferThrottler, would effectively make other
-          // threads throttled.
-          // Here try optimistically and retry with the container lock to
-          // make sure reading the latest record. If the record is just removed,
-          // the block should be skipped to scan.
-          ScanResult result = scanBlock(block, throttler, canceler);
-          if (!result.isHealthy()) {
-            if (result.getFailureType() ==
-                ScanResult.FailureType.MISSING_CHUNK_FILE) {
-              if (getBlockDataFromDBWithLock(db, block) != null) {
-                // Block was not deleted, the failure is legitimate.
-                return result;
-              } else {
-                // If schema V3 and container details not in DB or
-                // if containerDBPath is removed
-                if ((onDiskContainerData.hasSchema(OzoneConsts.SCHEMA_V3) &&
-                    db.getStore().getMetadataTable().get(
-                      onDiskContainerData.getBcsIdKey()) == null)  ||
-                    !new File(onDiskContainerData.getDbFile()
-                        .getAbsolutePath()).exists()) {
-                  // Container has been deleted. Skip the rest of the blocks.
-                  return ScanResult.unhealthy(
-                      ScanResult.FailureType.DELETED_CONTAINER,
-                      result.getUnhealthyFile(), result.getException());
-                }
+      try (DBHandle db = BlockUtils.getDB(onDiskContainerData, checkConfig)) {
+        Table<String, Long> metadataTable = db.getStore().getMetadataTable();
+        long root = 0;
+        Long cursor = null;
+        byte[] cursorKey = null;
+        long round = 0;
+        int slices = 1;
+        boolean sampled = false;
+        if (background) {
+          root = computeChecksumTree(db);
+          Long lastRoot = metadataTable.get(
+              onDiskContainerData.getDataChecksumKey());
+          cursor = metadataTable.get(
+              onDiskContainerData.getDataScanCursorKey());
+          if (cursor != null) {
+            cursorKey = toPersistedBlockKey(cursor);
+          }
+          Long lastRound = metadataTable.get(
+              onDiskContainerData.getDataScanRoundKey());
+          round = lastRound != null ? lastRound : 0;
+          slices = checkConfig.getObject(
+              ContainerScannerConfiguration.class).getDataSampleSlices();
+          sampled = slices > 1 && lastRoot != null && lastRoot == root;
+        }
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Scanning data of container {}, background: {}," +
+              " sampled: {}, round: {}, resuming after block: {}",
+              containerID, background, sampled, round, cursor);
+        }
+
+        long unsavedBytes = 0;
+        try (BlockIterator<BlockData> kvIter = db.getStore().getBlockIterator(
+            onDiskContainerData.getContainerID(),
+            onDiskContainerData.getUnprefixedKeyFilter())) {
+
+          while (kvIter.hasNext()) {
+            BlockData block = kvIter.nextBlock();
+            long localID = block.getLocalID();
+            if (cursorKey != null
+                && !isAfter(toPersistedBlockKey(localID), cursorKey)) {
+              continue;
+            }
+            if (sampled && !isInSlice(localID, round, slices)) {
+              continue;
+            }
 
-                // Block may have been deleted during the scan.
-                if (LOG.isDebugEnabled()) {
-                  LOG.debug("Scanned outdated blockData {} in container {}.",
-                      block, containerID);
+            // If holding read lock for the entire duration, including wait()
+            // calls in DataTransferThrottler, would effectively make other
+            // threads throttled.
+            // Here try optimistically and retry with the container lock to
+            // make sure reading the latest record. If the record is just
+            // removed, the block should be skipped to scan.
+            ScanResult result = scanBlock(block, throttler, canceler);
+            if (!result.isHealthy()) {
+              if (result.getFailureType() ==
+                  ScanResult.FailureType.MISSING_CHUNK_FILE) {
+                if (getBlockDataFromDBWithLock(db, block) != null) {
+                  // Block was not deleted, the failure is legitimate.
+                  return result;
+                } else {
+                  // If schema V3 and container details not in DB or
+                  // if containerDBPath is removed
+                  if ((onDiskContainerData.hasSchema(OzoneConsts.SCHEMA_V3) &&
+                      db.getStore().getMetadataTable().get(
+                        onDiskContainerData.getBcsIdKey()) == null)  ||
+                      !new File(onDiskContainerData.getDbFile()
+                          .getAbsolutePath()).exists()) {
+                    // Container has been deleted. Skip the rest of the blocks.
+                    return ScanResult.unhealthy(
+                        ScanResult.FailureType.DELETED_CONTAINER,
+                        result.getUnhealthyFile(), result.getException());
+                  }
+
+                  // Block may have been deleted during the scan.
+                  if (LOG.isDebugEnabled()) {
+                    LOG.debug("Scanned outdated blockData {} in container {}.",
+                        block, containerID);
+                  }
                 }
+              } else {
+                // All other failures should be treated as errors.
+                return result;
               }
-            } else {
-              // All other failures should be treated as errors.
-              return result;
+            }
+
+            unsavedBytes += block.getSize();
+            if (background && unsavedBytes >= CURSOR_UPDATE_BYTES) {
+              metadataTable.put(onDiskContainerData.getDataScanCursorKey(),
+                  localID);
+              unsavedBytes = 0;
             }
           }
         }
+
+        if (background) {
+          metadataTable.put(onDiskContainerData.getDataChecksumKey(), root);
+          metadataTable.put(onDiskContainerData.getDataScanRoundKey(),
+              round + 1);
+          metadataTable.delete(onDiskContainerData.getDataScanCursorKey());
+          container.getContainerData().setDataChecksum(root);
+        }
       }
     } catch (IOException ex) {
       return ScanResult.unhealthy(ScanResult.FailureType.INACCESSIBLE_DB,
@@ -300,6 +384,66 @@ private ScanResult scanData(DataTransferThrottler throttler,
     return ScanResult.healthy();
   }
 
+  /**
+   * Computes the checksum tree of the blocks currently in the container.
+   * This only reads block metadata from the DB.
+   *
+   * @return the root of the tree.
+   */
+  private long computeChecksumTree(DBHandle db) throws IOException {
+    ContainerChecksumTree tree = new ContainerChecksumTree();
+    try (BlockIterator<BlockData> kvIter = db.getStore().getBlockIterator(
+        onDiskContainerData.getContainerID(),
+        onDiskContainerData.getUnprefixedKeyFilter())) {
+      while (kvIter.hasNext()) {
+        tree.addBlock(kvIter.nextBlock());
+      }
+    }
+    return tree.getRoot();
+  }
+
+  /**
+   * Schema V1 stores unprefixed block IDs as longs, later schemas as
+   * strings, so the order of the block iterator depends on the schema.
+   *
+   * @return the key of the block as stored in the block data table.
+   */
+  private byte[] toPersistedBlockKey(long localID) throws IOException {
+    final Codec<String> codec;
+    if (onDiskContainerData.hasSchema(OzoneConsts.SCHEMA_V1)) {
+      codec = DatanodeSchemaOneDBDefinition.BLOCK_DATA.getKeyCodec();
+    } else if (onDiskContainerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
+      codec = DatanodeSchemaThreeDBDefinition.BLOCK_DATA.getKeyCodec();
+    } else {
+      codec = DatanodeSchemaTwoDBDefinition.BLOCK_DATA.getKeyCodec();
+    }
+    return codec.toPersistedFormat(onDiskContainerData.getBlockKey(localID));
+  }
+
+  /**
+   * Block keys are iterated in the bytewise order of their persisted form,
+   * so the position of a scan is compared the same way.
+   *
+   * @return true if the block comes after the cursor in iteration order.
+   */
+  @VisibleForTesting
+  static boolean isAfter(byte[] blockKey, byte[] cursorKey) {
+    return UnsignedBytes.lexicographicalComparator()
+        .compare(blockKey, cursorKey) > 0;
+  }
+
+  /**
+   * @return true if the block belongs to the slice verified in the given
+   * round of sampled scans.
+   */
+  @VisibleForTesting
+  static boolean isInSlice(long localID, long round, int slices) {
+    // spread consecutive local IDs over the slices
+    long hash = localID * 0x9E3779B97F4A7C15L;
+    return Math.floorMod(hash ^ (hash >>> 32), (long) slices)
+        == Math.floorMod(round, (long) slices);
+  }
+
   /**
    *  Attempt to read the block data without the container lock.
    *  The block onDisk might be in modification by other thread and not yet
@@ -461,7 +605,7 @@ void setContainerData(KeyValueContainerData containerData) {
   @VisibleForTesting
   ScanResult scanContainer(DataTransferThrottler throttler,
                            Canceler canceler) {
-    return scanData(throttler, canceler);
+    return scanData(throttler, canceler, false);
   }
 
 }
@@ -47,7 +47,10 @@
 import static org.apache.hadoop.ozone.OzoneConsts.BLOCK_COMMIT_SEQUENCE_ID;
 import static org.apache.hadoop.ozone.OzoneConsts.CONTAINER_DB_TYPE_ROCKSDB;
 import static org.apache.hadoop.ozone.OzoneConsts.CHUNKS_PATH;
+import static org.apache.hadoop.ozone.OzoneConsts.CONTAINER_DATA_CHECKSUM;
 import static org.apache.hadoop.ozone.OzoneConsts.CONTAINER_DB_TYPE;
+import static org.apache.hadoop.ozone.OzoneConsts.DATA_SCAN_CURSOR;
+import static org.apache.hadoop.ozone.OzoneConsts.DATA_SCAN_ROUND;
 import static org.apache.hadoop.ozone.OzoneConsts.DELETE_TRANSACTION_KEY;
 import static org.apache.hadoop.ozone.OzoneConsts.DELETING_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.METADATA_PATH;
@@ -92,6 +95,12 @@ public class KeyValueContainerData extends ContainerData {
 
   private long blockCommitSequenceId;
 
+  /**
+   * Root of the checksum tree of the last complete data scan, or null if the
+   * data of this replica was not completely verified yet.
+   */
+  private Long dataChecksum;
+
   static {
     // Initialize YAML fields
     KV_YAML_FIELDS = Lists.newArrayList();
@@ -218,6 +227,18 @@ public void updateBlockCommitSequenceId(long id) {
     this.blockCommitSequenceId = id;
   }
 
+  /**
+   * Returns the root of the checksum tree recorded by the last complete data
+   * scan, or null if there was none.
+   */
+  public Long getDataChecksum() {
+    return dataChecksum;
+  }
+
+  public void setDataChecksum(Long dataChecksum) {
+    this.dataChecksum = dataChecksum;
+  }
+
   /**
    * Returns the DBType used for the container.
    * @return containerDBType
@@ -344,6 +365,18 @@ public void resetPendingDeleteBlockCount(DBHandle db) throws IOException {
     metadataTable.put(getPendingDeleteBlockCountKey(), 0L);
   }
 
+  /**
+   * Forgets the progress and the checksum tree of previous data scans, so
+   * that the next scan verifies all blocks of the container.
+   */
+  public void resetDataScanState(DBHandle db) throws IOException {
+    dataChecksum = null;
+    Table<String, Long> metadataTable = db.getStore().getMetadataTable();
+    metadataTable.delete(getDataChecksumKey());
+    metadataTable.delete(getDataScanCursorKey());
+    metadataTable.delete(getDataScanRoundKey());
+  }
+
   // NOTE: Below are some helper functions to format keys according
   // to container schemas, we should use them instead of using
   // raw const variables defined.
@@ -380,6 +413,18 @@ public String getPendingDeleteBlockCountKey() {
     return formatKey(PENDING_DELETE_BLOCK_COUNT);
   }
 
+  public String getDataChecksumKey() {
+    return formatKey(CONTAINER_DATA_CHECKSUM);
+  }
+
+  public String getDataScanCursorKey() {
+    return formatKey(DATA_SCAN_CURSOR);
+  }
+
+  public String getDataScanRoundKey() {
+    return formatKey(DATA_SCAN_ROUND);
+  }
+
   public String getDeletingBlockKeyPrefix() {
     return formatKey(DELETING_KEY_PREFIX);
   }
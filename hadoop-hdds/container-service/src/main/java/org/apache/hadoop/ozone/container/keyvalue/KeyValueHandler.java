@@ -47,6 +47,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetSmallFileRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.KeyValue;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutBlockRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.PutSmallFileRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.WriteChunkRequestProto;
@@ -112,6 +113,7 @@
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.malformedRequest;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.putBlockResponseSuccess;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.unsupportedRequest;
+import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.writeChunkResponseSuccess;
 import static org.apache.hadoop.hdds.scm.utils.ClientCommandsUtils.getReadChunkVersion;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
     .ContainerDataProto.State.RECOVERING;
@@ -136,6 +138,8 @@ public class KeyValueHandler extends Handler {
   private final long maxContainerSize;
   private final Function<ByteBuffer, ByteString> byteBufferToByteString;
   private final boolean validateChunkChecksumData;
+  // null if the chunk read cache is disabled
+  private final ChunkReadCache chunkReadCache;
   // A striped lock that is held during container creation.
   private final Striped<Lock> containerCreationLocks;
 
@@ -147,8 +151,14 @@ public KeyValueHandler(ConfigurationSource config,
                          IncrementalReportSender<Container> icrSender) {
     super(config, datanodeId, contSet, volSet, metrics, icrSender);
     blockManager = new BlockManagerImpl(config);
-    validateChunkChecksumData = conf.getObject(
-        DatanodeConfiguration.class).isChunkDataValidationCheck();
+    final DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    validateChunkChecksumData = dnConf.isChunkDataValidationCheck();
+    chunkReadCache = dnConf.getChunkReadCacheSize() > 0
+        ? new ChunkReadCache(dnConf.getChunkReadCacheSize(),
+            dnConf.getChunkReadCacheMaxChunkSize(),
+            ChunkReadCacheMetrics.create())
+        : null;
     chunkManager = ChunkManagerFactory.createChunkManager(config, blockManager,
         volSet);
     try {
@@ -527,30 +537,8 @@ ContainerCommandResponseProto handlePutBlock(
     final ContainerProtos.BlockData blockDataProto;
     try {
       checkContainerOpen(kvContainer);
-
-      ContainerProtos.BlockData data = request.getPutBlock().getBlockData();
-      BlockData blockData = BlockData.getFromProtoBuf(data);
-      Preconditions.checkNotNull(blockData);
-
-      boolean endOfBlock = false;
-      if (!request.getPutBlock().hasEof() || request.getPutBlock().getEof()) {
-        // in EC, we will be doing empty put block.
-        // So, let's flush only when there are any chunks
-        if (!request.getPutBlock().getBlockData().getChunksList().isEmpty()) {
-          chunkManager.finishWriteChunks(kvContainer, blockData);
-        }
-        endOfBlock = true;
-      }
-
-      long bcsId =
-          dispatcherContext == null ? 0 : dispatcherContext.getLogIndex();
-      blockData.setBlockCommitSequenceId(bcsId);
-      blockManager.putBlock(kvContainer, blockData, endOfBlock);
-
-      blockDataProto = blockData.getProtoBufMessage();
-
-      final long numBytes = blockDataProto.getSerializedSize();
-      metrics.incContainerBytesStats(Type.PutBlock, numBytes);
+      blockDataProto = putBlock(kvContainer, request.getPutBlock(),
+          dispatcherContext);
     } catch (StorageContainerException ex) {
       return ContainerUtils.logAndReturnError(LOG, ex, request);
     } catch (IOException ex) {
@@ -562,6 +550,39 @@ ContainerCommandResponseProto handlePutBlock(
     return putBlockResponseSuccess(request, blockDataProto);
   }
 
+  /**
+   * Stores the block described by the given PutBlock request, which may be
+   * a standalone PutBlock or one piggybacked on a WriteChunk.
+   */
+  private ContainerProtos.BlockData putBlock(KeyValueContainer kvContainer,
+      PutBlockRequestProto putBlock, DispatcherContext dispatcherContext)
+      throws IOException {
+    ContainerProtos.BlockData data = putBlock.getBlockData();
+    BlockData blockData = BlockData.getFromProtoBuf(data);
+    Preconditions.checkNotNull(blockData);
+
+    boolean endOfBlock = false;
+    if (!putBlock.hasEof() || putBlock.getEof()) {
+      // in EC, we will be doing empty put block.
+      // So, let's flush only when there are any chunks
+      if (!data.getChunksList().isEmpty()) {
+        chunkManager.finishWriteChunks(kvContainer, blockData);
+      }
+      endOfBlock = true;
+    }
+
+    long bcsId =
+        dispatcherContext == null ? 0 : dispatcherContext.getLogIndex();
+    blockData.setBlockCommitSequenceId(bcsId);
+    blockManager.putBlock(kvContainer, blockData, endOfBlock);
+
+    ContainerProtos.BlockData blockDataProto = blockData.getProtoBufMessage();
+
+    final long numBytes = blockDataProto.getSerializedSize();
+    metrics.incContainerBytesStats(Type.PutBlock, numBytes);
+    return blockDataProto;
+  }
+
   /**
    * Handle Get Block operation. Calls BlockManager to process the request.
    */
@@ -719,8 +740,16 @@ ContainerCommandResponseProto handleReadChunk(
         chunkInfo.setReadDataIntoSingleBuffer(true);
       }
 
-      data = chunkManager.readChunk(kvContainer, blockID, chunkInfo,
-          dispatcherContext);
+      final DispatcherContext context = dispatcherContext;
+      if (chunkReadCache != null && !DispatcherContext.op(context)
+          .readFromTmpFile()) {
+        data = chunkReadCache.read(kvContainer.getContainerData(), blockID,
+            chunkInfo, () -> chunkManager.readChunk(kvContainer, blockID,
+                chunkInfo, context));
+      } else {
+        data = chunkManager.readChunk(kvContainer, blockID, chunkInfo,
+            dispatcherContext);
+      }
       // Validate data only if the read chunk is issued by Ratis for its
       // internal logic.
       //  For client reads, the client is expected to validate.
@@ -799,6 +828,7 @@ ContainerCommandResponseProto handleWriteChunk(
       return malformedRequest(request);
     }
 
+    ContainerProtos.BlockData blockDataProto = null;
     try {
       checkContainerOpen(kvContainer);
 
@@ -826,6 +856,13 @@ ContainerCommandResponseProto handleWriteChunk(
         metrics.incContainerBytesStats(Type.WriteChunk, writeChunk
             .getChunkData().getLen());
       }
+
+      // A PutBlock piggybacked on the last chunk is applied once the chunk
+      // is committed, the same point a standalone PutBlock would be.
+      if (writeChunk.hasBlock() && dispatcherContext.getStage().isCommit()) {
+        blockDataProto = putBlock(kvContainer, writeChunk.getBlock(),
+            dispatcherContext);
+      }
     } catch (StorageContainerException ex) {
       return ContainerUtils.logAndReturnError(LOG, ex, request);
     } catch (IOException ex) {
@@ -834,6 +871,9 @@ ContainerCommandResponseProto handleWriteChunk(
           request);
     }
 
+    if (blockDataProto != null) {
+      return writeChunkResponseSuccess(request, blockDataProto);
+    }
     return getSuccessResponse(request);
   }
 
@@ -1171,6 +1211,10 @@ public void closeContainer(Container container)
   public void deleteContainer(Container container, boolean force)
       throws IOException {
     deleteInternal(container, force);
+    if (chunkReadCache != null) {
+      chunkReadCache.invalidateContainer(
+          container.getContainerData().getContainerID());
+    }
   }
 
   /**
@@ -1181,6 +1225,11 @@ public void deleteContainer(Container container, boolean force)
   public void deleteBlock(Container container, BlockData blockData)
       throws IOException {
     chunkManager.deleteChunks(container, blockData);
+    if (chunkReadCache != null) {
+      chunkReadCache.invalidateBlock(
+          container.getContainerData().getContainerID(),
+          blockData.getLocalID());
+    }
     if (LOG.isDebugEnabled()) {
       for (ContainerProtos.ChunkInfo chunkInfo : blockData.getChunks()) {
         ChunkInfo info = ChunkInfo.getFromProtoBuf(chunkInfo);
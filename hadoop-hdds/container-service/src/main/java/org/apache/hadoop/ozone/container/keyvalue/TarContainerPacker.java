@@ -67,8 +67,16 @@
 
   private final CopyContainerCompression compression;
 
+  private final int compressionThreads;
+
   public TarContainerPacker(CopyContainerCompression compression) {
+    this(compression, 1);
+  }
+
+  public TarContainerPacker(CopyContainerCompression compression,
+      int compressionThreads) {
     this.compression = compression;
+    this.compressionThreads = compressionThreads;
   }
 
   /**
@@ -156,15 +164,46 @@ public void pack(Container<KeyValueContainerData> container,
 
     KeyValueContainerData containerData = container.getContainerData();
 
+    pack(container.getContainerFile(), getDbPath(containerData),
+        Paths.get(containerData.getChunksPath()), output);
+  }
+
+  /**
+   * Hard links the container descriptor, the DB and the chunk files into
+   * {@code snapshotDir}.  Files of a (quasi) closed container are not
+   * modified in place, only replaced or deleted, so the links keep the
+   * content as of the time of the snapshot.
+   */
+  @Override
+  public boolean snapshot(Container<KeyValueContainerData> container,
+      Path snapshotDir) throws IOException {
+    KeyValueContainerData containerData = container.getContainerData();
+
+    Files.createDirectories(snapshotDir);
+    Files.createLink(snapshotDir.resolve(CONTAINER_FILE_NAME),
+        container.getContainerFile().toPath());
+    linkPath(getDbPath(containerData), snapshotDir.resolve(DB_DIR_NAME));
+    linkPath(Paths.get(containerData.getChunksPath()),
+        snapshotDir.resolve(CHUNKS_DIR_NAME));
+    return true;
+  }
+
+  @Override
+  public void packSnapshot(Path snapshotDir, OutputStream output)
+      throws IOException {
+    pack(snapshotDir.resolve(CONTAINER_FILE_NAME).toFile(),
+        snapshotDir.resolve(DB_DIR_NAME),
+        snapshotDir.resolve(CHUNKS_DIR_NAME), output);
+  }
+
+  private void pack(File containerFile, Path dbPath, Path chunksPath,
+      OutputStream output) throws IOException {
     try (ArchiveOutputStream<TarArchiveEntry> archiveOutput = tar(compress(output))) {
-      includeFile(container.getContainerFile(), CONTAINER_FILE_NAME,
-          archiveOutput);
+      includeFile(containerFile, CONTAINER_FILE_NAME, archiveOutput);
 
-      includePath(getDbPath(containerData), DB_DIR_NAME,
-          archiveOutput);
+      includePath(dbPath, DB_DIR_NAME, archiveOutput);
 
-      includePath(Paths.get(containerData.getChunksPath()), CHUNKS_DIR_NAME,
-          archiveOutput);
+      includePath(chunksPath, CHUNKS_DIR_NAME, archiveOutput);
     }
   }
 
@@ -254,12 +293,22 @@ private void includePath(Path dir, String subdir,
     }
   }
 
+  private static void linkPath(Path dir, Path target) throws IOException {
+    Files.createDirectories(target);
+    try (Stream<Path> dirEntries = Files.list(dir)) {
+      for (Path path : dirEntries.collect(toList())) {
+        Files.createLink(target.resolve(path.getFileName()), path);
+      }
+    }
+  }
+
   static void includeFile(File file, String entryName,
       ArchiveOutputStream<TarArchiveEntry> archiveOutput) throws IOException {
     TarArchiveEntry entry = archiveOutput.createArchiveEntry(file, entryName);
     archiveOutput.putArchiveEntry(entry);
     try (InputStream input = Files.newInputStream(file.toPath())) {
-      IOUtils.copy(input, archiveOutput);
+      // only the size recorded in the entry, in case the file is growing
+      IOUtils.copyLarge(input, archiveOutput, 0, entry.getSize());
     }
     archiveOutput.closeArchiveEntry();
   }
@@ -281,7 +330,7 @@ InputStream decompress(InputStream input) throws IOException {
 
   @VisibleForTesting
   OutputStream compress(OutputStream output) throws IOException {
-    return compression.wrap(output);
+    return compression.wrap(output, compressionThreads);
   }
 
   private byte[] innerUnpack(InputStream input, Path dbRoot, Path chunksRoot)
@@ -349,6 +349,10 @@ private static void populateContainerMetadata(
       initializeUsedBytesAndBlockCount(store, kvContainerData);
     }
 
+    // Set the checksum tree root of the last complete data scan.
+    kvContainerData.setDataChecksum(
+        metadataTable.get(kvContainerData.getDataChecksumKey()));
+
     // If the container is missing a chunks directory, possibly due to the
     // bug fixed by HDDS-6235, create it here.
     File chunksDir = new File(kvContainerData.getChunksPath());
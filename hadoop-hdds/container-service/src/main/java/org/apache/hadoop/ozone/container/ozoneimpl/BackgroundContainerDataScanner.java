@@ -53,6 +53,13 @@ public class BackgroundContainerDataScanner extends
   private static final String NAME_FORMAT = "ContainerDataScanner(%s)";
   private final ContainerDataScannerMetrics metrics;
   private final long minScanGap;
+  /**
+   * Containers scanned within this gap are skipped. In the first iteration
+   * after a restart this covers the whole scan interval, so that the scan
+   * continues with the containers the previous iteration did not reach.
+   */
+  private long scanGap;
+  private boolean firstIteration = true;
 
   public BackgroundContainerDataScanner(ContainerScannerConfiguration conf,
                                         ContainerController controller,
@@ -64,11 +71,12 @@ public BackgroundContainerDataScanner(ContainerScannerConfiguration conf,
     canceler = new Canceler();
     this.metrics = ContainerDataScannerMetrics.create(volume.toString());
     this.minScanGap = conf.getContainerScanMinGap();
+    this.scanGap = Math.max(minScanGap, conf.getDataScanInterval());
   }
 
   private boolean shouldScan(Container<?> container) {
     return container.shouldScanData() &&
-        !ContainerUtils.recentlyScanned(container, minScanGap, LOG);
+        !ContainerUtils.recentlyScanned(container, scanGap, LOG);
   }
 
   @Override
@@ -87,7 +95,7 @@ public void scanContainer(Container<?> c)
     ContainerData containerData = c.getContainerData();
     long containerId = containerData.getContainerID();
     logScanStart(containerData);
-    ScanResult result = c.scanData(throttler, canceler);
+    ScanResult result = c.scanDataInBackground(throttler, canceler);
 
     // Metrics for skipped containers should not be updated.
     if (result.getFailureType() == DELETED_CONTAINER) {
@@ -110,6 +118,11 @@ public void scanContainer(Container<?> c)
 
   @Override
   public Iterator<Container<?>> getContainerIterator() {
+    if (firstIteration) {
+      firstIteration = false;
+    } else {
+      scanGap = minScanGap;
+    }
     return controller.getContainers(volume);
   }
 
@@ -56,6 +56,8 @@ public class ContainerScannerConfiguration {
       "hdds.container.scrub.on.demand.volume.bytes.per.second";
   public static final String CONTAINER_SCAN_MIN_GAP =
       "hdds.container.scrub.min.gap";
+  public static final String DATA_SAMPLE_SLICES_KEY =
+      "hdds.container.scrub.data.sample.slices";
 
   static final long CONTAINER_SCAN_MIN_GAP_DEFAULT =
       Duration.ofMinutes(15).toMillis();
@@ -65,6 +67,8 @@ public class ContainerScannerConfiguration {
   public static final long DATA_SCAN_INTERVAL_DEFAULT =
       Duration.ofDays(7).toMillis();
 
+  public static final int DATA_SAMPLE_SLICES_DEFAULT = 1;
+
   public static final long BANDWIDTH_PER_VOLUME_DEFAULT = OzoneConsts.MB * 5L;
   public static final long ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT =
       OzoneConsts.MB * 5L;
@@ -138,6 +142,19 @@ public class ContainerScannerConfiguration {
   )
   private long containerScanMinGap = CONTAINER_SCAN_MIN_GAP_DEFAULT;
 
+  @Config(key = "data.sample.slices",
+      type = ConfigType.INT,
+      defaultValue = "1",
+      tags = {ConfigTag.STORAGE},
+      description = "The blocks of a container are split into this many"
+          + " slices. If the checksum tree of a container did not change"
+          + " since its last complete data scan, the scanner only verifies"
+          + " the next slice, so that all blocks are verified once every"
+          + " this many scans. Containers with changed or unknown checksum"
+          + " trees are always verified completely. 1 disables sampling."
+  )
+  private int dataSampleSlices = DATA_SAMPLE_SLICES_DEFAULT;
+
   @PostConstruct
   public void validate() {
     if (metadataScanInterval < 0) {
@@ -161,6 +178,13 @@ public void validate() {
       containerScanMinGap = CONTAINER_SCAN_MIN_GAP_DEFAULT;
     }
 
+    if (dataSampleSlices < 1) {
+      LOG.warn(DATA_SAMPLE_SLICES_KEY +
+              " must be >= 1 and was set to {}. Defaulting to {}",
+          dataSampleSlices, DATA_SAMPLE_SLICES_DEFAULT);
+      dataSampleSlices = DATA_SAMPLE_SLICES_DEFAULT;
+    }
+
     if (bandwidthPerVolume < 0) {
       LOG.warn(VOLUME_BYTES_PER_SECOND_KEY +
               " must be >= 0 and was set to {}. Defaulting to {}",
@@ -218,4 +242,12 @@ public long getOnDemandBandwidthPerVolume() {
   public long getContainerScanMinGap() {
     return containerScanMinGap;
   }
+
+  public void setDataSampleSlices(int dataSampleSlices) {
+    this.dataSampleSlices = dataSampleSlices;
+  }
+
+  public int getDataSampleSlices() {
+    return dataSampleSlices;
+  }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.hadoop.ozone.container.replication;
 
+import com.github.luben.zstd.ZstdOutputStream;
 import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
@@ -50,7 +51,18 @@ public OutputStream wrap(OutputStream output) {
   GZIP(CompressorStreamFactory.GZIP),
   LZ4(CompressorStreamFactory.LZ4_FRAMED),
   SNAPPY(CompressorStreamFactory.SNAPPY_FRAMED),
-  ZSTD(CompressorStreamFactory.ZSTANDARD);
+  ZSTD(CompressorStreamFactory.ZSTANDARD) {
+    @Override
+    public OutputStream wrap(OutputStream output, int threads)
+        throws IOException {
+      if (threads <= 1) {
+        return wrap(output);
+      }
+      // Jobs are compressed in parallel, but the result is a regular zstd
+      // stream, so the receiving side needs no change.
+      return new ZstdOutputStream(output).setWorkers(threads);
+    }
+  };
 
   private final String compressorFactoryName;
 
@@ -119,6 +131,15 @@ public OutputStream wrap(OutputStream output) throws IOException {
     }
   }
 
+  /**
+   * Same as {@link #wrap(OutputStream)}, but compresses using up to
+   * {@code threads} threads if the algorithm supports it.
+   */
+  public OutputStream wrap(OutputStream output, int threads)
+      throws IOException {
+    return wrap(output);
+  }
+
   private static IOException toIOException(CompressorException e) {
     Throwable cause = e.getCause();
     if (cause instanceof IOException) {
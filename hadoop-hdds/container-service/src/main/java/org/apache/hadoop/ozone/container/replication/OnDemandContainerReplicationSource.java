@@ -37,9 +37,17 @@
 
   private final ContainerController controller;
 
+  private final int compressionThreads;
+
   public OnDemandContainerReplicationSource(
       ContainerController controller) {
+    this(controller, 1);
+  }
+
+  public OnDemandContainerReplicationSource(
+      ContainerController controller, int compressionThreads) {
     this.controller = controller;
+    this.compressionThreads = compressionThreads;
   }
 
   @Override
@@ -61,6 +69,6 @@ public void copyData(long containerId, OutputStream destination,
 
     controller.exportContainer(
         container.getContainerType(), containerId, destination,
-        new TarContainerPacker(compression));
+        new TarContainerPacker(compression, compressionThreads));
   }
 }
@@ -64,6 +64,7 @@ public class ReplicationServer {
   private ContainerController controller;
 
   private int port;
+  private final int compressionThreads;
   private final ContainerImporter importer;
 
   private ThreadPoolExecutor executor;
@@ -77,6 +78,7 @@ public ReplicationServer(ContainerController controller,
     this.controller = controller;
     this.importer = importer;
     this.port = replicationConfig.getPort();
+    this.compressionThreads = replicationConfig.getCompressionThreads();
 
     int replicationServerWorkers =
         replicationConfig.getReplicationMaxStreams();
@@ -105,7 +107,8 @@ public void init() {
     NettyServerBuilder nettyServerBuilder = NettyServerBuilder.forPort(port)
         .maxInboundMessageSize(OzoneConsts.OZONE_SCM_CHUNK_MAX_SIZE)
         .addService(ServerInterceptors.intercept(new GrpcReplicationService(
-            new OnDemandContainerReplicationSource(controller),
+            new OnDemandContainerReplicationSource(controller,
+                compressionThreads),
             importer
         ), new GrpcServerInterceptor()))
         .executor(executor);
@@ -202,6 +205,15 @@ public static final class ReplicationConfig {
     )
     private int replicationQueueLimit = 4096;
 
+    @Config(key = "compression.threads",
+        type = ConfigType.INT,
+        defaultValue = "1",
+        tags = {DATANODE},
+        description = "Number of threads compressing a single exported " +
+            "container, if the compression algorithm supports it (ZSTD)."
+    )
+    private int compressionThreads = 1;
+
     @Config(key = "port", defaultValue = "9886",
         description = "Port used for the server2server replication server",
         tags = {DATANODE, MANAGEMENT})
@@ -243,6 +255,14 @@ public void setReplicationMaxStreams(int replicationMaxStreams) {
       this.replicationMaxStreams = replicationMaxStreams;
     }
 
+    public int getCompressionThreads() {
+      return compressionThreads;
+    }
+
+    public void setCompressionThreads(int threads) {
+      this.compressionThreads = threads;
+    }
+
     public int getReplicationQueueLimit() {
       return replicationQueueLimit;
     }
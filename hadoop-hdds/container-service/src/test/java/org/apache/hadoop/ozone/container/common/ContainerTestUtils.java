@@ -218,7 +218,10 @@ public static void setupMockContainer(
     when(c.getContainerData().getVolume()).thenReturn(vol);
 
     try {
-      when(c.scanData(any(DataTransferThrottler.class), any(Canceler.class)))
+      Mockito.lenient().when(c.scanData(any(DataTransferThrottler.class),
+          any(Canceler.class))).thenReturn(dataScanResult);
+      Mockito.lenient().when(c.scanDataInBackground(
+          any(DataTransferThrottler.class), any(Canceler.class)))
           .thenReturn(dataScanResult);
       Mockito.lenient().when(c.scanMetaData()).thenReturn(metadataScanResult);
     } catch (InterruptedException ex) {
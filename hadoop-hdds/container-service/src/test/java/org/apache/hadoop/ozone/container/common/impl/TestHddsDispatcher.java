@@ -430,6 +430,49 @@ public void testDuplicateWriteChunkAndPutBlockRequest() throws  IOException {
     }
   }
 
+  @Test
+  public void testWriteChunkWithPiggybackedPutBlock() throws IOException {
+    String testDir = GenericTestUtils.getTempPath(
+        TestHddsDispatcher.class.getSimpleName());
+    try {
+      UUID scmId = UUID.randomUUID();
+      OzoneConfiguration conf = new OzoneConfiguration();
+      conf.set(HDDS_DATANODE_DIR_KEY, testDir);
+      conf.set(OzoneConfigKeys.OZONE_METADATA_DIRS, testDir);
+      DatanodeDetails dd = randomDatanodeDetails();
+      HddsDispatcher hddsDispatcher = createDispatcher(dd, scmId, conf);
+      ContainerCommandRequestProto writeChunk = getWriteChunkRequest(
+          dd.getUuidString(), 1L, 1L);
+      ContainerProtos.PutBlockRequestProto putBlock =
+          ContainerTestHelper.getPutBlockRequest(writeChunk).getPutBlock();
+      ContainerCommandRequestProto request = writeChunk.toBuilder()
+          .setWriteChunk(writeChunk.getWriteChunk().toBuilder()
+              .setBlock(putBlock))
+          .build();
+
+      ContainerCommandResponseProto response =
+          hddsDispatcher.dispatch(request, null);
+      assertEquals(ContainerProtos.Result.SUCCESS, response.getResult());
+      assertEquals(writeChunk.getWriteChunk().getChunkData().getLen(),
+          response.getWriteChunk().getCommittedBlockLength()
+              .getBlockLength());
+
+      // the block is visible without a separate PutBlock
+      response = hddsDispatcher.dispatch(
+          ContainerTestHelper.getListBlockRequest(writeChunk), null);
+      assertEquals(ContainerProtos.Result.SUCCESS, response.getResult());
+      assertEquals(1, response.getListBlock().getBlockDataCount());
+      ContainerProtos.BlockData blockData =
+          response.getListBlock().getBlockData(0);
+      assertEquals(writeChunk.getWriteChunk().getBlockID(),
+          blockData.getBlockID());
+      assertEquals(1, blockData.getChunksCount());
+    } finally {
+      ContainerMetrics.remove();
+      FileUtils.deleteDirectory(new File(testDir));
+    }
+  }
+
   /**
    * Creates HddsDispatcher instance with given infos.
    * @param dd datanode detail info.
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.impl;
+
+import org.apache.hadoop.hdds.fs.SpaceUsageSource;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link VolumeDeletionThrottle}.
+ */
+class TestVolumeDeletionThrottle {
+
+  private static final int LIMIT = 1000;
+  private static final long THRESHOLD_MS = 10;
+
+  private final VolumeDeletionThrottle throttle = new VolumeDeletionThrottle();
+
+  @Test
+  void testFullerVolumesFirst() {
+    HddsVolume emptier = newVolume(80);
+    HddsVolume fuller = newVolume(10);
+    Map<HddsVolume, Long> pending = new HashMap<>();
+    pending.put(emptier, 10_000L);
+    pending.put(fuller, 10_000L);
+
+    Map<HddsVolume, Long> limits = throttle.allocate(LIMIT, THRESHOLD_MS,
+        pending);
+    assertThat(new ArrayList<>(limits.keySet()))
+        .containsExactly(fuller, emptier);
+    assertEquals(LIMIT / 2, limits.get(fuller));
+    assertEquals(LIMIT / 2, limits.get(emptier));
+  }
+
+  @Test
+  void testUnusedShareGoesToFullerVolume() {
+    HddsVolume emptier = newVolume(80);
+    HddsVolume fuller = newVolume(10);
+    HddsVolume idle = newVolume(90);
+    Map<HddsVolume, Long> pending = new HashMap<>();
+    pending.put(emptier, 10_000L);
+    pending.put(fuller, 10_000L);
+    pending.put(idle, 10L);
+
+    Map<HddsVolume, Long> limits = throttle.allocate(LIMIT, THRESHOLD_MS,
+        pending);
+    assertEquals(10, limits.get(idle));
+    assertEquals(LIMIT - 10 - limits.get(emptier), limits.get(fuller));
+    assertThat(limits.get(fuller)).isGreaterThan(limits.get(emptier));
+  }
+
+  @Test
+  void testBusyVolumeIsThrottled() {
+    HddsVolume busy = newVolume(10);
+    HddsVolume quiet = newVolume(50);
+    Map<HddsVolume, Long> pending = new HashMap<>();
+    pending.put(busy, 10_000L);
+    pending.put(quiet, 10_000L);
+    throttle.allocate(LIMIT, THRESHOLD_MS, pending);
+
+    // 100 ops of 50 ms on the busy volume, 100 ops of 1 ms on the other
+    addIO(busy, 100, 5000);
+    addIO(quiet, 100, 100);
+    Map<HddsVolume, Long> limits = throttle.allocate(LIMIT, THRESHOLD_MS,
+        pending);
+    assertEquals(LIMIT / 4, limits.get(busy));
+    assertEquals(LIMIT - LIMIT / 4, limits.get(quiet));
+    assertEquals(1, throttle.getThrottledVolumeCount());
+
+    addIO(busy, 100, 5000);
+    limits = throttle.allocate(LIMIT, THRESHOLD_MS, pending);
+    assertEquals(LIMIT / 8, limits.get(busy));
+    assertEquals(LIMIT - LIMIT / 8, limits.get(quiet));
+
+    // recovers gradually once the load is gone
+    limits = throttle.allocate(LIMIT, THRESHOLD_MS, pending);
+    assertEquals(LIMIT / 4, limits.get(busy));
+    for (int i = 0; i < 4; i++) {
+      throttle.allocate(LIMIT, THRESHOLD_MS, pending);
+    }
+    assertEquals(0, throttle.getThrottledVolumeCount());
+    limits = throttle.allocate(LIMIT, THRESHOLD_MS, pending);
+    assertEquals(LIMIT / 2, limits.get(busy));
+  }
+
+  @Test
+  void testThrottledWithManyVolumes() {
+    Map<HddsVolume, Long> pending = new HashMap<>();
+    HddsVolume busy = newVolume(10);
+    pending.put(busy, 10_000L);
+    for (int i = 0; i < 9; i++) {
+      pending.put(newVolume(50), 10_000L);
+    }
+    throttle.allocate(LIMIT, THRESHOLD_MS, pending);
+
+    addIO(busy, 100, 5000);
+    Map<HddsVolume, Long> limits = throttle.allocate(LIMIT, THRESHOLD_MS,
+        pending);
+    assertEquals(LIMIT / 10 / 2, limits.get(busy));
+    assertEquals(LIMIT, limits.values().stream().mapToLong(l -> l).sum());
+  }
+
+  @Test
+  void testThrottledVolumeGetsNoSpare() {
+    HddsVolume busy = newVolume(10);
+    HddsVolume quiet = newVolume(50);
+    Map<HddsVolume, Long> pending = new HashMap<>();
+    pending.put(busy, 10_000L);
+    pending.put(quiet, 100L);
+    throttle.allocate(LIMIT, THRESHOLD_MS, pending);
+
+    addIO(busy, 100, 5000);
+    Map<HddsVolume, Long> limits = throttle.allocate(LIMIT, THRESHOLD_MS,
+        pending);
+    assertEquals(LIMIT / 4, limits.get(busy));
+    assertEquals(100, limits.get(quiet));
+  }
+
+  private static HddsVolume newVolume(long availablePercent) {
+    SpaceUsageSource usage = mock(SpaceUsageSource.class);
+    when(usage.getCapacity()).thenReturn(100L);
+    when(usage.getAvailable()).thenReturn(availablePercent);
+    HddsVolume volume = mock(HddsVolume.class);
+    when(volume.getCurrentUsage()).thenReturn(usage);
+    VolumeIOStats stats = mock(VolumeIOStats.class);
+    when(volume.getVolumeIOStats()).thenReturn(stats);
+    return volume;
+  }
+
+  private static void addIO(HddsVolume volume, long ops, long timeMs) {
+    VolumeIOStats stats = volume.getVolumeIOStats();
+    long readOps = stats.getReadOpCount();
+    long readTime = stats.getReadTime();
+    when(stats.getReadOpCount()).thenReturn(readOps + ops);
+    when(stats.getReadTime()).thenReturn(readTime + timeMs);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link ChunkReadCache}.
+ */
+class TestChunkReadCache {
+
+  private static final int CHUNK_SIZE = 1024;
+
+  private final AtomicInteger diskReads = new AtomicInteger();
+  private ChunkReadCacheMetrics metrics;
+  private ChunkReadCache cache;
+  private ContainerData closed;
+
+  @BeforeEach
+  void setup() {
+    diskReads.set(0);
+    metrics = ChunkReadCacheMetrics.create();
+    cache = new ChunkReadCache(64 * CHUNK_SIZE, CHUNK_SIZE, metrics);
+    closed = mockContainer(true);
+  }
+
+  @Test
+  void testRepeatedReadIsServedFromCache() throws Exception {
+    final BlockID blockID = new BlockID(1, 1);
+    final ChunkInfo chunk = new ChunkInfo("chunk", 0, CHUNK_SIZE);
+    final long hits = metrics.getHits();
+
+    final ChunkBuffer first = read(closed, blockID, chunk);
+    final ChunkBuffer second = read(closed, blockID, chunk);
+    assertEquals(1, diskReads.get());
+    assertEquals(hits + 1, metrics.getHits());
+    assertEquals(first.asByteBufferList().size(),
+        second.asByteBufferList().size());
+    assertEquals(first.toByteString(), second.toByteString());
+
+    // the cached data is not changed by reading it
+    assertEquals(first.toByteString(),
+        read(closed, blockID, chunk).toByteString());
+  }
+
+  @Test
+  void testOnlySmallChunksOfClosedContainersAreCached() throws Exception {
+    final BlockID blockID = new BlockID(1, 1);
+    final ChunkInfo chunk = new ChunkInfo("chunk", 0, CHUNK_SIZE);
+    final ContainerData open = mockContainer(false);
+    read(open, blockID, chunk);
+    read(open, blockID, chunk);
+    assertEquals(2, diskReads.get());
+
+    final ChunkInfo large = new ChunkInfo("chunk", 0, 2 * CHUNK_SIZE);
+    read(closed, blockID, large);
+    read(closed, blockID, large);
+    assertEquals(4, diskReads.get());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void testDeletedBlockIsInvalidated() throws Exception {
+    final ChunkInfo chunk = new ChunkInfo("chunk", 0, CHUNK_SIZE);
+    read(closed, new BlockID(1, 1), chunk);
+    read(closed, new BlockID(1, 2), chunk);
+    read(closed, new BlockID(2, 1), chunk);
+    assertEquals(3, cache.size());
+
+    cache.invalidateBlock(1, 1);
+    assertEquals(2, cache.size());
+    read(closed, new BlockID(1, 1), chunk);
+    assertEquals(4, diskReads.get());
+
+    cache.invalidateContainer(1);
+    assertEquals(1, cache.size());
+  }
+
+  private ChunkBuffer read(ContainerData container, BlockID blockID,
+      ChunkInfo chunk) throws StorageContainerException {
+    return cache.read(container, blockID, chunk, () -> {
+      diskReads.incrementAndGet();
+      final int length = Math.toIntExact(chunk.getLen());
+      final byte[] data = new byte[length];
+      Arrays.fill(data, (byte) blockID.getLocalID());
+      // one buffer per checksum
+      final int half = length / 2;
+      return ChunkBuffer.wrap(Arrays.asList(
+          ByteBuffer.wrap(data, 0, half).slice(),
+          ByteBuffer.wrap(data, half, length - half).slice()));
+    });
+  }
+
+  private static ContainerData mockContainer(boolean isClosed) {
+    final ContainerData data = mock(ContainerData.class);
+    when(data.isClosed()).thenReturn(isClosed);
+    return data;
+  }
+}
@@ -22,6 +22,7 @@
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdfs.util.Canceler;
+import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
@@ -34,12 +35,16 @@
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.RandomAccessFile;
 
 import static org.apache.hadoop.ozone.container.common.interfaces.Container.ScanResult.FailureType.DELETED_CONTAINER;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -211,6 +216,12 @@ void testKeyValueContainerCheckDeleted(ContainerTestVersionInfo versionInfo)
         .thenReturn(containerData.containerPrefix());
     when(mockContainerData.getBcsIdKey())
         .thenReturn(containerData.getBcsIdKey());
+    when(mockContainerData.getDataChecksumKey())
+        .thenReturn(containerData.getDataChecksumKey());
+    when(mockContainerData.getDataScanCursorKey())
+        .thenReturn(containerData.getDataScanCursorKey());
+    when(mockContainerData.getDataScanRoundKey())
+        .thenReturn(containerData.getDataScanRoundKey());
 
     KeyValueContainerCheck kvCheck = new KeyValueContainerCheck(
         containerData.getMetadataPath(), conf, containerData.getContainerID(),
@@ -227,4 +238,233 @@ void testKeyValueContainerCheckDeleted(ContainerTestVersionInfo versionInfo)
     assertFalse(result.isHealthy());
     assertEquals(DELETED_CONTAINER, result.getFailureType());
   }
+
+  @ContainerTestVersionInfo.ContainerTest
+  void testDataScanRecordsChecksumTree(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTestData(versionInfo);
+    long containerID = 104;
+    OzoneConfiguration conf = getConf();
+    KeyValueContainer container = createContainerWithBlocks(containerID,
+        3, 1, true);
+    container.close();
+    KeyValueContainerData containerData = container.getContainerData();
+    assertNull(containerData.getDataChecksum());
+
+    assertTrue(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+    Long root = containerData.getDataChecksum();
+    assertNotNull(root);
+    assertEquals(root, container.getContainerReport().getDataChecksum());
+
+    // the root stays the same while the blocks do not change
+    assertTrue(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+    assertEquals(root, containerData.getDataChecksum());
+
+    // the root changes with the blocks of the container
+    try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+      db.getStore().getBlockDataTable().delete(containerData.getBlockKey(0));
+    }
+    assertTrue(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+    assertNotEquals(root, containerData.getDataChecksum());
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  void testSampledDataScan(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTestData(versionInfo);
+    long containerID = 106;
+    int slices = 4;
+    int normalBlocks = 8;
+    OzoneConfiguration conf = getConf();
+    ContainerScannerConfiguration sc = conf.getObject(
+        ContainerScannerConfiguration.class);
+    sc.setDataSampleSlices(slices);
+    conf.setFromObject(sc);
+    KeyValueContainer container = createContainerWithBlocks(containerID,
+        normalBlocks, 0, true);
+    container.close();
+
+    // the first scan is complete and records the checksum tree
+    assertTrue(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+
+    // the next scan only verifies the blocks of slice 1
+    long corrupted = -1;
+    for (long localID = 0; localID < normalBlocks; localID++) {
+      if (!KeyValueContainerCheck.isInSlice(localID, 1, slices)) {
+        corrupted = localID;
+        break;
+      }
+    }
+    assertThat(corrupted).isNotNegative();
+    corruptBlock(container, corrupted);
+    assertTrue(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+
+    // the corruption is found once its slice is scanned
+    boolean found = false;
+    for (int i = 0; i < slices && !found; i++) {
+      found = !newCheck(container).fullCheck(newThrottler(), null, true)
+          .isHealthy();
+    }
+    assertTrue(found);
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  void testDataScanResumesFromCursor(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTestData(versionInfo);
+    long containerID = 107;
+    OzoneConfiguration conf = getConf();
+    KeyValueContainer container = createContainerWithBlocks(containerID,
+        3, 0, true);
+    container.close();
+    KeyValueContainerData containerData = container.getContainerData();
+    corruptBlock(container, 0);
+
+    // an interrupted scan has already verified block 0 and 1
+    try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+      db.getStore().getMetadataTable().put(
+          containerData.getDataScanCursorKey(), 1L);
+    }
+    assertTrue(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+    try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+      Table<String, Long> metadataTable = db.getStore().getMetadataTable();
+      assertNull(metadataTable.get(containerData.getDataScanCursorKey()));
+      assertEquals(1L,
+          metadataTable.get(containerData.getDataScanRoundKey()));
+    }
+
+    // the next scan starts from the beginning
+    assertFalse(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  void testOnDemandScanIgnoresScanState(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTestData(versionInfo);
+    long containerID = 108;
+    int slices = 4;
+    OzoneConfiguration conf = getConf();
+    ContainerScannerConfiguration sc = conf.getObject(
+        ContainerScannerConfiguration.class);
+    sc.setDataSampleSlices(slices);
+    conf.setFromObject(sc);
+    KeyValueContainer container = createContainerWithBlocks(containerID,
+        3, 0, true);
+    container.close();
+    KeyValueContainerData containerData = container.getContainerData();
+    assertTrue(newCheck(container).fullCheck(newThrottler(), null, true)
+        .isHealthy());
+    Long root = containerData.getDataChecksum();
+
+    // block 0 is neither after the cursor nor in the next sampled slice
+    long corrupted = 0;
+    while (KeyValueContainerCheck.isInSlice(corrupted, 1, slices)) {
+      corrupted++;
+    }
+    corruptBlock(container, corrupted);
+    try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+      db.getStore().getMetadataTable().put(
+          containerData.getDataScanCursorKey(), corrupted);
+    }
+
+    // an on-demand scan verifies every block and leaves the state alone
+    assertFalse(newCheck(container).fullCheck(newThrottler(), null)
+        .isHealthy());
+    try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+      Table<String, Long> metadataTable = db.getStore().getMetadataTable();
+      assertEquals(corrupted,
+          metadataTable.get(containerData.getDataScanCursorKey()));
+      assertEquals(1L,
+          metadataTable.get(containerData.getDataScanRoundKey()));
+      assertEquals(root,
+          metadataTable.get(containerData.getDataChecksumKey()));
+    }
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  void testEachBlockIsInOneSlice(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTestData(versionInfo);
+    int slices = 5;
+    for (long localID = 0; localID < 1000; localID++) {
+      int count = 0;
+      for (long round = 0; round < slices; round++) {
+        if (KeyValueContainerCheck.isInSlice(localID, round, slices)) {
+          count++;
+        }
+      }
+      assertEquals(1, count);
+    }
+    assertTrue(KeyValueContainerCheck.isAfter(new byte[] {1, (byte) 0x80},
+        new byte[] {1, 0x7f}));
+    assertFalse(KeyValueContainerCheck.isAfter(new byte[] {1, 0},
+        new byte[] {1, 0}));
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  void testDataScanResumesInIterationOrder(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTestData(versionInfo);
+    long containerID = 109;
+    OzoneConfiguration conf = getConf();
+    KeyValueContainer container = createContainerWithBlocks(containerID,
+        12, 0, true);
+    container.close();
+    KeyValueContainerData containerData = container.getContainerData();
+    corruptBlock(container, 2);
+    corruptBlock(container, 10);
+    // schema V1 iterates block IDs in numeric order, later schemas in the
+    // order of their strings: 0, 1, 10, 11, 2, ..., 9
+    boolean numericOrder = containerData.hasSchema(OzoneConsts.SCHEMA_V1);
+
+    // only 10 and 11 are left after 9 in numeric order, none in string order
+    try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+      db.getStore().getMetadataTable().put(
+          containerData.getDataScanCursorKey(), 9L);
+    }
+    assertEquals(numericOrder, !newCheck(container)
+        .fullCheck(newThrottler(), null, true).isHealthy());
+
+    // only 11 is left after 10 in numeric order, 11 and 2 to 9 otherwise
+    try (DBHandle db = BlockUtils.getDB(containerData, conf)) {
+      db.getStore().getMetadataTable().put(
+          containerData.getDataScanCursorKey(), 10L);
+    }
+    assertEquals(numericOrder, newCheck(container)
+        .fullCheck(newThrottler(), null, true).isHealthy());
+  }
+
+  private KeyValueContainerCheck newCheck(KeyValueContainer container) {
+    KeyValueContainerData containerData = container.getContainerData();
+    return new KeyValueContainerCheck(containerData.getMetadataPath(),
+        getConf(), containerData.getContainerID(), containerData.getVolume(),
+        container);
+  }
+
+  private DataTransferThrottler newThrottler() {
+    return new DataTransferThrottler(getConf().getObject(
+        ContainerScannerConfiguration.class).getBandwidthPerVolume());
+  }
+
+  private void corruptBlock(KeyValueContainer container, long localID)
+      throws IOException {
+    KeyValueContainerData containerData = container.getContainerData();
+    try (DBHandle db = BlockUtils.getDB(containerData, getConf())) {
+      BlockData block = db.getStore().getBlockDataTable()
+          .get(containerData.getBlockKey(localID));
+      ChunkInfo chunkInfo = ChunkInfo.getFromProtoBuf(block.getChunks().get(0));
+      File chunkFile = getChunkLayout()
+          .getChunkFile(containerData, block.getBlockID(), chunkInfo);
+      try (RandomAccessFile file = new RandomAccessFile(chunkFile, "rws")) {
+        file.setLength(chunkFile.length() / 2);
+      }
+    }
+  }
 }
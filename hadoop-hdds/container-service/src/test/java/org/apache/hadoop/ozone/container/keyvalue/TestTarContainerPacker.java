@@ -255,6 +255,56 @@ public void pack(ContainerTestVersionInfo versionInfo,
     inputForUnpackData.assertClosedExactlyOnce();
   }
 
+  @ParameterizedTest
+  @MethodSource("getLayoutAndCompression")
+  public void packSnapshot(ContainerTestVersionInfo versionInfo,
+      CopyContainerCompression compression) throws IOException {
+    initTests(versionInfo, compression);
+    packer = new TarContainerPacker(compression, 2);
+    KeyValueContainerData sourceContainerData =
+        createContainer(SOURCE_CONTAINER_ROOT);
+    KeyValueContainer sourceContainer =
+        new KeyValueContainer(sourceContainerData, conf);
+    File dbFile = writeDbFile(sourceContainerData, TEST_DB_FILE_NAME);
+    File chunkFile = writeChunkFile(sourceContainerData, TEST_CHUNK_FILE_NAME);
+    writeDescriptor(sourceContainer);
+
+    Path snapshotDir = TEMP_DIR.resolve(
+        "snapshot-" + sourceContainerData.getContainerID());
+    assertTrue(packer.snapshot(sourceContainer, snapshotDir));
+
+    // changes after the snapshot are not exported
+    Files.delete(chunkFile.toPath());
+    Files.delete(dbFile.toPath());
+    writeSingleFile(TarContainerPacker.getDbPath(sourceContainerData),
+        TEST_DB_FILE_NAME, "changed");
+
+    Path targetFile = TEMP_DIR.resolve("snapshot.tar");
+    try (OutputStream output = newOutputStream(targetFile)) {
+      packer.packSnapshot(snapshotDir, output);
+    }
+
+    try (InputStream input = newInputStream(targetFile)) {
+      assertEquals(TEST_DESCRIPTOR_FILE_CONTENT,
+          new String(packer.unpackContainerDescriptor(input), UTF_8));
+    }
+    KeyValueContainerData destinationContainerData =
+        createContainer(DEST_CONTAINER_ROOT, false);
+    KeyValueContainer destinationContainer =
+        new KeyValueContainer(destinationContainerData, conf);
+    try (InputStream input = newInputStream(targetFile)) {
+      packer.unpackContainerData(destinationContainer, input, TEMP_DIR,
+          DEST_CONTAINER_ROOT.resolve(String.valueOf(
+              destinationContainerData.getContainerID())));
+    }
+    assertExampleMetadataDbIsGood(
+        TarContainerPacker.getDbPath(destinationContainerData),
+        TEST_DB_FILE_NAME);
+    assertExampleChunkFileIsGood(
+        Paths.get(destinationContainerData.getChunksPath()),
+        TEST_CHUNK_FILE_NAME);
+  }
+
   @ParameterizedTest
   @MethodSource("getLayoutAndCompression")
   public void unpackContainerDataWithValidRelativeDbFilePath(
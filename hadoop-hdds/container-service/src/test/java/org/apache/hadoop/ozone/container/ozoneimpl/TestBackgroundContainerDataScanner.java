@@ -70,7 +70,7 @@ public void setup() {
   public void testRecentlyScannedContainerIsSkipped() throws Exception {
     setScannedTimestampRecent(healthy);
     scanner.runIteration();
-    verify(healthy, never()).scanData(any(), any());
+    verify(healthy, never()).scanDataInBackground(any(), any());
   }
 
   @Test
@@ -80,7 +80,7 @@ public void testPreviouslyScannedContainerIsScanned() throws Exception {
     // should be scanned.
     setScannedTimestampOld(healthy);
     scanner.runIteration();
-    verify(healthy, atLeastOnce()).scanData(any(), any());
+    verify(healthy, atLeastOnce()).scanDataInBackground(any(), any());
   }
 
   @Test
@@ -90,7 +90,7 @@ public void testUnscannedContainerIsScanned() throws Exception {
     when(healthy.getContainerData().lastDataScanTime())
         .thenReturn(Optional.empty());
     scanner.runIteration();
-    verify(healthy, atLeastOnce()).scanData(any(), any());
+    verify(healthy, atLeastOnce()).scanDataInBackground(any(), any());
   }
 
   @Test
@@ -157,7 +157,7 @@ public void testScanTimestampUpdated() throws Exception {
   public void testUnhealthyContainerNotRescanned() throws Exception {
     Container<?> unhealthy = mockKeyValueContainer();
     when(unhealthy.scanMetaData()).thenReturn(ScanResult.healthy());
-    when(unhealthy.scanData(any(DataTransferThrottler.class),
+    when(unhealthy.scanDataInBackground(any(DataTransferThrottler.class),
         any(Canceler.class))).thenReturn(getUnhealthyScanResult());
 
     setContainers(unhealthy, healthy);
@@ -213,10 +213,10 @@ public void testWithVolumeFailure() throws Exception {
     assertEquals(0, metrics.getNumUnHealthyContainers());
     // All containers were on the unhealthy volume, so they should not have
     // been scanned.
-    verify(healthy, never()).scanData(any(), any());
-    verify(openContainer, never()).scanData(any(), any());
-    verify(corruptData, never()).scanData(any(), any());
-    verify(openCorruptMetadata, never()).scanData(any(), any());
+    verify(healthy, never()).scanDataInBackground(any(), any());
+    verify(openContainer, never()).scanDataInBackground(any(), any());
+    verify(corruptData, never()).scanDataInBackground(any(), any());
+    verify(openCorruptMetadata, never()).scanDataInBackground(any(), any());
   }
 
 
@@ -226,7 +226,7 @@ public void testShutdownDuringScan() throws Exception {
     CountDownLatch latch = new CountDownLatch(1);
 
     // Make the data scan block until interrupt.
-    when(healthy.scanData(any(), any())).then(i -> {
+    when(healthy.scanDataInBackground(any(), any())).then(i -> {
       latch.countDown();
       Thread.sleep(Duration.ofDays(1).toMillis());
       return null;
@@ -17,6 +17,8 @@
  */
 package org.apache.hadoop.hdds.security.token;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProtoOrBuilder;
 import org.apache.hadoop.hdds.security.SecurityConfig;
@@ -27,11 +29,18 @@
 import org.apache.hadoop.security.token.Token;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Verifies short-lived token.
+ * <p>
+ * A client sends the same token with each chunk of a block, so tokens whose
+ * signature was verified are remembered by their identifier, and are not
+ * decoded and verified again while their secret key is valid.
  * @param <T> type of short-lived token
  */
 public abstract class
@@ -40,11 +49,22 @@
 
   private final SecurityConfig conf;
   private final SecretKeyVerifierClient secretKeyClient;
+  private final Cache<ByteBuffer, VerifiedToken<T>> verifiedTokens;
+  private final TokenVerifierMetrics metrics;
 
   protected ShortLivedTokenVerifier(SecurityConfig conf,
       SecretKeyVerifierClient secretKeyClient) {
     this.conf = conf;
     this.secretKeyClient = secretKeyClient;
+    this.metrics = TokenVerifierMetrics.create();
+    int cacheSize = conf.getTokenVerificationCacheSize();
+    this.verifiedTokens = cacheSize > 0
+        ? CacheBuilder.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(conf.getBlockTokenExpiryDurationMs(),
+                TimeUnit.MILLISECONDS)
+            .build()
+        : null;
   }
 
   /** Whether the specific kind of token is required for {@code cmdType}. */
@@ -71,14 +91,7 @@ public void verify(String user, Token<?> token,
       return;
     }
 
-    T tokenId = createTokenIdentifier();
-    try {
-      tokenId.readFromByteArray(token.getIdentifier());
-    } catch (IOException ex) {
-      throw new BlockTokenException("Failed to decode token : " + token);
-    }
-
-    verifyTokenPassword(tokenId, token.getPassword());
+    T tokenId = getVerifiedTokenId(token);
 
     UserGroupInformation tokenUser = tokenId.getUser();
     // check expiration
@@ -101,7 +114,44 @@ protected SecurityConfig getConf() {
     return conf;
   }
 
-  private void verifyTokenPassword(
+  /**
+   * @return the decoded identifier of {@code token}, after verifying its
+   * signature unless it was already verified with the same, still valid
+   * secret key.
+   */
+  private T getVerifiedTokenId(Token<?> token) throws SCMSecurityException {
+    final ByteBuffer key = verifiedTokens != null
+        ? ByteBuffer.wrap(token.getIdentifier()) : null;
+    if (key != null) {
+      final VerifiedToken<T> cached = verifiedTokens.getIfPresent(key);
+      if (cached != null && cached.isValid(token.getPassword(),
+          secretKeyClient.getSecretKey(cached.tokenId.getSecretKeyId()))) {
+        metrics.incrVerifiedTokenCacheHits();
+        return cached.tokenId;
+      }
+      metrics.incrVerifiedTokenCacheMisses();
+    }
+
+    final long start = System.nanoTime();
+    T tokenId = createTokenIdentifier();
+    try {
+      tokenId.readFromByteArray(token.getIdentifier());
+    } catch (IOException ex) {
+      throw new BlockTokenException("Failed to decode token : " + token);
+    }
+
+    ManagedSecretKey secretKey =
+        verifyTokenPassword(tokenId, token.getPassword());
+    metrics.addTokenVerification(System.nanoTime() - start);
+
+    if (key != null) {
+      verifiedTokens.put(key,
+          new VerifiedToken<>(tokenId, token.getPassword(), secretKey));
+    }
+    return tokenId;
+  }
+
+  private ManagedSecretKey verifyTokenPassword(
       ShortLivedTokenIdentifier tokenId, byte[] password)
       throws SCMSecurityException {
 
@@ -122,5 +172,30 @@ private void verifyTokenPassword(
       throw new BlockTokenException("Invalid token for user: " +
           tokenId.getUser());
     }
+    return secretKey;
+  }
+
+  /**
+   * Token identifier whose signature was verified with the secret key.
+   */
+  private static final class VerifiedToken<T> {
+    private final T tokenId;
+    private final byte[] password;
+    private final ManagedSecretKey secretKey;
+
+    VerifiedToken(T tokenId, byte[] password, ManagedSecretKey secretKey) {
+      this.tokenId = tokenId;
+      this.password = password.clone();
+      this.secretKey = secretKey;
+    }
+
+    /**
+     * @return whether a token with {@code otherPassword} is the same as the
+     * verified one, and the secret key is still current and valid
+     */
+    boolean isValid(byte[] otherPassword, ManagedSecretKey currentKey) {
+      return currentKey == secretKey && !secretKey.isExpired()
+          && MessageDigest.isEqual(password, otherPassword);
+    }
   }
 }
@@ -223,14 +223,41 @@ public TableIterator<byte[], KeyValue<byte[], byte[]>> iterator()
   @Override
   public TableIterator<byte[], KeyValue<byte[], byte[]>> iterator(byte[] prefix)
       throws IOException {
-    return new RDBStoreByteArrayIterator(db.newIterator(family, false), this,
-        prefix);
+    return new RDBStoreByteArrayIterator(
+        db.newIterator(family, false, getUpperBound(prefix)), this, prefix);
   }
 
   TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>> iterator(
       CodecBuffer prefix) throws IOException {
-    return new RDBStoreCodecBufferIterator(db.newIterator(family, false),
-        this, prefix);
+    final byte[] upperBound = prefix == null ? null
+        : getUpperBound(toArray(prefix.asReadOnlyByteBuffer()));
+    return new RDBStoreCodecBufferIterator(
+        db.newIterator(family, false, upperBound), this, prefix);
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    final byte[] array = new byte[buffer.remaining()];
+    buffer.get(array);
+    return array;
+  }
+
+  /**
+   * @return the smallest key greater than all the keys with the given
+   *         prefix, or null if there is no such key, i.e. the prefix is
+   *         null, empty or consists of 0xFF bytes only.
+   */
+  static byte[] getUpperBound(byte[] prefix) {
+    if (prefix == null) {
+      return null;
+    }
+    for (int i = prefix.length - 1; i >= 0; i--) {
+      if (prefix[i] != (byte) 0xFF) {
+        final byte[] upperBound = Arrays.copyOf(prefix, i + 1);
+        upperBound[i]++;
+        return upperBound;
+      }
+    }
+    return null;
   }
 
   @Override
@@ -31,6 +31,7 @@
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksDB;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksIterator;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksObjectUtils;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedSlice;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedTransactionLogIterator;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteBatch;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteOptions;
@@ -771,6 +772,34 @@ public ManagedRocksIterator newIterator(ColumnFamily family,
     }
   }
 
+  /**
+   * Create an iterator which does not go beyond the given upper bound,
+   * so that RocksDB can stop at the bound
+   * instead of reading the following keys and tombstones.
+   *
+   * @param upperBound the exclusive upper bound of the keys, or null.
+   */
+  public ManagedRocksIterator newIterator(ColumnFamily family,
+      boolean fillCache, byte[] upperBound) throws IOException {
+    if (upperBound == null) {
+      return newIterator(family, fillCache);
+    }
+    try (UncheckedAutoCloseable ignored = acquire()) {
+      final ManagedReadOptions readOptions = new ManagedReadOptions();
+      final ManagedSlice slice = new ManagedSlice(upperBound);
+      try {
+        readOptions.setFillCache(fillCache);
+        readOptions.setIterateUpperBound(slice);
+        return managed(db.get().newIterator(family.getHandle(), readOptions),
+            readOptions, slice);
+      } catch (RuntimeException e) {
+        readOptions.close();
+        slice.close();
+        throw e;
+      }
+    }
+  }
+
   public void batchWrite(ManagedWriteBatch writeBatch,
                          ManagedWriteOptions options)
       throws IOException {
@@ -43,6 +43,7 @@
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -222,6 +223,76 @@ public void acceptsValidToken() throws Exception {
     subject.verify("anyUser", token, cmd);
   }
 
+  @Test
+  public void verifiesSignatureOnceForRepeatedToken() throws Exception {
+    // GIVEN
+    SecretKeyVerifierClient secretKeyClient = mockSecretKeyClient(true);
+    ManagedSecretKey secretKey = secretKeyClient.getSecretKey(SECRET_KEY_ID);
+
+    ShortLivedTokenSecretManager<T> secretManager = new MockTokenManager();
+    T tokenId = valid(newTokenId());
+    ContainerCommandRequestProto cmd = verifiedRequest(tokenId);
+    Token<?> token = secretManager.generateToken(tokenId);
+    TokenVerifier subject = newTestSubject(tokenEnabled(), secretKeyClient);
+
+    // WHEN
+    for (int i = 0; i < 3; i++) {
+      subject.verify("anyUser", token, cmd);
+    }
+
+    // THEN
+    verify(secretKey, times(1))
+        .isValidSignature((TokenIdentifier) any(), any());
+  }
+
+  @Test
+  public void rejectsRepeatedTokenWithOtherPassword() throws Exception {
+    // GIVEN
+    SecretKeyVerifierClient secretKeyClient = mockSecretKeyClient(true);
+    ManagedSecretKey secretKey = secretKeyClient.getSecretKey(SECRET_KEY_ID);
+
+    ShortLivedTokenSecretManager<T> secretManager = new MockTokenManager();
+    T tokenId = valid(newTokenId());
+    ContainerCommandRequestProto cmd = verifiedRequest(tokenId);
+    Token<?> token = secretManager.generateToken(tokenId);
+    TokenVerifier subject = newTestSubject(tokenEnabled(), secretKeyClient);
+    subject.verify("anyUser", token, cmd);
+
+    // WHEN
+    when(secretKey.isValidSignature((TokenIdentifier) any(), any()))
+        .thenReturn(false);
+    Token<?> forged = new Token<>(token.getIdentifier(),
+        "forged".getBytes(UTF_8), token.getKind(), token.getService());
+
+    // THEN
+    BlockTokenException ex = assertThrows(BlockTokenException.class, () ->
+        subject.verify("anyUser", forged, cmd));
+    assertThat(ex.getMessage()).contains("Invalid token for user");
+    subject.verify("anyUser", token, cmd);
+  }
+
+  @Test
+  public void rejectsRepeatedTokenAfterSecretKeyExpired() throws Exception {
+    // GIVEN
+    SecretKeyVerifierClient secretKeyClient = mockSecretKeyClient(true);
+    ManagedSecretKey secretKey = secretKeyClient.getSecretKey(SECRET_KEY_ID);
+
+    ShortLivedTokenSecretManager<T> secretManager = new MockTokenManager();
+    T tokenId = valid(newTokenId());
+    ContainerCommandRequestProto cmd = verifiedRequest(tokenId);
+    Token<?> token = secretManager.generateToken(tokenId);
+    TokenVerifier subject = newTestSubject(tokenEnabled(), secretKeyClient);
+    subject.verify("anyUser", token, cmd);
+
+    // WHEN
+    when(secretKey.isExpired()).thenReturn(true);
+
+    // THEN
+    BlockTokenException ex = assertThrows(BlockTokenException.class, () ->
+        subject.verify("anyUser", token, cmd));
+    assertThat(ex.getMessage()).contains("expired secret key");
+  }
+
   private T expired(T tokenId) {
     tokenId.setExpiry(Instant.now().minusSeconds(3600));
     return tokenId;
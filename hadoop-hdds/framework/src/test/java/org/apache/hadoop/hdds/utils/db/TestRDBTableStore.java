@@ -579,6 +579,44 @@ public void testPrefixedIterator() throws Exception {
     }
   }
 
+  @Test
+  public void testUpperBound() {
+    assertNull(RDBTable.getUpperBound(null));
+    assertNull(RDBTable.getUpperBound(new byte[0]));
+    assertNull(RDBTable.getUpperBound(new byte[] {(byte) 0xFF, (byte) 0xFF}));
+    assertArrayEquals(new byte[] {1, 3},
+        RDBTable.getUpperBound(new byte[] {1, 2}));
+    assertArrayEquals(new byte[] {2},
+        RDBTable.getUpperBound(new byte[] {1, (byte) 0xFF}));
+    assertArrayEquals(new byte[] {1, (byte) 0x80},
+        RDBTable.getUpperBound(new byte[] {1, (byte) 0x7F, (byte) 0xFF}));
+  }
+
+  @Test
+  public void testPrefixedIteratorStopsAtUpperBound() throws Exception {
+    final byte[] prefix = {1, (byte) 0xFF};
+    try (Table<byte[], byte[]> testTable = rdbStore.getTable("PrefixFirst")) {
+      testTable.put(new byte[] {1, (byte) 0xFE}, new byte[] {0});
+      testTable.put(new byte[] {1, (byte) 0xFF}, new byte[] {1});
+      testTable.put(new byte[] {1, (byte) 0xFF, 0}, new byte[] {2});
+      testTable.put(new byte[] {1, (byte) 0xFF, (byte) 0xFF}, new byte[] {3});
+      testTable.put(new byte[] {2}, new byte[] {4});
+
+      try (TableIterator<byte[], ? extends Table.KeyValue<byte[], byte[]>>
+               iter = testTable.iterator(prefix)) {
+        for (int i = 1; i <= 3; i++) {
+          assertTrue(iter.hasNext());
+          assertArrayEquals(new byte[] {(byte) i}, iter.next().getValue());
+        }
+        assertFalse(iter.hasNext());
+
+        // seeking beyond the upper bound does not find the following keys
+        iter.seek(new byte[] {2});
+        assertFalse(iter.hasNext());
+      }
+    }
+  }
+
   @Test
   public void testStringPrefixedIterator() throws Exception {
     final int prefixCount = 3;
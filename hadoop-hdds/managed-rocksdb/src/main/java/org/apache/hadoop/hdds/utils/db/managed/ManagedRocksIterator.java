@@ -24,11 +24,48 @@
  */
 public class ManagedRocksIterator extends ManagedObject<RocksIterator> {
 
+  /** The read options of the iterator, closed with the iterator. */
+  private final ManagedReadOptions readOptions;
+  /** The upper bound set in the read options, closed with the iterator. */
+  private final ManagedSlice upperBound;
+
   public ManagedRocksIterator(RocksIterator original) {
+    this(original, null, null);
+  }
+
+  private ManagedRocksIterator(RocksIterator original,
+      ManagedReadOptions readOptions, ManagedSlice upperBound) {
     super(original);
+    this.readOptions = readOptions;
+    this.upperBound = upperBound;
   }
 
   public static ManagedRocksIterator managed(RocksIterator iterator) {
     return new ManagedRocksIterator(iterator);
   }
+
+  /**
+   * The iterate upper bound is referenced by RocksDB until the iterator is
+   * closed, so the read options and the slice are closed with the iterator.
+   *
+   * @param upperBound the upper bound set in the read options, or null
+   */
+  public static ManagedRocksIterator managed(RocksIterator iterator,
+      ManagedReadOptions readOptions, ManagedSlice upperBound) {
+    return new ManagedRocksIterator(iterator, readOptions, upperBound);
+  }
+
+  @Override
+  public void close() {
+    try {
+      super.close();
+    } finally {
+      if (readOptions != null) {
+        readOptions.close();
+      }
+      if (upperBound != null) {
+        upperBound.close();
+      }
+    }
+  }
 }
@@ -18,15 +18,16 @@
 package org.apache.hadoop.hdds.scm.ha;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Reflection util for SCM HA.
  */
 public final class ReflectionUtil {
 
-  private static Map<String, Class<?>> classCache = new HashMap<>();
+  private static final Map<String, Class<?>> CLASS_CACHE =
+      new ConcurrentHashMap<>();
 
   private ReflectionUtil() {
   }
@@ -41,10 +42,12 @@ private ReflectionUtil() {
    */
   public static Class<?> getClass(String className)
       throws ClassNotFoundException {
-    if (!classCache.containsKey(className)) {
-      classCache.put(className, Class.forName(className));
+    Class<?> clazz = CLASS_CACHE.get(className);
+    if (clazz == null) {
+      clazz = Class.forName(className);
+      CLASS_CACHE.put(className, clazz);
     }
-    return classCache.get(className);
+    return clazz;
   }
 
   /**
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.hdds.scm.ha;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics of {@link SCMRatisRequestBatcher}.
+ */
+@Metrics(about = "SCM Ratis request batching metrics",
+    context = OzoneConsts.OZONE)
+public final class SCMRatisBatchMetrics {
+
+  private static final String SOURCE_NAME =
+      SCMRatisBatchMetrics.class.getSimpleName();
+
+  private final String name;
+
+  @Metric(about = "Number of requests replicated by SCM Ratis.")
+  private MutableCounterLong numRequests;
+
+  @Metric(about = "Number of Ratis log entries of the requests.")
+  private MutableCounterLong numEntries;
+
+  @Metric(about = "Number of requests in a Ratis log entry.")
+  private MutableRate batchSize;
+
+  @Metric(about = "Time of replicating and applying a Ratis log entry " +
+      "in nanoseconds.")
+  private MutableRate entryLatencyNs;
+
+  private SCMRatisBatchMetrics(String name) {
+    this.name = name;
+  }
+
+  public static SCMRatisBatchMetrics create(String scmId) {
+    final String name = SOURCE_NAME + "-" + scmId;
+    return DefaultMetricsSystem.instance().register(name,
+        "SCM Ratis request batching metrics", new SCMRatisBatchMetrics(name));
+  }
+
+  public void unRegister() {
+    DefaultMetricsSystem.instance().unregisterSource(name);
+  }
+
+  void addEntry(int requests, long nanos) {
+    numRequests.incr(requests);
+    numEntries.incr();
+    batchSize.add(requests);
+    entryLatencyNs.add(nanos);
+  }
+
+  @VisibleForTesting
+  long getNumRequests() {
+    return numRequests.value();
+  }
+
+  @VisibleForTesting
+  long getNumEntries() {
+    return numEntries.value();
+  }
+}
@@ -41,6 +41,9 @@
  */
 public final class SCMRatisRequest {
 
+  /** Method name of the envelope of a batch of requests. */
+  static final String BATCH_OPERATION = "batch";
+
   private final RequestType type;
   private final String operation;
   private final Object[] arguments;
@@ -92,6 +95,33 @@ public Class<?>[] getParameterTypes() {
    * Encodes the request into Ratis Message.
    */
   public Message encode() throws InvalidProtocolBufferException {
+    return toMessage(toProto());
+  }
+
+  /**
+   * Encodes the requests into a single Ratis Message, so that they are
+   * replicated as one log entry and applied in the given order.
+   */
+  public static Message encodeBatch(List<SCMRatisRequest> requests)
+      throws InvalidProtocolBufferException {
+    final List<SCMRatisRequestProto> protos = new ArrayList<>(requests.size());
+    for (SCMRatisRequest request : requests) {
+      protos.add(request.toProto());
+    }
+    return toBatchMessage(protos);
+  }
+
+  static Message toBatchMessage(List<SCMRatisRequestProto> requests) {
+    Preconditions.checkArgument(!requests.isEmpty());
+    return toMessage(SCMRatisRequestProto.newBuilder()
+        .setType(requests.get(0).getType())
+        .setMethod(Method.newBuilder().setName(BATCH_OPERATION))
+        .addAllBatch(requests)
+        .build());
+  }
+
+  SCMRatisRequestProto toProto()
+      throws InvalidProtocolBufferException {
     final SCMRatisRequestProto.Builder requestProtoBuilder =
         SCMRatisRequestProto.newBuilder();
     requestProtoBuilder.setType(type);
@@ -114,9 +144,13 @@ public Message encode() throws InvalidProtocolBufferException {
     }
     methodBuilder.addAllArgs(args);
     requestProtoBuilder.setMethod(methodBuilder.build());
+    return requestProtoBuilder.build();
+  }
+
+  static Message toMessage(SCMRatisRequestProto proto) {
     return Message.valueOf(
         org.apache.ratis.thirdparty.com.google.protobuf.ByteString.copyFrom(
-            requestProtoBuilder.build().toByteArray()));
+            proto.toByteArray()));
   }
 
   /**
@@ -124,8 +158,21 @@ public Message encode() throws InvalidProtocolBufferException {
    */
   public static SCMRatisRequest decode(Message message)
       throws InvalidProtocolBufferException {
-    final SCMRatisRequestProto requestProto =
-        SCMRatisRequestProto.parseFrom(message.getContent().toByteArray());
+    return fromProto(parse(message));
+  }
+
+  /**
+   * Parses the Ratis Message encoded by {@link #encode()} or
+   * {@link #encodeBatch(List)}.  The requests of a batch are in
+   * {@link SCMRatisRequestProto#getBatchList()}.
+   */
+  static SCMRatisRequestProto parse(Message message)
+      throws InvalidProtocolBufferException {
+    return SCMRatisRequestProto.parseFrom(message.getContent().toByteArray());
+  }
+
+  static SCMRatisRequest fromProto(SCMRatisRequestProto requestProto)
+      throws InvalidProtocolBufferException {
     final Method method = requestProto.getMethod();
     List<Object> args = new ArrayList<>();
     Class<?>[] parameterTypes = new Class[method.getArgsCount()];
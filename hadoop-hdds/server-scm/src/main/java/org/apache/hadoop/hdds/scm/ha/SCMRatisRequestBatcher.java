@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.hdds.scm.ha;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisRequestProto;
+import org.apache.ratis.protocol.Message;
+import org.apache.ratis.protocol.RaftClientReply;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Combines the requests submitted to the SCM Ratis server concurrently into
+ * a single Ratis log entry.
+ * <p>
+ * A single thread submits one log entry at a time and waits for it to be
+ * applied.  Requests submitted in the meantime are queued and replicated
+ * together in the next log entry, so the number of log entries, and the
+ * disk syncs and round trips to the followers, grows with the commit
+ * latency rather than with the request rate.  A log entry holds at most
+ * {@code maxBatchSize} requests of at most {@code maxBatchBytes} in total,
+ * a larger request is replicated in an entry of its own.  Each request
+ * still gets its own response, see {@link SCMRatisResponse#decodeBatch}.
+ */
+class SCMRatisRequestBatcher {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(SCMRatisRequestBatcher.class);
+
+  /** A request waiting to be replicated. */
+  private static final class Pending {
+    private final SCMRatisRequestProto request;
+    private final int size;
+    private final CompletableFuture<SCMRatisResponse> future =
+        new CompletableFuture<>();
+
+    private Pending(SCMRatisRequestProto request) {
+      this.request = request;
+      this.size = request.getSerializedSize();
+    }
+  }
+
+  private final Function<Message, CompletableFuture<RaftClientReply>> submitter;
+  private final int maxBatchSize;
+  private final long maxBatchBytes;
+  private final long requestTimeout;
+  private final SCMRatisBatchMetrics metrics;
+  private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+  private final Thread worker;
+  private volatile boolean running = true;
+
+  SCMRatisRequestBatcher(
+      Function<Message, CompletableFuture<RaftClientReply>> submitter,
+      int maxBatchSize, long maxBatchBytes, long requestTimeout,
+      SCMRatisBatchMetrics metrics, String threadName) {
+    Preconditions.checkArgument(maxBatchSize > 0,
+        "Batch size must be positive: %s", maxBatchSize);
+    Preconditions.checkArgument(maxBatchBytes > 0,
+        "Batch bytes must be positive: %s", maxBatchBytes);
+    this.submitter = submitter;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchBytes = maxBatchBytes;
+    this.requestTimeout = requestTimeout;
+    this.metrics = metrics;
+    this.worker = new Thread(this::run, threadName);
+    this.worker.setDaemon(true);
+  }
+
+  void start() {
+    worker.start();
+  }
+
+  /**
+   * Queues the request to be replicated in the next log entry.
+   */
+  CompletableFuture<SCMRatisResponse> submit(SCMRatisRequest request) {
+    final Pending pending;
+    try {
+      pending = new Pending(request.toProto());
+    } catch (InvalidProtocolBufferException e) {
+      final CompletableFuture<SCMRatisResponse> failed =
+          new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+    if (!running) {
+      pending.future.completeExceptionally(stoppedException());
+      return pending.future;
+    }
+    queue.add(pending);
+    if (!running && queue.remove(pending)) {
+      pending.future.completeExceptionally(stoppedException());
+    }
+    return pending.future;
+  }
+
+  /**
+   * Stops the worker thread.  Requests not submitted yet are failed.
+   */
+  void stop() {
+    running = false;
+    worker.interrupt();
+    try {
+      worker.join(requestTimeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    failPending(stoppedException());
+  }
+
+  private void run() {
+    final List<Pending> batch = new ArrayList<>(maxBatchSize);
+    while (running) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      long bytes = batch.get(0).size;
+      // only this thread takes from the queue, so the polled request is the
+      // one peeked
+      for (Pending next = queue.peek();
+           next != null && batch.size() < maxBatchSize
+               && bytes + next.size <= maxBatchBytes;
+           next = queue.peek()) {
+        batch.add(queue.poll());
+        bytes += next.size;
+      }
+      submit(batch);
+      batch.clear();
+    }
+    failPending(stoppedException());
+  }
+
+  private void submit(List<Pending> batch) {
+    final int size = batch.size();
+    try {
+      final Message message;
+      if (size == 1) {
+        message = SCMRatisRequest.toMessage(batch.get(0).request);
+      } else {
+        final List<SCMRatisRequestProto> requests = new ArrayList<>(size);
+        for (Pending pending : batch) {
+          requests.add(pending.request);
+        }
+        message = SCMRatisRequest.toBatchMessage(requests);
+      }
+
+      final long start = System.nanoTime();
+      final RaftClientReply reply = submitter.apply(message)
+          .get(requestTimeout, TimeUnit.MILLISECONDS);
+      metrics.addEntry(size, System.nanoTime() - start);
+
+      final List<SCMRatisResponse> responses = size == 1
+          ? Collections.singletonList(SCMRatisResponse.decode(reply))
+          : SCMRatisResponse.decodeBatch(reply, size);
+      for (int i = 0; i < size; i++) {
+        batch.get(i).future.complete(responses.get(i));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      fail(batch, e);
+    } catch (Exception e) {
+      LOG.warn("Failed to submit {} SCM Ratis request(s)", size, e);
+      fail(batch, e);
+    }
+  }
+
+  private void failPending(Exception e) {
+    final List<Pending> pending = new ArrayList<>();
+    queue.drainTo(pending);
+    fail(pending, e);
+  }
+
+  private static void fail(List<Pending> batch, Exception e) {
+    for (Pending pending : batch) {
+      pending.future.completeExceptionally(e);
+    }
+  }
+
+  private static IOException stoppedException() {
+    return new IOException("SCM Ratis request batcher is stopped");
+  }
+}
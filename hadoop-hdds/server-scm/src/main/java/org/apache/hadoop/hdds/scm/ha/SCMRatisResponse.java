@@ -17,12 +17,21 @@
 
 package org.apache.hadoop.hdds.scm.ha;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResultProto;
 import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisResponseProto;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException.ResultCodes;
 import org.apache.hadoop.hdds.scm.ha.io.CodecFactory;
 import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftClientReply;
+import org.apache.ratis.protocol.RaftGroupMemberId;
+import org.apache.ratis.protocol.exceptions.StateMachineException;
 
 /**
  * Represents the response from RatisServer.
@@ -70,12 +79,52 @@ public static Message encode(final Object result)
     if (result == null) {
       return Message.EMPTY;
     }
+    return toMessage(toProto(result));
+  }
 
+  private static SCMRatisResponseProto toProto(final Object result)
+      throws InvalidProtocolBufferException {
     final Class<?> type = result.getClass();
     final ByteString value = CodecFactory.getCodec(type).serialize(result);
 
-    final SCMRatisResponseProto response = SCMRatisResponseProto.newBuilder()
+    return SCMRatisResponseProto.newBuilder()
         .setType(type.getName()).setValue(value).build();
+  }
+
+  /**
+   * Returns the result of one request of a batch, see
+   * {@link SCMRatisRequest#encodeBatch(List)}.
+   */
+  static SCMRatisBatchResultProto toBatchResult(final Object result)
+      throws InvalidProtocolBufferException {
+    final SCMRatisBatchResultProto.Builder builder =
+        SCMRatisBatchResultProto.newBuilder();
+    if (result != null) {
+      builder.setResponse(toProto(result));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the failure of one request of a batch, which is rejected
+   * without affecting the other requests of the batch.
+   */
+  static SCMRatisBatchResultProto toBatchResult(final SCMException exception) {
+    final SCMRatisBatchResultProto.Builder builder =
+        SCMRatisBatchResultProto.newBuilder()
+            .setErrorCode(exception.getResult().name());
+    if (exception.getMessage() != null) {
+      builder.setErrorMessage(exception.getMessage());
+    }
+    return builder.build();
+  }
+
+  static Message encodeBatch(final SCMRatisBatchResponseProto response) {
+    return toMessage(response);
+  }
+
+  private static Message toMessage(
+      final com.google.protobuf.Message response) {
     return Message.valueOf(
         org.apache.ratis.thirdparty.com.google.protobuf.ByteString.copyFrom(
             response.toByteArray()));
@@ -95,11 +144,55 @@ public static SCMRatisResponse decode(RaftClientReply reply)
 
     final SCMRatisResponseProto responseProto = SCMRatisResponseProto
         .parseFrom(response);
+    return new SCMRatisResponse(fromProto(responseProto));
+  }
+
+  /**
+   * Decodes the responses to the requests of a batch, in the order of the
+   * requests.  If the batch as a whole failed, every response carries the
+   * exception of the reply.
+   */
+  public static List<SCMRatisResponse> decodeBatch(RaftClientReply reply,
+      int count) throws InvalidProtocolBufferException {
+    final List<SCMRatisResponse> responses = new ArrayList<>(count);
+    if (!reply.isSuccess()) {
+      for (int i = 0; i < count; i++) {
+        responses.add(new SCMRatisResponse(reply.getException()));
+      }
+      return responses;
+    }
 
+    final SCMRatisBatchResponseProto batchProto = SCMRatisBatchResponseProto
+        .parseFrom(reply.getMessage().getContent().toByteArray());
+    if (batchProto.getResultsCount() != count) {
+      throw new InvalidProtocolBufferException("Expected " + count
+          + " results in batch response but got "
+          + batchProto.getResultsCount());
+    }
+    final RaftGroupMemberId serverId = RaftGroupMemberId.valueOf(
+        reply.getServerId(), reply.getRaftGroupId());
+    for (SCMRatisBatchResultProto result : batchProto.getResultsList()) {
+      if (result.hasErrorCode()) {
+        // Same as the exception Ratis returns for a rejected single request.
+        final SCMException cause = new SCMException(result.getErrorMessage(),
+            ResultCodes.valueOf(result.getErrorCode()));
+        responses.add(new SCMRatisResponse(
+            new StateMachineException(serverId, cause)));
+      } else if (result.hasResponse()) {
+        responses.add(new SCMRatisResponse(fromProto(result.getResponse())));
+      } else {
+        responses.add(new SCMRatisResponse());
+      }
+    }
+    return responses;
+  }
+
+  private static Object fromProto(SCMRatisResponseProto responseProto)
+      throws InvalidProtocolBufferException {
     try {
       final Class<?> type = ReflectionUtil.getClass(responseProto.getType());
-      return new SCMRatisResponse(CodecFactory.getCodec(type)
-          .deserialize(type, responseProto.getValue()));
+      return CodecFactory.getCodec(type)
+          .deserialize(type, responseProto.getValue());
     } catch (ClassNotFoundException e) {
       throw new InvalidProtocolBufferException(responseProto.getType() +
           " cannot be decoded!" + e.getMessage());
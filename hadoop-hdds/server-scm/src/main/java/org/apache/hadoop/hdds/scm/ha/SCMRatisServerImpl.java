@@ -23,6 +23,7 @@
 import java.util.List;
 import java.util.UUID;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -32,6 +33,7 @@
 import org.apache.hadoop.hdds.HddsUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.RequestType;
 import org.apache.hadoop.hdds.ratis.RatisHelper;
 import org.apache.hadoop.hdds.scm.AddSCMRequest;
@@ -39,6 +41,8 @@
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.server.StorageContainerManager;
 import org.apache.hadoop.hdds.security.SecurityConfig;
+import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
+import org.apache.hadoop.hdds.upgrade.HDDSLayoutVersionManager;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.conf.Parameters;
@@ -46,6 +50,7 @@
 import org.apache.ratis.grpc.GrpcTlsConfig;
 import org.apache.ratis.proto.RaftProtos;
 import org.apache.ratis.protocol.ClientId;
+import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftClientReply;
 import org.apache.ratis.protocol.RaftClientRequest;
 import org.apache.ratis.protocol.RaftGroup;
@@ -58,6 +63,7 @@
 import org.apache.ratis.server.RaftServer;
 import org.apache.ratis.server.storage.RaftStorage;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.util.JavaUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +86,8 @@ public class SCMRatisServerImpl implements SCMRatisServer {
   private final GrpcTlsConfig grpcTlsConfig;
   private boolean isStopped;
   private final long requestTimeout;
+  private final SCMRatisBatchMetrics batchMetrics;
+  private final SCMRatisRequestBatcher batcher;
 
   // TODO: Refactor and remove ConfigurationSource and use only
   //  SCMHAConfiguration.
@@ -122,6 +130,25 @@ public class SCMRatisServerImpl implements SCMRatisServer {
 
     this.division = server.getDivision(groupId);
     this.isStopped = false;
+
+    if (conf.getBoolean(
+        ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED,
+        ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED_DEFAULT)) {
+      final int maxBatchSize = conf.getInt(
+          ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE,
+          ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE_DEFAULT);
+      final long maxBatchBytes = (long) conf.getStorageSize(
+          ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_BYTES,
+          ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_BYTES_DEFAULT,
+          StorageUnit.BYTES);
+      batchMetrics = SCMRatisBatchMetrics.create(scm.getScmId());
+      batcher = new SCMRatisRequestBatcher(this::submit, maxBatchSize,
+          maxBatchBytes, requestTimeout, batchMetrics,
+          scm.threadNamePrefix() + "SCMRatisRequestBatcher");
+    } else {
+      batchMetrics = null;
+      batcher = null;
+    }
   }
 
   public static void initialize(String clusterId, String scmId,
@@ -191,6 +218,9 @@ private static RaftServer.Builder newRaftServer(final String scmId,
   public void start() throws IOException {
     LOG.info("starting ratis server {}", server.getPeer().getAddress());
     server.start();
+    if (batcher != null) {
+      batcher.start();
+    }
   }
 
   @Override
@@ -218,22 +248,46 @@ public void registerStateMachineHandler(final RequestType handlerType,
   public SCMRatisResponse submitRequest(SCMRatisRequest request)
       throws IOException, ExecutionException, InterruptedException,
       TimeoutException {
+    if (batcher != null && isBatchingFinalized()) {
+      return batcher.submit(request)
+          .get(requestTimeout, TimeUnit.MILLISECONDS);
+    }
+    // any request submitted to
+    final RaftClientReply raftClientReply = submit(request.encode())
+        .get(requestTimeout, TimeUnit.MILLISECONDS);
+    return SCMRatisResponse.decode(raftClientReply);
+  }
+
+  /**
+   * Batched log entries can only be applied by SCMs that are upgraded, which
+   * is guaranteed once the layout feature is finalized.
+   */
+  private boolean isBatchingFinalized() {
+    final HDDSLayoutVersionManager versionManager =
+        scm.getLayoutVersionManager();
+    return versionManager != null && versionManager.isAllowed(
+        HDDSLayoutFeature.SCM_RATIS_REQUEST_BATCHING);
+  }
+
+  private CompletableFuture<RaftClientReply> submit(Message message) {
     final RaftClientRequest raftClientRequest = RaftClientRequest.newBuilder()
         .setClientId(clientId)
         .setServerId(getDivision().getId())
         .setGroupId(getDivision().getGroup().getGroupId())
         .setCallId(nextCallId())
-        .setMessage(request.encode())
+        .setMessage(message)
         .setType(RaftClientRequest.writeRequestType())
         .build();
-    // any request submitted to
-    final RaftClientReply raftClientReply =
-        server.submitClientRequestAsync(raftClientRequest)
-            .get(requestTimeout, TimeUnit.MILLISECONDS);
-    if (LOG.isDebugEnabled()) {
-      LOG.info("request {} Reply {}", raftClientRequest, raftClientReply);
+    try {
+      return server.submitClientRequestAsync(raftClientRequest)
+          .whenComplete((reply, e) -> {
+            if (LOG.isDebugEnabled()) {
+              LOG.debug("request {} Reply {}", raftClientRequest, reply);
+            }
+          });
+    } catch (IOException e) {
+      return JavaUtils.completeExceptionally(e);
     }
-    return SCMRatisResponse.decode(raftClientReply);
   }
 
   @Override
@@ -255,6 +309,10 @@ private long nextCallId() {
   @Override
   public void stop() throws IOException {
     LOG.info("stopping ratis server {}", server.getPeer().getAddress());
+    if (batcher != null) {
+      batcher.stop();
+      batchMetrics.unRegister();
+    }
     server.close();
     isStopped = true;
     getSCMStateMachine().close();
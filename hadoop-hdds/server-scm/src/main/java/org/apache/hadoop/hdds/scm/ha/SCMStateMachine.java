@@ -19,12 +19,15 @@
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -58,6 +61,8 @@
 import org.apache.ratis.statemachine.impl.BaseStateMachine;
 
 import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.RequestType;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisRequestProto;
 import org.apache.ratis.statemachine.impl.SimpleStateMachineStorage;
 import org.apache.ratis.util.ExitUtils;
 import org.apache.ratis.util.JavaUtils;
@@ -78,6 +83,9 @@ public class SCMStateMachine extends BaseStateMachine {
 
   private StorageContainerManager scm;
   private Map<RequestType, Object> handlers;
+  // handler methods by handler class, operation and parameter types
+  private final Map<List<Object>, Method> methods =
+      new ConcurrentHashMap<>();
   private SCMHADBTransactionBuffer transactionBuffer;
   private final SimpleStateMachineStorage storage =
       new SimpleStateMachineStorage();
@@ -146,21 +154,22 @@ public CompletableFuture<Message> applyTransaction(
     final CompletableFuture<Message> applyTransactionFuture =
         new CompletableFuture<>();
     try {
-      final SCMRatisRequest request = SCMRatisRequest.decode(
+      final SCMRatisRequestProto requestProto = SCMRatisRequest.parse(
           Message.valueOf(trx.getStateMachineLogEntry().getLogData()));
 
-      try {
-        applyTransactionFuture.complete(process(request));
-      } catch (SCMException ex) {
-        // For SCM exceptions while applying a transaction, if the error
-        // code indicate a FATAL issue, let it crash SCM.
-        if (ex.getResult() == ResultCodes.INTERNAL_ERROR
-            || ex.getResult() == ResultCodes.IO_EXCEPTION) {
-          throw ex;
+      if (requestProto.getBatchCount() > 0) {
+        applyTransactionFuture.complete(
+            processBatch(requestProto.getBatchList()));
+      } else {
+        try {
+          applyTransactionFuture.complete(SCMRatisResponse.encode(
+              process(SCMRatisRequest.fromProto(requestProto))));
+        } catch (SCMException ex) {
+          throwIfFatal(ex);
+          // Otherwise, it's considered as a logical rejection and is returned
+          // to Ratis client, leaving SCM intact.
+          applyTransactionFuture.completeExceptionally(ex);
         }
-        // Otherwise, it's considered as a logical rejection and is returned to
-        // Ratis client, leaving SCM intact.
-        applyTransactionFuture.completeExceptionally(ex);
       }
 
       // After previous term transactions are applied, still in safe mode,
@@ -176,7 +185,39 @@ public CompletableFuture<Message> applyTransaction(
     return applyTransactionFuture;
   }
 
-  private Message process(final SCMRatisRequest request) throws Exception {
+  /**
+   * For SCM exceptions while applying a transaction, if the error code
+   * indicate a FATAL issue, let it crash SCM.
+   */
+  private static void throwIfFatal(SCMException ex) throws SCMException {
+    if (ex.getResult() == ResultCodes.INTERNAL_ERROR
+        || ex.getResult() == ResultCodes.IO_EXCEPTION) {
+      throw ex;
+    }
+  }
+
+  /**
+   * Applies the requests of a batch in order.  A logical rejection of a
+   * request is returned as its result, and the rest of the batch is still
+   * applied, same as if the requests were in separate log entries.
+   */
+  private Message processBatch(final List<SCMRatisRequestProto> batch)
+      throws Exception {
+    final SCMRatisBatchResponseProto.Builder response =
+        SCMRatisBatchResponseProto.newBuilder();
+    for (SCMRatisRequestProto requestProto : batch) {
+      try {
+        response.addResults(SCMRatisResponse.toBatchResult(
+            process(SCMRatisRequest.fromProto(requestProto))));
+      } catch (SCMException ex) {
+        throwIfFatal(ex);
+        response.addResults(SCMRatisResponse.toBatchResult(ex));
+      }
+    }
+    return SCMRatisResponse.encodeBatch(response.build());
+  }
+
+  private Object process(final SCMRatisRequest request) throws Exception {
     try {
       final Object handler = handlers.get(request.getType());
 
@@ -185,10 +226,8 @@ private Message process(final SCMRatisRequest request) throws Exception {
             request.getType());
       }
 
-      final Object result = handler.getClass().getMethod(
-          request.getOperation(), request.getParameterTypes())
+      return getMethod(handler, request)
           .invoke(handler, request.getArguments());
-      return SCMRatisResponse.encode(result);
     } catch (NoSuchMethodException | SecurityException ex) {
       throw new InvalidProtocolBufferException(ex.getMessage());
     } catch (InvocationTargetException e) {
@@ -197,6 +236,19 @@ private Message process(final SCMRatisRequest request) throws Exception {
     }
   }
 
+  private Method getMethod(Object handler,
+      SCMRatisRequest request) throws NoSuchMethodException {
+    final List<Object> key = Arrays.asList(handler.getClass(),
+        request.getOperation(), Arrays.asList(request.getParameterTypes()));
+    Method method = methods.get(key);
+    if (method == null) {
+      method = handler.getClass().getMethod(
+          request.getOperation(), request.getParameterTypes());
+      methods.put(key, method);
+    }
+    return method;
+  }
+
   @Override
   public void notifyLogFailed(Throwable ex,
       RaftProtos.LogEntryProto failedEntry) {
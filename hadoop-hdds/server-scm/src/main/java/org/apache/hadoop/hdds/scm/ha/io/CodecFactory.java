@@ -31,6 +31,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Maps types to the corresponding {@link Codec} implementation.
@@ -53,10 +54,26 @@ public final class CodecFactory {
     codecs.put(ManagedSecretKey.class, new ManagedSecretKeyCodec());
   }
 
+  // codecs found for concrete types, to avoid walking the type hierarchy
+  // for every argument of every request
+  private static final Map<Class<?>, Codec> RESOLVED =
+      new ConcurrentHashMap<>();
+
   private CodecFactory() { }
 
   public static Codec getCodec(Class<?> type)
       throws InvalidProtocolBufferException {
+    final Codec resolved = RESOLVED.get(type);
+    if (resolved != null) {
+      return resolved;
+    }
+    final Codec codec = findCodec(type);
+    RESOLVED.put(type, codec);
+    return codec;
+  }
+
+  private static Codec findCodec(Class<?> type)
+      throws InvalidProtocolBufferException {
     final List<Class<?>> classes = new ArrayList<>();
     classes.add(type);
     classes.addAll(ClassUtils.getAllSuperclasses(type));
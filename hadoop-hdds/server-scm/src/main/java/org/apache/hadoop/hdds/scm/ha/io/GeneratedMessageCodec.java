@@ -20,15 +20,20 @@
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
 import org.apache.hadoop.hdds.scm.ha.ReflectionUtil;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link Codec} for {@link Message} objects.
  */
 public class GeneratedMessageCodec implements Codec {
 
+  private final Map<Class<?>, Parser<?>> parsers = new ConcurrentHashMap<>();
+
   @Override
   public ByteString serialize(Object object) {
     return ((Message)object).toByteString();
@@ -37,15 +42,23 @@ public ByteString serialize(Object object) {
   @Override
   public Message deserialize(Class<?> type, ByteString value)
       throws InvalidProtocolBufferException {
-    try {
-      return (Message) ReflectionUtil.getMethod(type,
-          "parseFrom", byte[].class)
-          .invoke(null, (Object) value.toByteArray());
-    } catch (NoSuchMethodException | IllegalAccessException
-        | InvocationTargetException ex) {
-      ex.printStackTrace();
-      throw new InvalidProtocolBufferException(
-          "Message cannot be decoded: " + ex.getMessage());
+    return (Message) getParser(type).parseFrom(value);
+  }
+
+  private Parser<?> getParser(Class<?> type)
+      throws InvalidProtocolBufferException {
+    Parser<?> parser = parsers.get(type);
+    if (parser == null) {
+      try {
+        parser = ((Message) ReflectionUtil.getMethod(type,
+            "getDefaultInstance").invoke(null)).getParserForType();
+      } catch (NoSuchMethodException | IllegalAccessException
+          | InvocationTargetException ex) {
+        throw new InvalidProtocolBufferException(
+            "Message cannot be decoded: " + ex.getMessage());
+      }
+      parsers.put(type, parser);
     }
+    return parser;
   }
 }
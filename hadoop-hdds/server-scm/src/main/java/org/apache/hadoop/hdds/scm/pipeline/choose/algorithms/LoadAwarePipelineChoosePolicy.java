@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.hdds.scm.pipeline.choose.algorithms;
+
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.PipelineChoosePolicy;
+import org.apache.hadoop.hdds.scm.PipelineRequestInformation;
+import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMNodeMetric;
+import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMNodeStat;
+import org.apache.hadoop.hdds.scm.node.NodeManager;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pipeline choose policy that steers writes away from loaded datanodes.
+ * <p>
+ * Two healthy pipelines are sampled at random and the less loaded one is
+ * chosen ("power of two choices").  This avoids the herd behavior of always
+ * picking the least loaded pipeline based on stale heartbeat data, while
+ * still keeping most of the new blocks off the busy datanodes.
+ * <p>
+ * The load of a datanode is the fraction of its capacity that is either used
+ * or committed to open containers, as reported in its last heartbeat.  The
+ * committed space grows with the number of open containers and the writes
+ * pending on them, so both are reflected.  The load of a pipeline is the load
+ * of its busiest datanode.
+ */
+public class LoadAwarePipelineChoosePolicy implements PipelineChoosePolicy {
+
+  private final NodeManager nodeManager;
+
+  public LoadAwarePipelineChoosePolicy(NodeManager nodeManager) {
+    this.nodeManager = nodeManager;
+  }
+
+  @Override
+  public Pipeline choosePipeline(List<Pipeline> pipelineList,
+      PipelineRequestInformation pri) {
+    int index = choosePipelineIndex(pipelineList, pri);
+    return index < 0 ? null : pipelineList.get(index);
+  }
+
+  @Override
+  public int choosePipelineIndex(List<Pipeline> pipelineList,
+      PipelineRequestInformation pri) {
+    if (pipelineList == null || pipelineList.isEmpty()) {
+      return -1;
+    }
+    List<Integer> candidates = new ArrayList<>(pipelineList.size());
+    for (int i = 0; i < pipelineList.size(); i++) {
+      if (pipelineList.get(i).isHealthy()) {
+        candidates.add(i);
+      }
+    }
+    if (candidates.isEmpty()) {
+      // same fallback as HealthyPipelineChoosePolicy
+      candidates.add(pipelineList.size() - 1);
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(candidates.size());
+    int second = random.nextInt(candidates.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    int firstIndex = candidates.get(first);
+    int secondIndex = candidates.get(second);
+    return getLoad(pipelineList.get(secondIndex))
+        < getLoad(pipelineList.get(firstIndex)) ? secondIndex : firstIndex;
+  }
+
+  double getLoad(Pipeline pipeline) {
+    double load = 0;
+    for (DatanodeDetails dn : pipeline.getNodes()) {
+      load = Math.max(load, getLoad(dn));
+    }
+    return load;
+  }
+
+  private double getLoad(DatanodeDetails dn) {
+    SCMNodeMetric metric = nodeManager.getNodeStat(dn);
+    if (metric == null) {
+      return 0;
+    }
+    SCMNodeStat stat = metric.get();
+    long capacity = stat.getCapacity().get();
+    if (capacity <= 0) {
+      return 0;
+    }
+    long remaining = stat.getRemaining().get();
+    long committed = stat.getCommitted().get();
+    return (double) (capacity - remaining + committed) / capacity;
+  }
+}
@@ -22,6 +22,7 @@
 import org.apache.hadoop.hdds.scm.PipelineChoosePolicy;
 import org.apache.hadoop.hdds.scm.ScmConfig;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.node.NodeManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,12 +51,22 @@ private PipelineChoosePolicyFactory() {
 
   public static PipelineChoosePolicy getPolicy(
       ScmConfig scmConfig, boolean forEC) throws SCMException {
+    return getPolicy(null, scmConfig, forEC);
+  }
+
+  /**
+   * Creates the configured policy.  Policies with a constructor accepting
+   * {@link NodeManager} are given the node manager, others are created by
+   * their no-arg constructor.
+   */
+  public static PipelineChoosePolicy getPolicy(NodeManager nodeManager,
+      ScmConfig scmConfig, boolean forEC) throws SCMException {
     Class<? extends PipelineChoosePolicy> policyClass = null;
     String policyName = forEC ? scmConfig.getECPipelineChoosePolicyName() :
         scmConfig.getPipelineChoosePolicyName();
     try {
       policyClass = getClass(policyName, PipelineChoosePolicy.class);
-      return createPipelineChoosePolicyFromClass(policyClass);
+      return createPipelineChoosePolicyFromClass(nodeManager, policyClass);
     } catch (Exception e) {
       Class<? extends PipelineChoosePolicy> defaultPolicy = forEC ?
           OZONE_SCM_EC_PIPELINE_CHOOSE_POLICY_IMPL_DEFAULT :
@@ -64,17 +75,26 @@ public static PipelineChoosePolicy getPolicy(
         LOG.error("Met an exception while create pipeline choose policy "
             + "for the given class {}. Fallback to the default pipeline "
             + " choose policy {}", policyName, defaultPolicy, e);
-        return createPipelineChoosePolicyFromClass(defaultPolicy);
+        return createPipelineChoosePolicyFromClass(nodeManager,
+            defaultPolicy);
       }
       throw e;
     }
   }
 
   private static PipelineChoosePolicy createPipelineChoosePolicyFromClass(
+      NodeManager nodeManager,
       Class<? extends PipelineChoosePolicy> policyClass) throws SCMException {
     Constructor<? extends PipelineChoosePolicy> constructor;
+    Object[] args;
     try {
-      constructor = policyClass.getDeclaredConstructor();
+      if (nodeManager != null && hasNodeManagerConstructor(policyClass)) {
+        constructor = policyClass.getDeclaredConstructor(NodeManager.class);
+        args = new Object[] {nodeManager};
+      } else {
+        constructor = policyClass.getDeclaredConstructor();
+        args = new Object[0];
+      }
       LOG.info("Create pipeline choose policy of type {}",
           policyClass.getCanonicalName());
     } catch (NoSuchMethodException e) {
@@ -86,13 +106,23 @@ private static PipelineChoosePolicy createPipelineChoosePolicyFromClass(
     }
 
     try {
-      return constructor.newInstance();
+      return constructor.newInstance(args);
     } catch (Exception e) {
       throw new RuntimeException("Failed to instantiate class " +
           policyClass.getCanonicalName() + " for " + e.getMessage());
     }
   }
 
+  private static boolean hasNodeManagerConstructor(
+      Class<? extends PipelineChoosePolicy> policyClass) {
+    try {
+      policyClass.getDeclaredConstructor(NodeManager.class);
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
   private static <U> Class<? extends U> getClass(String name,
       Class<U> xface) {
     try {
@@ -20,6 +20,7 @@
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisRequestProto;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.ratis.protocol.Message;
 import org.junit.jupiter.api.Test;
@@ -91,4 +92,31 @@ public void testEncodeAndDecodeOfLong() throws Exception {
     assertEquals(operation, SCMRatisRequest.decode(request.encode()).getOperation());
     assertEquals(value, SCMRatisRequest.decode(request.encode()).getArguments()[0]);
   }
+
+  @Test
+  public void testEncodeAndDecodeBatch() throws Exception {
+    final HddsProtos.PipelineID pipelineID =
+        PipelineID.randomId().getProtobuf();
+    final List<SCMRatisRequest> requests = new ArrayList<>();
+    requests.add(SCMRatisRequest.of(PIPELINE, "first",
+        new Class[]{pipelineID.getClass()}, pipelineID));
+    requests.add(SCMRatisRequest.of(PIPELINE, "second",
+        new Class[]{Long.class}, 10L));
+
+    final SCMRatisRequestProto proto =
+        SCMRatisRequest.parse(SCMRatisRequest.encodeBatch(requests));
+    assertEquals(2, proto.getBatchCount());
+    final SCMRatisRequest first =
+        SCMRatisRequest.fromProto(proto.getBatch(0));
+    assertEquals("first", first.getOperation());
+    assertEquals(pipelineID, first.getArguments()[0]);
+    final SCMRatisRequest second =
+        SCMRatisRequest.fromProto(proto.getBatch(1));
+    assertEquals("second", second.getOperation());
+    assertEquals(10L, second.getArguments()[0]);
+
+    // a single request is not a batch
+    assertEquals(0, SCMRatisRequest.parse(requests.get(0).encode())
+        .getBatchCount());
+  }
 }
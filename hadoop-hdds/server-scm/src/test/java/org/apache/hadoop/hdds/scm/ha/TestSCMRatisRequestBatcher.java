@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.ha;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisRequestProto;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException.ResultCodes;
+import org.apache.ratis.protocol.ClientId;
+import org.apache.ratis.protocol.Message;
+import org.apache.ratis.protocol.RaftClientReply;
+import org.apache.ratis.protocol.RaftGroupId;
+import org.apache.ratis.protocol.RaftGroupMemberId;
+import org.apache.ratis.protocol.RaftPeerId;
+import org.apache.ratis.protocol.exceptions.StateMachineException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.RequestType.SEQUENCE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link SCMRatisRequestBatcher}.
+ */
+public class TestSCMRatisRequestBatcher {
+
+  private final RaftGroupMemberId raftId = RaftGroupMemberId.valueOf(
+      RaftPeerId.valueOf("peer"), RaftGroupId.randomId());
+  // log entries submitted to Ratis
+  private final List<SCMRatisRequestProto> entries =
+      new CopyOnWriteArrayList<>();
+  // completed to let the first entry be applied
+  private final CompletableFuture<Void> firstEntryGate =
+      new CompletableFuture<>();
+  private SCMRatisBatchMetrics metrics;
+  private SCMRatisRequestBatcher batcher;
+
+  @BeforeEach
+  public void setup() {
+    metrics = SCMRatisBatchMetrics.create(UUID.randomUUID().toString());
+    startBatcher(Long.MAX_VALUE);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    batcher.stop();
+    metrics.unRegister();
+  }
+
+  private void startBatcher(long maxBatchBytes) {
+    batcher = new SCMRatisRequestBatcher(this::apply, 10, maxBatchBytes,
+        10_000, metrics, "TestBatcher");
+    batcher.start();
+  }
+
+  /**
+   * Applies the entry, the result of each request is its argument, and
+   * negative arguments are rejected.
+   */
+  private CompletableFuture<RaftClientReply> apply(Message message) {
+    try {
+      final SCMRatisRequestProto entry = SCMRatisRequest.parse(message);
+      final boolean first = entries.isEmpty();
+      entries.add(entry);
+      if (first) {
+        firstEntryGate.get();
+      }
+      final Message response;
+      if (entry.getBatchCount() == 0) {
+        response = SCMRatisResponse.encode(
+            SCMRatisRequest.fromProto(entry).getArguments()[0]);
+      } else {
+        final SCMRatisBatchResponseProto.Builder builder =
+            SCMRatisBatchResponseProto.newBuilder();
+        for (SCMRatisRequestProto request : entry.getBatchList()) {
+          final Long value =
+              (Long) SCMRatisRequest.fromProto(request).getArguments()[0];
+          builder.addResults(value < 0
+              ? SCMRatisResponse.toBatchResult(
+                  new SCMException("negative", ResultCodes.FAILED_TO_FIND_BLOCK))
+              : SCMRatisResponse.toBatchResult(value));
+        }
+        response = SCMRatisResponse.encodeBatch(builder.build());
+      }
+      return CompletableFuture.completedFuture(RaftClientReply.newBuilder()
+          .setClientId(ClientId.randomId())
+          .setServerId(raftId)
+          .setGroupId(raftId.getGroupId())
+          .setCallId(1L)
+          .setSuccess(true)
+          .setMessage(response)
+          .setLogIndex(entries.size())
+          .build());
+    } catch (Exception e) {
+      final CompletableFuture<RaftClientReply> failed =
+          new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+  }
+
+  private static SCMRatisRequest request(long value) {
+    return SCMRatisRequest.of(SEQUENCE_ID, "test",
+        new Class[]{Long.class}, value);
+  }
+
+  @Test
+  public void testConcurrentRequestsAreBatched() throws Exception {
+    final CompletableFuture<SCMRatisResponse> first =
+        batcher.submit(request(0));
+    // the next requests are queued while the first entry is replicated
+    while (entries.isEmpty()) {
+      Thread.sleep(10);
+    }
+    final List<CompletableFuture<SCMRatisResponse>> futures =
+        new ArrayList<>();
+    for (long i = 1; i <= 5; i++) {
+      futures.add(batcher.submit(request(i)));
+    }
+    final CompletableFuture<SCMRatisResponse> rejected =
+        batcher.submit(request(-1));
+    firstEntryGate.complete(null);
+
+    assertEquals(0L, first.get(10, TimeUnit.SECONDS).getResult());
+    for (int i = 0; i < futures.size(); i++) {
+      final SCMRatisResponse response =
+          futures.get(i).get(10, TimeUnit.SECONDS);
+      assertTrue(response.isSuccess());
+      assertEquals(i + 1L, response.getResult());
+    }
+    final SCMRatisResponse response = rejected.get(10, TimeUnit.SECONDS);
+    assertFalse(response.isSuccess());
+    final SCMException cause = assertInstanceOf(SCMException.class,
+        assertInstanceOf(StateMachineException.class,
+            response.getException()).getCause());
+    assertEquals(ResultCodes.FAILED_TO_FIND_BLOCK, cause.getResult());
+
+    assertEquals(2, entries.size());
+    assertEquals(0, entries.get(0).getBatchCount());
+    assertEquals(6, entries.get(1).getBatchCount());
+    assertEquals(7, metrics.getNumRequests());
+    assertEquals(2, metrics.getNumEntries());
+  }
+
+  @Test
+  public void testBatchBytesLimit() throws Exception {
+    batcher.stop();
+    // room for two requests per entry
+    startBatcher(2L * request(1).toProto().getSerializedSize());
+
+    final CompletableFuture<SCMRatisResponse> first =
+        batcher.submit(request(0));
+    while (entries.isEmpty()) {
+      Thread.sleep(10);
+    }
+    final List<CompletableFuture<SCMRatisResponse>> futures =
+        new ArrayList<>();
+    for (long i = 1; i <= 5; i++) {
+      futures.add(batcher.submit(request(i)));
+    }
+    firstEntryGate.complete(null);
+
+    assertEquals(0L, first.get(10, TimeUnit.SECONDS).getResult());
+    for (int i = 0; i < futures.size(); i++) {
+      assertEquals(i + 1L,
+          futures.get(i).get(10, TimeUnit.SECONDS).getResult());
+    }
+    assertEquals(4, entries.size());
+    assertEquals(2, entries.get(1).getBatchCount());
+    assertEquals(2, entries.get(2).getBatchCount());
+    // a single request is not wrapped in a batch
+    assertEquals(0, entries.get(3).getBatchCount());
+  }
+
+  @Test
+  public void testSubmitAfterStop() {
+    firstEntryGate.complete(null);
+    batcher.stop();
+    final ExecutionException e = assertThrows(ExecutionException.class,
+        () -> batcher.submit(request(1)).get(10, TimeUnit.SECONDS));
+    assertInstanceOf(IOException.class, e.getCause());
+  }
+}
@@ -20,6 +20,9 @@
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResponseProto;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException.ResultCodes;
 import org.apache.ratis.protocol.ClientId;
 import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftClientReply;
@@ -28,9 +31,12 @@
 import org.apache.ratis.protocol.RaftPeerId;
 import org.apache.ratis.protocol.exceptions.LeaderNotReadyException;
 import org.apache.ratis.protocol.exceptions.RaftException;
+import org.apache.ratis.protocol.exceptions.StateMachineException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -92,4 +98,67 @@ public void testEncodeFailureWithNonProto() {
     assertThrows(InvalidProtocolBufferException.class,
         () -> SCMRatisResponse.encode(message));
   }
+
+  @Test
+  public void testEncodeAndDecodeBatch() throws Exception {
+    final SCMRatisBatchResponseProto batch =
+        SCMRatisBatchResponseProto.newBuilder()
+            .addResults(SCMRatisResponse.toBatchResult(10L))
+            .addResults(SCMRatisResponse.toBatchResult(new SCMException(
+                "rejected", ResultCodes.CONTAINER_NOT_FOUND)))
+            .addResults(SCMRatisResponse.toBatchResult((Object) null))
+            .build();
+    final RaftClientReply reply = RaftClientReply.newBuilder()
+        .setClientId(ClientId.randomId())
+        .setServerId(raftId)
+        .setGroupId(RaftGroupId.emptyGroupId())
+        .setCallId(1L)
+        .setSuccess(true)
+        .setMessage(SCMRatisResponse.encodeBatch(batch))
+        .setException(null)
+        .setLogIndex(1L)
+        .build();
+
+    final List<SCMRatisResponse> responses =
+        SCMRatisResponse.decodeBatch(reply, 3);
+    assertEquals(3, responses.size());
+    assertTrue(responses.get(0).isSuccess());
+    assertEquals(10L, responses.get(0).getResult());
+
+    assertFalse(responses.get(1).isSuccess());
+    final StateMachineException ex = assertInstanceOf(
+        StateMachineException.class, responses.get(1).getException());
+    final SCMException cause =
+        assertInstanceOf(SCMException.class, ex.getCause());
+    assertEquals(ResultCodes.CONTAINER_NOT_FOUND, cause.getResult());
+    assertEquals("rejected", cause.getMessage());
+
+    assertTrue(responses.get(2).isSuccess());
+    assertNull(responses.get(2).getResult());
+
+    assertThrows(InvalidProtocolBufferException.class,
+        () -> SCMRatisResponse.decodeBatch(reply, 2));
+  }
+
+  @Test
+  public void testDecodeBatchFailure() throws Exception {
+    final RaftClientReply reply = RaftClientReply.newBuilder()
+        .setClientId(ClientId.randomId())
+        .setServerId(raftId)
+        .setGroupId(RaftGroupId.emptyGroupId())
+        .setCallId(1L)
+        .setSuccess(false)
+        .setMessage(Message.EMPTY)
+        .setException(new LeaderNotReadyException(raftId))
+        .setLogIndex(1L)
+        .build();
+    final List<SCMRatisResponse> responses =
+        SCMRatisResponse.decodeBatch(reply, 2);
+    assertEquals(2, responses.size());
+    for (SCMRatisResponse response : responses) {
+      assertFalse(response.isSuccess());
+      assertInstanceOf(LeaderNotReadyException.class,
+          response.getException());
+    }
+  }
 }
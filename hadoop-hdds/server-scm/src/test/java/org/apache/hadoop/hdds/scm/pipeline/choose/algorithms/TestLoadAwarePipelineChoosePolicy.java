@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.hdds.scm.pipeline.choose.algorithms;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.PipelineChoosePolicy;
+import org.apache.hadoop.hdds.scm.PipelineRequestInformation;
+import org.apache.hadoop.hdds.scm.ScmConfig;
+import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMNodeMetric;
+import org.apache.hadoop.hdds.scm.node.NodeManager;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link LoadAwarePipelineChoosePolicy}.
+ */
+public class TestLoadAwarePipelineChoosePolicy {
+
+  private static final long CAPACITY = 1000;
+
+  private NodeManager nodeManager;
+  private LoadAwarePipelineChoosePolicy policy;
+  private final PipelineRequestInformation request =
+      PipelineRequestInformation.Builder.getBuilder().setSize(100).build();
+
+  @BeforeEach
+  public void setup() {
+    nodeManager = mock(NodeManager.class);
+    policy = new LoadAwarePipelineChoosePolicy(nodeManager);
+  }
+
+  @Test
+  public void testLoadIncludesCommittedSpace() {
+    Pipeline pipeline = pipeline(0.2);
+    assertEquals(0.2, policy.getLoad(pipeline), 0.001);
+
+    // the busiest datanode determines the load of the pipeline
+    DatanodeDetails dn = pipeline.getNodes().get(1);
+    setStat(dn, 300, 400);
+    assertEquals(0.7, policy.getLoad(pipeline), 0.001);
+  }
+
+  @Test
+  public void testBusiestPipelineIsNeverChosen() {
+    Pipeline hot = pipeline(0.9);
+    Pipeline warm = pipeline(0.5);
+    Pipeline cold = pipeline(0.1);
+    List<Pipeline> pipelines = Arrays.asList(hot, warm, cold);
+
+    Map<Pipeline, Integer> chosen = new HashMap<>();
+    for (int i = 0; i < 300; i++) {
+      chosen.merge(policy.choosePipeline(pipelines, request), 1, Integer::sum);
+    }
+    assertEquals(0, chosen.getOrDefault(hot, 0));
+    // cold wins both of its two possible pairs, warm only one of two
+    assertTrue(chosen.get(cold) > chosen.get(warm));
+  }
+
+  @Test
+  public void testHealthyPipelineIsPreferred() throws IOException {
+    Pipeline unhealthy = MockPipeline.createRatisPipeline();
+    for (DatanodeDetails dn : unhealthy.getNodes()) {
+      setStat(dn, 0, 0);
+    }
+    Pipeline healthy = pipeline(0.9);
+    List<Pipeline> pipelines = new ArrayList<>(
+        Arrays.asList(unhealthy, healthy));
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(healthy, policy.choosePipeline(pipelines, request));
+    }
+    assertEquals(-1, policy.choosePipelineIndex(new ArrayList<>(), request));
+  }
+
+  @Test
+  public void testUnknownDatanodeHasNoLoad() {
+    Pipeline unknown = MockPipeline.createRatisPipeline();
+    assertEquals(0, policy.getLoad(unknown), 0.001);
+    assertNotEquals(-1, policy.choosePipelineIndex(
+        Arrays.asList(unknown, pipeline(0.5)), request));
+  }
+
+  @Test
+  public void testCreatedByFactory() throws Exception {
+    ScmConfig scmConfig = new OzoneConfiguration().getObject(ScmConfig.class);
+    scmConfig.setPipelineChoosePolicyName(
+        LoadAwarePipelineChoosePolicy.class.getName());
+    PipelineChoosePolicy created =
+        PipelineChoosePolicyFactory.getPolicy(nodeManager, scmConfig, false);
+    assertSame(LoadAwarePipelineChoosePolicy.class, created.getClass());
+
+    // cannot be created without node manager
+    created = PipelineChoosePolicyFactory.getPolicy(scmConfig, false);
+    assertSame(PipelineChoosePolicyFactory
+        .OZONE_SCM_PIPELINE_CHOOSE_POLICY_IMPL_DEFAULT, created.getClass());
+  }
+
+  private Pipeline pipeline(double load) {
+    // EC pipelines are healthy without datanode reports
+    Pipeline pipeline = MockPipeline.createEcPipeline();
+    for (DatanodeDetails dn : pipeline.getNodes()) {
+      setStat(dn, (long) (load * CAPACITY), 0);
+    }
+    return pipeline;
+  }
+
+  private void setStat(DatanodeDetails dn, long used, long committed) {
+    when(nodeManager.getNodeStat(dn)).thenReturn(new SCMNodeMetric(
+        CAPACITY, used, CAPACITY - used, committed, 0));
+  }
+}
@@ -588,6 +588,25 @@ public Iterator<? extends OzoneKey> listKeys(String keyPrefix, String prevKey,
         .getKeyIterator(keyPrefix, prevKey, bucketLayout, shallow);
   }
 
+  /**
+   * Returns one page of the keys after startAfter in the bucket, with the
+   * keys containing the delimiter after the prefix rolled up into common
+   * prefixes.  FSO buckets only support {@code /} as delimiter.
+   *
+   * @param keyPrefix Bucket prefix to match
+   * @param delimiter Delimiter of the common prefixes
+   * @param startAfter Keys and common prefixes are listed after this
+   * @param maxKeys Max number of keys and common prefixes to return
+   * @return {@link OzoneKeyListing}
+   * @throws IOException with NOT_SUPPORTED_OPERATION result code if Ozone
+   * Manager does not support it
+   */
+  public OzoneKeyListing listKeysWithDelimiter(String keyPrefix,
+      String delimiter, String startAfter, int maxKeys) throws IOException {
+    return proxy.listKeysWithDelimiter(volumeName, name, keyPrefix, delimiter,
+        startAfter, maxKeys);
+  }
+
   /**
    * Checks if the bucket is a Link Bucket.
    * @return True if bucket is a link, False otherwise.
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client;
+
+import java.util.List;
+
+/**
+ * One page of keys listed with a delimiter: the keys directly under the
+ * prefix, and the common prefixes the other keys are rolled up into.
+ */
+public class OzoneKeyListing {
+
+  private final List<OzoneKey> keys;
+  private final List<String> commonPrefixes;
+  private final boolean truncated;
+  private final String nextStartKey;
+
+  public OzoneKeyListing(List<OzoneKey> keys, List<String> commonPrefixes,
+      boolean truncated, String nextStartKey) {
+    this.keys = keys;
+    this.commonPrefixes = commonPrefixes;
+    this.truncated = truncated;
+    this.nextStartKey = nextStartKey;
+  }
+
+  public List<OzoneKey> getKeys() {
+    return keys;
+  }
+
+  public List<String> getCommonPrefixes() {
+    return commonPrefixes;
+  }
+
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  /**
+   * @return the key to list the next page after, or null if the listing is
+   * not truncated
+   */
+  public String getNextStartKey() {
+    return nextStartKey;
+  }
+}
@@ -60,7 +60,7 @@ public ECBlockOutputStreamEntryPool(OzoneClientConfig config,
       ContainerClientMetrics clientMetrics, StreamBufferArgs streamBufferArgs) {
     super(config, omClient, requestId, replicationConfig, uploadID, partNumber,
         isMultipart, info, unsafeByteBufferConversion, xceiverClientFactory,
-        openID, clientMetrics, streamBufferArgs);
+        openID, clientMetrics, streamBufferArgs, null);
     assert replicationConfig instanceof ECReplicationConfig;
   }
 
@@ -42,6 +42,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.io.retry.RetryPolicies;
 import org.apache.hadoop.io.retry.RetryPolicy;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -156,7 +157,8 @@ public KeyOutputStream(
       String uploadID, int partNumber, boolean isMultipart,
       boolean unsafeByteBufferConversion,
       ContainerClientMetrics clientMetrics,
-      boolean atomicKeyCreation, StreamBufferArgs streamBufferArgs
+      boolean atomicKeyCreation, StreamBufferArgs streamBufferArgs,
+      BufferArena bufferArena
   ) {
     this.config = config;
     this.replication = replicationConfig;
@@ -170,7 +172,7 @@ public KeyOutputStream(
             unsafeByteBufferConversion,
             xceiverClientManager,
             handler.getId(),
-            clientMetrics, streamBufferArgs);
+            clientMetrics, streamBufferArgs, bufferArena);
     this.retryPolicyMap = HddsClientUtils.getRetryPolicyByException(
         config.getMaxRetryCount(), config.getRetryInterval());
     this.retryCount = 0;
@@ -615,6 +617,7 @@ public static class Builder {
     private ContainerClientMetrics clientMetrics;
     private boolean atomicKeyCreation = false;
     private StreamBufferArgs streamBufferArgs;
+    private BufferArena bufferArena;
 
     public String getMultipartUploadID() {
       return multipartUploadID;
@@ -728,6 +731,11 @@ public boolean getAtomicKeyCreation() {
       return atomicKeyCreation;
     }
 
+    public Builder setBufferArena(BufferArena arena) {
+      this.bufferArena = arena;
+      return this;
+    }
+
     public KeyOutputStream build() {
       return new KeyOutputStream(
           clientConfig,
@@ -742,7 +750,8 @@ public KeyOutputStream build() {
           unsafeByteBufferConversion,
           clientMetrics,
           atomicKeyCreation,
-          streamBufferArgs);
+          streamBufferArgs,
+          bufferArena);
     }
 
   }
@@ -36,6 +36,7 @@
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneKey;
 import org.apache.hadoop.ozone.client.OzoneKeyDetails;
+import org.apache.hadoop.ozone.client.OzoneKeyListing;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadList;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadPartListParts;
 import org.apache.hadoop.ozone.client.OzoneSnapshot;
@@ -442,6 +443,26 @@ List<OzoneKey> listKeys(String volumeName, String bucketName,
                           String keyPrefix, String prevKey, int maxListResult)
       throws IOException;
 
+  /**
+   * Returns one page of the keys in {Volume/Bucket} that match the keyPrefix,
+   * with the keys containing the delimiter after the prefix rolled up into
+   * common prefixes, like S3 ListObjects.  The common prefixes are skipped
+   * by Ozone Manager, so the cost does not depend on the number of keys
+   * under them.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keyPrefix Bucket prefix to match
+   * @param delimiter Delimiter of the common prefixes
+   * @param startAfter Keys and common prefixes are listed after this
+   * @param maxKeys Max number of keys and common prefixes to return
+   * @return {@link OzoneKeyListing}
+   * @throws IOException if Ozone Manager does not support it, the result
+   * code is NOT_SUPPORTED_OPERATION
+   */
+  OzoneKeyListing listKeysWithDelimiter(String volumeName, String bucketName,
+      String keyPrefix, String delimiter, String startAfter, int maxKeys)
+      throws IOException;
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
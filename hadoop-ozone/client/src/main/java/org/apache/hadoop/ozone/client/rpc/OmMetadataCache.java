@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
+
+/**
+ * Client side cache of volume and bucket details returned by OM.
+ * <p>
+ * Entries expire after a fixed time since they were loaded, and are
+ * invalidated when the same client changes the volume or bucket. Changes made
+ * by other clients become visible once the entry expires.
+ */
+class OmMetadataCache {
+
+  private final Cache<String, OmVolumeArgs> volumes;
+  private final Cache<String, OmBucketInfo> buckets;
+  private final OmMetadataCacheMetrics metrics;
+
+  OmMetadataCache(OzoneClientConfig config) {
+    volumes = CacheBuilder.newBuilder()
+        .expireAfterWrite(config.getOmMetadataCacheTtl(),
+            TimeUnit.MILLISECONDS)
+        .maximumSize(config.getOmMetadataCacheMaxEntries())
+        .build();
+    buckets = CacheBuilder.newBuilder()
+        .expireAfterWrite(config.getOmMetadataCacheTtl(),
+            TimeUnit.MILLISECONDS)
+        .maximumSize(config.getOmMetadataCacheMaxEntries())
+        .build();
+    metrics = OmMetadataCacheMetrics.acquire();
+  }
+
+  OmVolumeArgs getVolume(String volumeName,
+      CheckedSupplier<OmVolumeArgs, IOException> loader) throws IOException {
+    OmVolumeArgs volume = volumes.getIfPresent(volumeName);
+    if (volume != null) {
+      metrics.incrVolumeCacheHits();
+      return volume;
+    }
+    metrics.incrVolumeCacheMisses();
+    volume = loader.get();
+    volumes.put(volumeName, volume);
+    return volume;
+  }
+
+  OmBucketInfo getBucket(String volumeName, String bucketName,
+      CheckedSupplier<OmBucketInfo, IOException> loader) throws IOException {
+    String key = bucketKey(volumeName, bucketName);
+    OmBucketInfo bucket = buckets.getIfPresent(key);
+    if (bucket != null) {
+      metrics.incrBucketCacheHits();
+      return bucket;
+    }
+    metrics.incrBucketCacheMisses();
+    bucket = loader.get();
+    buckets.put(key, bucket);
+    return bucket;
+  }
+
+  /**
+   * Drops the volume and all its buckets, since bucket details (e.g. ACLs
+   * and quota checks) may depend on the volume.
+   */
+  void invalidateVolume(String volumeName) {
+    metrics.incrInvalidations();
+    volumes.invalidate(volumeName);
+    String prefix = OzoneFSUtils.addTrailingSlashIfNeeded(volumeName);
+    buckets.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  void invalidateBucket(String volumeName, String bucketName) {
+    metrics.incrInvalidations();
+    buckets.invalidate(bucketKey(volumeName, bucketName));
+  }
+
+  void close() {
+    volumes.invalidateAll();
+    buckets.invalidateAll();
+    OmMetadataCacheMetrics.release();
+  }
+
+  OmMetadataCacheMetrics getMetrics() {
+    return metrics;
+  }
+
+  private static String bucketKey(String volumeName, String bucketName) {
+    return volumeName + OZONE_URI_DELIMITER + bucketName;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Hit and miss counters of the client side OM metadata cache, shared by all
+ * clients in the process.
+ */
+@Metrics(about = "Client OM Metadata Cache Metrics",
+    context = OzoneConsts.OZONE)
+public final class OmMetadataCacheMetrics {
+  private static OmMetadataCacheMetrics instance;
+  private static int referenceCount = 0;
+
+  private static final String SOURCE_NAME =
+      OmMetadataCacheMetrics.class.getSimpleName();
+
+  @Metric
+  private MutableCounterLong volumeCacheHits;
+  @Metric
+  private MutableCounterLong volumeCacheMisses;
+  @Metric
+  private MutableCounterLong bucketCacheHits;
+  @Metric
+  private MutableCounterLong bucketCacheMisses;
+  @Metric
+  private MutableCounterLong invalidations;
+
+  public static synchronized OmMetadataCacheMetrics acquire() {
+    if (instance == null) {
+      instance = DefaultMetricsSystem.instance().register(SOURCE_NAME,
+          "Ozone Client OM Metadata Cache Metrics",
+          new OmMetadataCacheMetrics());
+    }
+    referenceCount++;
+    return instance;
+  }
+
+  public static synchronized void release() {
+    if (instance == null) {
+      throw new IllegalStateException("This metrics class is not used.");
+    }
+    referenceCount--;
+    if (referenceCount == 0) {
+      DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+      instance = null;
+    }
+  }
+
+  private OmMetadataCacheMetrics() {
+  }
+
+  void incrVolumeCacheHits() {
+    volumeCacheHits.incr();
+  }
+
+  void incrVolumeCacheMisses() {
+    volumeCacheMisses.incr();
+  }
+
+  void incrBucketCacheHits() {
+    bucketCacheHits.incr();
+  }
+
+  void incrBucketCacheMisses() {
+    bucketCacheMisses.incr();
+  }
+
+  void incrInvalidations() {
+    invalidations.incr();
+  }
+
+  @VisibleForTesting
+  public long getVolumeCacheHits() {
+    return volumeCacheHits.value();
+  }
+
+  @VisibleForTesting
+  public long getVolumeCacheMisses() {
+    return volumeCacheMisses.value();
+  }
+
+  @VisibleForTesting
+  public long getBucketCacheHits() {
+    return bucketCacheHits.value();
+  }
+
+  @VisibleForTesting
+  public long getBucketCacheMisses() {
+    return bucketCacheMisses.value();
+  }
+
+  @VisibleForTesting
+  public long getInvalidations() {
+    return invalidations.value();
+  }
+}
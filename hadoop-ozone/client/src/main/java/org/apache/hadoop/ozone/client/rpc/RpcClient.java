@@ -54,6 +54,7 @@
 import org.apache.hadoop.hdds.scm.client.HddsClientUtils;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.IOUtils;
@@ -69,6 +70,7 @@
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneKey;
 import org.apache.hadoop.ozone.client.OzoneKeyDetails;
+import org.apache.hadoop.ozone.client.OzoneKeyListing;
 import org.apache.hadoop.ozone.client.OzoneKeyLocation;
 import org.apache.hadoop.ozone.client.OzoneMultipartUpload;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadList;
@@ -98,6 +100,7 @@
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
@@ -212,11 +215,13 @@ public class RpcClient implements ClientProtocol {
   private final Cache<URI, KeyProvider> keyProviderCache;
   private final boolean getLatestVersionLocation;
   private final ByteBufferPool byteBufferPool;
+  private final BufferArena bufferArena;
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private volatile ExecutorService ecReconstructExecutor;
   private final ContainerClientMetrics clientMetrics;
   private final AtomicBoolean isS3GRequest = new AtomicBoolean(false);
+  private final OmMetadataCache omMetadataCache;
 
   /**
    * Creates RpcClient instance with the given configuration.
@@ -314,6 +319,12 @@ public void onRemoval(
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
         .getInstance(byteBufferPool, this::getECReconstructExecutor);
     this.clientMetrics = ContainerClientMetrics.acquire();
+    this.bufferArena = clientConfig.getBufferArenaMaxSize() > 0
+        ? new BufferArena(clientConfig.getBufferArenaMaxSize(),
+            clientConfig.getBufferArenaWaitTimeout(), clientMetrics)
+        : null;
+    this.omMetadataCache = clientConfig.isOmMetadataCacheEnabled()
+        ? new OmMetadataCache(clientConfig) : null;
   }
 
   public XceiverClientFactory getXceiverClientManager() {
@@ -465,7 +476,9 @@ public boolean setVolumeOwner(String volumeName, String owner)
       throws IOException {
     verifyVolumeName(volumeName);
     Preconditions.checkNotNull(owner);
-    return ozoneManagerClient.setOwner(volumeName, owner);
+    boolean result = ozoneManagerClient.setOwner(volumeName, owner);
+    invalidateCachedVolume(volumeName);
+    return result;
   }
 
   @Override
@@ -483,16 +496,57 @@ public void setVolumeQuota(String volumeName, long quotaInNamespace,
           volumeName);
     }
     ozoneManagerClient.setQuota(volumeName, quotaInNamespace, quotaInBytes);
+    invalidateCachedVolume(volumeName);
   }
 
   @Override
   public OzoneVolume getVolumeDetails(String volumeName)
       throws IOException {
     verifyVolumeName(volumeName);
-    OmVolumeArgs volume = ozoneManagerClient.getVolumeInfo(volumeName);
+    final OmMetadataCache cache = getOmMetadataCache();
+    OmVolumeArgs volume = cache != null
+        ? cache.getVolume(volumeName,
+            () -> ozoneManagerClient.getVolumeInfo(volumeName))
+        : ozoneManagerClient.getVolumeInfo(volumeName);
     return buildOzoneVolume(volume);
   }
 
+  /**
+   * @return the cache of volume and bucket details, or null if it is
+   * disabled or the request is made on behalf of an S3 user.  The S3 gateway
+   * shares one client among all users, so details cached for one user would
+   * be returned to others without the ACL check in OM.
+   */
+  private OmMetadataCache getOmMetadataCache() {
+    return isS3GRequest.get() || getThreadLocalS3Auth() != null
+        ? null : omMetadataCache;
+  }
+
+  private void invalidateCachedVolume(String volumeName) {
+    if (omMetadataCache != null) {
+      omMetadataCache.invalidateVolume(volumeName);
+    }
+  }
+
+  private void invalidateCachedBucket(String volumeName, String bucketName) {
+    if (omMetadataCache != null) {
+      omMetadataCache.invalidateBucket(volumeName, bucketName);
+    }
+  }
+
+  private void invalidateCachedObject(OzoneObj obj) {
+    if (obj.getResourceType() == OzoneObj.ResourceType.VOLUME) {
+      invalidateCachedVolume(obj.getVolumeName());
+    } else if (obj.getResourceType() == OzoneObj.ResourceType.BUCKET) {
+      invalidateCachedBucket(obj.getVolumeName(), obj.getBucketName());
+    }
+  }
+
+  @VisibleForTesting
+  OmMetadataCacheMetrics getOmMetadataCacheMetrics() {
+    return omMetadataCache != null ? omMetadataCache.getMetrics() : null;
+  }
+
   @Override
   public S3VolumeContext getS3VolumeContext() throws IOException {
     S3VolumeContext resp = ozoneManagerClient.getS3VolumeContext();
@@ -540,6 +594,7 @@ public boolean checkVolumeAccess(String volumeName, OzoneAcl acl)
   public void deleteVolume(String volumeName) throws IOException {
     verifyVolumeName(volumeName);
     ozoneManagerClient.deleteVolume(volumeName);
+    invalidateCachedVolume(volumeName);
   }
 
   @Override
@@ -1171,6 +1226,7 @@ public void setBucketVersioning(
         .setBucketName(bucketName)
         .setIsVersionEnabled(versioning);
     ozoneManagerClient.setBucketProperty(builder.build());
+    invalidateCachedBucket(volumeName, bucketName);
   }
 
   @Override
@@ -1185,6 +1241,7 @@ public void setBucketStorageType(
         .setBucketName(bucketName)
         .setStorageType(storageType);
     ozoneManagerClient.setBucketProperty(builder.build());
+    invalidateCachedBucket(volumeName, bucketName);
   }
 
   @Override
@@ -1210,6 +1267,7 @@ public void setBucketQuota(String volumeName, String bucketName,
           "enable quota.", bucketName);
     }
     ozoneManagerClient.setBucketProperty(builder.build());
+    invalidateCachedBucket(volumeName, bucketName);
 
   }
 
@@ -1235,6 +1293,7 @@ public void setReplicationConfig(
         .setDefaultReplicationConfig(
             new DefaultReplicationConfig(replicationConfig));
     ozoneManagerClient.setBucketProperty(builder.build());
+    invalidateCachedBucket(volumeName, bucketName);
   }
 
   @Override
@@ -1243,6 +1302,7 @@ public void deleteBucket(
     verifyVolumeName(volumeName);
     verifyBucketName(bucketName);
     ozoneManagerClient.deleteBucket(volumeName, bucketName);
+    invalidateCachedBucket(volumeName, bucketName);
   }
 
   @Override
@@ -1256,8 +1316,11 @@ public OzoneBucket getBucketDetails(
       String volumeName, String bucketName) throws IOException {
     verifyVolumeName(volumeName);
     verifyBucketName(bucketName);
-    OmBucketInfo bucketInfo =
-        ozoneManagerClient.getBucketInfo(volumeName, bucketName);
+    final OmMetadataCache cache = getOmMetadataCache();
+    OmBucketInfo bucketInfo = cache != null
+        ? cache.getBucket(volumeName, bucketName,
+            () -> ozoneManagerClient.getBucketInfo(volumeName, bucketName))
+        : ozoneManagerClient.getBucketInfo(volumeName, bucketName);
     return OzoneBucket.newBuilder(conf, this)
         .setVolumeName(bucketInfo.getVolumeName())
         .setName(bucketInfo.getBucketName())
@@ -1612,6 +1675,34 @@ public List<OzoneKey> listKeys(String volumeName, String bucketName,
     }
   }
 
+  @Override
+  public OzoneKeyListing listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException {
+    if (omVersion.compareTo(OzoneManagerVersion.DELIMITER_LIST_KEYS) < 0) {
+      throw new OMException("Listing keys with a delimiter is not supported"
+          + " by Ozone Manager",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION);
+    }
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    ListKeysWithDelimiterResult result =
+        ozoneManagerClient.listKeysWithDelimiter(volumeName, bucketName,
+            keyPrefix, delimiter, startAfter, maxKeys);
+    List<OzoneKey> keys = result.getKeys().stream().map(key -> new OzoneKey(
+            key.getVolumeName(),
+            key.getBucketName(),
+            key.getKeyName(),
+            key.getDataSize(),
+            key.getCreationTime(),
+            key.getModificationTime(),
+            key.getReplicationConfig(),
+            key.isFile()))
+        .collect(Collectors.toList());
+    return new OzoneKeyListing(keys, result.getCommonPrefixes(),
+        result.isTruncated(), result.getNextStartKey());
+  }
+
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName, String bucketName,
       String startKeyName, String keyPrefix, int maxKeys) throws IOException {
@@ -1745,6 +1836,9 @@ public void close() throws IOException {
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
     ContainerClientMetrics.release();
+    if (omMetadataCache != null) {
+      omMetadataCache.close();
+    }
   }
 
   @Deprecated
@@ -2138,7 +2232,9 @@ public List<OzoneFileStatusLight> listStatusLight(String volumeName,
    */
   @Override
   public boolean addAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
-    return ozoneManagerClient.addAcl(obj, acl);
+    boolean result = ozoneManagerClient.addAcl(obj, acl);
+    invalidateCachedObject(obj);
+    return result;
   }
 
   /**
@@ -2151,7 +2247,9 @@ public boolean addAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
    */
   @Override
   public boolean removeAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
-    return ozoneManagerClient.removeAcl(obj, acl);
+    boolean result = ozoneManagerClient.removeAcl(obj, acl);
+    invalidateCachedObject(obj);
+    return result;
   }
 
   /**
@@ -2164,7 +2262,9 @@ public boolean removeAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
    */
   @Override
   public boolean setAcl(OzoneObj obj, List<OzoneAcl> acls) throws IOException {
-    return ozoneManagerClient.setAcl(obj, acls);
+    boolean result = ozoneManagerClient.setAcl(obj, acls);
+    invalidateCachedObject(obj);
+    return result;
   }
 
   /**
@@ -2349,7 +2449,8 @@ private KeyOutputStream.Builder createKeyOutputStream(
           .setS3CredentialsProvider(getS3CredentialsProvider());
     } else {
       builder = new KeyOutputStream.Builder()
-        .setReplicationConfig(replicationConfig);
+        .setReplicationConfig(replicationConfig)
+        .setBufferArena(bufferArena);
     }
 
     return builder.setHandler(openKey)
@@ -2467,7 +2568,9 @@ public boolean setBucketOwner(String volumeName, String bucketName,
     builder.setVolumeName(volumeName)
         .setBucketName(bucketName)
         .setOwnerName(owner);
-    return ozoneManagerClient.setBucketOwner(builder.build());
+    boolean result = ozoneManagerClient.setBucketOwner(builder.build());
+    invalidateCachedBucket(volumeName, bucketName);
+    return result;
   }
 
   @Override
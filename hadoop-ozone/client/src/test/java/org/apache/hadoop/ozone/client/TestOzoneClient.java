@@ -24,6 +24,7 @@
 import org.apache.hadoop.hdds.client.ReplicationType;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
@@ -33,7 +34,11 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.ServiceInfoEx;
+import org.apache.hadoop.ozone.om.protocol.S3Auth;
 import org.apache.hadoop.ozone.om.protocolPB.OmTransport;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
 import org.apache.ozone.test.LambdaTestUtils.VoidCallable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
@@ -84,11 +89,16 @@ public void init() throws IOException {
 
   private void createNewClient(ConfigurationSource config,
       MockBlockAllocator blkAllocator) throws IOException {
+    createNewClient(config, new MockOmTransport(blkAllocator));
+  }
+
+  private void createNewClient(ConfigurationSource config,
+      OmTransport omTransport) throws IOException {
     client = new OzoneClient(config, new RpcClient(config, null) {
 
       @Override
       protected OmTransport createOmTransport(String omServiceId) {
-        return new MockOmTransport(blkAllocator);
+        return omTransport;
       }
 
       @NotNull
@@ -120,6 +130,67 @@ public void testDeleteVolume()
 
   }
 
+  @Test
+  public void testDeleteVolumeWithMetadataCache() throws Exception {
+    client.close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setOmMetadataCacheEnabled(true);
+    config.setFromObject(clientConfig);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+
+    String volumeName = UUID.randomUUID().toString();
+    store.createVolume(volumeName);
+    assertNotNull(store.getVolume(volumeName));
+    assertNotNull(store.getVolume(volumeName));
+    store.deleteVolume(volumeName);
+    expectOmException(ResultCodes.VOLUME_NOT_FOUND,
+        () -> store.getVolume(volumeName));
+  }
+
+  @Test
+  public void testMetadataCacheNotSharedBetweenS3Users() throws Exception {
+    client.close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setOmMetadataCacheEnabled(true);
+    config.setFromObject(clientConfig);
+    String deniedUser = "denied";
+    // denies volume and bucket details to one S3 user, like OM ACLs would
+    createNewClient(config, new MockOmTransport(
+        new SinglePipelineBlockAllocator(config)) {
+      @Override
+      public OMResponse submitRequest(OMRequest payload) throws IOException {
+        if (payload.hasS3Authentication()
+            && deniedUser.equals(payload.getS3Authentication().getAccessId())) {
+          return OMResponse.newBuilder()
+              .setCmdType(payload.getCmdType())
+              .setSuccess(false)
+              .setStatus(Status.PERMISSION_DENIED)
+              .build();
+        }
+        return super.submitRequest(payload);
+      }
+    });
+
+    String volumeName = UUID.randomUUID().toString();
+    String bucketName = UUID.randomUUID().toString();
+    store.createVolume(volumeName);
+    store.getVolume(volumeName).createBucket(bucketName);
+
+    store.getClientProxy().setThreadLocalS3Auth(
+        new S3Auth("sts", "sig", "owner", "owner"));
+    assertNotNull(store.getVolume(volumeName).getBucket(bucketName));
+
+    store.getClientProxy().setThreadLocalS3Auth(
+        new S3Auth("sts", "sig", deniedUser, deniedUser));
+    expectOmException(ResultCodes.PERMISSION_DENIED,
+        () -> store.getVolume(volumeName));
+    expectOmException(ResultCodes.PERMISSION_DENIED,
+        () -> client.getProxy().getBucketDetails(volumeName, bucketName));
+    store.getClientProxy().clearThreadLocalS3Auth();
+  }
+
   @Test
   public void testCreateVolumeWithMetadata()
       throws IOException, OzoneClientException {
@@ -177,6 +248,33 @@ public void testPutKeyRatisOneNode() throws IOException {
     }
   }
 
+  @Test
+  public void testPutKeyWithBufferArena() throws IOException {
+    client.close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setBufferArenaMaxSize(clientConfig.getStreamBufferMaxSize());
+    config.setFromObject(clientConfig);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+
+    String value = "sample value";
+    OzoneBucket bucket = getOzoneBucket();
+    // each key reuses the buffers of the arena released by the previous one
+    for (int i = 0; i < 3; i++) {
+      String keyName = UUID.randomUUID().toString();
+      try (OzoneOutputStream out = bucket.createKey(keyName,
+          value.getBytes(UTF_8).length, ReplicationType.RATIS,
+          ONE, new HashMap<>())) {
+        out.write(value.getBytes(UTF_8));
+      }
+      try (OzoneInputStream is = bucket.readKey(keyName)) {
+        byte[] fileContent = new byte[value.getBytes(UTF_8).length];
+        assertEquals(value.length(), is.read(fileContent));
+        assertEquals(value, new String(fileContent, UTF_8));
+      }
+    }
+  }
+
   @Test
   public void testPutKeyAllocateBlock() throws IOException {
     String value = new String(new byte[1024], UTF_8);
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.rpc;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.StorageType;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for {@link OmMetadataCache}.
+ */
+public class TestOmMetadataCache {
+
+  private OmMetadataCache cache;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  public void setup() {
+    OzoneClientConfig config =
+        new OzoneConfiguration().getObject(OzoneClientConfig.class);
+    config.setOmMetadataCacheEnabled(true);
+    cache = new OmMetadataCache(config);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Test
+  public void testVolumeIsLoadedOnce() throws IOException {
+    OmVolumeArgs first = cache.getVolume("vol1", () -> loadVolume("vol1"));
+    OmVolumeArgs second = cache.getVolume("vol1", () -> loadVolume("vol1"));
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(1, cache.getMetrics().getVolumeCacheHits());
+    assertEquals(1, cache.getMetrics().getVolumeCacheMisses());
+  }
+
+  @Test
+  public void testBucketInvalidation() throws IOException {
+    cache.getBucket("vol1", "bucket1", () -> loadBucket("vol1", "bucket1"));
+    cache.getBucket("vol1", "bucket2", () -> loadBucket("vol1", "bucket2"));
+    assertEquals(2, loads.get());
+
+    cache.invalidateBucket("vol1", "bucket1");
+    cache.getBucket("vol1", "bucket1", () -> loadBucket("vol1", "bucket1"));
+    cache.getBucket("vol1", "bucket2", () -> loadBucket("vol1", "bucket2"));
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  public void testVolumeInvalidationDropsItsBuckets() throws IOException {
+    cache.getVolume("vol1", () -> loadVolume("vol1"));
+    cache.getBucket("vol1", "bucket1", () -> loadBucket("vol1", "bucket1"));
+    cache.getBucket("vol10", "bucket1", () -> loadBucket("vol10", "bucket1"));
+    assertEquals(3, loads.get());
+
+    cache.invalidateVolume("vol1");
+    cache.getVolume("vol1", () -> loadVolume("vol1"));
+    cache.getBucket("vol1", "bucket1", () -> loadBucket("vol1", "bucket1"));
+    cache.getBucket("vol10", "bucket1", () -> loadBucket("vol10", "bucket1"));
+    assertEquals(5, loads.get());
+  }
+
+  @Test
+  public void testExpiredEntryIsReloaded() throws IOException {
+    cache.close();
+    OzoneClientConfig config =
+        new OzoneConfiguration().getObject(OzoneClientConfig.class);
+    config.setOmMetadataCacheTtl(0);
+    cache = new OmMetadataCache(config);
+
+    cache.getVolume("vol1", () -> loadVolume("vol1"));
+    cache.getVolume("vol1", () -> loadVolume("vol1"));
+    assertEquals(2, loads.get());
+  }
+
+  private OmVolumeArgs loadVolume(String volume) {
+    loads.incrementAndGet();
+    return OmVolumeArgs.newBuilder()
+        .setVolume(volume)
+        .setAdminName("admin")
+        .setOwnerName("owner")
+        .build();
+  }
+
+  private OmBucketInfo loadBucket(String volume, String bucket) {
+    loads.incrementAndGet();
+    return OmBucketInfo.newBuilder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .setAcls(new ArrayList<>())
+        .setIsVersionEnabled(false)
+        .setStorageType(StorageType.DISK)
+        .build();
+  }
+}
@@ -242,6 +242,7 @@ public static boolean isReadOnly(
     case LookupKey:
     case ListKeys:
     case ListKeysLight:
+    case ListKeysWithDelimiter:
     case ListTrash:
     case ServiceList:
     case ListMultiPartUploadParts:
@@ -23,6 +23,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
@@ -158,6 +159,33 @@ ListKeysLightResult listKeysLight(String volumeName, String bucketName,
                                      int maxKeys)
       throws IOException;
 
+  /**
+   * Lists the keys under the prefix, like S3 ListObjects with a delimiter.
+   * Keys containing the delimiter after the prefix are returned as their
+   * common prefix, up to and including the first delimiter, and the other
+   * keys with the same common prefix are skipped.
+   *
+   * @param volumeName
+   *   the name of the volume.
+   * @param bucketName
+   *   the name of the bucket.
+   * @param keyPrefix
+   *   key name prefix, only the keys whose name has
+   *   this prefix will be included in the result.
+   * @param delimiter
+   *   the delimiter of the common prefixes, must be "/" for FSO buckets.
+   * @param startAfter
+   *   the nextStartKey of the previous page, or a key name, only the
+   *   entries after this value will be included in the result.
+   * @param maxKeys
+   *   the maximum number of keys and common prefixes to return.
+   * @return the keys and common prefixes.
+   * @throws IOException
+   */
+  ListKeysWithDelimiterResult listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException;
+
   /**
    * Returns list of ACLs for given Ozone object.
    *
@@ -121,6 +121,9 @@ private OMConfigKeys() {
   public static final String OZONE_KEY_DELETING_LIMIT_PER_TASK =
       "ozone.key.deleting.limit.per.task";
   public static final int OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT = 20000;
+  public static final String OZONE_KEY_DELETING_SERVICE_WORKERS =
+      "ozone.key.deleting.service.workers";
+  public static final int OZONE_KEY_DELETING_SERVICE_WORKERS_DEFAULT = 1;
   public static final String OZONE_SNAPSHOT_KEY_DELETING_LIMIT_PER_TASK =
       "ozone.snapshot.key.deleting.limit.per.task";
   public static final int OZONE_SNAPSHOT_KEY_DELETING_LIMIT_PER_TASK_DEFAULT
@@ -525,6 +528,22 @@ private OMConfigKeys() {
   public static final TimeDuration OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT
       = TimeDuration.valueOf(360, TimeUnit.MINUTES);
 
+  public static final String OZONE_OM_DATANODE_SORT_CACHE_ENABLED
+      = "ozone.om.datanode.sort.cache.enabled";
+  public static final boolean OZONE_OM_DATANODE_SORT_CACHE_ENABLED_DEFAULT
+      = false;
+
+  public static final String OZONE_OM_DATANODE_SORT_CACHE_SIZE
+      = "ozone.om.datanode.sort.cache.size";
+  public static final int OZONE_OM_DATANODE_SORT_CACHE_SIZE_DEFAULT
+      = 100_000;
+
+  public static final String OZONE_OM_NETWORK_TOPOLOGY_REFRESH_INTERVAL
+      = "ozone.om.network.topology.refresh.interval";
+  public static final TimeDuration
+      OZONE_OM_NETWORK_TOPOLOGY_REFRESH_INTERVAL_DEFAULT
+      = TimeDuration.valueOf(10, TimeUnit.MINUTES);
+
   public static final String OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR
       = "ozone.om.enable.ofs.shared.tmp.dir";
   public static final boolean OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR_DEFAULT
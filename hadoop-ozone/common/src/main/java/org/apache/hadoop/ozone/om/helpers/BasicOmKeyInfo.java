@@ -20,9 +20,13 @@
 import java.io.IOException;
 import java.util.Objects;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.BasicKeyInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
 
 /**
@@ -232,6 +236,72 @@ public int hashCode() {
     return Objects.hash(volumeName, bucketName, keyName);
   }
 
+  /**
+   * Decodes only the fields of a serialized {@link KeyInfo} which are needed
+   * for a {@link BasicOmKeyInfo}.  The other fields, like the block
+   * locations, the ACLs and the metadata, are skipped without being parsed.
+   * The defaults of missing fields are the same as in {@link KeyInfo}.
+   */
+  public static BasicOmKeyInfo fromKeyInfoBytes(byte[] bytes)
+      throws IOException {
+    final KeyInfo defaults = KeyInfo.getDefaultInstance();
+    final Builder builder = new Builder();
+    HddsProtos.ReplicationType type = defaults.getType();
+    HddsProtos.ReplicationFactor factor = defaults.getFactor();
+    HddsProtos.ECReplicationConfig ecReplicationConfig =
+        defaults.getEcReplicationConfig();
+
+    final CodedInputStream in = CodedInputStream.newInstance(bytes);
+    for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+      switch (WireFormat.getTagFieldNumber(tag)) {
+      case KeyInfo.VOLUMENAME_FIELD_NUMBER:
+        builder.setVolumeName(in.readString());
+        break;
+      case KeyInfo.BUCKETNAME_FIELD_NUMBER:
+        builder.setBucketName(in.readString());
+        break;
+      case KeyInfo.KEYNAME_FIELD_NUMBER:
+        builder.setKeyName(in.readString());
+        break;
+      case KeyInfo.DATASIZE_FIELD_NUMBER:
+        builder.setDataSize(in.readUInt64());
+        break;
+      case KeyInfo.TYPE_FIELD_NUMBER:
+        type = enumValue(HddsProtos.ReplicationType.valueOf(in.readEnum()),
+            type);
+        break;
+      case KeyInfo.FACTOR_FIELD_NUMBER:
+        factor = enumValue(HddsProtos.ReplicationFactor.valueOf(in.readEnum()),
+            factor);
+        break;
+      case KeyInfo.CREATIONTIME_FIELD_NUMBER:
+        builder.setCreationTime(in.readUInt64());
+        break;
+      case KeyInfo.MODIFICATIONTIME_FIELD_NUMBER:
+        builder.setModificationTime(in.readUInt64());
+        break;
+      case KeyInfo.ECREPLICATIONCONFIG_FIELD_NUMBER:
+        ecReplicationConfig =
+            HddsProtos.ECReplicationConfig.parseFrom(in.readBytes());
+        break;
+      case KeyInfo.ISFILE_FIELD_NUMBER:
+        builder.setIsFile(in.readBool());
+        break;
+      default:
+        in.skipField(tag);
+      }
+    }
+    return builder
+        .setReplicationConfig(
+            ReplicationConfig.fromProto(type, factor, ecReplicationConfig))
+        .build();
+  }
+
+  /** Unknown enum values are ignored as the protobuf parser does. */
+  private static <E extends Enum<E>> E enumValue(E value, E current) {
+    return value != null ? value : current;
+  }
+
   public static BasicOmKeyInfo fromOmKeyInfo(OmKeyInfo omKeyInfo) {
     return new BasicOmKeyInfo(
         omKeyInfo.getVolumeName(),
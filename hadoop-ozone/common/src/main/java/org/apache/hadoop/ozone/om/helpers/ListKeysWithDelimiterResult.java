@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.helpers;
+
+import java.util.List;
+
+/**
+ * Encapsulates the result of listKeysWithDelimiter.  It contains the keys
+ * directly under the prefix, the common prefixes of the other keys, and the
+ * key to start the next page after, if the listing is truncated.
+ */
+public class ListKeysWithDelimiterResult {
+  private final List<BasicOmKeyInfo> keys;
+  private final List<String> commonPrefixes;
+  private final boolean isTruncated;
+  private final String nextStartKey;
+
+  public ListKeysWithDelimiterResult(List<BasicOmKeyInfo> keys,
+      List<String> commonPrefixes, boolean isTruncated, String nextStartKey) {
+    this.keys = keys;
+    this.commonPrefixes = commonPrefixes;
+    this.isTruncated = isTruncated;
+    this.nextStartKey = nextStartKey;
+  }
+
+  public List<BasicOmKeyInfo> getKeys() {
+    return keys;
+  }
+
+  public List<String> getCommonPrefixes() {
+    return commonPrefixes;
+  }
+
+  public boolean isTruncated() {
+    return isTruncated;
+  }
+
+  /**
+   * @return the value to pass as startAfter to get the next page, or null
+   * if the listing is not truncated
+   */
+  public String getNextStartKey() {
+    return nextStartKey;
+  }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.ozone.om.helpers;
 
+import com.google.protobuf.MessageLite;
 import com.google.protobuf.TextFormat;
 import org.apache.hadoop.hdds.utils.io.ByteBufferInputStream;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
@@ -26,6 +27,7 @@
 import org.apache.ratis.protocol.RaftClientReply;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
+import org.apache.ratis.util.MemoizedSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,15 +49,39 @@ public static ByteString convertRequestToByteString(OMRequest request) {
     return UnsafeByteOperations.unsafeWrap(request.toByteString().asReadOnlyByteBuffer());
   }
 
+  /**
+   * Convert the given proto 2 request to a {@link Message}.  The request is
+   * kept in the message, so that the Ratis server of the same OM does not
+   * have to parse the content again, see {@link #getOMRequest(Message)}.
+   */
+  public static Message convertRequestToMessage(OMRequest request) {
+    return new ProtoMessage<>(request);
+  }
+
   /** Convert the given proto 3 {@link ByteString} to a proto 2 request. */
   public static OMRequest convertByteStringToOMRequest(ByteString bytes) throws IOException {
     final ByteBuffer buffer = bytes.asReadOnlyByteBuffer();
     return OMRequest.parseFrom(new ByteBufferInputStream(buffer));
   }
 
-  /** Convert the given proto 2 response to a proto 3 {@link ByteString}. */
+  /**
+   * @return the request kept in a message created by
+   * {@link #convertRequestToMessage(OMRequest)}, otherwise the request parsed
+   * from the content of the message.
+   */
+  public static OMRequest getOMRequest(Message message) throws IOException {
+    final OMRequest request = ProtoMessage.getProto(message, OMRequest.class);
+    return request != null ? request
+        : convertByteStringToOMRequest(message.getContent());
+  }
+
+  /**
+   * Convert the given proto 2 response to a {@link Message}.  The response is
+   * serialized only when the content is needed, it is not needed for replies
+   * to requests submitted by the OM to its own Ratis server.
+   */
   public static Message convertResponseToMessage(OMResponse response) {
-    return () -> UnsafeByteOperations.unsafeWrap(response.toByteString().asReadOnlyByteBuffer());
+    return new ProtoMessage<>(response);
   }
 
   /** Convert the given proto 3 {@link ByteString} to a proto 2 response. */
@@ -66,7 +92,10 @@ public static OMResponse convertByteStringToOMResponse(ByteString bytes) throws
 
   /** Convert the given reply with proto 3 {@link ByteString} to a proto 2 response. */
   public static OMResponse getOMResponseFromRaftClientReply(RaftClientReply reply) throws IOException {
-    final OMResponse response = convertByteStringToOMResponse(reply.getMessage().getContent());
+    final Message message = reply.getMessage();
+    final OMResponse kept = ProtoMessage.getProto(message, OMResponse.class);
+    final OMResponse response = kept != null ? kept
+        : convertByteStringToOMResponse(message.getContent());
     if (reply.getReplierId().equals(response.getLeaderOMNodeId())) {
       return response;
     }
@@ -85,4 +114,41 @@ public static String smProtoToString(StateMachineLogEntryProto proto) {
       return "Failed to smProtoToString: " + ex;
     }
   }
+
+  /**
+   * {@link Message} keeping the proto 2 message it is converted from, the
+   * content is serialized on first use.
+   */
+  private static final class ProtoMessage<T extends MessageLite>
+      implements Message {
+    private final T proto;
+    private final MemoizedSupplier<ByteString> content;
+
+    private ProtoMessage(T proto) {
+      this.proto = proto;
+      this.content = MemoizedSupplier.valueOf(() ->
+          UnsafeByteOperations.unsafeWrap(
+              proto.toByteString().asReadOnlyByteBuffer()));
+    }
+
+    @Override
+    public ByteString getContent() {
+      return content.get();
+    }
+
+    @Override
+    public String toString() {
+      return proto.getClass().getSimpleName() + "Message";
+    }
+
+    private static <T> T getProto(Message message, Class<T> type) {
+      if (message instanceof ProtoMessage) {
+        final Object proto = ((ProtoMessage<?>) message).proto;
+        if (type.isInstance(proto)) {
+          return type.cast(proto);
+        }
+      }
+      return null;
+    }
+  }
 }
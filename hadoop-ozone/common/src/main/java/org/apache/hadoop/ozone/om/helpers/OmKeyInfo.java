@@ -831,11 +831,9 @@ public OmKeyInfo copyObject() {
         .setFileName(fileName)
         .setFile(isFile);
 
+    // the locations are copied on write
     keyLocationVersions.forEach(keyLocationVersion ->
-        builder.addOmKeyLocationInfoGroup(
-            new OmKeyLocationInfoGroup(keyLocationVersion.getVersion(),
-                keyLocationVersion.getLocationList(),
-                keyLocationVersion.isMultipartKey())));
+        builder.addOmKeyLocationInfoGroup(keyLocationVersion.copyObject()));
 
     acls.forEach(acl -> builder.addAcl(new OzoneAcl(acl.getType(),
             acl.getName(), (BitSet) acl.getAclBitSet().clone(),
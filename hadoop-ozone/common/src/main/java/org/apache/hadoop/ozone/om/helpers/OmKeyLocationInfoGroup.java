@@ -22,6 +22,7 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,8 +36,13 @@ public class OmKeyLocationInfoGroup {
   private final long version;
   // TODO: HDDS-5472 Store one version of locationInfo for each
   //   OmKeyLocationInfoGroup
-  private final Map<Long, List<OmKeyLocationInfo>> locationVersionMap;
+  private Map<Long, List<OmKeyLocationInfo>> locationVersionMap;
   private  boolean isMultipartKey;
+  /**
+   * Is {@link #locationVersionMap} shared with a copy of this group?
+   * If so, the map is copied before it is modified.
+   */
+  private volatile boolean shared;
 
   public OmKeyLocationInfoGroup(long version,
                                 List<OmKeyLocationInfo> locations) {
@@ -72,6 +78,13 @@ public OmKeyLocationInfoGroup(long version,
     this.isMultipartKey = isMultipartKey;
   }
 
+  private OmKeyLocationInfoGroup(OmKeyLocationInfoGroup original) {
+    this.version = original.version;
+    this.locationVersionMap = original.locationVersionMap;
+    this.isMultipartKey = original.isMultipartKey;
+    this.shared = true;
+  }
+
   public void setMultipartKey(boolean isMpu) {
     this.isMultipartKey = isMpu;
   }
@@ -81,9 +94,13 @@ public boolean isMultipartKey() {
   }
 
   /**
+   * The returned map may be modified by the caller, so it is no longer
+   * shared with the copies of this group.
+   *
    * @return Raw internal locationVersionMap.
    */
   public Map<Long, List<OmKeyLocationInfo>> getLocationVersionMap() {
+    unshare();
     return locationVersionMap;
   }
 
@@ -93,7 +110,8 @@ public Map<Long, List<OmKeyLocationInfo>> getLocationVersionMap() {
    * @return the list of blocks that are created in the latest version.
    */
   public List<OmKeyLocationInfo> getBlocksLatestVersionOnly() {
-    return new ArrayList<>(locationVersionMap.get(version));
+    return new ArrayList<>(
+        locationVersionMap.getOrDefault(version, Collections.emptyList()));
   }
 
   public long getVersion() {
@@ -164,7 +182,34 @@ OmKeyLocationInfoGroup generateNextVersion(
     return new OmKeyLocationInfoGroup(version + 1, newMap);
   }
 
+  /**
+   * Copy this group without copying the locations.  The locations are
+   * shared by this group and the copy until either of them is modified,
+   * so copying a key with many blocks does not copy the block lists.
+   *
+   * @return a copy of this group.
+   */
+  OmKeyLocationInfoGroup copyObject() {
+    shared = true;
+    return new OmKeyLocationInfoGroup(this);
+  }
+
+  /** Copy the locations if they are shared with another group. */
+  private synchronized void unshare() {
+    if (!shared) {
+      return;
+    }
+    final Map<Long, List<OmKeyLocationInfo>> copy =
+        new HashMap<>(locationVersionMap.size() * 2);
+    locationVersionMap.forEach((v, list) -> copy.put(v, new ArrayList<>(list)));
+    //prevent NPE
+    copy.putIfAbsent(version, new ArrayList<>());
+    locationVersionMap = copy;
+    shared = false;
+  }
+
   void appendNewBlocks(List<OmKeyLocationInfo> newLocationList) {
+    unshare();
     List<OmKeyLocationInfo> locationList = locationVersionMap.get(version);
     for (OmKeyLocationInfo info : newLocationList) {
       info.setCreateVersion(version);
@@ -173,10 +218,12 @@ void appendNewBlocks(List<OmKeyLocationInfo> newLocationList) {
   }
 
   void removeBlocks(long versionToRemove) {
+    unshare();
     locationVersionMap.remove(versionToRemove);
   }
 
   void addAll(long versionToAdd, List<OmKeyLocationInfo> locationInfoList) {
+    unshare();
     locationVersionMap.putIfAbsent(versionToAdd, new ArrayList<>());
     List<OmKeyLocationInfo> list = locationVersionMap.get(versionToAdd);
     list.addAll(locationInfoList);
@@ -38,6 +38,11 @@
  * upload part information of the key.
  */
 public final class OmMultipartKeyInfo extends WithObjectID {
+  /** Parts are embedded in the multipart info value. */
+  public static final int SCHEMA_VERSION_EMBEDDED_PARTS = 0;
+  /** Parts are stored one per row in the multipart part table. */
+  public static final int SCHEMA_VERSION_PART_TABLE = 1;
+
   private static final Codec<OmMultipartKeyInfo> CODEC = new DelegatedCodec<>(
       Proto2Codec.get(MultipartKeyInfo.getDefaultInstance()),
       OmMultipartKeyInfo::getFromProto,
@@ -97,7 +102,7 @@ static PartKeyInfoMap put(PartKeyInfo partKeyInfo,
       this.sorted = Collections.unmodifiableList(sorted);
     }
 
-    PartKeyInfoMap(SortedMap<Integer, PartKeyInfo> sorted) {
+    public PartKeyInfoMap(SortedMap<Integer, PartKeyInfo> sorted) {
       this(new ArrayList<>(sorted.values()));
     }
 
@@ -132,6 +137,7 @@ public PartKeyInfo lastEntry() {
   private final long creationTime;
   private final ReplicationConfig replicationConfig;
   private PartKeyInfoMap partKeyInfoMap;
+  private final int schemaVersion;
 
   /**
    * A pointer to parent directory used for path traversal. ParentID will be
@@ -165,7 +171,7 @@ public PartKeyInfo lastEntry() {
   private OmMultipartKeyInfo(String id, long creationTime,
       ReplicationConfig replicationConfig,
       PartKeyInfoMap sortedMap, long objectID, long updateID,
-      long parentObjId) {
+      long parentObjId, int schemaVersion) {
     this.uploadID = id;
     this.creationTime = creationTime;
     this.replicationConfig = replicationConfig;
@@ -173,6 +179,7 @@ private OmMultipartKeyInfo(String id, long creationTime,
     this.objectID = objectID;
     this.updateID = updateID;
     this.parentID = parentObjId;
+    this.schemaVersion = schemaVersion;
   }
 
   /**
@@ -183,9 +190,9 @@ private OmMultipartKeyInfo(String id, long creationTime,
   private OmMultipartKeyInfo(String id, long creationTime,
       ReplicationConfig replicationConfig,
       SortedMap<Integer, PartKeyInfo> list, long objectID, long updateID,
-      long parentObjId) {
+      long parentObjId, int schemaVersion) {
     this(id, creationTime, replicationConfig, new PartKeyInfoMap(list),
-        objectID, updateID, parentObjId);
+        objectID, updateID, parentObjId, schemaVersion);
   }
 
   /**
@@ -225,6 +232,18 @@ public ReplicationConfig getReplicationConfig() {
     return replicationConfig;
   }
 
+  public int getSchemaVersion() {
+    return schemaVersion;
+  }
+
+  /**
+   * Returns true if the parts of this upload are stored one per row in the
+   * multipart part table instead of being embedded in this object.
+   */
+  public boolean hasPartTable() {
+    return schemaVersion >= SCHEMA_VERSION_PART_TABLE;
+  }
+
   /**
    * Builder of OmMultipartKeyInfo.
    */
@@ -236,6 +255,7 @@ public static class Builder {
     private long objectID;
     private long updateID;
     private long parentID;
+    private int schemaVersion = SCHEMA_VERSION_EMBEDDED_PARTS;
 
     public Builder() {
       this.partKeyInfoList = new TreeMap<>();
@@ -285,9 +305,14 @@ public Builder setParentID(long parentObjId) {
       return this;
     }
 
+    public Builder setSchemaVersion(int version) {
+      this.schemaVersion = version;
+      return this;
+    }
+
     public OmMultipartKeyInfo build() {
       return new OmMultipartKeyInfo(uploadID, creationTime, replicationConfig,
-              partKeyInfoList, objectID, updateID, parentID);
+              partKeyInfoList, objectID, updateID, parentID, schemaVersion);
     }
   }
 
@@ -311,7 +336,8 @@ public static OmMultipartKeyInfo getFromProto(
     return new OmMultipartKeyInfo(multipartKeyInfo.getUploadID(),
         multipartKeyInfo.getCreationTime(), replicationConfig,
         list, multipartKeyInfo.getObjectID(),
-        multipartKeyInfo.getUpdateID(), multipartKeyInfo.getParentID());
+        multipartKeyInfo.getUpdateID(), multipartKeyInfo.getParentID(),
+        multipartKeyInfo.getSchemaVersion());
   }
 
   /**
@@ -334,7 +360,13 @@ public MultipartKeyInfo getProto() {
       builder.setFactor(ReplicationConfig.getLegacyFactor(replicationConfig));
     }
 
-    builder.addAllPartKeyInfoList(partKeyInfoMap);
+    if (hasPartTable()) {
+      // Parts live in their own table, even if they have been loaded into
+      // this object, so they are never written back with the upload.
+      builder.setSchemaVersion(schemaVersion);
+    } else {
+      builder.addAllPartKeyInfoList(partKeyInfoMap);
+    }
     return builder.build();
   }
 
@@ -362,7 +394,16 @@ public OmMultipartKeyInfo copyObject() {
     // is added, it returns a new shallow copy of the PartKeyInfoMap Object
     // so here we can directly pass in partKeyInfoMap
     return new OmMultipartKeyInfo(uploadID, creationTime, replicationConfig,
-        partKeyInfoMap, objectID, updateID, parentID);
+        partKeyInfoMap, objectID, updateID, parentID, schemaVersion);
+  }
+
+  /**
+   * Returns a copy of this object holding the given parts, used when the
+   * parts of an upload have been read from the multipart part table.
+   */
+  public OmMultipartKeyInfo copyWithParts(PartKeyInfoMap parts) {
+    return new OmMultipartKeyInfo(uploadID, creationTime, replicationConfig,
+        parts, objectID, updateID, parentID, schemaVersion);
   }
 
 }
@@ -42,6 +42,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.DBUpdates;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
@@ -132,6 +133,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysLightResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysWithDelimiterRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysWithDelimiterResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListMultipartUploadsRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListMultipartUploadsResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListStatusRequest;
@@ -1055,6 +1058,42 @@ public ListKeysLightResult listKeysLight(String volumeName,
     return new ListKeysLightResult(keys, resp.getIsTruncated());
   }
 
+  @Override
+  public ListKeysWithDelimiterResult listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException {
+    ListKeysWithDelimiterRequest.Builder reqBuilder =
+        ListKeysWithDelimiterRequest.newBuilder()
+            .setVolumeName(volumeName)
+            .setBucketName(bucketName)
+            .setDelimiter(delimiter)
+            .setMaxKeys(maxKeys);
+
+    if (StringUtils.isNotEmpty(keyPrefix)) {
+      reqBuilder.setPrefix(keyPrefix);
+    }
+
+    if (StringUtils.isNotEmpty(startAfter)) {
+      reqBuilder.setStartAfter(startAfter);
+    }
+
+    OMRequest omRequest = createOMRequest(Type.ListKeysWithDelimiter)
+        .setListKeysWithDelimiterRequest(reqBuilder.build())
+        .build();
+
+    ListKeysWithDelimiterResponse resp = handleError(submitRequest(omRequest))
+        .getListKeysWithDelimiterResponse();
+    List<BasicOmKeyInfo> keys = new ArrayList<>();
+    for (OzoneManagerProtocolProtos.BasicKeyInfo
+        basicKeyInfo : resp.getBasicKeyInfoList()) {
+      keys.add(BasicOmKeyInfo.getFromProtobuf(volumeName, bucketName,
+          basicKeyInfo));
+    }
+    return new ListKeysWithDelimiterResult(keys,
+        new ArrayList<>(resp.getCommonPrefixesList()), resp.getIsTruncated(),
+        resp.hasNextStartKey() ? resp.getNextStartKey() : null);
+  }
+
   @Override
   @Nonnull
   public S3SecretValue getS3Secret(String kerberosID) throws IOException {
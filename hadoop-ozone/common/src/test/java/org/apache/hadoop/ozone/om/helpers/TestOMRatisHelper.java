@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.helpers;
+
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ratis.protocol.ClientId;
+import org.apache.ratis.protocol.Message;
+import org.apache.ratis.protocol.RaftClientReply;
+import org.apache.ratis.protocol.RaftGroupId;
+import org.apache.ratis.protocol.RaftGroupMemberId;
+import org.apache.ratis.protocol.RaftPeerId;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test OMRatisHelper.
+ */
+public class TestOMRatisHelper {
+
+  private static final RaftPeerId PEER_ID = RaftPeerId.valueOf("om1");
+
+  @Test
+  public void testRequestMessage() throws Exception {
+    OMRequest request = OMRequest.newBuilder()
+        .setCmdType(Type.CreateVolume)
+        .setClientId("client")
+        .build();
+
+    Message message = OMRatisHelper.convertRequestToMessage(request);
+    assertSame(request, OMRatisHelper.getOMRequest(message));
+    assertEquals(request,
+        OMRatisHelper.convertByteStringToOMRequest(message.getContent()));
+
+    // a message received from elsewhere is parsed
+    Message copy = Message.valueOf(message.getContent());
+    OMRequest parsed = OMRatisHelper.getOMRequest(copy);
+    assertNotSame(request, parsed);
+    assertEquals(request, parsed);
+  }
+
+  @Test
+  public void testResponseMessage() throws Exception {
+    OMResponse response = OMResponse.newBuilder()
+        .setCmdType(Type.CreateVolume)
+        .setStatus(Status.OK)
+        .setLeaderOMNodeId(PEER_ID.toString())
+        .build();
+
+    Message message = OMRatisHelper.convertResponseToMessage(response);
+    assertSame(response,
+        OMRatisHelper.getOMResponseFromRaftClientReply(newReply(message)));
+
+    Message copy = Message.valueOf(message.getContent());
+    assertEquals(response,
+        OMRatisHelper.getOMResponseFromRaftClientReply(newReply(copy)));
+  }
+
+  private static RaftClientReply newReply(Message message) {
+    return RaftClientReply.newBuilder()
+        .setClientId(ClientId.randomId())
+        .setServerId(RaftGroupMemberId.valueOf(PEER_ID, RaftGroupId.randomId()))
+        .setCallId(1)
+        .setSuccess(true)
+        .setMessage(message)
+        .build();
+  }
+}
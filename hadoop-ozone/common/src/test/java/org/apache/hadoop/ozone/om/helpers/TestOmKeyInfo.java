@@ -112,6 +112,37 @@ public void getProtobufMessageEC() throws IOException {
     assertEquals(2, config.getParity());
   }
 
+  @Test
+  public void basicKeyInfoFromPersistedKeyInfo() throws IOException {
+    for (ReplicationConfig replicationConfig : Arrays.asList(
+        RatisReplicationConfig.getInstance(ReplicationFactor.THREE),
+        new ECReplicationConfig(3, 2))) {
+      OmKeyInfo key = new Builder()
+          .setKeyName("dir/key1")
+          .setBucketName("bucket")
+          .setVolumeName("vol1")
+          .setCreationTime(123L)
+          .setModificationTime(456L)
+          .setDataSize(789L)
+          .setReplicationConfig(replicationConfig)
+          .addMetadata("key1", "value1")
+          .setAcls(Collections.singletonList(new OzoneAcl(
+              IAccessAuthorizer.ACLIdentityType.USER, "user1",
+              IAccessAuthorizer.ACLType.WRITE, ACCESS)))
+          .setOmKeyLocationInfos(
+              Collections.singletonList(createOmKeyLocationInfoGroup(false)))
+          .setFile(true)
+          .build();
+
+      byte[] persisted = OmKeyInfo.getCodec(true).toPersistedFormat(key);
+      BasicOmKeyInfo basic = BasicOmKeyInfo.fromKeyInfoBytes(persisted);
+
+      assertEquals(BasicOmKeyInfo.fromOmKeyInfo(key), basic);
+      assertEquals(replicationConfig, basic.getReplicationConfig());
+      assertTrue(basic.isFile());
+    }
+  }
+
   private OmKeyInfo createOmKeyInfo(ReplicationConfig replicationConfig) {
     return new Builder()
         .setKeyName("key1")
@@ -23,6 +23,7 @@
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * Test OmKeyLocationInfoGroup.
@@ -58,6 +59,24 @@ public void testGenerateNextVersion() {
 
   }
 
+  @Test
+  public void testCopyOnWrite() {
+    OmKeyLocationInfoGroup original = createTestInstance();
+    OmKeyLocationInfoGroup copy = original.copyObject();
+    assertEquals(original, copy);
+    // the copy shares the block lists with the original
+    assertSame(original.getLocationLists().iterator().next(),
+        copy.getLocationLists().iterator().next());
+
+    copy.appendNewBlocks(createLocationList());
+    assertEquals(2, copy.getBlocksLatestVersionOnly().size());
+    assertEquals(1, original.getBlocksLatestVersionOnly().size());
+
+    original.removeBlocks(1);
+    assertEquals(1, original.getLocationList().size());
+    assertEquals(4, copy.getLocationList().size());
+  }
+
   private List<OmKeyLocationInfo> createLocationList() {
     OmKeyLocationInfo info = new OmKeyLocationInfo.Builder().build();
     List<OmKeyLocationInfo> locationInfoList = new ArrayList<>();
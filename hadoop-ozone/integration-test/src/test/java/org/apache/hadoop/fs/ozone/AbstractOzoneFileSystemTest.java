@@ -42,6 +42,7 @@
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationType;
 import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.utils.IOUtils;
@@ -89,6 +90,7 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -112,6 +114,7 @@
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_DEFAULT_USER;
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_ACL_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCHES_IN_FLIGHT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
@@ -127,6 +130,9 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
 
 /**
  * Ozone file system tests that are not covered by contract tests.
@@ -1369,6 +1375,97 @@ public void testRenameDir() throws Exception {
     assertTrue(exception.getMessage().contains("Wrong FS"));
   }
 
+  @Test
+  public void testRenameAndDeleteDirInBatches() throws Exception {
+    assumeFalse(FILE_SYSTEM_OPTIMIZED.equals(getBucketLayout()));
+    // more keys than a batch of 5, with several batches in flight
+    final int numKeys = 23;
+    final Path source = new Path("/batchDir/source");
+    final Path dest = new Path("/batchDir/dest");
+    for (int i = 0; i < numKeys; i++) {
+      ContractTestUtils.touch(fs, new Path(source, String.format("file%02d", i)));
+    }
+
+    assertTrue(fs.rename(source, dest));
+    assertFalse(fs.exists(source));
+    assertEquals(numKeys, fs.listStatus(dest).length);
+
+    assertTrue(fs.delete(dest, true));
+    assertFalse(fs.exists(dest));
+  }
+
+  @Test
+  public void testRenameDirStopsAfterFailedBatch() throws Exception {
+    assumeFalse(FILE_SYSTEM_OPTIMIZED.equals(getBucketLayout()));
+    final int numKeys = 23;
+    final Path source = new Path("/batchDir/source");
+    final Path dest = new Path("/batchDir/dest");
+    for (int i = 0; i < numKeys; i++) {
+      ContractTestUtils.touch(fs, new Path(source, String.format("file%02d", i)));
+    }
+
+    Configuration conf = new Configuration(fs.getConf());
+    conf.setInt(OZONE_FS_ITERATE_BATCHES_IN_FLIGHT, 2);
+    // the second batch fails, so at most the one after it is in flight
+    List<Map<String, String>> batches = new ArrayList<>();
+    try (FailingRenameFileSystem failingFs = new FailingRenameFileSystem(2, batches)) {
+      failingFs.initialize(fs.getUri(), conf);
+      assertFalse(failingFs.rename(source, dest));
+    }
+
+    assertTrue(batches.size() == 2 || batches.size() == 3, batches::toString);
+    for (Map.Entry<String, String> entry : batches.get(0).entrySet()) {
+      if (!entry.getKey().endsWith(OZONE_URI_DELIMITER)) {
+        assertFalse(fs.exists(new Path(OZONE_URI_DELIMITER + entry.getKey())));
+        assertTrue(fs.exists(new Path(OZONE_URI_DELIMITER + entry.getValue())));
+      }
+    }
+    for (Map.Entry<String, String> entry : batches.get(1).entrySet()) {
+      if (!entry.getKey().endsWith(OZONE_URI_DELIMITER)) {
+        assertTrue(fs.exists(new Path(OZONE_URI_DELIMITER + entry.getKey())));
+        assertFalse(fs.exists(new Path(OZONE_URI_DELIMITER + entry.getValue())));
+      }
+    }
+    // keys after the batches in flight are left in place
+    assertTrue(fs.exists(new Path(source, String.format("file%02d", numKeys - 1))));
+  }
+
+  /**
+   * o3fs whose n-th rename batch fails with {@code PARTIAL_RENAME} without
+   * renaming any key.
+   */
+  private static class FailingRenameFileSystem extends OzoneFileSystem {
+    private final int failingBatch;
+    private final List<Map<String, String>> batches;
+
+    FailingRenameFileSystem(int failingBatch,
+        List<Map<String, String>> batches) {
+      this.failingBatch = failingBatch;
+      this.batches = batches;
+    }
+
+    @Override
+    protected OzoneClientAdapter createAdapter(ConfigurationSource conf,
+        String bucketStr, String volumeStr, String omHost, int omPort)
+        throws IOException {
+      OzoneClientAdapter adapter = spy(super.createAdapter(conf, bucketStr,
+          volumeStr, omHost, omPort));
+      doAnswer(invocation -> {
+        Map<String, String> keyMap = invocation.getArgument(0);
+        int batch;
+        synchronized (batches) {
+          batches.add(new HashMap<>(keyMap));
+          batch = batches.size();
+        }
+        if (batch == failingBatch) {
+          throw new OMException(OMException.ResultCodes.PARTIAL_RENAME);
+        }
+        return invocation.callRealMethod();
+      }).when(adapter).renameKeys(anyMap());
+      return adapter;
+    }
+  }
+
   private OzoneKeyDetails getKey(Path keyPath, boolean isDirectory)
       throws IOException {
     String key = o3fs.pathToKey(keyPath);
@@ -536,6 +536,15 @@ void testListStatusIteratorOnPageSize() throws Exception {
         "/" + volumeName + "/" + bucketName);
   }
 
+  /**
+   * Tests listStatusIterator with background prefetch of the next page.
+   */
+  @Test
+  void testListStatusIteratorWithPrefetch() throws Exception {
+    OzoneFileSystemTests.listStatusIteratorOnPageSize(conf,
+        "/" + volumeName + "/" + bucketName, true);
+  }
+
   /**
    * Tests listStatusIterator on a path with subdirs.
    */
@@ -30,6 +30,8 @@
 import java.util.TreeSet;
 
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_THREADS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -48,6 +50,11 @@ private OzoneFileSystemTests() {
    */
   public static void listStatusIteratorOnPageSize(OzoneConfiguration conf,
       String rootPath) throws IOException {
+    listStatusIteratorOnPageSize(conf, rootPath, false);
+  }
+
+  public static void listStatusIteratorOnPageSize(OzoneConfiguration conf,
+      String rootPath, boolean prefetch) throws IOException {
     final int pageSize = 32;
     int[] dirCounts = {
         1,
@@ -59,6 +66,10 @@ public static void listStatusIteratorOnPageSize(OzoneConfiguration conf,
     };
     OzoneConfiguration config = new OzoneConfiguration(conf);
     config.setInt(OZONE_FS_LISTING_PAGE_SIZE, pageSize);
+    config.setBoolean(OZONE_FS_LISTING_PREFETCH_ENABLED, prefetch);
+    // a single prefetch thread, so concurrent iterators also fetch in the
+    // calling thread
+    config.setInt(OZONE_FS_LISTING_PREFETCH_THREADS, 1);
     URI uri = FileSystem.getDefaultUri(config);
     config.setBoolean(
         String.format("fs.%s.impl.disable.cache", uri.getScheme()), true);
@@ -69,6 +80,7 @@ public static void listStatusIteratorOnPageSize(OzoneConfiguration conf,
       for (int dirCount : dirCounts) {
         listStatusIterator(subject, dir, paths, dirCount);
       }
+      listStatusIteratorsInterleaved(subject, dir, paths);
     } finally {
       subject.delete(dir, true);
     }
@@ -95,4 +107,22 @@ private static void listStatusIterator(FileSystem subject,
 
     assertEquals(total, iCount);
   }
+
+  private static void listStatusIteratorsInterleaved(FileSystem subject,
+      Path dir, Set<String> paths) throws IOException {
+    RemoteIterator<FileStatus> first = subject.listStatusIterator(dir);
+    RemoteIterator<FileStatus> second = subject.listStatusIterator(dir);
+    Set<String> firstNames = new TreeSet<>();
+    Set<String> secondNames = new TreeSet<>();
+    while (first.hasNext() || second.hasNext()) {
+      if (first.hasNext()) {
+        firstNames.add(first.next().getPath().getName());
+      }
+      if (second.hasNext()) {
+        secondNames.add(second.next().getPath().getName());
+      }
+    }
+    assertEquals(paths, firstNames);
+    assertEquals(paths, secondNames);
+  }
 }
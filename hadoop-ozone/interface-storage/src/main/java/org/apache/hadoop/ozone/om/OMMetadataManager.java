@@ -31,6 +31,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.common.BlockGroup;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBAccessIdInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBUserPrincipalInfo;
@@ -46,6 +47,7 @@
 import org.apache.hadoop.ozone.om.lock.IOzoneManagerLock;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ExpiredMultipartUploadsBucket;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PartKeyInfo;
 import org.apache.hadoop.ozone.storage.proto.
     OzoneManagerStorageProtos.PersistedUserVolumeInfo;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
@@ -209,6 +211,27 @@ ListKeysResult listKeys(String volumeName,
                           int maxKeys)
       throws IOException;
 
+  /**
+   * Lists the keys under the prefix in the key table, returning the keys
+   * containing the delimiter after the prefix as their common prefix.  Each
+   * common prefix is returned once by seeking past all its keys.
+   *
+   * @param volumeName the name of the volume.
+   * @param bucketName the name of the bucket.
+   * @param keyPrefix key name prefix, only the keys whose name has this prefix
+   * will be included in the result.
+   * @param delimiter the delimiter of the common prefixes.
+   * @param startAfter only the keys and common prefixes after this value will
+   * be included in the result.  If it is a common prefix, all the keys with
+   * this prefix are excluded.
+   * @param maxKeys the maximum number of keys and common prefixes to return.
+   * @return the keys and common prefixes.
+   * @throws IOException
+   */
+  ListKeysWithDelimiterResult listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException;
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
@@ -399,6 +422,34 @@ String getMultipartKey(String volume, String bucket, String key, String
    */
   Table<String, OmMultipartKeyInfo> getMultipartInfoTable();
 
+  /**
+   * Gets the multipart part table which holds one row per committed part of
+   * the multipart uploads using the part table layout.
+   * @return Table
+   */
+  Table<String, PartKeyInfo> getMultipartPartTable();
+
+  /**
+   * Returns the DB key of a part in the multipart part table.
+   *
+   * @param multipartKey - the multipart info table key of the upload
+   * @param partNumber - the part number
+   * @return DB key of the part.
+   */
+  String getMultipartPartKey(String multipartKey, int partNumber);
+
+  /**
+   * Returns all the committed parts of a multipart upload, sorted by part
+   * number, reading them from the multipart part table if the upload uses
+   * the part table layout.
+   *
+   * @param multipartKey - the multipart info table key of the upload
+   * @param multipartKeyInfo - the multipart info of the upload
+   * @return parts of the upload.
+   */
+  OmMultipartKeyInfo.PartKeyInfoMap getMultipartParts(String multipartKey,
+      OmMultipartKeyInfo multipartKeyInfo) throws IOException;
+
   Table<String, TransactionInfo> getTransactionInfoTable();
 
   Table<String, OmDBAccessIdInfo> getTenantAccessIdTable();
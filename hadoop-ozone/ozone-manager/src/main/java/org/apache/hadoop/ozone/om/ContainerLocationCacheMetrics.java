@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Staleness metrics of the container location cache in OM.  Hit and miss
+ * counts are reported by the generic cache metrics.
+ */
+@Metrics(about = "OzoneManager Container Location Cache Metrics",
+    context = OzoneConsts.OZONE)
+public final class ContainerLocationCacheMetrics {
+
+  private static final String SOURCE_NAME =
+      ContainerLocationCacheMetrics.class.getSimpleName();
+
+  @Metric(about = "Number of cached container locations found to be " +
+      "outdated when refreshed from SCM.")
+  private MutableCounterLong staleLocations;
+
+  @Metric(about = "Number of cached container locations dropped because " +
+      "their pipeline was found to be outdated for another container.")
+  private MutableCounterLong pipelineInvalidations;
+
+  private ContainerLocationCacheMetrics() {
+  }
+
+  public static ContainerLocationCacheMetrics create() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(SOURCE_NAME,
+        "OzoneManager Container Location Cache Metrics",
+        new ContainerLocationCacheMetrics());
+  }
+
+  public void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+  }
+
+  public void incrStaleLocations(long count) {
+    staleLocations.incr(count);
+  }
+
+  public void incrPipelineInvalidations(long count) {
+    pipelineInvalidations.incr(count);
+  }
+
+  public long getStaleLocations() {
+    return staleLocations.value();
+  }
+
+  public long getPipelineInvalidations() {
+    return pipelineInvalidations.value();
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.hdds.DFSConfigKeysLegacy;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.net.InnerNode;
+import org.apache.hadoop.hdds.scm.net.NetworkTopology;
+import org.apache.hadoop.hdds.scm.net.NetworkTopologyImpl;
+import org.apache.hadoop.hdds.scm.net.Node;
+import org.apache.hadoop.hdds.scm.net.NodeImpl;
+import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
+import org.apache.hadoop.net.CachedDNSToSwitchMapping;
+import org.apache.hadoop.net.DNSToSwitchMapping;
+import org.apache.hadoop.net.TableMapping;
+import org.apache.hadoop.ozone.ClientVersion;
+import org.apache.hadoop.util.CacheMetrics;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hadoop.hdds.scm.net.NetConstants.NODE_COST_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DATANODE_SORT_CACHE_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DATANODE_SORT_CACHE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_NETWORK_TOPOLOGY_REFRESH_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_NETWORK_TOPOLOGY_REFRESH_INTERVAL_DEFAULT;
+
+/**
+ * Sorts the datanodes of pipelines by network distance to a client inside
+ * Ozone Manager, so that key reads do not need to call SCM for that.
+ * <p>
+ * The network topology is built from the datanodes reported by SCM and
+ * rebuilt periodically. For every client location and set of datanodes the
+ * datanodes are grouped by their distance to the client, and the groups are
+ * cached. Each sort only shuffles the datanodes within the groups, which
+ * spreads the reads among the equally close replicas the same way SCM does.
+ * <p>
+ * Only datanodes that are healthy and in service at the time of a refresh
+ * are added to the topology.  Other datanodes, e.g. ones registered, dead or
+ * decommissioned at the last refresh, can not be sorted here; the caller
+ * falls back to SCM.
+ */
+public class DatanodeSortCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(DatanodeSortCache.class);
+
+  private final StorageContainerLocationProtocol containerClient;
+  private final OzoneConfiguration conf;
+  private final long refreshIntervalMs;
+  private final DNSToSwitchMapping dnsToSwitchMapping;
+  /** (client location, datanode UUIDs) to UUIDs grouped by distance. */
+  private final Cache<Pair<String, Set<String>>, List<List<String>>>
+      distanceGroups;
+  private final CacheMetrics cacheMetrics;
+
+  private volatile Topology topology;
+  private ScheduledExecutorService refresher;
+
+  DatanodeSortCache(StorageContainerLocationProtocol containerClient,
+      OzoneConfiguration conf) {
+    this.containerClient = containerClient;
+    this.conf = conf;
+    TimeUnit unit = OZONE_OM_NETWORK_TOPOLOGY_REFRESH_INTERVAL_DEFAULT
+        .getUnit();
+    this.refreshIntervalMs = unit.toMillis(conf.getTimeDuration(
+        OZONE_OM_NETWORK_TOPOLOGY_REFRESH_INTERVAL,
+        OZONE_OM_NETWORK_TOPOLOGY_REFRESH_INTERVAL_DEFAULT.getDuration(),
+        unit));
+
+    Class<? extends DNSToSwitchMapping> dnsToSwitchMappingClass =
+        conf.getClass(
+            DFSConfigKeysLegacy.NET_TOPOLOGY_NODE_SWITCH_MAPPING_IMPL_KEY,
+            TableMapping.class, DNSToSwitchMapping.class);
+    DNSToSwitchMapping newInstance = ReflectionUtils.newInstance(
+        dnsToSwitchMappingClass, conf);
+    this.dnsToSwitchMapping =
+        ((newInstance instanceof CachedDNSToSwitchMapping) ? newInstance
+            : new CachedDNSToSwitchMapping(newInstance));
+
+    this.distanceGroups = CacheBuilder.newBuilder()
+        .maximumSize(conf.getInt(OZONE_OM_DATANODE_SORT_CACHE_SIZE,
+            OZONE_OM_DATANODE_SORT_CACHE_SIZE_DEFAULT))
+        .recordStats()
+        .build();
+    this.cacheMetrics = CacheMetrics.create(distanceGroups, "DatanodeSort");
+  }
+
+  /**
+   * Loads the topology and schedules its periodic refresh.
+   */
+  public synchronized void start() {
+    if (refresher != null) {
+      return;
+    }
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("OMNetworkTopologyRefresher").build());
+    executor.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMs,
+        TimeUnit.MILLISECONDS);
+    refresher = executor;
+  }
+
+  public synchronized void stop() {
+    if (refresher != null) {
+      refresher.shutdownNow();
+      refresher = null;
+    }
+    cacheMetrics.unregister();
+  }
+
+  /**
+   * Rebuilds the topology from the datanodes currently known to SCM.
+   */
+  @VisibleForTesting
+  void refresh() {
+    try {
+      List<HddsProtos.Node> nodes = containerClient.queryNode(null, null,
+          HddsProtos.QueryScope.CLUSTER, "", ClientVersion.CURRENT_VERSION);
+      NetworkTopology clusterMap = new NetworkTopologyImpl(conf);
+      Map<String, DatanodeDetails> nodesByUuid = new HashMap<>();
+      Map<String, DatanodeDetails> nodesByAddress = new HashMap<>();
+      for (HddsProtos.Node node : nodes) {
+        if (!isHealthyInService(node)) {
+          continue;
+        }
+        DatanodeDetails dn = DatanodeDetails.getFromProtoBuf(node.getNodeID());
+        try {
+          clusterMap.add(dn);
+        } catch (RuntimeException e) {
+          LOG.warn("Skipping datanode {} at {} in network topology: {}",
+              dn, dn.getNetworkLocation(), e.getMessage());
+          continue;
+        }
+        nodesByUuid.put(dn.getUuidString(), dn);
+        nodesByAddress.put(dn.getIpAddress(), dn);
+        nodesByAddress.put(dn.getHostName(), dn);
+      }
+      topology = new Topology(clusterMap, nodesByUuid, nodesByAddress);
+      distanceGroups.invalidateAll();
+      LOG.debug("Refreshed network topology with {} datanodes",
+          nodesByUuid.size());
+    } catch (Exception e) {
+      LOG.warn("Failed to refresh network topology from SCM", e);
+    }
+  }
+
+  private static boolean isHealthyInService(HddsProtos.Node node) {
+    return node.getNodeStatesList().contains(HddsProtos.NodeState.HEALTHY)
+        && node.getNodeOperationalStatesList()
+        .contains(HddsProtos.NodeOperationalState.IN_SERVICE);
+  }
+
+  /**
+   * Sorts the given datanodes by network distance to the client, randomizing
+   * the order of datanodes at equal distance.
+   *
+   * @return the sorted datanodes, or null if they can not be sorted locally
+   */
+  public List<DatanodeDetails> sortDatanodes(List<DatanodeDetails> nodes,
+      String clientMachine) {
+    final Topology current = topology;
+    if (current == null) {
+      return null;
+    }
+    Map<String, DatanodeDetails> nodesByUuid = new HashMap<>();
+    for (DatanodeDetails node : nodes) {
+      String uuid = node.getUuidString();
+      if (!current.nodesByUuid.containsKey(uuid)) {
+        return null;
+      }
+      nodesByUuid.put(uuid, node);
+    }
+
+    final Node client = current.getClientNode(clientMachine);
+    if (client == null) {
+      List<DatanodeDetails> shuffled = new ArrayList<>(nodes);
+      Collections.shuffle(shuffled);
+      return shuffled;
+    }
+
+    // Distances from a client which is not a datanode only depend on its
+    // location, so such clients share cache entries.
+    String clientKey = client instanceof DatanodeDetails
+        ? client.getNetworkFullPath() : client.getNetworkLocation();
+    List<List<String>> groups;
+    try {
+      groups = distanceGroups.get(
+          Pair.of(clientKey, new HashSet<>(nodesByUuid.keySet())),
+          () -> groupByDistance(current, client, nodesByUuid.keySet()));
+    } catch (ExecutionException e) {
+      LOG.warn("Failed to sort datanodes {} for client {}", nodes,
+          clientMachine, e);
+      return null;
+    }
+
+    List<DatanodeDetails> sorted = new ArrayList<>(nodes.size());
+    for (List<String> group : groups) {
+      List<DatanodeDetails> shuffled = new ArrayList<>(group.size());
+      for (String uuid : group) {
+        shuffled.add(nodesByUuid.get(uuid));
+      }
+      Collections.shuffle(shuffled);
+      sorted.addAll(shuffled);
+    }
+    return sorted;
+  }
+
+  private static List<List<String>> groupByDistance(Topology current,
+      Node client, Set<String> uuids) {
+    NavigableMap<Integer, List<String>> groups = new TreeMap<>();
+    for (String uuid : uuids) {
+      int cost = current.clusterMap.getDistanceCost(client,
+          current.nodesByUuid.get(uuid));
+      groups.computeIfAbsent(cost, k -> new ArrayList<>(1)).add(uuid);
+    }
+    return new ArrayList<>(groups.values());
+  }
+
+  @VisibleForTesting
+  boolean isTopologyLoaded() {
+    return topology != null;
+  }
+
+  @VisibleForTesting
+  long getCacheHitCount() {
+    return distanceGroups.stats().hitCount();
+  }
+
+  /**
+   * Immutable copy of the network topology at the time of a refresh.
+   */
+  private final class Topology {
+    private final NetworkTopology clusterMap;
+    private final Map<String, DatanodeDetails> nodesByUuid;
+    private final Map<String, DatanodeDetails> nodesByAddress;
+
+    Topology(NetworkTopology clusterMap,
+        Map<String, DatanodeDetails> nodesByUuid,
+        Map<String, DatanodeDetails> nodesByAddress) {
+      this.clusterMap = clusterMap;
+      this.nodesByUuid = nodesByUuid;
+      this.nodesByAddress = nodesByAddress;
+    }
+
+    /**
+     * Same as in SCM: the client is either a datanode, or a node placed in
+     * the rack its address resolves to.
+     */
+    Node getClientNode(String clientMachine) {
+      if (StringUtils.isEmpty(clientMachine)) {
+        return null;
+      }
+      DatanodeDetails datanode = nodesByAddress.get(clientMachine);
+      if (datanode != null) {
+        return datanode;
+      }
+      List<String> resolved = dnsToSwitchMapping.resolve(
+          Collections.singletonList(clientMachine));
+      if (resolved == null || resolved.isEmpty()) {
+        return null;
+      }
+      String location = resolved.get(0);
+      Node rack = clusterMap.getNode(location);
+      if (rack instanceof InnerNode) {
+        return new NodeImpl(clientMachine, location, (InnerNode) rack,
+            rack.getLevel() + 1, NODE_COST_DEFAULT);
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Metrics of the background services reclaiming deleted keys and
+ * directories.  Each service has its own instance, registered with the name
+ * of the service as suffix of the source name.
+ */
+@Metrics(about = "OzoneManager Deleting Service Metrics",
+    context = OzoneConsts.OZONE)
+public final class DeletingServiceMetrics {
+
+  private static final String SOURCE_NAME =
+      DeletingServiceMetrics.class.getSimpleName();
+
+  private static final Map<String, DeletingServiceMetrics> INSTANCES =
+      new HashMap<>();
+
+  @Metric(about = "Number of keys whose blocks were sent to SCM and which " +
+      "were purged from OM.")
+  private MutableCounterLong numKeysReclaimed;
+
+  @Metric(about = "Number of deleted directories purged from OM.")
+  private MutableCounterLong numDirsPurged;
+
+  @Metric(about = "Number of files moved to the deleted table from deleted " +
+      "directories.")
+  private MutableCounterLong numSubFilesMoved;
+
+  @Metric(about = "Latency of SCM deleteKeyBlocks calls in nanoseconds.")
+  private MutableRate scmDeleteKeyBlocksLatencyNs;
+
+  @Metric(about = "Latency of key purge requests in nanoseconds.")
+  private MutableRate purgeKeysLatencyNs;
+
+  @Metric(about = "Number of keys the key deleting service currently " +
+      "scans per run.")
+  private MutableGaugeInt keyDeletingLimitPerTask;
+
+  @Metric(about = "Estimated number of entries waiting in the deleted table.")
+  private MutableGaugeLong pendingDeletedKeys;
+
+  @Metric(about = "Estimated number of entries waiting in the deleted " +
+      "directory table.")
+  private MutableGaugeLong pendingDeletedDirs;
+
+  private DeletingServiceMetrics() {
+  }
+
+  /**
+   * @return the metrics of the given service, registered on first use.
+   */
+  public static synchronized DeletingServiceMetrics create(
+      String serviceName) {
+    return INSTANCES.computeIfAbsent(serviceName, name -> {
+      MetricsSystem ms = DefaultMetricsSystem.instance();
+      return ms.register(getSourceName(name),
+          "OzoneManager " + name + " Metrics", new DeletingServiceMetrics());
+    });
+  }
+
+  public static synchronized void unregister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    for (String name : INSTANCES.keySet()) {
+      ms.unregisterSource(getSourceName(name));
+    }
+    INSTANCES.clear();
+  }
+
+  private static String getSourceName(String serviceName) {
+    return SOURCE_NAME + "-" + serviceName;
+  }
+
+  public void incrNumKeysReclaimed(long count) {
+    numKeysReclaimed.incr(count);
+  }
+
+  public void incrNumDirsPurged(long count) {
+    numDirsPurged.incr(count);
+  }
+
+  public void incrNumSubFilesMoved(long count) {
+    numSubFilesMoved.incr(count);
+  }
+
+  public void addScmDeleteKeyBlocksLatency(long latencyNs) {
+    scmDeleteKeyBlocksLatencyNs.add(latencyNs);
+  }
+
+  public void addPurgeKeysLatency(long latencyNs) {
+    purgeKeysLatencyNs.add(latencyNs);
+  }
+
+  public void setKeyDeletingLimitPerTask(int limit) {
+    keyDeletingLimitPerTask.set(limit);
+  }
+
+  public void setPendingDeletedKeys(long count) {
+    pendingDeletedKeys.set(count);
+  }
+
+  public void setPendingDeletedDirs(long count) {
+    pendingDeletedDirs.set(count);
+  }
+
+  @VisibleForTesting
+  public long getNumKeysReclaimed() {
+    return numKeysReclaimed.value();
+  }
+
+  @VisibleForTesting
+  public long getNumDirsPurged() {
+    return numDirsPurged.value();
+  }
+
+  @VisibleForTesting
+  public int getKeyDeletingLimitPerTask() {
+    return keyDeletingLimitPerTask.value();
+  }
+
+  @VisibleForTesting
+  public long getPendingDeletedKeys() {
+    return pendingDeletedKeys.value();
+  }
+}
@@ -22,6 +22,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadList;
@@ -107,6 +108,17 @@ ListKeysResult listKeys(String volumeName, String bucketName, String startKey,
                           String keyPrefix, int maxKeys)
       throws IOException;
 
+  /**
+   * Lists the keys under the prefix, returning the keys containing the
+   * delimiter after the prefix as their common prefix, see
+   * {@link org.apache.hadoop.ozone.om.IOmMetadataReader#listKeysWithDelimiter}.
+   * FSO buckets only support "/" as delimiter, and are listed from the
+   * directory table.
+   */
+  ListKeysWithDelimiterResult listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException;
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
@@ -62,6 +62,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.BucketEncryptionKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
@@ -77,6 +78,7 @@
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
@@ -222,6 +224,10 @@ public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
 
   @Override
   public void start(OzoneConfiguration configuration) {
+    if (scmClient.getDatanodeSortCache() != null) {
+      scmClient.getDatanodeSortCache().start();
+    }
+
     if (keyDeletingService == null) {
       long blockDeleteInterval = configuration.getTimeDuration(
           OZONE_BLOCK_DELETING_SERVICE_INTERVAL,
@@ -587,14 +593,18 @@ protected Map<Long, ContainerWithPipeline> refreshPipeline(
     }
 
     Map<Long, ContainerWithPipeline> containerWithPipelineMap = new HashMap<>();
+    Map<Long, Pipeline> containerLocations = new HashMap<>();
 
     try {
       List<ContainerWithPipeline> cpList = scmClient.getContainerClient().
           getContainerWithPipelineBatch(new ArrayList<>(containerIDs));
       for (ContainerWithPipeline cp : cpList) {
-        containerWithPipelineMap.put(
-            cp.getContainerInfo().getContainerID(), cp);
+        long containerID = cp.getContainerInfo().getContainerID();
+        containerWithPipelineMap.put(containerID, cp);
+        containerLocations.put(containerID, cp.getPipeline());
       }
+      // keep the location cache up to date with what SCM returned
+      scmClient.updateContainerLocations(containerLocations);
       return containerWithPipelineMap;
     } catch (IOException ioEx) {
       LOG.debug("Get containerPipeline failed for {}",
@@ -633,6 +643,131 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     return listKeysResult;
   }
 
+  @Override
+  public ListKeysWithDelimiterResult listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException {
+    Preconditions.checkNotNull(volumeName);
+    Preconditions.checkNotNull(bucketName);
+
+    if (isBucketFSOptimized(volumeName, bucketName)) {
+      if (!OZONE_URI_DELIMITER.equals(delimiter)) {
+        throw new OMException("Only " + OZONE_URI_DELIMITER
+            + " is supported as delimiter for FSO buckets",
+            ResultCodes.NOT_SUPPORTED_OPERATION);
+      }
+      return listKeysWithDelimiterFSO(volumeName, bucketName,
+          keyPrefix == null ? "" : keyPrefix, startAfter, maxKeys);
+    }
+
+    if (enableFileSystemPaths) {
+      startAfter = OmUtils.normalizeKey(startAfter, true);
+      keyPrefix = OmUtils.normalizeKey(keyPrefix, true);
+    }
+    return metadataManager.listKeysWithDelimiter(volumeName, bucketName,
+        keyPrefix, delimiter, startAfter, maxKeys);
+  }
+
+  /**
+   * Lists the immediate children of the parent directory of the prefix,
+   * from the directory and file tables.  Directories are returned as common
+   * prefixes, and their contents are never visited.
+   * <p>
+   * Entries are compared by path without trailing slash, so the next page
+   * starts after the path of the last entry.
+   */
+  private ListKeysWithDelimiterResult listKeysWithDelimiterFSO(
+      String volumeName, String bucketName, String prefix, String startAfter,
+      int maxKeys) throws IOException {
+    List<BasicOmKeyInfo> keys = new ArrayList<>();
+    List<String> commonPrefixes = new ArrayList<>();
+    if (maxKeys <= 0) {
+      return new ListKeysWithDelimiterResult(keys, commonPrefixes, false, null);
+    }
+
+    // "a/b/" lists the children of "a/b", "a/b" the children of "a" whose
+    // name starts with "b"
+    int lastSlash = prefix.lastIndexOf(OZONE_URI_DELIMITER);
+    String parent = lastSlash < 0 ? "" : prefix.substring(0, lastSlash);
+    String parentPath = parent.isEmpty() ? "" : parent + OZONE_URI_DELIMITER;
+
+    // entries up to this path are skipped
+    String skipTo = null;
+    if (StringUtils.isNotEmpty(startAfter)
+        && startAfter.compareTo(prefix) > 0) {
+      if (!startAfter.startsWith(prefix)) {
+        return new ListKeysWithDelimiterResult(keys, commonPrefixes, false,
+            null);
+      }
+      // only the immediate child of the parent matters
+      int end = startAfter.indexOf(OZONE_URI_DELIMITER, parentPath.length());
+      skipTo = end < 0 ? startAfter : startAfter.substring(0, end);
+    }
+    String startKey = skipTo != null ? skipTo
+        : prefix.length() > parentPath.length() ? prefix : null;
+
+    OmKeyArgs args = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(parent)
+        .setSortDatanodesInPipeline(false)
+        .build();
+    OzoneListStatusHelper statusHelper =
+        new OzoneListStatusHelper(metadataManager, scmBlockSize,
+            this::getOzoneFileStatusFSO,
+            ozoneManager.getDefaultReplicationConfig());
+
+    boolean isTruncated = false;
+    String lastPath = null;
+    boolean done = false;
+    while (!done) {
+      // one more entry to tell whether the result is truncated, and one
+      // more for startKey, which is included in the result
+      int numEntries = maxKeys - keys.size() - commonPrefixes.size() + 2;
+      Collection<OzoneFileStatus> statuses;
+      try {
+        statuses = statusHelper.listStatusFSO(args, startKey, numEntries,
+            null, false);
+      } catch (OMException e) {
+        if (e.getResult() == FILE_NOT_FOUND) {
+          break;
+        }
+        throw e;
+      }
+      done = statuses.size() < numEntries;
+
+      for (OzoneFileStatus status : statuses) {
+        String path = status.getKeyInfo().getKeyName();
+        if (skipTo != null && path.compareTo(skipTo) <= 0) {
+          continue;
+        }
+        String name = status.isDirectory()
+            ? OzoneFSUtils.addTrailingSlashIfNeeded(path) : path;
+        if (!name.startsWith(prefix)) {
+          // the children with the prefix are listed, or the parent is a file
+          done = true;
+          break;
+        }
+        if (keys.size() + commonPrefixes.size() == maxKeys) {
+          isTruncated = true;
+          done = true;
+          break;
+        }
+        if (status.isDirectory()) {
+          commonPrefixes.add(name);
+        } else {
+          keys.add(BasicOmKeyInfo.fromOmKeyInfo(status.getKeyInfo()));
+        }
+        lastPath = path;
+        skipTo = path;
+        startKey = path;
+      }
+    }
+
+    return new ListKeysWithDelimiterResult(keys, commonPrefixes, isTruncated,
+        isTruncated ? lastPath : null);
+  }
+
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName,
       String bucketName, String startKeyName, String keyPrefix,
@@ -802,7 +937,8 @@ public OmMultipartUploadListParts listParts(String volumeName,
             ResultCodes.NO_SUCH_MULTIPART_UPLOAD_ERROR);
       } else {
         Iterator<PartKeyInfo> partKeyInfoMapIterator =
-            multipartKeyInfo.getPartKeyInfoMap().iterator();
+            metadataManager.getMultipartParts(multipartKey, multipartKeyInfo)
+                .iterator();
 
         ReplicationConfig replicationConfig = null;
 
@@ -1879,6 +2015,16 @@ void sortDatanodes(String clientMachine, OmKeyInfo... keyInfos) {
 
   private List<DatanodeDetails> sortDatanodes(String clientMachine,
       List<DatanodeDetails> nodes, OmKeyInfo keyInfo, List<String> nodeList) {
+    DatanodeSortCache sortCache = scmClient.getDatanodeSortCache();
+    if (sortCache != null) {
+      List<DatanodeDetails> sortedNodes =
+          sortCache.sortDatanodes(nodes, clientMachine);
+      if (sortedNodes != null) {
+        metrics.incNumSortDatanodesLocal();
+        return sortedNodes;
+      }
+    }
+    metrics.incNumSortDatanodesScm();
     List<DatanodeDetails> sortedNodes = null;
     try {
       sortedNodes = scmClient.getBlockClient()
@@ -19,6 +19,7 @@
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
 /**
@@ -86,6 +87,12 @@ public static void unregister() {
   @Metric(about = "Client requests forcing container info cache refresh")
   private MutableRate forceContainerCacheRefresh;
 
+  @Metric(about = "Datanode sorts done in OM, which avoided a call to SCM")
+  private MutableCounterLong sortDatanodesLocal;
+
+  @Metric(about = "Datanode sorts delegated to SCM")
+  private MutableCounterLong sortDatanodesScm;
+
   @Metric(about = "checkAccess latency in nanoseconds")
   private MutableRate checkAccessLatencyNs;
 
@@ -180,6 +187,22 @@ public void setForceContainerCacheRefresh(boolean value) {
     forceContainerCacheRefresh.add(value ? 1L : 0L);
   }
 
+  public void incNumSortDatanodesLocal() {
+    sortDatanodesLocal.incr();
+  }
+
+  public void incNumSortDatanodesScm() {
+    sortDatanodesScm.incr();
+  }
+
+  public long getNumSortDatanodesLocal() {
+    return sortDatanodesLocal.value();
+  }
+
+  public long getNumSortDatanodesScm() {
+    return sortDatanodesScm.value();
+  }
+
   public void setCheckAccessLatencyNs(long latencyInNs) {
     checkAccessLatencyNs.add(latencyInNs);
   }
@@ -26,6 +26,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,7 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
@@ -46,10 +48,12 @@
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Codec;
 import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
 import org.apache.hadoop.hdds.utils.db.RDBCheckpointUtils;
 import org.apache.hadoop.hdds.utils.db.RocksDBConfiguration;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
@@ -64,6 +68,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBAccessIdInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBUserPrincipalInfo;
@@ -79,6 +84,7 @@
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.S3SecretValue;
 import org.apache.hadoop.ozone.om.helpers.SnapshotInfo;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.WithMetadata;
 import org.apache.hadoop.ozone.om.lock.IOzoneManagerLock;
@@ -93,6 +99,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ExpiredMultipartUploadInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ExpiredMultipartUploadsBucket;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PartKeyInfo;
 import org.apache.hadoop.ozone.storage.proto
     .OzoneManagerStorageProtos.PersistedUserVolumeInfo;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
@@ -157,6 +164,8 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
    * |----------------------------------------------------------------------|
    * | multipartInfoTable | /volumeName/bucketName/keyName/uploadId ->...   |
    * |----------------------------------------------------------------------|
+   * | multipartPartTable | multipartKey/partNumber -> PartKeyInfo          |
+   * |----------------------------------------------------------------------|
    * | transactionInfoTable| #TRANSACTIONINFO -> OMTransactionInfo          |
    * |----------------------------------------------------------------------|
    *
@@ -217,6 +226,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   public static final String DELETED_TABLE = "deletedTable";
   public static final String OPEN_KEY_TABLE = "openKeyTable";
   public static final String MULTIPARTINFO_TABLE = "multipartInfoTable";
+  public static final String MULTIPART_PART_TABLE = "multipartPartTable";
   public static final String S3_SECRET_TABLE = "s3SecretTable";
   public static final String DELEGATION_TOKEN_TABLE = "dTokenTable";
   public static final String PREFIX_TABLE = "prefixTable";
@@ -247,6 +257,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
       DELETED_TABLE,
       OPEN_KEY_TABLE,
       MULTIPARTINFO_TABLE,
+      MULTIPART_PART_TABLE,
       S3_SECRET_TABLE,
       DELEGATION_TOKEN_TABLE,
       PREFIX_TABLE,
@@ -275,6 +286,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private Table deletedTable;
   private Table openKeyTable;
   private Table<String, OmMultipartKeyInfo> multipartInfoTable;
+  private Table<String, PartKeyInfo> multipartPartTable;
   private Table<String, S3SecretValue> s3SecretTable;
   private Table dTokenTable;
   private Table prefixTable;
@@ -497,6 +509,94 @@ public Table<String, OmMultipartKeyInfo> getMultipartInfoTable() {
     return multipartInfoTable;
   }
 
+  @Override
+  public Table<String, PartKeyInfo> getMultipartPartTable() {
+    return multipartPartTable;
+  }
+
+  @Override
+  public String getMultipartPartKey(String multipartKey, int partNumber) {
+    // Zero padded so that the parts of an upload are stored in order.
+    return multipartKey + OM_KEY_PREFIX +
+        String.format("%05d", partNumber);
+  }
+
+  @Override
+  public OmMultipartKeyInfo.PartKeyInfoMap getMultipartParts(
+      String multipartKey, OmMultipartKeyInfo multipartKeyInfo)
+      throws IOException {
+    if (!multipartKeyInfo.hasPartTable()) {
+      return multipartKeyInfo.getPartKeyInfoMap();
+    }
+
+    String prefix = multipartKey + OM_KEY_PREFIX;
+    SortedMap<Integer, PartKeyInfo> parts = new TreeMap<>();
+    Set<String> deleted = new HashSet<>();
+
+    // Parts committed but not yet flushed are only in the table cache.
+    Iterator<Map.Entry<CacheKey<String>, CacheValue<PartKeyInfo>>>
+        cacheIterator = multipartPartTable.cacheIterator();
+    while (cacheIterator.hasNext()) {
+      Map.Entry<CacheKey<String>, CacheValue<PartKeyInfo>> cacheEntry =
+          cacheIterator.next();
+      String key = cacheEntry.getKey().getCacheKey();
+      if (isMultipartPartKey(prefix, key)) {
+        PartKeyInfo partKeyInfo = cacheEntry.getValue().getCacheValue();
+        if (partKeyInfo != null) {
+          parts.put(partKeyInfo.getPartNumber(), partKeyInfo);
+        } else {
+          deleted.add(key);
+        }
+      }
+    }
+
+    try (TableIterator<String, ? extends KeyValue<String, PartKeyInfo>>
+        iterator = multipartPartTable.iterator(prefix)) {
+      while (iterator.hasNext()) {
+        KeyValue<String, PartKeyInfo> entry = iterator.next();
+        if (!isMultipartPartKey(prefix, entry.getKey())
+            || deleted.contains(entry.getKey())) {
+          continue;
+        }
+        PartKeyInfo partKeyInfo = entry.getValue();
+        // The cached version of a part is newer than the persisted one.
+        parts.putIfAbsent(partKeyInfo.getPartNumber(), partKeyInfo);
+      }
+    }
+    return new OmMultipartKeyInfo.PartKeyInfoMap(parts);
+  }
+
+  /**
+   * Counts the parts of an upload persisted in the DB, up to the given
+   * limit.  Parts only in the table cache are not counted.
+   */
+  private int countMultipartParts(String multipartKey,
+      OmMultipartKeyInfo multipartKeyInfo, int limit) throws IOException {
+    if (!multipartKeyInfo.hasPartTable()) {
+      return multipartKeyInfo.getPartKeyInfoMap().size();
+    }
+    String prefix = multipartKey + OM_KEY_PREFIX;
+    int count = 0;
+    try (TableIterator<String, ? extends KeyValue<String, PartKeyInfo>>
+        iterator = multipartPartTable.iterator(prefix)) {
+      while (count < limit && iterator.hasNext()) {
+        if (isMultipartPartKey(prefix, iterator.next().getKey())) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Keys and upload IDs may contain "/", so the parts of another upload can
+   * share the prefix.  The part number after the prefix never does.
+   */
+  private static boolean isMultipartPartKey(String prefix, String key) {
+    return key.startsWith(prefix)
+        && key.indexOf(OM_KEY_PREFIX, prefix.length()) < 0;
+  }
+
   private void checkTableStatus(Table table, String name,
       boolean addCacheMetrics) throws IOException {
     String logMessage = "Unable to get a reference to %s table. Cannot " +
@@ -616,6 +716,7 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
         .addTable(DELETED_TABLE)
         .addTable(OPEN_KEY_TABLE)
         .addTable(MULTIPARTINFO_TABLE)
+        .addTable(MULTIPART_PART_TABLE)
         .addTable(DELEGATION_TOKEN_TABLE)
         .addTable(S3_SECRET_TABLE)
         .addTable(PREFIX_TABLE)
@@ -638,6 +739,7 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
         .addCodec(OmVolumeArgs.class, OmVolumeArgs.getCodec())
         .addProto2Codec(PersistedUserVolumeInfo.getDefaultInstance())
         .addCodec(OmMultipartKeyInfo.class, OmMultipartKeyInfo.getCodec())
+        .addProto2Codec(PartKeyInfo.getDefaultInstance())
         .addCodec(S3SecretValue.class, S3SecretValue.getCodec())
         .addCodec(OmPrefixInfo.class, OmPrefixInfo.getCodec())
         .addCodec(TransactionInfo.class, TransactionInfo.getCodec())
@@ -690,6 +792,11 @@ protected void initializeOmTables(CacheType cacheType,
         String.class, OmMultipartKeyInfo.class);
     checkTableStatus(multipartInfoTable, MULTIPARTINFO_TABLE, addCacheMetrics);
 
+    multipartPartTable = this.store.getTable(MULTIPART_PART_TABLE,
+        String.class, PartKeyInfo.class);
+    checkTableStatus(multipartPartTable, MULTIPART_PART_TABLE,
+        addCacheMetrics);
+
     dTokenTable = this.store.getTable(DELEGATION_TOKEN_TABLE,
         OzoneTokenIdentifier.class, Long.class);
     checkTableStatus(dTokenTable, DELEGATION_TOKEN_TABLE, addCacheMetrics);
@@ -1255,7 +1362,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // Get maxKeys from DB if it has.
 
     try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-             keyIter = getKeyTable(getBucketLayout()).iterator()) {
+             keyIter = getKeyTable(getBucketLayout()).iterator(seekPrefix)) {
       KeyValue< String, OmKeyInfo > kv;
       keyIter.seek(seekKey);
       // we need to iterate maxKeys + 1 here because if skipStartKey is true,
@@ -1305,6 +1412,192 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     return new ListKeysResult(result, isTruncated);
   }
 
+  @Override
+  public ListKeysWithDelimiterResult listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException {
+    List<BasicOmKeyInfo> keys = new ArrayList<>();
+    List<String> commonPrefixes = new ArrayList<>();
+    if (maxKeys <= 0) {
+      return new ListKeysWithDelimiterResult(keys, commonPrefixes, false, null);
+    }
+
+    if (Strings.isNullOrEmpty(volumeName)) {
+      throw new OMException("Volume name is required.",
+          ResultCodes.VOLUME_NOT_FOUND);
+    }
+
+    if (Strings.isNullOrEmpty(bucketName)) {
+      throw new OMException("Bucket name is required.",
+          ResultCodes.BUCKET_NOT_FOUND);
+    }
+
+    if (Strings.isNullOrEmpty(delimiter)) {
+      throw new OMException("Delimiter is required.",
+          ResultCodes.INVALID_REQUEST);
+    }
+
+    String bucketKey = getBucketKey(volumeName, bucketName);
+    if (getBucketTable().get(bucketKey) == null) {
+      throw new OMException("Bucket " + bucketName + " not found.",
+          ResultCodes.BUCKET_NOT_FOUND);
+    }
+
+    String prefix = keyPrefix == null ? "" : keyPrefix;
+    String seekPrefix = bucketKey + OM_KEY_PREFIX + prefix;
+    String seekKey = seekPrefix;
+    boolean skipSeekKey = false;
+    if (!Strings.isNullOrEmpty(startAfter)
+        && startAfter.compareTo(prefix) >= 0) {
+      if (getCommonPrefix(startAfter, prefix, delimiter).equals(startAfter)) {
+        // continue after all the keys with this common prefix
+        String next = nextPrefix(startAfter);
+        if (next == null) {
+          return new ListKeysWithDelimiterResult(keys, commonPrefixes, false,
+              null);
+        }
+        seekKey = bucketKey + OM_KEY_PREFIX + next;
+      } else {
+        seekKey = bucketKey + OM_KEY_PREFIX + startAfter;
+        skipSeekKey = true;
+      }
+    }
+
+    // Keys in the table cache which are not flushed to DB yet, deleted
+    // keys are skipped in the DB below.
+    TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
+        keyTable.cacheIterator();
+    while (iterator.hasNext()) {
+      Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>> entry =
+          iterator.next();
+      String key = entry.getKey().getCacheKey();
+      OmKeyInfo omKeyInfo = entry.getValue().getCacheValue();
+      if (omKeyInfo != null && key.startsWith(seekPrefix)) {
+        cacheKeyMap.put(key, omKeyInfo);
+      }
+    }
+
+    boolean isTruncated = false;
+    String lastName = null;
+    // The DB values are read from the raw key table and decoded as
+    // BasicOmKeyInfo, which skips the block locations, ACLs and metadata of
+    // the keys.  The values of keys under a common prefix are not decoded at
+    // all.
+    final Codec<String> keyCodec = StringCodec.get();
+    try (TableIterator<byte[], ? extends KeyValue<byte[], byte[]>> keyIter =
+             store.getTable(KEY_TABLE).iterator(
+                 keyCodec.toPersistedFormat(seekPrefix))) {
+      keyIter.seek(keyCodec.toPersistedFormat(seekKey));
+      KeyValue<String, byte[]> dbEntry = nextLiveEntry(keyIter);
+      Map.Entry<String, OmKeyInfo> cacheEntry =
+          cacheKeyMap.ceilingEntry(seekKey);
+      while (dbEntry != null || cacheEntry != null) {
+        // merge the DB and the cache, the cache has the latest value
+        String key;
+        KeyValue<String, byte[]> dbKeyValue = null;
+        OmKeyInfo cachedKeyInfo = null;
+        if (cacheEntry == null || (dbEntry != null
+            && dbEntry.getKey().compareTo(cacheEntry.getKey()) < 0)) {
+          key = dbEntry.getKey();
+          dbKeyValue = dbEntry;
+          dbEntry = nextLiveEntry(keyIter);
+        } else {
+          key = cacheEntry.getKey();
+          cachedKeyInfo = cacheEntry.getValue();
+          if (dbEntry != null && dbEntry.getKey().equals(key)) {
+            dbEntry = nextLiveEntry(keyIter);
+          }
+          cacheEntry = cacheKeyMap.higherEntry(key);
+        }
+
+        if (!key.startsWith(seekPrefix)) {
+          break;
+        }
+        if (skipSeekKey && key.equals(seekKey)) {
+          continue;
+        }
+        if (keys.size() + commonPrefixes.size() == maxKeys) {
+          isTruncated = true;
+          break;
+        }
+
+        String keyName = key.substring(bucketKey.length() + 1);
+        String commonPrefix = getCommonPrefix(keyName, prefix, delimiter);
+        if (commonPrefix.isEmpty()) {
+          keys.add(cachedKeyInfo != null
+              ? BasicOmKeyInfo.fromOmKeyInfo(cachedKeyInfo)
+              : BasicOmKeyInfo.fromKeyInfoBytes(dbKeyValue.getValue()));
+          lastName = keyName;
+          continue;
+        }
+
+        commonPrefixes.add(commonPrefix);
+        lastName = commonPrefix;
+        // Seek past the other keys with the same common prefix instead of
+        // iterating over them.
+        String next = nextPrefix(commonPrefix);
+        if (next == null) {
+          break;
+        }
+        String nextKey = bucketKey + OM_KEY_PREFIX + next;
+        keyIter.seek(keyCodec.toPersistedFormat(nextKey));
+        dbEntry = nextLiveEntry(keyIter);
+        cacheEntry = cacheKeyMap.ceilingEntry(nextKey);
+      }
+    }
+
+    return new ListKeysWithDelimiterResult(keys, commonPrefixes, isTruncated,
+        isTruncated ? lastName : null);
+  }
+
+  /**
+   * @return the next entry of the raw key table iterator which is not
+   * deleted in the table cache, with its key decoded, or null
+   */
+  private KeyValue<String, byte[]> nextLiveEntry(
+      TableIterator<byte[], ? extends KeyValue<byte[], byte[]>> keyIter)
+      throws IOException {
+    while (keyIter.hasNext()) {
+      KeyValue<byte[], byte[]> kv = keyIter.next();
+      String key = StringCodec.get().fromPersistedFormat(kv.getKey());
+      CacheValue<OmKeyInfo> cacheValue =
+          keyTable.getCacheValue(new CacheKey<>(key));
+      if (cacheValue == null || cacheValue.getCacheValue() != null) {
+        return Table.newKeyValue(key, kv.getValue());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the key name up to and including the first delimiter after the
+   * prefix, or an empty string if there is no delimiter after the prefix.
+   */
+  private static String getCommonPrefix(String keyName, String prefix,
+      String delimiter) {
+    if (!keyName.startsWith(prefix)) {
+      return "";
+    }
+    int index = keyName.indexOf(delimiter, prefix.length());
+    return index < 0 ? "" : keyName.substring(0, index + delimiter.length());
+  }
+
+  /**
+   * @return the smallest string greater than all strings starting with the
+   * prefix, or null if there is no such string.
+   */
+  private static String nextPrefix(String prefix) {
+    int i = prefix.length() - 1;
+    while (i >= 0 && prefix.charAt(i) == Character.MAX_VALUE) {
+      i--;
+    }
+    if (i < 0) {
+      return null;
+    }
+    return prefix.substring(0, i) + (char) (prefix.charAt(i) + 1);
+  }
+
   // TODO: HDDS-2419 - Complete stub below for core logic
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName, String bucketName,
@@ -1525,6 +1818,8 @@ public PendingKeysDeletion getPendingDeletionKeys(final int keyCount,
       throws IOException {
     List<BlockGroup> keyBlocksList = Lists.newArrayList();
     HashMap<String, RepeatedOmKeyInfo> keysToModify = new HashMap<>();
+    // versions read, including the ones still referenced by a snapshot
+    int scannedCount = 0;
     try (TableIterator<String, ? extends KeyValue<String, RepeatedOmKeyInfo>>
              keyIter = getDeletedTable().iterator()) {
       int currentCount = 0;
@@ -1546,6 +1841,7 @@ public PendingKeysDeletion getPendingDeletionKeys(final int keyCount,
             // Multiple keys with the same path can be queued in one DB entry
             RepeatedOmKeyInfo infoList = kv.getValue();
             for (OmKeyInfo info : infoList.cloneOmKeyInfoList()) {
+              scannedCount++;
               // Skip the key if it exists in the previous snapshot (of the same
               // scope) as in this case its blocks should not be reclaimed
 
@@ -1635,7 +1931,8 @@ public PendingKeysDeletion getPendingDeletionKeys(final int keyCount,
         }
       }
     }
-    return new PendingKeysDeletion(keyBlocksList, keysToModify);
+    return new PendingKeysDeletion(keyBlocksList, keysToModify,
+        scannedCount);
   }
 
   private boolean versionExistsInPreviousSnapshot(OmKeyInfo omKeyInfo,
@@ -1841,7 +2138,8 @@ public List<ExpiredMultipartUploadsBucket> getExpiredMultipartUploads(
           expiredMPUs.get(mapKey)
               .addMultipartUploads(builder.setName(dbMultipartInfoKey)
                   .build());
-          numParts += omMultipartKeyInfo.getPartKeyInfoMap().size();
+          numParts += countMultipartParts(dbMultipartInfoKey,
+              omMultipartKeyInfo, maxParts - numParts);
         }
 
       }
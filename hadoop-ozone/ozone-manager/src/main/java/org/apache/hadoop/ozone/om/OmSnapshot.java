@@ -25,6 +25,7 @@
 import org.apache.hadoop.ozone.audit.AuditLoggerType;
 import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
@@ -175,6 +176,32 @@ public ListKeysLightResult listKeysLight(String volName,
     return new ListKeysLightResult(basicKeysList, listKeysResult.isTruncated());
   }
 
+  @Override
+  public ListKeysWithDelimiterResult listKeysWithDelimiter(String vname,
+      String bname, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException {
+    ListKeysWithDelimiterResult result = omMetadataReader
+        .listKeysWithDelimiter(vname, bname, normalizeKeyName(keyPrefix),
+            delimiter, normalizeKeyName(startAfter), maxKeys);
+    List<BasicOmKeyInfo> keys = result.getKeys().stream()
+        .map(key -> new BasicOmKeyInfo.Builder()
+            .setVolumeName(key.getVolumeName())
+            .setBucketName(key.getBucketName())
+            .setKeyName(denormalizeKeyName(key.getKeyName()))
+            .setDataSize(key.getDataSize())
+            .setCreationTime(key.getCreationTime())
+            .setModificationTime(key.getModificationTime())
+            .setReplicationConfig(key.getReplicationConfig())
+            .setIsFile(key.isFile())
+            .build())
+        .collect(Collectors.toList());
+    List<String> commonPrefixes = result.getCommonPrefixes().stream()
+        .map(this::denormalizeKeyName)
+        .collect(Collectors.toList());
+    return new ListKeysWithDelimiterResult(keys, commonPrefixes,
+        result.isTruncated(), denormalizeKeyName(result.getNextStartKey()));
+  }
+
   @Override
   public List<OzoneAcl> getAcl(OzoneObj obj) throws IOException {
     // TODO: [SNAPSHOT] handle denormalization
@@ -31,11 +31,27 @@ public class PendingKeysDeletion {
 
   private HashMap<String, RepeatedOmKeyInfo> keysToModify;
   private List<BlockGroup> keyBlocksList;
+  private int scannedKeys;
 
   public PendingKeysDeletion(List<BlockGroup> keyBlocksList,
        HashMap<String, RepeatedOmKeyInfo> keysToModify) {
+    this(keyBlocksList, keysToModify, keyBlocksList.size());
+  }
+
+  public PendingKeysDeletion(List<BlockGroup> keyBlocksList,
+       HashMap<String, RepeatedOmKeyInfo> keysToModify, int scannedKeys) {
     this.keysToModify = keysToModify;
     this.keyBlocksList = keyBlocksList;
+    this.scannedKeys = scannedKeys;
+  }
+
+  /**
+   * @return the number of key versions read from the deleted table,
+   * including the ones that can not be reclaimed yet, e.g. because they are
+   * still referenced by a snapshot.
+   */
+  public int getScannedKeys() {
+    return scannedKeys;
   }
 
   public HashMap<String, RepeatedOmKeyInfo> getKeysToModify() {
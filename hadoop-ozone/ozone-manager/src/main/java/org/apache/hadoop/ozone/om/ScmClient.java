@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.ozone.om;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
@@ -24,15 +25,19 @@
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
 import org.apache.hadoop.util.CacheMetrics;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -41,6 +46,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_TTL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DATANODE_SORT_CACHE_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DATANODE_SORT_CACHE_ENABLED_DEFAULT;
 
 /**
  * Wrapper class for Scm protocol clients.
@@ -51,6 +58,8 @@ public class ScmClient {
   private final StorageContainerLocationProtocol containerClient;
   private final LoadingCache<Long, Pipeline> containerLocationCache;
   private final CacheMetrics containerCacheMetrics;
+  private final ContainerLocationCacheMetrics containerCacheStaleness;
+  private final DatanodeSortCache datanodeSortCache;
 
   ScmClient(ScmBlockLocationProtocol blockClient,
             StorageContainerLocationProtocol containerClient,
@@ -61,6 +70,11 @@ public class ScmClient {
         createContainerLocationCache(configuration, containerClient);
     this.containerCacheMetrics = CacheMetrics.create(containerLocationCache,
         "ContainerInfo");
+    this.containerCacheStaleness = ContainerLocationCacheMetrics.create();
+    this.datanodeSortCache = configuration.getBoolean(
+        OZONE_OM_DATANODE_SORT_CACHE_ENABLED,
+        OZONE_OM_DATANODE_SORT_CACHE_ENABLED_DEFAULT)
+        ? new DatanodeSortCache(containerClient, configuration) : null;
   }
 
   static LoadingCache<Long, Pipeline> createContainerLocationCache(
@@ -105,10 +119,19 @@ public StorageContainerLocationProtocol getContainerClient() {
     return this.containerClient;
   }
 
+  /**
+   * @return the local datanode sorter, or null if disabled
+   */
+  public DatanodeSortCache getDatanodeSortCache() {
+    return datanodeSortCache;
+  }
+
   public Map<Long, Pipeline> getContainerLocations(Iterable<Long> containerIds,
                                                   boolean forceRefresh)
       throws IOException {
+    Map<Long, Pipeline> previous = Collections.emptyMap();
     if (forceRefresh) {
+      previous = containerLocationCache.getAllPresent(containerIds);
       containerLocationCache.invalidateAll(containerIds);
     }
     try {
@@ -119,6 +142,7 @@ public Map<Long, Pipeline> getContainerLocations(Iterable<Long> containerIds,
           .map(Map.Entry::getKey)
           .collect(Collectors.toList());
       containerLocationCache.invalidateAll(emptyPipelines);
+      invalidateStalePipelines(previous, result);
       return result;
     } catch (ExecutionException e) {
       return handleCacheExecutionException(e);
@@ -133,10 +157,66 @@ public Map<Long, Pipeline> getContainerLocations(Iterable<Long> containerIds,
           result.put(containerId, p);
         }
       }
+      invalidateStalePipelines(previous, result);
       return result;
     }
   }
 
+  /**
+   * Updates the cache with container locations fetched from SCM directly.
+   */
+  public void updateContainerLocations(Map<Long, Pipeline> locations) {
+    Map<Long, Pipeline> previous =
+        containerLocationCache.getAllPresent(locations.keySet());
+    locations.forEach((containerId, pipeline) -> {
+      if (!pipeline.isEmpty()) {
+        containerLocationCache.put(containerId, pipeline);
+      }
+    });
+    invalidateStalePipelines(previous, locations);
+  }
+
+  /**
+   * A cached location that turned out to be outdated means the pipeline was
+   * closed or the container was moved.  Other containers cached with the same
+   * pipeline are most likely outdated, too, so drop them instead of waiting
+   * for the clients to detect it.
+   */
+  private void invalidateStalePipelines(Map<Long, Pipeline> previous,
+      Map<Long, Pipeline> current) {
+    Set<PipelineID> stalePipelines = new HashSet<>();
+    long stale = 0;
+    for (Map.Entry<Long, Pipeline> e : previous.entrySet()) {
+      Pipeline cached = e.getValue();
+      Pipeline pipeline = current.get(e.getKey());
+      if (pipeline == null || !cached.getId().equals(pipeline.getId())
+          || !cached.sameDatanodes(pipeline)) {
+        stalePipelines.add(cached.getId());
+        stale++;
+      }
+    }
+    if (stale == 0) {
+      return;
+    }
+    containerCacheStaleness.incrStaleLocations(stale);
+
+    long invalidated = 0;
+    for (Map.Entry<Long, Pipeline> e
+        : containerLocationCache.asMap().entrySet()) {
+      if (!current.containsKey(e.getKey())
+          && stalePipelines.contains(e.getValue().getId())
+          && containerLocationCache.asMap().remove(e.getKey(), e.getValue())) {
+        invalidated++;
+      }
+    }
+    containerCacheStaleness.incrPipelineInvalidations(invalidated);
+  }
+
+  @VisibleForTesting
+  ContainerLocationCacheMetrics getContainerCacheStaleness() {
+    return containerCacheStaleness;
+  }
+
   private <T> T handleCacheExecutionException(ExecutionException e)
       throws IOException {
     if (e.getCause() instanceof IOException) {
@@ -148,6 +228,10 @@ private <T> T handleCacheExecutionException(ExecutionException e)
 
   public void close() {
     containerCacheMetrics.unregister();
+    containerCacheStaleness.unregister();
+    if (datanodeSortCache != null) {
+      datanodeSortCache.stop();
+    }
   }
 
 }
@@ -41,6 +41,7 @@
 
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.ozone.om.service.SnapshotDeletingService;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PartKeyInfo;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
 import org.apache.hadoop.ozone.storage.proto.OzoneManagerStorageProtos.PersistedUserVolumeInfo;
 import org.apache.ozone.compaction.log.CompactionLogEntry;
@@ -114,6 +115,15 @@ public class OMDBDefinition extends DBDefinition.WithMap {
                     OmMultipartKeyInfo.class,
                     OmMultipartKeyInfo.getCodec());
 
+  public static final DBColumnFamilyDefinition<String, PartKeyInfo>
+            MULTIPART_PART_TABLE =
+            new DBColumnFamilyDefinition<>(
+                    OmMetadataManagerImpl.MULTIPART_PART_TABLE,
+                    String.class,
+                    StringCodec.get(),
+                    PartKeyInfo.class,
+                    Proto2Codec.get(PartKeyInfo.getDefaultInstance()));
+
   public static final DBColumnFamilyDefinition<String, OmPrefixInfo>
             PREFIX_TABLE =
             new DBColumnFamilyDefinition<>(
@@ -270,6 +280,7 @@ public class OMDBDefinition extends DBDefinition.WithMap {
           KEY_TABLE,
           META_TABLE,
           MULTIPART_INFO_TABLE,
+          MULTIPART_PART_TABLE,
           OPEN_FILE_TABLE,
           OPEN_KEY_TABLE,
           PREFIX_TABLE,
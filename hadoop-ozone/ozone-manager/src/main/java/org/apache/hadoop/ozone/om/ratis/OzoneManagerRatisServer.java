@@ -74,7 +74,6 @@
 import org.apache.ratis.protocol.exceptions.LeaderNotReadyException;
 import org.apache.ratis.protocol.exceptions.NotLeaderException;
 import org.apache.ratis.protocol.exceptions.StateMachineException;
-import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftClientReply;
 import org.apache.ratis.protocol.RaftClientRequest;
 import org.apache.ratis.protocol.RaftGroup;
@@ -460,9 +459,7 @@ private RaftClientRequest createRaftRequestImpl(OMRequest omRequest) {
         .setServerId(server.getId())
         .setGroupId(raftGroupId)
         .setCallId(Server.getCallId())
-        .setMessage(
-            Message.valueOf(
-                OMRatisHelper.convertRequestToByteString(omRequest)))
+        .setMessage(OMRatisHelper.convertRequestToMessage(omRequest))
         .setType(RaftClientRequest.writeRequestType())
         .build();
   }
@@ -63,7 +63,6 @@
 import org.apache.ratis.statemachine.TransactionContext;
 import org.apache.ratis.statemachine.impl.BaseStateMachine;
 import org.apache.ratis.statemachine.impl.SimpleStateMachineStorage;
-import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.util.ExitUtils;
 import org.apache.ratis.util.IOUtils;
 import org.apache.ratis.util.LifeCycle;
@@ -242,9 +241,9 @@ public void notifySnapshotInstalled(RaftProtos.InstallSnapshotResult result,
   @Override
   public TransactionContext startTransaction(
       RaftClientRequest raftClientRequest) throws IOException {
-    ByteString messageContent = raftClientRequest.getMessage().getContent();
-    OMRequest omRequest = OMRatisHelper.convertByteStringToOMRequest(
-        messageContent);
+    // the request submitted by this OM is not parsed again
+    OMRequest omRequest = OMRatisHelper.getOMRequest(
+        raftClientRequest.getMessage());
 
     Preconditions.checkArgument(raftClientRequest.getRaftGroupId().equals(
         raftGroupId));
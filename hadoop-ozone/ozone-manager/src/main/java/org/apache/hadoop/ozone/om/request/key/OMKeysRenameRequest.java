@@ -179,6 +179,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
                   .build());
           LOG.error("Received a request name of new key {} already exists",
               toKeyName);
+          continue;
         }
 
         // fromKeyName should exist
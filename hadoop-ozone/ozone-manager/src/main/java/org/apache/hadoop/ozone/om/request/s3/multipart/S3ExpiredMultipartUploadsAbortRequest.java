@@ -273,6 +273,10 @@ private void updateTableCache(OzoneManager ozoneManager,
             continue;
           }
 
+          omMultipartKeyInfo = OMMultipartUploadUtils.removeMultipartParts(
+              omMetadataManager, expiredMPUKeyName, omMultipartKeyInfo,
+              trxnLogIndex);
+
           // When abort uploaded key, we need to subtract the PartKey length
           // from the volume usedBytes.
           long quotaReleased = 0;
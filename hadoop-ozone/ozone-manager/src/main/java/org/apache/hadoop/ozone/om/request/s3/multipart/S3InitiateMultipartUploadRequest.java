@@ -194,6 +194,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
               replicationConfig)
           .setObjectID(objectID)
           .setUpdateID(transactionLogIndex)
+          .setSchemaVersion(getMultipartSchemaVersion(ozoneManager))
           .build();
 
       omKeyInfo = new OmKeyInfo.Builder()
@@ -280,6 +281,18 @@ protected void logResult(OzoneManager ozoneManager,
     }
   }
 
+  /**
+   * New uploads store their parts one per row in the multipart part table
+   * once the cluster is finalized, so that committing a part does not
+   * rewrite the parts committed before it.
+   */
+  protected static int getMultipartSchemaVersion(OzoneManager ozoneManager) {
+    return ozoneManager.getVersionManager()
+        .isAllowed(OMLayoutFeature.MULTIPART_PART_TABLE)
+        ? OmMultipartKeyInfo.SCHEMA_VERSION_PART_TABLE
+        : OmMultipartKeyInfo.SCHEMA_VERSION_EMBEDDED_PARTS;
+  }
+
   @RequestFeatureValidator(
       conditions = ValidationCondition.CLUSTER_NEEDS_FINALIZATION,
       processingPhase = RequestProcessingPhase.PRE_PROCESS,
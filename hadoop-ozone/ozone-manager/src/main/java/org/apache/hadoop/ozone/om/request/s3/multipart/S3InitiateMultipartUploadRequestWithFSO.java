@@ -169,6 +169,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
           .setObjectID(pathInfoFSO.getLeafNodeObjectId())
           .setUpdateID(transactionLogIndex)
           .setParentID(pathInfoFSO.getLastKnownParentId())
+          .setSchemaVersion(getMultipartSchemaVersion(ozoneManager))
           .build();
 
       omKeyInfo = new OmKeyInfo.Builder()
@@ -163,6 +163,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       multipartKeyInfo = omMetadataManager.getMultipartInfoTable()
           .get(multipartKey);
       multipartKeyInfo.setUpdateID(trxnLogIndex, ozoneManager.isRatisEnabled());
+      multipartKeyInfo = OMMultipartUploadUtils.removeMultipartParts(
+          omMetadataManager, multipartKey, multipartKeyInfo, trxnLogIndex);
 
       // When abort uploaded key, we need to subtract the PartKey length from
       // the volume usedBytes.
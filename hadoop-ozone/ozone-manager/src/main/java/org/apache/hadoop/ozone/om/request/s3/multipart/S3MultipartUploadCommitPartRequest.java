@@ -128,6 +128,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
         getOmRequest());
     OMClientResponse omClientResponse = null;
     OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo = null;
+    OzoneManagerProtocolProtos.PartKeyInfo newPartKeyInfo = null;
     String openKey = null;
     OmKeyInfo omKeyInfo = null;
     String multipartKey = null;
@@ -192,7 +193,15 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
             OMException.ResultCodes.NO_SUCH_MULTIPART_UPLOAD_ERROR);
       }
 
-      oldPartKeyInfo = multipartKeyInfo.getPartKeyInfo(partNumber);
+      String multipartPartKey = null;
+      if (multipartKeyInfo.hasPartTable()) {
+        multipartPartKey = omMetadataManager.getMultipartPartKey(
+            multipartKey, partNumber);
+        oldPartKeyInfo = omMetadataManager.getMultipartPartTable()
+            .get(multipartPartKey);
+      } else {
+        oldPartKeyInfo = multipartKeyInfo.getPartKeyInfo(partNumber);
+      }
 
       // Build this multipart upload part info.
       OzoneManagerProtocolProtos.PartKeyInfo.Builder partKeyInfo =
@@ -202,25 +211,34 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       partKeyInfo.setPartKeyInfo(omKeyInfo.getProtobuf(
           getOmRequest().getVersion()));
 
-      // Add this part information in to multipartKeyInfo.
-      multipartKeyInfo.addPartKeyInfo(partKeyInfo.build());
-
-      // Set the UpdateID to current transactionLogIndex
-      multipartKeyInfo.setUpdateID(trxnLogIndex,
-          ozoneManager.isRatisEnabled());
+      if (multipartKeyInfo.hasPartTable()) {
+        // The part gets its own row, the multipart info and the parts
+        // committed before this one are left untouched.
+        newPartKeyInfo = partKeyInfo.build();
+        omMetadataManager.getMultipartPartTable().addCacheEntry(
+            new CacheKey<>(multipartPartKey),
+            CacheValue.get(trxnLogIndex, newPartKeyInfo));
+      } else {
+        // Add this part information in to multipartKeyInfo.
+        multipartKeyInfo.addPartKeyInfo(partKeyInfo.build());
+
+        // Set the UpdateID to current transactionLogIndex
+        multipartKeyInfo.setUpdateID(trxnLogIndex,
+            ozoneManager.isRatisEnabled());
+
+        // Add to multipart info table cache.
+        omMetadataManager.getMultipartInfoTable().addCacheEntry(
+            new CacheKey<>(multipartKey),
+            CacheValue.get(trxnLogIndex, multipartKeyInfo));
+      }
 
       // OldPartKeyInfo will be deleted. Its updateID will be set in
       // S3MultipartUploadCommitPartResponse before being added to
       // DeletedKeyTable.
 
-      // Add to cache.
-
-      // Delete from open key table and add it to multipart info table.
+      // Delete from open key table.
       // No need to add cache entries to delete table, as no
       // read/write requests that info for validation.
-      omMetadataManager.getMultipartInfoTable().addCacheEntry(
-          new CacheKey<>(multipartKey),
-          CacheValue.get(trxnLogIndex, multipartKeyInfo));
 
       omMetadataManager.getOpenKeyTable(getBucketLayout()).addCacheEntry(
           new CacheKey<>(openKey),
@@ -242,17 +260,17 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
           MultipartCommitUploadPartResponse.newBuilder()
               .setPartName(partName));
       omClientResponse =
-          getOmClientResponse(ozoneManager, oldPartKeyInfo, openKey,
-              omKeyInfo, multipartKey, multipartKeyInfo, omResponse.build(),
-              omBucketInfo.copyObject());
+          getOmClientResponse(ozoneManager, oldPartKeyInfo, newPartKeyInfo,
+              openKey, omKeyInfo, multipartKey, multipartKeyInfo,
+              omResponse.build(), omBucketInfo.copyObject());
 
       result = Result.SUCCESS;
     } catch (IOException | InvalidPathException ex) {
       result = Result.FAILURE;
       exception = ex;
       omClientResponse =
-          getOmClientResponse(ozoneManager, oldPartKeyInfo, openKey,
-              omKeyInfo, multipartKey, multipartKeyInfo,
+          getOmClientResponse(ozoneManager, oldPartKeyInfo, newPartKeyInfo,
+              openKey, omKeyInfo, multipartKey, multipartKeyInfo,
               createErrorOMResponse(omResponse, exception), copyBucketInfo);
     } finally {
       if (acquiredLock) {
@@ -280,13 +298,14 @@ public static String getPartName(String ozoneKey, String uploadID,
   @SuppressWarnings("checkstyle:ParameterNumber")
   protected S3MultipartUploadCommitPartResponse getOmClientResponse(
       OzoneManager ozoneManager,
-      OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo, String openKey,
+      OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo,
+      OzoneManagerProtocolProtos.PartKeyInfo newPartKeyInfo, String openKey,
       OmKeyInfo omKeyInfo, String multipartKey,
       OmMultipartKeyInfo multipartKeyInfo, OMResponse build,
       OmBucketInfo omBucketInfo) {
 
     return new S3MultipartUploadCommitPartResponse(build, multipartKey, openKey,
-        multipartKeyInfo, oldPartKeyInfo, omKeyInfo,
+        multipartKeyInfo, oldPartKeyInfo, newPartKeyInfo, omKeyInfo,
         ozoneManager.isRatisEnabled(), omBucketInfo, getBucketLayout());
   }
 
@@ -69,13 +69,14 @@ protected OmKeyInfo getOmKeyInfo(OMMetadataManager omMetadataManager,
   @SuppressWarnings("checkstyle:ParameterNumber")
   protected S3MultipartUploadCommitPartResponse getOmClientResponse(
       OzoneManager ozoneManager,
-      OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo, String openKey,
+      OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo,
+      OzoneManagerProtocolProtos.PartKeyInfo newPartKeyInfo, String openKey,
       OmKeyInfo omKeyInfo, String multipartKey,
       OmMultipartKeyInfo multipartKeyInfo,
       OzoneManagerProtocolProtos.OMResponse build, OmBucketInfo omBucketInfo) {
 
     return new S3MultipartUploadCommitPartResponseWithFSO(build, multipartKey,
-        openKey, multipartKeyInfo, oldPartKeyInfo, omKeyInfo,
+        openKey, multipartKeyInfo, oldPartKeyInfo, newPartKeyInfo, omKeyInfo,
         ozoneManager.isRatisEnabled(), omBucketInfo, getBucketLayout());
   }
 }
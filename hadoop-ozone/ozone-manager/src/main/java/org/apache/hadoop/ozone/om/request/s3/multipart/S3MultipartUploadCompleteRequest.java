@@ -174,7 +174,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
 
       if (partsList.size() > 0) {
         final OmMultipartKeyInfo.PartKeyInfoMap partKeyInfoMap
-            = multipartKeyInfo.getPartKeyInfoMap();
+            = omMetadataManager.getMultipartParts(multipartKey,
+                multipartKeyInfo);
         if (partKeyInfoMap.size() == 0) {
           LOG.error("Complete MultipartUpload failed for key {} , MPU Key has" +
                   " no parts in OM, parts given to upload are {}", ozoneKey,
@@ -244,6 +245,18 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
         updateCache(omMetadataManager, dbBucketKey, omBucketInfo, dbOzoneKey,
             dbMultipartOpenKey, multipartKey, omKeyInfo, trxnLogIndex);
 
+        List<String> multipartPartKeys = new ArrayList<>();
+        if (multipartKeyInfo.hasPartTable()) {
+          for (PartKeyInfo partKeyInfo : partKeyInfoMap) {
+            String multipartPartKey = omMetadataManager.getMultipartPartKey(
+                multipartKey, partKeyInfo.getPartNumber());
+            multipartPartKeys.add(multipartPartKey);
+            omMetadataManager.getMultipartPartTable().addCacheEntry(
+                new CacheKey<>(multipartPartKey),
+                CacheValue.get(trxnLogIndex));
+          }
+        }
+
         omResponse.setCompleteMultiPartUploadResponse(
             MultipartUploadCompleteResponse.newBuilder()
                 .setVolume(requestedVolume)
@@ -255,8 +268,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
         long bucketId = omMetadataManager.getBucketId(volumeName, bucketName);
         omClientResponse =
             getOmClientResponse(multipartKey, omResponse, dbMultipartOpenKey,
-                omKeyInfo, allKeyInfoToRemove, omBucketInfo,
-                volumeId, bucketId);
+                omKeyInfo, allKeyInfoToRemove, multipartPartKeys,
+                omBucketInfo, volumeId, bucketId);
 
         result = Result.SUCCESS;
       } else {
@@ -296,12 +309,12 @@ protected S3MultipartUploadCompleteResponse getOmClientResponse(
   protected OMClientResponse getOmClientResponse(String multipartKey,
       OMResponse.Builder omResponse, String dbMultipartOpenKey,
       OmKeyInfo omKeyInfo,  List<OmKeyInfo> allKeyInfoToRemove,
-      OmBucketInfo omBucketInfo,
+      List<String> multipartPartKeys, OmBucketInfo omBucketInfo,
       long volumeId, long bucketId) {
 
     return new S3MultipartUploadCompleteResponse(omResponse.build(),
         multipartKey, dbMultipartOpenKey, omKeyInfo, allKeyInfoToRemove,
-        getBucketLayout(), omBucketInfo);
+        multipartPartKeys, getBucketLayout(), omBucketInfo);
   }
 
   protected void checkDirectoryAlreadyExists(OzoneManager ozoneManager,
@@ -161,12 +161,13 @@ protected S3MultipartUploadCompleteResponse getOmClientResponse(
   protected OMClientResponse getOmClientResponse(String multipartKey,
       OzoneManagerProtocolProtos.OMResponse.Builder omResponse,
       String dbMultipartOpenKey, OmKeyInfo omKeyInfo,
-      List<OmKeyInfo> allKeyInfoToRemove, OmBucketInfo omBucketInfo,
-      long volumeId, long bucketId) {
+      List<OmKeyInfo> allKeyInfoToRemove, List<String> multipartPartKeys,
+      OmBucketInfo omBucketInfo, long volumeId, long bucketId) {
 
     return new S3MultipartUploadCompleteResponseWithFSO(omResponse.build(),
         multipartKey, dbMultipartOpenKey, omKeyInfo, allKeyInfoToRemove,
-        getBucketLayout(), omBucketInfo, volumeId, bucketId);
+        multipartPartKeys, getBucketLayout(), omBucketInfo, volumeId,
+        bucketId);
   }
 
   @Override
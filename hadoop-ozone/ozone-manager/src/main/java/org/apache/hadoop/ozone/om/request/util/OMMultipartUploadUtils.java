@@ -20,11 +20,15 @@
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.utils.UniqueId;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PartKeyInfo;
 
 import java.io.IOException;
 import java.util.UUID;
@@ -135,4 +139,27 @@ public static boolean isMultipartKeySet(OmKeyInfo openKeyInfo) {
     return openKeyInfo.getLatestVersionLocations() != null
         && openKeyInfo.getLatestVersionLocations().isMultipartKey();
   }
+
+  /**
+   * Loads the parts of a multipart upload which is being removed, and marks
+   * its rows in the multipart part table as deleted in the table cache.
+   * @return the multipart info holding all the parts of the upload.
+   */
+  public static OmMultipartKeyInfo removeMultipartParts(
+      OMMetadataManager omMetadataManager, String multipartKey,
+      OmMultipartKeyInfo multipartKeyInfo, long trxnLogIndex)
+      throws IOException {
+    if (!multipartKeyInfo.hasPartTable()) {
+      return multipartKeyInfo;
+    }
+    OmMultipartKeyInfo.PartKeyInfoMap parts =
+        omMetadataManager.getMultipartParts(multipartKey, multipartKeyInfo);
+    for (PartKeyInfo partKeyInfo : parts) {
+      omMetadataManager.getMultipartPartTable().addCacheEntry(
+          new CacheKey<>(omMetadataManager.getMultipartPartKey(multipartKey,
+              partKeyInfo.getPartNumber())),
+          CacheValue.get(trxnLogIndex));
+    }
+    return multipartKeyInfo.copyWithParts(parts);
+  }
 }
@@ -42,6 +42,7 @@
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.BUCKET_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPARTINFO_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPART_PART_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.OPEN_FILE_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.OPEN_KEY_TABLE;
 
@@ -50,7 +51,7 @@
  * deleted table.
  */
 @CleanupTableInfo(cleanupTables = {OPEN_KEY_TABLE, OPEN_FILE_TABLE,
-    DELETED_TABLE, MULTIPARTINFO_TABLE, BUCKET_TABLE})
+    DELETED_TABLE, MULTIPARTINFO_TABLE, MULTIPART_PART_TABLE, BUCKET_TABLE})
 public abstract class AbstractS3MultipartAbortResponse extends OmKeyResponse {
 
   private boolean isRatisEnabled;
@@ -121,6 +122,12 @@ protected void addAbortToBatch(
 
         omMetadataManager.getDeletedTable().putWithBatch(batchOperation,
             deleteKey, repeatedOmKeyInfo);
+
+        if (omMultipartKeyInfo.hasPartTable()) {
+          omMetadataManager.getMultipartPartTable().deleteWithBatch(
+              batchOperation, omMetadataManager.getMultipartPartKey(
+                  abortInfo.getMultipartKey(), partKeyInfo.getPartNumber()));
+        }
       }
     }
     // update bucket usedBytes.
@@ -35,6 +35,7 @@
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.BUCKET_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPARTINFO_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPART_PART_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.OPEN_FILE_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.OPEN_KEY_TABLE;
 
@@ -42,7 +43,7 @@
  * Handles response to abort expired MPUs.
  */
 @CleanupTableInfo(cleanupTables = {OPEN_KEY_TABLE, OPEN_FILE_TABLE,
-    DELETED_TABLE, MULTIPARTINFO_TABLE, BUCKET_TABLE})
+    DELETED_TABLE, MULTIPARTINFO_TABLE, MULTIPART_PART_TABLE, BUCKET_TABLE})
 public class S3ExpiredMultipartUploadsAbortResponse extends
     AbstractS3MultipartAbortResponse {
 
@@ -37,6 +37,7 @@
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.BUCKET_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPARTINFO_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPART_PART_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.OPEN_KEY_TABLE;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
     .Status.NO_SUCH_MULTIPART_UPLOAD_ERROR;
@@ -50,20 +51,22 @@
  * Response for S3MultipartUploadCommitPart request.
  */
 @CleanupTableInfo(cleanupTables = {OPEN_KEY_TABLE, DELETED_TABLE,
-    MULTIPARTINFO_TABLE, BUCKET_TABLE})
+    MULTIPARTINFO_TABLE, MULTIPART_PART_TABLE, BUCKET_TABLE})
 public class S3MultipartUploadCommitPartResponse extends OmKeyResponse {
 
   private String multipartKey;
   private String openKey;
   private OmMultipartKeyInfo omMultipartKeyInfo;
   private OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo;
+  private OzoneManagerProtocolProtos.PartKeyInfo newPartKeyInfo;
   private OmKeyInfo openPartKeyInfoToBeDeleted;
   private boolean isRatisEnabled;
   private OmBucketInfo omBucketInfo;
 
   /**
    * Regular response.
-   * 1. Update MultipartKey in MultipartInfoTable with new PartKeyInfo
+   * 1. Update MultipartKey in MultipartInfoTable with new PartKeyInfo,
+   *    or put the new PartKeyInfo in MultipartPartTable
    * 2. Delete openKey from OpenKeyTable
    * 3. If old PartKeyInfo exists, put it in DeletedKeyTable
    * @param omResponse
@@ -71,6 +74,8 @@ public class S3MultipartUploadCommitPartResponse extends OmKeyResponse {
    * @param openKey
    * @param omMultipartKeyInfo
    * @param oldPartKeyInfo
+   * @param newPartKeyInfo the part to store in MultipartPartTable, null if
+   *                       the upload embeds its parts in MultipartInfoTable
    * @param openPartKeyInfoToBeDeleted
    * @param isRatisEnabled
    * @param omBucketInfo
@@ -80,6 +85,7 @@ public S3MultipartUploadCommitPartResponse(@Nonnull OMResponse omResponse,
       String multipartKey, String openKey,
       @Nullable OmMultipartKeyInfo omMultipartKeyInfo,
       @Nullable OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo,
+      @Nullable OzoneManagerProtocolProtos.PartKeyInfo newPartKeyInfo,
       @Nullable OmKeyInfo openPartKeyInfoToBeDeleted,
       boolean isRatisEnabled, @Nonnull OmBucketInfo omBucketInfo,
       @Nonnull BucketLayout bucketLayout) {
@@ -88,6 +94,7 @@ public S3MultipartUploadCommitPartResponse(@Nonnull OMResponse omResponse,
     this.openKey = openKey;
     this.omMultipartKeyInfo = omMultipartKeyInfo;
     this.oldPartKeyInfo = oldPartKeyInfo;
+    this.newPartKeyInfo = newPartKeyInfo;
     this.openPartKeyInfoToBeDeleted = openPartKeyInfoToBeDeleted;
     this.isRatisEnabled = isRatisEnabled;
     this.omBucketInfo = omBucketInfo;
@@ -126,7 +133,8 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
     // Need to do 3 steps:
     //   0. Strip GDPR related metadata from multipart info
     //   1. add old part to delete table
-    //   2. Commit multipart info which has information about this new part.
+    //   2. Commit multipart info which has information about this new part,
+    //      or the new part alone if the upload uses the part table.
     //   3. delete this new part entry from open key table.
 
     // This means for this multipart upload part upload, we have an old
@@ -135,9 +143,13 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
       OmKeyInfo partKeyToBeDeleted =
           OmKeyInfo.getFromProtobuf(oldPartKeyInfo.getPartKeyInfo());
 
+      // With the part table the multipart info is not updated, the new part
+      // carries the updateID of this transaction instead.
+      long updateID = newPartKeyInfo != null
+          ? openPartKeyInfoToBeDeleted.getUpdateID()
+          : omMultipartKeyInfo.getUpdateID();
       RepeatedOmKeyInfo repeatedOmKeyInfo = OmUtils.prepareKeyForDelete(
-          partKeyToBeDeleted,
-          omMultipartKeyInfo.getUpdateID(), isRatisEnabled);
+          partKeyToBeDeleted, updateID, isRatisEnabled);
       // multi-part key format is volumeName/bucketName/keyName/uploadId
       String deleteKey = omMetadataManager.getOzoneDeletePathKey(
           partKeyToBeDeleted.getObjectID(), multipartKey);
@@ -146,8 +158,14 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
           deleteKey, repeatedOmKeyInfo);
     }
 
-    omMetadataManager.getMultipartInfoTable().putWithBatch(batchOperation,
-        multipartKey, omMultipartKeyInfo);
+    if (newPartKeyInfo != null) {
+      omMetadataManager.getMultipartPartTable().putWithBatch(batchOperation,
+          omMetadataManager.getMultipartPartKey(multipartKey,
+              newPartKeyInfo.getPartNumber()), newPartKeyInfo);
+    } else {
+      omMetadataManager.getMultipartInfoTable().putWithBatch(batchOperation,
+          multipartKey, omMultipartKeyInfo);
+    }
 
     //  This information has been added to multipartKeyInfo. So, we can
     //  safely delete part key info from open key table.
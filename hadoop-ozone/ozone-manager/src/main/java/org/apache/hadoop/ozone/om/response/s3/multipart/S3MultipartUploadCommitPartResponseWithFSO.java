@@ -32,18 +32,20 @@
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.OPEN_FILE_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPARTINFO_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPART_PART_TABLE;
 
 /**
  * Response for S3MultipartUploadCommitPartWithFSO request.
  */
 @CleanupTableInfo(cleanupTables = {OPEN_FILE_TABLE, DELETED_TABLE,
-    MULTIPARTINFO_TABLE})
+    MULTIPARTINFO_TABLE, MULTIPART_PART_TABLE})
 public class S3MultipartUploadCommitPartResponseWithFSO
         extends S3MultipartUploadCommitPartResponse {
 
   /**
    * Regular response.
-   * 1. Update MultipartKey in MultipartInfoTable with new PartKeyInfo
+   * 1. Update MultipartKey in MultipartInfoTable with new PartKeyInfo,
+   *    or put the new PartKeyInfo in MultipartPartTable
    * 2. Delete openKey from OpenKeyTable
    * 3. If old PartKeyInfo exists, put it in DeletedKeyTable
    * @param omResponse
@@ -51,6 +53,7 @@
    * @param openKey
    * @param omMultipartKeyInfo
    * @param oldPartKeyInfo
+   * @param newPartKeyInfo
    * @param openPartKeyInfoToBeDeleted
    * @param isRatisEnabled
    * @param omBucketInfo
@@ -60,11 +63,12 @@ public S3MultipartUploadCommitPartResponseWithFSO(
       @Nonnull OMResponse omResponse, String multipartKey, String openKey,
       @Nullable OmMultipartKeyInfo omMultipartKeyInfo,
       @Nullable OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo,
+      @Nullable OzoneManagerProtocolProtos.PartKeyInfo newPartKeyInfo,
       @Nullable OmKeyInfo openPartKeyInfoToBeDeleted, boolean isRatisEnabled,
       @Nonnull OmBucketInfo omBucketInfo, @Nonnull BucketLayout bucketLayout) {
 
     super(omResponse, multipartKey, openKey, omMultipartKeyInfo,
-            oldPartKeyInfo, openPartKeyInfoToBeDeleted, isRatisEnabled,
-            omBucketInfo, bucketLayout);
+            oldPartKeyInfo, newPartKeyInfo, openPartKeyInfoToBeDeleted,
+            isRatisEnabled, omBucketInfo, bucketLayout);
   }
 }
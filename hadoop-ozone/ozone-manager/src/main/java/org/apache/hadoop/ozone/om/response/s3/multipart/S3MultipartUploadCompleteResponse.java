@@ -39,23 +39,25 @@
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.KEY_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPARTINFO_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.MULTIPART_PART_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.OPEN_KEY_TABLE;
 
 /**
  * Response for Multipart Upload Complete request.
  *
  * This performs:
- * 1) Delete multipart key from OpenKeyTable, MPUTable,
+ * 1) Delete multipart key from OpenKeyTable, MPUTable, MPU part table,
  * 2) Add key to KeyTable,
  * 3) Delete unused parts.
  */
 @CleanupTableInfo(cleanupTables = {OPEN_KEY_TABLE, KEY_TABLE, DELETED_TABLE,
-    MULTIPARTINFO_TABLE, BUCKET_TABLE})
+    MULTIPARTINFO_TABLE, MULTIPART_PART_TABLE, BUCKET_TABLE})
 public class S3MultipartUploadCompleteResponse extends OmKeyResponse {
   private String multipartKey;
   private String multipartOpenKey;
   private OmKeyInfo omKeyInfo;
   private List<OmKeyInfo> allKeyInfoToRemove;
+  private List<String> multipartPartKeys;
   private OmBucketInfo omBucketInfo;
 
   @SuppressWarnings("checkstyle:ParameterNumber")
@@ -65,10 +67,12 @@ public S3MultipartUploadCompleteResponse(
       @Nonnull String multipartOpenKey,
       @Nonnull OmKeyInfo omKeyInfo,
       @Nonnull List<OmKeyInfo> allKeyInfoToRemove,
+      @Nonnull List<String> multipartPartKeys,
       @Nonnull BucketLayout bucketLayout,
       @CheckForNull OmBucketInfo omBucketInfo) {
     super(omResponse, bucketLayout);
     this.allKeyInfoToRemove = allKeyInfoToRemove;
+    this.multipartPartKeys = multipartPartKeys;
     this.multipartKey = multipartKey;
     this.multipartOpenKey = multipartOpenKey;
     this.omKeyInfo = omKeyInfo;
@@ -89,11 +93,15 @@ public S3MultipartUploadCompleteResponse(@Nonnull OMResponse omResponse,
   public void addToDBBatch(OMMetadataManager omMetadataManager,
       BatchOperation batchOperation) throws IOException {
 
-    // 1. Delete multipart key from OpenKeyTable, MPUTable
+    // 1. Delete multipart key from OpenKeyTable, MPUTable, MPU part table
     omMetadataManager.getOpenKeyTable(getBucketLayout())
         .deleteWithBatch(batchOperation, multipartOpenKey);
     omMetadataManager.getMultipartInfoTable().deleteWithBatch(batchOperation,
         multipartKey);
+    for (String multipartPartKey : multipartPartKeys) {
+      omMetadataManager.getMultipartPartTable().deleteWithBatch(
+          batchOperation, multipartPartKey);
+    }
 
     // 2. Add key to KeyTable
     addToKeyTable(omMetadataManager, batchOperation);
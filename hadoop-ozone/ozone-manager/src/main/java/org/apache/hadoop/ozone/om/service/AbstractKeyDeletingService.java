@@ -29,6 +29,7 @@
 import org.apache.hadoop.ozone.common.BlockGroup;
 import org.apache.hadoop.ozone.lock.BootstrapStateHandler;
 import org.apache.hadoop.ozone.common.DeleteBlockGroupResult;
+import org.apache.hadoop.ozone.om.DeletingServiceMetrics;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OmSnapshotManager;
@@ -80,6 +81,8 @@ public abstract class AbstractKeyDeletingService extends BackgroundService
   private final AtomicLong movedDirsCount;
   private final AtomicLong movedFilesCount;
   private final AtomicLong runCount;
+  private final AtomicLong callId;
+  private final DeletingServiceMetrics metrics;
   private final BootstrapStateHandler.Lock lock =
       new BootstrapStateHandler.Lock();
 
@@ -94,6 +97,8 @@ public AbstractKeyDeletingService(String serviceName, long interval,
     this.movedDirsCount = new AtomicLong(0);
     this.movedFilesCount = new AtomicLong(0);
     this.runCount = new AtomicLong(0);
+    this.callId = new AtomicLong(0);
+    this.metrics = DeletingServiceMetrics.create(serviceName);
   }
 
   protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
@@ -114,8 +119,11 @@ protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
       LOG.info("Send {} key(s) to SCM, first {} keys: {}",
           keyBlocksList.size(), logSize, keyBlocksList.subList(0, logSize));
     }
+    long scmStartNs = Time.monotonicNowNanos();
     List<DeleteBlockGroupResult> blockDeletionResults =
         scmClient.deleteKeyBlocks(keyBlocksList);
+    long purgeStartNs = Time.monotonicNowNanos();
+    metrics.addScmDeleteKeyBlocksLatency(purgeStartNs - scmStartNs);
     if (blockDeletionResults != null) {
       if (isRatisEnabled()) {
         delCount = submitPurgeKeysRequest(blockDeletionResults,
@@ -126,6 +134,8 @@ protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
         //  OMRequest model.
         delCount = deleteAllKeys(blockDeletionResults, manager);
       }
+      metrics.addPurgeKeysLatency(Time.monotonicNowNanos() - purgeStartNs);
+      metrics.incrNumKeysReclaimed(delCount);
       if (LOG.isDebugEnabled()) {
         LOG.debug("Blocks for {} (out of {}) keys are deleted in {} ms",
             delCount, blockDeletionResults.size(),
@@ -265,7 +275,7 @@ protected RaftClientRequest createRaftClientRequestForPurge(
         .setClientId(clientId)
         .setServerId(ozoneManager.getOmRatisServer().getRaftPeerId())
         .setGroupId(ozoneManager.getOmRatisServer().getRaftGroupId())
-        .setCallId(runCount.get())
+        .setCallId(callId.incrementAndGet())
         .setMessage(
             Message.valueOf(
                 OMRatisHelper.convertRequestToByteString(omRequest)))
@@ -458,6 +468,8 @@ public long optimizeDirDeletesAndSubmitRequest(long remainNum,
       deletedDirsCount.addAndGet(dirNum + subdirDelNum);
       movedDirsCount.addAndGet(subDirNum - subdirDelNum);
       movedFilesCount.addAndGet(subFileNum);
+      metrics.incrNumDirsPurged(dirNum + subdirDelNum);
+      metrics.incrNumSubFilesMoved(subFileNum);
       LOG.info("Number of dirs deleted: {}, Number of sub-dir " +
               "deleted: {}, Number of sub-files moved:" +
               " {} to DeletedTable, Number of sub-dirs moved {} to " +
@@ -667,6 +679,10 @@ public boolean isRatisEnabled() {
     return ozoneManager.isRatisEnabled();
   }
 
+  public DeletingServiceMetrics getMetrics() {
+    return metrics;
+  }
+
   public OzoneManager getOzoneManager() {
     return ozoneManager;
   }
@@ -214,6 +214,9 @@ public BackgroundTaskResult call() {
               allSubDirList, purgePathRequestList, null, startTime,
               ratisByteLimit - consumedSize,
               getOzoneManager().getKeyManager());
+          getMetrics().setPendingDeletedDirs(getOzoneManager()
+              .getMetadataManager().getDeletedDirTable()
+              .getEstimatedKeyCount());
 
         } catch (IOException e) {
           LOG.error("Error while running delete directories and files " +
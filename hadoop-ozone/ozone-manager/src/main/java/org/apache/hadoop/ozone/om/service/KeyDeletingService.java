@@ -24,11 +24,17 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ServiceException;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
@@ -44,6 +50,7 @@
 import org.apache.hadoop.ozone.om.OmSnapshotManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.helpers.OMRatisHelper;
+import org.apache.hadoop.util.Time;
 import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
 import org.apache.hadoop.ozone.om.snapshot.ReferenceCounted;
 import org.apache.hadoop.ozone.om.snapshot.SnapshotCache;
@@ -62,6 +69,8 @@
 import static org.apache.hadoop.ozone.om.helpers.SnapshotInfo.SnapshotStatus.SNAPSHOT_ACTIVE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_SERVICE_WORKERS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_SERVICE_WORKERS_DEFAULT;
 
 import org.apache.hadoop.ozone.om.PendingKeysDeletion;
 import org.apache.hadoop.ozone.om.SnapshotChainManager;
@@ -87,11 +96,19 @@ public class KeyDeletingService extends AbstractKeyDeletingService {
 
   // Use only a single thread for KeyDeletion. Multiple threads would read
   // from the same table and can send deletion requests for same key multiple
-  // times.
+  // times. The keys read by this thread are processed by deletionWorkers.
   private static final int KEY_DELETING_CORE_POOL_SIZE = 1;
+  // Lower bound of the adaptive number of keys scanned per run.
+  private static final int MIN_KEY_LIMIT_PER_TASK = 1000;
 
   private final KeyManager manager;
+  private final long serviceIntervalMs;
+  private final int workers;
+  private final ExecutorService deletionWorkers;
   private int keyLimitPerTask;
+  // Number of keys scanned in the next run, between MIN_KEY_LIMIT_PER_TASK
+  // and keyLimitPerTask, adapted to the time taken by SCM and Ratis.
+  private volatile int currentKeyLimitPerTask;
   private final AtomicLong deletedKeyCount;
   private final AtomicBoolean suspended;
   private final Map<String, Long> exclusiveSizeMap;
@@ -111,6 +128,19 @@ public KeyDeletingService(OzoneManager ozoneManager,
         OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT);
     Preconditions.checkArgument(keyLimitPerTask >= 0,
         OZONE_KEY_DELETING_LIMIT_PER_TASK + " cannot be negative.");
+    this.currentKeyLimitPerTask = keyLimitPerTask;
+    this.serviceIntervalMs = serviceInterval;
+    this.workers = conf.getInt(OZONE_KEY_DELETING_SERVICE_WORKERS,
+        OZONE_KEY_DELETING_SERVICE_WORKERS_DEFAULT);
+    Preconditions.checkArgument(workers > 0,
+        OZONE_KEY_DELETING_SERVICE_WORKERS + " should be greater than 0.");
+    this.deletionWorkers = workers == 1 ? null :
+        Executors.newFixedThreadPool(workers, new ThreadFactoryBuilder()
+            .setNameFormat(ozoneManager.getThreadNamePrefix() +
+                "KeyDeletingServiceWorker-%d")
+            .setDaemon(true)
+            .build());
+    getMetrics().setKeyDeletingLimitPerTask(keyLimitPerTask);
     this.deletedKeyCount = new AtomicLong(0);
     this.suspended = new AtomicBoolean(false);
     this.exclusiveSizeMap = new HashMap<>();
@@ -166,6 +196,104 @@ public int getKeyLimitPerTask() {
 
   public void setKeyLimitPerTask(int keyLimitPerTask) {
     this.keyLimitPerTask = keyLimitPerTask;
+    this.currentKeyLimitPerTask = keyLimitPerTask;
+  }
+
+  @VisibleForTesting
+  int getCurrentKeyLimitPerTask() {
+    return currentKeyLimitPerTask;
+  }
+
+  @Override
+  public void shutdown() {
+    super.shutdown();
+    if (deletionWorkers != null) {
+      deletionWorkers.shutdownNow();
+    }
+  }
+
+  /**
+   * Halves the number of keys scanned per run if the last run took longer
+   * than the service interval, and doubles it, up to the configured limit,
+   * if a full run took less than half of it.
+   */
+  @VisibleForTesting
+  void adjustKeyLimitPerTask(int scannedKeys, long elapsedMs) {
+    int limit = currentKeyLimitPerTask;
+    if (elapsedMs > serviceIntervalMs) {
+      limit = Math.max(Math.min(MIN_KEY_LIMIT_PER_TASK, keyLimitPerTask),
+          limit / 2);
+    } else if (scannedKeys >= limit && elapsedMs < serviceIntervalMs / 2) {
+      limit = (int) Math.min(keyLimitPerTask, 2L * limit);
+    }
+    if (limit != currentKeyLimitPerTask) {
+      LOG.info("Changing number of keys scanned per run from {} to {}, " +
+          "last run took {} ms.", currentKeyLimitPerTask, limit, elapsedMs);
+      currentKeyLimitPerTask = limit;
+      getMetrics().setKeyDeletingLimitPerTask(limit);
+    }
+  }
+
+  /**
+   * Splits the keys into at most {@code workers} contiguous parts and sends
+   * each part to SCM and to the OM purge path in parallel, so that SCM
+   * deleteKeyBlocks calls overlap with purge requests of other parts.
+   * The batch comes from a single scan of the deleted table, so no key is
+   * processed by more than one part.
+   */
+  private int processKeyDeletesInParallel(List<BlockGroup> keyBlocksList,
+      HashMap<String, RepeatedOmKeyInfo> keysToModify) throws IOException {
+    int parts = Math.min(workers, keyBlocksList.size());
+    if (parts <= 1) {
+      return processKeyDeletes(keyBlocksList,
+          getOzoneManager().getKeyManager(), keysToModify, null);
+    }
+
+    int partSize = (keyBlocksList.size() + parts - 1) / parts;
+    List<Callable<Integer>> tasks = new ArrayList<>(parts);
+    int from = 0;
+    while (from < keyBlocksList.size()) {
+      int to = Math.min(from + partSize, keyBlocksList.size());
+      // versions of the same deleted key must be purged together
+      while (to < keyBlocksList.size() && keyBlocksList.get(to).getGroupID()
+          .equals(keyBlocksList.get(to - 1).getGroupID())) {
+        to++;
+      }
+      List<BlockGroup> part = keyBlocksList.subList(from, to);
+      from = to;
+      HashMap<String, RepeatedOmKeyInfo> partKeysToModify = new HashMap<>();
+      for (BlockGroup group : part) {
+        RepeatedOmKeyInfo toModify = keysToModify.get(group.getGroupID());
+        if (toModify != null) {
+          partKeysToModify.put(group.getGroupID(), toModify);
+        }
+      }
+      tasks.add(() -> processKeyDeletes(part,
+          getOzoneManager().getKeyManager(), partKeysToModify, null));
+    }
+
+    int delCount = 0;
+    IOException failure = null;
+    try {
+      for (Future<Integer> result : deletionWorkers.invokeAll(tasks)) {
+        try {
+          delCount += result.get();
+        } catch (ExecutionException e) {
+          LOG.error("Failed to delete part of the keys, will retry at next " +
+              "run.", e.getCause());
+          if (failure == null) {
+            failure = new IOException(e.getCause());
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while deleting keys", e);
+    }
+    if (delCount == 0 && failure != null) {
+      throw failure;
+    }
+    return delCount;
   }
 
   /**
@@ -197,6 +325,8 @@ public BackgroundTaskResult call() {
         manager.getMetadataManager().getTableLock(
             OmMetadataManagerImpl.DELETED_TABLE).writeLock().lock();
         int delCount = 0;
+        final int limit = currentKeyLimitPerTask;
+        final long startTime = Time.monotonicNow();
         try {
           // TODO: [SNAPSHOT] HDDS-7968. Reclaim eligible key blocks in
           //  snapshot's deletedTable when active DB's deletedTable
@@ -205,15 +335,19 @@ public BackgroundTaskResult call() {
           //  from if the above would be done inside getPendingDeletionKeys().
 
           PendingKeysDeletion pendingKeysDeletion = manager
-              .getPendingDeletionKeys(getKeyLimitPerTask());
+              .getPendingDeletionKeys(limit);
           List<BlockGroup> keyBlocksList = pendingKeysDeletion
               .getKeyBlocksList();
           if (keyBlocksList != null && !keyBlocksList.isEmpty()) {
-            delCount = processKeyDeletes(keyBlocksList,
-                getOzoneManager().getKeyManager(),
-                pendingKeysDeletion.getKeysToModify(), null);
+            delCount = processKeyDeletesInParallel(keyBlocksList,
+                pendingKeysDeletion.getKeysToModify());
             deletedKeyCount.addAndGet(delCount);
           }
+          // keys kept for snapshots count too, the scan cost is the same
+          adjustKeyLimitPerTask(pendingKeysDeletion.getScannedKeys(),
+              Time.monotonicNow() - startTime);
+          getMetrics().setPendingDeletedKeys(manager.getMetadataManager()
+              .getDeletedTable().getEstimatedKeyCount());
         } catch (IOException e) {
           LOG.error("Error while running delete keys background task. Will " +
               "retry at next run.", e);
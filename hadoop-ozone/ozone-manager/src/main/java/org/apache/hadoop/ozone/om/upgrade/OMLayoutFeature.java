@@ -44,7 +44,9 @@ public enum OMLayoutFeature implements LayoutFeature {
 
   FILESYSTEM_SNAPSHOT(5, "Ozone version supporting snapshot"),
 
-  QUOTA(6, "Ozone quota re-calculate");
+  QUOTA(6, "Ozone quota re-calculate"),
+
+  MULTIPART_PART_TABLE(7, "Multipart upload parts stored one per row");
 
   ///////////////////////////////  /////////////////////////////
   //    Example OM Layout Feature with Actions
@@ -47,6 +47,7 @@
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.DBUpdates;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
@@ -106,6 +107,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysLightResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysWithDelimiterRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysWithDelimiterResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListTenantRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListTenantResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListTrashRequest;
@@ -234,6 +237,12 @@ public OMResponse handleReadRequest(OMRequest request) {
             request.getListKeysRequest());
         responseBuilder.setListKeysLightResponse(listKeysLightResponse);
         break;
+      case ListKeysWithDelimiter:
+        ListKeysWithDelimiterResponse listKeysWithDelimiterResponse =
+            listKeysWithDelimiter(request.getListKeysWithDelimiterRequest());
+        responseBuilder.setListKeysWithDelimiterResponse(
+            listKeysWithDelimiterResponse);
+        break;
       case ListTrash:
         ListTrashResponse listTrashResponse = listTrash(
             request.getListTrashRequest(), request.getVersion());
@@ -758,6 +767,29 @@ private ListKeysLightResponse listKeysLight(ListKeysRequest request)
     return resp.build();
   }
 
+  private ListKeysWithDelimiterResponse listKeysWithDelimiter(
+      ListKeysWithDelimiterRequest request) throws IOException {
+    ListKeysWithDelimiterResponse.Builder resp =
+        ListKeysWithDelimiterResponse.newBuilder();
+
+    ListKeysWithDelimiterResult result = impl.listKeysWithDelimiter(
+        request.getVolumeName(),
+        request.getBucketName(),
+        request.getPrefix(),
+        request.getDelimiter(),
+        request.getStartAfter(),
+        request.getMaxKeys());
+    for (BasicOmKeyInfo key : result.getKeys()) {
+      resp.addBasicKeyInfo(key.getProtobuf());
+    }
+    resp.addAllCommonPrefixes(result.getCommonPrefixes());
+    resp.setIsTruncated(result.isTruncated());
+    if (result.getNextStartKey() != null) {
+      resp.setNextStartKey(result.getNextStartKey());
+    }
+    return resp.build();
+  }
+
   @RequestFeatureValidator(
       conditions = ValidationCondition.OLDER_CLIENT_REQUESTS,
       processingPhase = RequestProcessingPhase.POST_PROCESS,
@@ -17,6 +17,9 @@
  */
 package org.apache.hadoop.ozone.security;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.hadoop.util.StringUtils;
 import org.apache.kerby.util.Hex;
 import org.slf4j.Logger;
@@ -28,6 +31,9 @@
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * AWS v4 authentication payload validator. For more details refer to AWS
@@ -40,6 +46,21 @@ final class AWSV4AuthValidator {
       LoggerFactory.getLogger(AWSV4AuthValidator.class);
   private static final String HMAC_SHA256_ALGORITHM = "HmacSHA256";
 
+  /**
+   * Signing keys by the SHA-256 hash of the secret, date, region and
+   * service.  Clients sign all requests of a day with the same key, so it
+   * only needs to be derived once.  The hash of the secret is part of the
+   * cache key, so a rotated or revoked secret never matches the keys derived
+   * from the old one, which expire after their day is over.  Keys are only
+   * added once a signature made with them has been verified, so requests
+   * with forged scopes can not fill the cache.
+   */
+  private static final Cache<List<String>, byte[]> SIGNING_KEYS =
+      CacheBuilder.newBuilder()
+          .maximumSize(10000)
+          .expireAfterWrite(2, TimeUnit.DAYS)
+          .build();
+
   private AWSV4AuthValidator() {
   }
 
@@ -76,11 +97,25 @@ private static byte[] sign(byte[] key, String msg) {
     }
   }
 
+  /**
+   * Returns the cache key of the signing key for the given secret and
+   * string to sign.
+   */
+  private static List<String> getScope(String key, String strToSign) {
+    String[] signData = StringUtils.split(StringUtils.split(strToSign,
+        '\n')[2], '/');
+    try {
+      return Arrays.asList(hash(key), signData[0], signData[1], signData[2]);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   /**
    * Returns signing key.
    *
    * @param key
-   * @param strToSign
+   * @param scope the hash of the key, date, region and service
    *
    * SignatureKey = HMAC-SHA256(HMAC-SHA256(HMAC-SHA256(HMAC-SHA256("AWS4" +
    * "<YourSecretAccessKey>","20130524"),"us-east-1"),"s3"),"aws4_request")
@@ -89,12 +124,10 @@ private static byte[] sign(byte[] key, String msg) {
    * .com/AmazonS3/latest/API/sig-v4-header-based-auth.html
    *
    * */
-  private static byte[] getSigningKey(String key, String strToSign) {
-    String[] signData = StringUtils.split(StringUtils.split(strToSign,
-        '\n')[2], '/');
-    String dateStamp = signData[0];
-    String regionName = signData[1];
-    String serviceName = signData[2];
+  private static byte[] deriveSigningKey(String key, List<String> scope) {
+    String dateStamp = scope.get(1);
+    String regionName = scope.get(2);
+    String serviceName = scope.get(3);
     byte[] kDate = sign(("AWS4" + key)
         .getBytes(StandardCharsets.UTF_8), dateStamp);
     byte[] kRegion = sign(kDate, regionName);
@@ -116,8 +149,27 @@ private static byte[] getSigningKey(String key, String strToSign) {
    */
   public static boolean validateRequest(String strToSign, String signature,
       String userKey) {
-    String expectedSignature = Hex.encode(sign(getSigningKey(userKey,
-        strToSign), strToSign));
-    return expectedSignature.equals(signature);
+    List<String> scope = getScope(userKey, strToSign);
+    byte[] kSigning = SIGNING_KEYS.getIfPresent(scope);
+    boolean cached = kSigning != null;
+    if (!cached) {
+      kSigning = deriveSigningKey(userKey, scope);
+    }
+    String expectedSignature = Hex.encode(sign(kSigning, strToSign));
+    boolean valid = expectedSignature.equals(signature);
+    if (valid && !cached) {
+      SIGNING_KEYS.put(scope, kSigning);
+    }
+    return valid;
+  }
+
+  @VisibleForTesting
+  static long getSigningKeyCacheSize() {
+    return SIGNING_KEYS.size();
+  }
+
+  @VisibleForTesting
+  static void clearSigningKeyCache() {
+    SIGNING_KEYS.invalidateAll();
   }
 }
@@ -23,6 +23,7 @@
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -76,6 +77,36 @@ public void testErrorReadGroupInputStream() throws Exception {
     }
   }
 
+  @Test
+  public void testPositionedReadGroupInputStream() throws Exception {
+    String dataString = RandomStringUtils.randomAscii(500);
+    try (KeyInputStream groupInputStream =
+             new KeyInputStream("key", createInputStreams(dataString))) {
+      byte[] resBuf = new byte[10];
+      assertEquals(10, groupInputStream.read(resBuf, 0, 10));
+
+      // positioned read spanning three parts
+      ByteBuffer buf = ByteBuffer.allocateDirect(250);
+      assertEquals(250, groupInputStream.read(150, buf));
+      buf.flip();
+      byte[] content = new byte[250];
+      buf.get(content);
+      assertEquals(dataString.substring(150, 400),
+          new String(content, UTF_8));
+
+      // the position of the stream is not affected
+      assertEquals(10, groupInputStream.getPos());
+      assertEquals(10, groupInputStream.read(resBuf, 0, 10));
+      assertEquals(dataString.substring(10, 20), new String(resBuf, UTF_8));
+
+      // positioned read at the end of the key is short, past it is EOF
+      buf.clear();
+      assertEquals(50, groupInputStream.read(450, buf));
+      buf.clear();
+      assertEquals(-1, groupInputStream.read(500, buf));
+    }
+  }
+
   @NotNull
   private List<BlockInputStream> createInputStreams(String dataString) {
     byte[] buf = dataString.getBytes(UTF_8);
@@ -96,8 +127,9 @@ private BlockInputStream createStream(byte[] buf, int offset) {
           new ByteArrayInputStream(buf, offset, 100);
 
       @Override
-      public synchronized void seek(long pos) {
-        throw new UnsupportedOperationException();
+      public synchronized void seek(long newPos) {
+        in.reset();
+        pos = in.skip(newPos);
       }
 
       @Override
@@ -121,6 +153,16 @@ public synchronized int read(byte[] b, int off, int len) {
         pos += readLen;
         return readLen;
       }
+
+      @Override
+      public synchronized int read(ByteBuffer byteBuffer) {
+        byte[] b = new byte[byteBuffer.remaining()];
+        int readLen = read(b, 0, b.length);
+        if (readLen > 0) {
+          byteBuffer.put(b, 0, readLen);
+        }
+        return readLen;
+      }
     };
 
   }
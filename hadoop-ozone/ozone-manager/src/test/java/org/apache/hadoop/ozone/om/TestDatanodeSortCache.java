@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import org.apache.hadoop.hdds.DFSConfigKeysLegacy;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
+import org.apache.hadoop.net.DNSToSwitchMapping;
+import org.apache.hadoop.net.StaticMapping;
+import org.apache.hadoop.ozone.ClientVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DatanodeSortCache}.
+ */
+public class TestDatanodeSortCache {
+
+  private final List<DatanodeDetails> datanodes = new ArrayList<>();
+  private StorageContainerLocationProtocol containerClient;
+  private DatanodeSortCache sortCache;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    for (int i = 0; i < 6; i++) {
+      datanodes.add(MockDatanodeDetails.createDatanodeDetails(
+          UUID.randomUUID().toString(), "dn" + i, "10.0.0." + i,
+          "/r" + (i / 2)));
+    }
+    containerClient = mock(StorageContainerLocationProtocol.class);
+    when(containerClient.queryNode(any(), any(), any(), anyString(),
+        anyInt())).thenReturn(toNodes(datanodes));
+
+    StaticMapping.addNodeToRack("client1", "/r1");
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setClass(
+        DFSConfigKeysLegacy.NET_TOPOLOGY_NODE_SWITCH_MAPPING_IMPL_KEY,
+        StaticMapping.class, DNSToSwitchMapping.class);
+    sortCache = new DatanodeSortCache(containerClient, conf);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    sortCache.stop();
+    StaticMapping.resetMap();
+  }
+
+  @Test
+  public void testNoSortBeforeTopologyIsLoaded() {
+    assertNull(sortCache.sortDatanodes(pipelineNodes(), "client1"));
+  }
+
+  @Test
+  public void testSortByClientLocation() {
+    sortCache.refresh();
+    assertTrue(sortCache.isTopologyLoaded());
+
+    // client1 is in /r1 together with dn2
+    List<DatanodeDetails> sorted =
+        sortCache.sortDatanodes(pipelineNodes(), "client1");
+    assertEquals(datanodes.get(2), sorted.get(0));
+    assertThat(sorted).containsExactlyInAnyOrderElementsOf(pipelineNodes());
+
+    // a datanode client reads from itself first
+    sorted = sortCache.sortDatanodes(pipelineNodes(), "10.0.0.4");
+    assertEquals(datanodes.get(4), sorted.get(0));
+    sorted = sortCache.sortDatanodes(pipelineNodes(), "dn1");
+    assertEquals(datanodes.get(0), sorted.get(0));
+
+    // an unresolved client gets the datanodes in random order
+    sorted = sortCache.sortDatanodes(pipelineNodes(), "");
+    assertThat(sorted).containsExactlyInAnyOrderElementsOf(pipelineNodes());
+  }
+
+  @Test
+  public void testCacheHitAndInvalidation() throws Exception {
+    sortCache.refresh();
+    sortCache.sortDatanodes(pipelineNodes(), "dn5");
+    assertEquals(0, sortCache.getCacheHitCount());
+
+    // the order of the input does not matter
+    List<DatanodeDetails> reversed = pipelineNodes();
+    Collections.reverse(reversed);
+    List<DatanodeDetails> sorted = sortCache.sortDatanodes(reversed, "dn5");
+    assertEquals(datanodes.get(4), sorted.get(0));
+    assertEquals(1, sortCache.getCacheHitCount());
+
+    // dn2 moved to the rack of dn4 and dn5
+    List<DatanodeDetails> moved = new ArrayList<>(datanodes);
+    moved.set(2, MockDatanodeDetails.createDatanodeDetails(
+        datanodes.get(2).getUuidString(), "dn2", "10.0.0.2", "/r2"));
+    when(containerClient.queryNode(any(), any(), any(), anyString(),
+        anyInt())).thenReturn(toNodes(moved));
+    sortCache.refresh();
+
+    sorted = sortCache.sortDatanodes(pipelineNodes(), "dn5");
+    assertEquals(1, sortCache.getCacheHitCount());
+    assertThat(sorted.subList(0, 2))
+        .containsExactlyInAnyOrder(datanodes.get(2), datanodes.get(4));
+    assertEquals(datanodes.get(0), sorted.get(2));
+  }
+
+  @Test
+  public void testUnknownDatanodeIsNotSorted() {
+    sortCache.refresh();
+    List<DatanodeDetails> nodes = pipelineNodes();
+    nodes.add(MockDatanodeDetails.randomDatanodeDetails());
+    assertNull(sortCache.sortDatanodes(nodes, "client1"));
+  }
+
+  @Test
+  public void testUnhealthyDatanodeIsNotSorted() throws Exception {
+    List<HddsProtos.Node> nodes = toNodes(datanodes);
+    nodes.set(2, nodes.get(2).toBuilder()
+        .setNodeStates(0, HddsProtos.NodeState.DEAD)
+        .build());
+    nodes.set(4, nodes.get(4).toBuilder()
+        .setNodeOperationalStates(0,
+            HddsProtos.NodeOperationalState.DECOMMISSIONED)
+        .build());
+    when(containerClient.queryNode(any(), any(), any(), anyString(),
+        anyInt())).thenReturn(nodes);
+    sortCache.refresh();
+
+    assertNull(sortCache.sortDatanodes(pipelineNodes(), "client1"));
+    assertNull(sortCache.sortDatanodes(
+        Arrays.asList(datanodes.get(0), datanodes.get(4)), "client1"));
+    assertEquals(2, sortCache.sortDatanodes(
+        Arrays.asList(datanodes.get(0), datanodes.get(1)), "client1").size());
+  }
+
+  private List<DatanodeDetails> pipelineNodes() {
+    return new ArrayList<>(Arrays.asList(
+        datanodes.get(0), datanodes.get(2), datanodes.get(4)));
+  }
+
+  private static List<HddsProtos.Node> toNodes(List<DatanodeDetails> dns) {
+    return dns.stream()
+        .map(dn -> HddsProtos.Node.newBuilder()
+            .setNodeID(dn.toProto(ClientVersion.CURRENT_VERSION))
+            .addNodeStates(HddsProtos.NodeState.HEALTHY)
+            .addNodeOperationalStates(
+                HddsProtos.NodeOperationalState.IN_SERVICE)
+            .build())
+        .collect(Collectors.toList());
+  }
+}
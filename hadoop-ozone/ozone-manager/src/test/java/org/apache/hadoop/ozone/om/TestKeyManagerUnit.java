@@ -41,6 +41,7 @@
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
 import org.apache.hadoop.hdds.protocol.StorageType;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
@@ -52,7 +53,10 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs.Builder;
@@ -88,6 +92,8 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -637,6 +643,89 @@ public void listStatus() throws Exception {
     verify(containerClient, times(1)).getContainerWithPipelineBatch(anySet());
   }
 
+  @Test
+  public void listKeysWithDelimiterFSO() throws Exception {
+    String volume = "vol";
+    String bucket = "bucket";
+    OMRequestTestUtils.addVolumeAndBucketToDB(volume, bucket,
+        metadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    long bucketId = metadataManager.getBucketId(volume, bucket);
+
+    // a/1, a/c, a/b/f, a.txt, c and the empty directory d
+    long dirA = addDirectory(volume, bucket, "a", bucketId + 1, bucketId);
+    long dirB = addDirectory(volume, bucket, "b", bucketId + 2, dirA);
+    addDirectory(volume, bucket, "d", bucketId + 3, bucketId);
+    addFile(volume, bucket, "1", bucketId + 4, dirA);
+    addFile(volume, bucket, "c", bucketId + 5, dirA);
+    addFile(volume, bucket, "f", bucketId + 6, dirB);
+    addFile(volume, bucket, "a.txt", bucketId + 7, bucketId);
+    addFile(volume, bucket, "c", bucketId + 8, bucketId);
+
+    ListKeysWithDelimiterResult result = keyManager.listKeysWithDelimiter(
+        volume, bucket, "", "/", null, 100);
+    assertEquals(Arrays.asList("a.txt", "c"), getKeyNames(result));
+    assertEquals(Arrays.asList("a/", "d/"), result.getCommonPrefixes());
+    assertFalse(result.isTruncated());
+
+    result = keyManager.listKeysWithDelimiter(volume, bucket, "a/", "/",
+        null, 100);
+    assertEquals(Arrays.asList("a/1", "a/c"), getKeyNames(result));
+    assertEquals(Arrays.asList("a/b/"), result.getCommonPrefixes());
+
+    result = keyManager.listKeysWithDelimiter(volume, bucket, "a", "/",
+        null, 100);
+    assertEquals(Arrays.asList("a.txt"), getKeyNames(result));
+    assertEquals(Arrays.asList("a/"), result.getCommonPrefixes());
+
+    // page by page
+    result = keyManager.listKeysWithDelimiter(volume, bucket, "", "/",
+        null, 1);
+    assertEquals(Arrays.asList("a/"), result.getCommonPrefixes());
+    assertTrue(result.isTruncated());
+    result = keyManager.listKeysWithDelimiter(volume, bucket, "", "/",
+        result.getNextStartKey(), 1);
+    assertEquals(Arrays.asList("a.txt"), getKeyNames(result));
+    assertTrue(result.isTruncated());
+    result = keyManager.listKeysWithDelimiter(volume, bucket, "", "/",
+        result.getNextStartKey(), 10);
+    assertEquals(Arrays.asList("c"), getKeyNames(result));
+    assertEquals(Arrays.asList("d/"), result.getCommonPrefixes());
+    assertFalse(result.isTruncated());
+
+    result = keyManager.listKeysWithDelimiter(volume, bucket, "x/", "/",
+        null, 10);
+    assertTrue(result.getKeys().isEmpty());
+    assertTrue(result.getCommonPrefixes().isEmpty());
+
+    OMException e = assertThrows(OMException.class, () -> keyManager
+        .listKeysWithDelimiter(volume, bucket, "", "-", null, 10));
+    assertEquals(OMException.ResultCodes.NOT_SUPPORTED_OPERATION,
+        e.getResult());
+  }
+
+  private long addDirectory(String volume, String bucket, String name,
+      long objectId, long parentId) throws Exception {
+    OMRequestTestUtils.addDirKeyToDirTable(false,
+        OMRequestTestUtils.createOmDirectoryInfo(name, objectId, parentId),
+        volume, bucket, 1L, metadataManager);
+    return objectId;
+  }
+
+  private void addFile(String volume, String bucket, String name,
+      long objectId, long parentId) throws Exception {
+    OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo(volume, bucket,
+        name, HddsProtos.ReplicationType.RATIS, ReplicationFactor.ONE,
+        objectId, parentId, 1L, Time.now());
+    OMRequestTestUtils.addFileToKeyTable(false, false, name, keyInfo, -1, 1L,
+        metadataManager);
+  }
+
+  private static List<String> getKeyNames(ListKeysWithDelimiterResult result) {
+    return result.getKeys().stream()
+        .map(BasicOmKeyInfo::getKeyName)
+        .collect(toList());
+  }
+
   @ParameterizedTest
   @ValueSource(strings = {"anyhost", ""})
   public void sortDatanodes(String client) throws Exception {
@@ -16,6 +16,7 @@
  */
 
 package org.apache.hadoop.ozone.om;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.StorageType;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
@@ -23,7 +24,9 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysWithDelimiterResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
@@ -71,7 +74,9 @@
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.VOLUME_NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -558,6 +563,61 @@ public void testListKeysWithFewDeleteEntriesInCache() throws Exception {
 
   }
 
+  @Test
+  public void testListKeysWithDelimiter() throws Exception {
+    String volumeName = "volumeA";
+    String bucketName = "ozoneBucket";
+    OMRequestTestUtils.addVolumeToDB(volumeName, omMetadataManager);
+    addBucketsToCache(volumeName, bucketName);
+
+    // keys with even index are in DB, others only in the table cache
+    List<String> keyNames = Arrays.asList("a/1", "a/2", "a/b/1", "a/b/2",
+        "a/c", "b/1", "c", "d/x", "e/1");
+    for (int i = 0; i < keyNames.size(); i++) {
+      addKeysToOM(volumeName, bucketName, keyNames.get(i), i);
+    }
+    // "e/1" is deleted in cache
+    omMetadataManager.getKeyTable(getDefaultBucketLayout()).addCacheEntry(
+        new CacheKey<>(omMetadataManager.getOzoneKey(volumeName, bucketName,
+            "e/1")),
+        CacheValue.get(100L));
+
+    ListKeysWithDelimiterResult result =
+        omMetadataManager.listKeysWithDelimiter(volumeName, bucketName,
+            null, "/", null, 100);
+    assertEquals(Arrays.asList("c"), getKeyNames(result));
+    assertEquals(Arrays.asList("a/", "b/", "d/"), result.getCommonPrefixes());
+    assertFalse(result.isTruncated());
+
+    result = omMetadataManager.listKeysWithDelimiter(volumeName, bucketName,
+        "a/", "/", null, 100);
+    assertEquals(Arrays.asList("a/1", "a/2", "a/c"), getKeyNames(result));
+    assertEquals(Arrays.asList("a/b/"), result.getCommonPrefixes());
+
+    // the next page continues after the common prefix
+    result = omMetadataManager.listKeysWithDelimiter(volumeName, bucketName,
+        "", "/", null, 2);
+    assertEquals(Arrays.asList("a/", "b/"), result.getCommonPrefixes());
+    assertTrue(result.isTruncated());
+    assertEquals("b/", result.getNextStartKey());
+
+    result = omMetadataManager.listKeysWithDelimiter(volumeName, bucketName,
+        "", "/", result.getNextStartKey(), 2);
+    assertEquals(Arrays.asList("c"), getKeyNames(result));
+    assertEquals(Arrays.asList("d/"), result.getCommonPrefixes());
+    assertFalse(result.isTruncated());
+    assertNull(result.getNextStartKey());
+
+    assertThrows(OMException.class, () -> omMetadataManager
+        .listKeysWithDelimiter(volumeName, "missing", "", "/", null, 10));
+  }
+
+  private static List<String> getKeyNames(ListKeysWithDelimiterResult result) {
+    return result.getKeys().stream()
+        .map(BasicOmKeyInfo::getKeyName)
+        .collect(Collectors.toList());
+  }
+
   private static BucketLayout getDefaultBucketLayout() {
     return BucketLayout.DEFAULT;
   }
@@ -870,6 +930,53 @@ private void addKeysToOM(String volumeName, String bucketName,
     }
   }
 
+  @Test
+  public void testGetMultipartPartsOfUploadsWithSharedPrefix()
+      throws Exception {
+    final String volumeName = UUID.randomUUID().toString();
+    final String bucketName = UUID.randomUUID().toString();
+    final String uploadId = OMMultipartUploadUtils.getMultipartUploadId();
+    final String keyName = "key";
+    // the key of the other upload starts with the upload key of the first
+    final String otherKeyName = keyName + "/" + uploadId + "/other";
+    final String otherUploadId = OMMultipartUploadUtils.getMultipartUploadId();
+    final String multipartKey = omMetadataManager.getMultipartKey(
+        volumeName, bucketName, keyName, uploadId);
+    final String otherMultipartKey = omMetadataManager.getMultipartKey(
+        volumeName, bucketName, otherKeyName, otherUploadId);
+    assertTrue(otherMultipartKey.startsWith(multipartKey + "/"));
+
+    for (int i = 1; i <= 3; i++) {
+      omMetadataManager.getMultipartPartTable().put(
+          omMetadataManager.getMultipartPartKey(multipartKey, i),
+          OMRequestTestUtils.createPartKeyInfo(volumeName, bucketName,
+              keyName, uploadId, i));
+      omMetadataManager.getMultipartPartTable().put(
+          omMetadataManager.getMultipartPartKey(otherMultipartKey, i),
+          OMRequestTestUtils.createPartKeyInfo(volumeName, bucketName,
+              otherKeyName, otherUploadId, i));
+    }
+    // a part not flushed yet
+    omMetadataManager.getMultipartPartTable().addCacheEntry(
+        new CacheKey<>(
+            omMetadataManager.getMultipartPartKey(otherMultipartKey, 4)),
+        CacheValue.get(1, OMRequestTestUtils.createPartKeyInfo(volumeName,
+            bucketName, otherKeyName, otherUploadId, 4)));
+
+    final OmMultipartKeyInfo multipartKeyInfo =
+        new OmMultipartKeyInfo.Builder()
+            .setUploadID(uploadId)
+            .setCreationTime(Time.now())
+            .setReplicationConfig(RatisReplicationConfig.getInstance(
+                HddsProtos.ReplicationFactor.ONE))
+            .setSchemaVersion(OmMultipartKeyInfo.SCHEMA_VERSION_PART_TABLE)
+            .build();
+    assertEquals(3, omMetadataManager.getMultipartParts(
+        multipartKey, multipartKeyInfo).size());
+    assertEquals(4, omMetadataManager.getMultipartParts(
+        otherMultipartKey, multipartKeyInfo).size());
+  }
+
   @Test
   public void testAllTablesAreProperInOMMetadataManagerImpl() {
     Set<String> tablesByDefinition =
@@ -34,6 +34,7 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,8 +48,10 @@
 import static org.apache.hadoop.hdds.client.ReplicationConfig.fromTypeAndFactor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -167,6 +170,57 @@ public void testGetContainerLocationsWithScmFailures() throws IOException {
     assertEquals(runtimeException, actualRt.getCause());
   }
 
+  @Test
+  public void testStaleLocationInvalidatesPipeline() throws IOException {
+    ContainerWithPipeline first = createPipeline(1L);
+    Pipeline shared = first.getPipeline();
+    ContainerWithPipeline second = new ContainerWithPipeline(
+        new ContainerInfo.Builder().setContainerID(2L).build(), shared);
+    ContainerWithPipeline third = createPipeline(3L);
+    when(containerLocationProtocol
+        .getContainerWithPipelineBatch(eq(newHashSet(1L, 2L, 3L))))
+        .thenReturn(asList(first, second, third));
+    scmClient.getContainerLocations(newHashSet(1L, 2L, 3L), false);
+
+    // the pipeline of container 1 was closed
+    ContainerWithPipeline moved = createPipeline(1L);
+    when(containerLocationProtocol
+        .getContainerWithPipelineBatch(eq(newHashSet(1L))))
+        .thenReturn(asList(moved));
+    Map<Long, Pipeline> locations =
+        scmClient.getContainerLocations(newHashSet(1L), true);
+    assertEquals(moved.getPipeline(), locations.get(1L));
+
+    ContainerLocationCacheMetrics metrics =
+        scmClient.getContainerCacheStaleness();
+    assertEquals(1, metrics.getStaleLocations());
+    assertEquals(1, metrics.getPipelineInvalidations());
+
+    // container 2 shared the closed pipeline, container 3 did not
+    ContainerWithPipeline reloaded = createPipeline(2L);
+    when(containerLocationProtocol
+        .getContainerWithPipelineBatch(eq(newHashSet(2L))))
+        .thenReturn(asList(reloaded));
+    locations = scmClient.getContainerLocations(newHashSet(2L, 3L), false);
+    assertEquals(reloaded.getPipeline(), locations.get(2L));
+    assertEquals(third.getPipeline(), locations.get(3L));
+    verify(containerLocationProtocol, times(1))
+        .getContainerWithPipelineBatch(newHashSet(2L));
+  }
+
+  @Test
+  public void testUpdateContainerLocations() throws IOException {
+    ContainerWithPipeline location = createPipeline(1L);
+    scmClient.updateContainerLocations(
+        Collections.singletonMap(1L, location.getPipeline()));
+
+    Map<Long, Pipeline> locations =
+        scmClient.getContainerLocations(newHashSet(1L), false);
+    assertEquals(location.getPipeline(), locations.get(1L));
+    verify(containerLocationProtocol, never())
+        .getContainerWithPipelineBatch(any());
+  }
+
   ContainerWithPipeline createPipeline(long containerId) {
     ContainerInfo containerInfo = new ContainerInfo.Builder()
         .setContainerID(containerId)
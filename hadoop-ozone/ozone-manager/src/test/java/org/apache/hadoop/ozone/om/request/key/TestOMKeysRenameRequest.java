@@ -110,6 +110,37 @@ public void testKeysRenameRequestFail() throws Exception {
     assertEquals("testKey", unRenamedKeys.getFromKeyName());
   }
 
+  @Test
+  public void testKeysRenameRequestExistingTarget() throws Exception {
+    OMRequest modifiedOmRequest = createRenameKeyRequest(false);
+    String existingKey = parentDir.concat("/newKey0");
+    OMRequestTestUtils.addKeyToTableCache(volumeName, bucketName,
+        existingKey, HddsProtos.ReplicationType.RATIS,
+        HddsProtos.ReplicationFactor.THREE, omMetadataManager);
+
+    OMKeysRenameRequest omKeysRenameRequest =
+        new OMKeysRenameRequest(modifiedOmRequest, getBucketLayout());
+
+    OMClientResponse omKeysRenameResponse =
+        omKeysRenameRequest.validateAndUpdateCache(ozoneManager, 100L);
+
+    assertEquals(OzoneManagerProtocolProtos.Status.PARTIAL_RENAME,
+        omKeysRenameResponse.getOMResponse().getStatus());
+    RenameKeysMap unRenamedKeys = omKeysRenameResponse.getOMResponse()
+        .getRenameKeysResponse().getUnRenamedKeys(0);
+    assertEquals(parentDir.concat("/key0"), unRenamedKeys.getFromKeyName());
+
+    // The source of the failed rename is left in place.
+    assertNotNull(omMetadataManager.getKeyTable(getBucketLayout())
+        .get(omMetadataManager.getOzoneKey(volumeName, bucketName,
+            parentDir.concat("/key0"))));
+    for (int i = 1; i < count; i++) {
+      assertNull(omMetadataManager.getKeyTable(getBucketLayout())
+          .get(omMetadataManager.getOzoneKey(volumeName, bucketName,
+              parentDir.concat("/key" + i))));
+    }
+  }
+
   /**
    * Create OMRequest which encapsulates RenameKeyRequest.
    *
@@ -24,14 +24,20 @@
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
 import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
     .OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PartKeyInfo;
 import org.apache.hadoop.util.Time;
 import org.junit.jupiter.api.Test;
 
@@ -119,6 +125,63 @@ public void testValidateAndUpdateCacheSuccess() throws Exception {
         .get(partKey));
   }
 
+  @Test
+  public void testValidateAndUpdateCacheWithPartTable() throws Exception {
+    when(ozoneManager.getVersionManager()
+        .isAllowed(OMLayoutFeature.MULTIPART_PART_TABLE)).thenReturn(true);
+    String volumeName = UUID.randomUUID().toString();
+    String bucketName = UUID.randomUUID().toString();
+    String keyName = getKeyName();
+
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, getBucketLayout());
+
+    createParentPath(volumeName, bucketName);
+
+    OMRequest initiateMPURequest = doPreExecuteInitiateMPU(volumeName,
+        bucketName, keyName);
+
+    OMClientResponse omClientResponse =
+        getS3InitiateMultipartUploadReq(initiateMPURequest)
+            .validateAndUpdateCache(ozoneManager, 1L);
+
+    String multipartUploadID = omClientResponse.getOMResponse()
+        .getInitiateMultiPartUploadResponse().getMultipartUploadID();
+    String multipartKey = omMetadataManager.getMultipartKey(volumeName,
+        bucketName, keyName, multipartUploadID);
+
+    // Commit the same part twice, the second one replaces the first one.
+    for (long clientID = 1; clientID <= 2; clientID++) {
+      OMRequest commitMultipartRequest = doPreExecuteCommitMPU(volumeName,
+          bucketName, keyName, clientID, multipartUploadID, 1);
+      addKeyToOpenKeyTable(volumeName, bucketName, keyName, clientID);
+
+      omClientResponse = getS3MultipartUploadCommitReq(commitMultipartRequest)
+          .validateAndUpdateCache(ozoneManager, clientID + 1);
+      assertEquals(OzoneManagerProtocolProtos.Status.OK,
+          omClientResponse.getOMResponse().getStatus());
+
+      BatchOperation batchOperation =
+          omMetadataManager.getStore().initBatchOperation();
+      omClientResponse.checkAndUpdateDB(omMetadataManager, batchOperation);
+      omMetadataManager.getStore().commitBatchOperation(batchOperation);
+    }
+
+    // The part is stored in its own row, not in the multipart info.
+    OmMultipartKeyInfo multipartKeyInfo =
+        omMetadataManager.getMultipartInfoTable().get(multipartKey);
+    assertTrue(multipartKeyInfo.hasPartTable());
+    assertEquals(0, multipartKeyInfo.getPartKeyInfoMap().size());
+    assertEquals(1L, multipartKeyInfo.getUpdateID());
+
+    PartKeyInfo partKeyInfo = omMetadataManager.getMultipartPartTable()
+        .get(omMetadataManager.getMultipartPartKey(multipartKey, 1));
+    assertNotNull(partKeyInfo);
+    assertEquals(3L, partKeyInfo.getPartKeyInfo().getUpdateID());
+    assertEquals(1, omMetadataManager.getMultipartParts(multipartKey,
+        multipartKeyInfo).size());
+  }
+
   @Test
   public void testValidateAndUpdateCacheMultipartNotFound() throws Exception {
     String volumeName = UUID.randomUUID().toString();
@@ -23,6 +23,8 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +37,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature;
 import org.junit.jupiter.api.Test;
 
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
@@ -81,6 +84,27 @@ public void testValidateAndUpdateCacheSuccess() throws Exception {
     checkDeleteTableCount(volumeName, bucketName, keyName, 1, uploadId);
   }
 
+  @Test
+  public void testValidateAndUpdateCacheSuccessWithPartTable()
+      throws Exception {
+    when(ozoneManager.getVersionManager()
+        .isAllowed(OMLayoutFeature.MULTIPART_PART_TABLE)).thenReturn(true);
+    String volumeName = UUID.randomUUID().toString();
+    String bucketName = UUID.randomUUID().toString();
+    String keyName = getKeyName();
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, getBucketLayout());
+
+    String uploadId = checkValidateAndUpdateCacheSuccess(
+        volumeName, bucketName, keyName);
+
+    // The parts of the completed upload are removed from the part table.
+    String multipartKey = getMultipartKey(volumeName, bucketName, keyName,
+        uploadId);
+    assertNull(omMetadataManager.getMultipartPartTable()
+        .get(omMetadataManager.getMultipartPartKey(multipartKey, 1)));
+  }
+
   public void checkDeleteTableCount(String volumeName,
       String bucketName, String keyName, int count, String uploadId)
       throws Exception {
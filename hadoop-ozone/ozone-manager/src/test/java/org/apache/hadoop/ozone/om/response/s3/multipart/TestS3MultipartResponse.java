@@ -290,7 +290,7 @@ public S3MultipartUploadCommitPartResponse createS3CommitMPUResponseFSO(
                             .newBuilder().setPartName(volumeName)).build();
 
     return new S3MultipartUploadCommitPartResponseWithFSO(omResponse,
-        multipartKey, openKey, multipartKeyInfo, oldPartKeyInfo,
+        multipartKey, openKey, multipartKeyInfo, oldPartKeyInfo, null,
         openPartKeyInfoToBeDeleted, isRatisEnabled, omBucketInfo,
         getBucketLayout());
   }
@@ -324,7 +324,8 @@ public S3MultipartUploadCompleteResponse createS3CompleteMPUResponseFSO(
 
     return new S3MultipartUploadCompleteResponseWithFSO(omResponse,
         multipartKey, multipartOpenKey, omKeyInfo,  allKeyInfoToRemove,
-        getBucketLayout(), omBucketInfo, volumeId, bucketId);
+        Collections.emptyList(), getBucketLayout(), omBucketInfo, volumeId,
+        bucketId);
   }
 
   protected S3InitiateMultipartUploadResponse getS3InitiateMultipartUploadResp(
@@ -36,12 +36,14 @@
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
+import org.apache.hadoop.ozone.om.DeletingServiceMetrics;
 import org.apache.hadoop.ozone.om.IOmMetadataReader;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OmSnapshot;
 import org.apache.hadoop.ozone.om.OmTestManagers;
 import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.PendingKeysDeletion;
 import org.apache.hadoop.ozone.om.ScmBlockLocationTestingClient;
 import org.apache.hadoop.ozone.common.BlockGroup;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
@@ -79,10 +81,12 @@
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.THREE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SNAPSHOT_DELETING_SERVICE_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_SERVICE_WORKERS;
 import static org.apache.hadoop.ozone.om.OmSnapshotManager.getSnapshotPrefix;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -169,6 +173,73 @@ public void checkIfDeleteServiceIsDeletingKeys()
         Integer.MAX_VALUE).getKeyBlocksList().size());
   }
 
+  @Test
+  public void checkIfDeleteServiceWithMultipleWorkersIsDeletingKeys()
+      throws IOException, TimeoutException, InterruptedException,
+      AuthenticationException {
+    OzoneConfiguration conf = createConfAndInitValues();
+    conf.setInt(OZONE_KEY_DELETING_SERVICE_WORKERS, 4);
+    OmTestManagers omTestManagers
+        = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+    KeyDeletingService keyDeletingService =
+        (KeyDeletingService) keyManager.getDeletingService();
+    DeletingServiceMetrics metrics = keyDeletingService.getMetrics();
+    long reclaimedBefore = metrics.getNumKeysReclaimed();
+    // each deleting service has its own metrics
+    DirectoryDeletingService dirDeletingService =
+        (DirectoryDeletingService) keyManager.getDirDeletingService();
+    assertNotSame(metrics, dirDeletingService.getMetrics());
+
+    final int keyCount = 100;
+    createAndDeleteKeys(keyManager, keyCount, 1);
+    GenericTestUtils.waitFor(
+        () -> keyDeletingService.getDeletedKeyCount().get() >= keyCount,
+        1000, 10000);
+    assertEquals(0, keyManager.getPendingDeletionKeys(
+        Integer.MAX_VALUE).getKeyBlocksList().size());
+    assertThat(metrics.getNumKeysReclaimed() - reclaimedBefore)
+        .isGreaterThanOrEqualTo(keyCount);
+  }
+
+  @Test
+  public void testAdaptiveKeyLimitPerTask()
+      throws IOException, AuthenticationException {
+    OzoneConfiguration conf = createConfAndInitValues();
+    OmTestManagers omTestManagers
+        = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+    KeyDeletingService keyDeletingService =
+        (KeyDeletingService) keyManager.getDeletingService();
+    keyDeletingService.suspend();
+    keyDeletingService.setKeyLimitPerTask(8000);
+
+    // runs slower than the 1s service interval shrink the batch
+    keyDeletingService.adjustKeyLimitPerTask(8000, 2000);
+    assertEquals(4000, keyDeletingService.getCurrentKeyLimitPerTask());
+    keyDeletingService.adjustKeyLimitPerTask(4000, 2000);
+    keyDeletingService.adjustKeyLimitPerTask(2000, 2000);
+    keyDeletingService.adjustKeyLimitPerTask(1000, 2000);
+    assertEquals(1000, keyDeletingService.getCurrentKeyLimitPerTask());
+
+    // a run that is fast but not full keeps the batch size
+    keyDeletingService.adjustKeyLimitPerTask(10, 100);
+    assertEquals(1000, keyDeletingService.getCurrentKeyLimitPerTask());
+
+    // fast full runs grow it back up to the configured limit
+    keyDeletingService.adjustKeyLimitPerTask(1000, 100);
+    assertEquals(2000, keyDeletingService.getCurrentKeyLimitPerTask());
+    for (int i = 0; i < 5; i++) {
+      keyDeletingService.adjustKeyLimitPerTask(
+          keyDeletingService.getCurrentKeyLimitPerTask(), 100);
+    }
+    assertEquals(8000, keyDeletingService.getCurrentKeyLimitPerTask());
+  }
+
   @Test
   public void checkIfDeleteServiceWithFailingSCM()
       throws IOException, TimeoutException, InterruptedException,
@@ -445,8 +516,11 @@ public void checkDeletedTableCleanUpForSnapshot()
         () -> keyDeletingService.getDeletedKeyCount().get() >= 1,
         1000, 10000);
     assertThat(keyDeletingService.getRunCount().get()).isGreaterThan(1);
-    assertEquals(0, keyManager
-        .getPendingDeletionKeys(Integer.MAX_VALUE).getKeyBlocksList().size());
+    PendingKeysDeletion pendingKeysDeletion =
+        keyManager.getPendingDeletionKeys(Integer.MAX_VALUE);
+    assertEquals(0, pendingKeysDeletion.getKeyBlocksList().size());
+    // the key kept for the snapshot is still scanned in each run
+    assertEquals(1, pendingKeysDeletion.getScannedKeys());
 
     // deletedTable should have deleted key of the snapshot bucket
     assertFalse(metadataManager.getDeletedTable().isEmpty());
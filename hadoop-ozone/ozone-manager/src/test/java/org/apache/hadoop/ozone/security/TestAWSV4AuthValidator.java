@@ -17,6 +17,7 @@
  */
 package org.apache.hadoop.ozone.security;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -24,6 +25,8 @@
 import java.util.Collection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests AWS V4 Auth Validator.
@@ -85,4 +88,29 @@ public void testValidateRequest(String stringToSign, String sign,
     assertEquals(result, AWSV4AuthValidator.validateRequest(
             strToSign, signature, awsAccessKey));
   }
+
+  @Test
+  public void testSigningKeyIsCachedPerSecret() {
+    Object[] valid = data().iterator().next();
+    String stringToSign = (String) valid[0];
+    String sign = (String) valid[1];
+    String secret = (String) valid[2];
+    AWSV4AuthValidator.clearSigningKeyCache();
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(AWSV4AuthValidator.validateRequest(
+          stringToSign, sign, secret));
+    }
+    assertEquals(1, AWSV4AuthValidator.getSigningKeyCacheSize());
+
+    // a rotated secret does not match the key derived from the old one,
+    // and keys of failed validations are not cached
+    assertFalse(AWSV4AuthValidator.validateRequest(
+        stringToSign, sign, secret + "rotated"));
+    assertFalse(AWSV4AuthValidator.validateRequest(
+        stringToSign, sign + "0", secret));
+    assertEquals(1, AWSV4AuthValidator.getSigningKeyCacheSize());
+    assertTrue(AWSV4AuthValidator.validateRequest(
+        stringToSign, sign, secret));
+  }
 }
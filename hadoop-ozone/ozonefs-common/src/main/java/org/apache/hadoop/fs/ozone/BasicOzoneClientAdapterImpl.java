@@ -27,6 +27,7 @@
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.hadoop.crypto.key.KeyProvider;
@@ -299,6 +300,15 @@ public void renameKey(String key, String newKeyName) throws IOException {
     bucket.renameKey(key, newKeyName);
   }
 
+  @Override
+  @SuppressWarnings("deprecation")
+  public void renameKeys(Map<String, String> keyMap) throws IOException {
+    incrementCounter(Statistic.OBJECTS_RENAMED, keyMap.size());
+    // Deprecated, but still the only way to rename many keys in a single
+    // OM request; there is no replacement for it in OzoneBucket.
+    bucket.renameKeys(keyMap);
+  }
+
   @Override
   public void rename(String pathStr, String newPath) throws IOException {
     throw new IOException("Please use renameKey instead for o3fs.");
@@ -19,6 +19,7 @@
 package org.apache.hadoop.fs.ozone;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
@@ -61,13 +62,25 @@
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -75,6 +88,8 @@
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_DEFAULT_USER;
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_USER_DIR;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_HSYNC_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCHES_IN_FLIGHT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCHES_IN_FLIGHT_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
@@ -112,6 +127,8 @@ public class BasicOzoneFileSystem extends FileSystem {
 
   private int listingPageSize =
       OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+  private int batchesInFlight = OZONE_FS_ITERATE_BATCHES_IN_FLIGHT_DEFAULT;
+  private ExecutorService batchExecutor;
 
   private boolean hsyncEnabled = OZONE_FS_HSYNC_ENABLED_DEFAULT;
   private boolean isRatisStreamingEnabled
@@ -130,6 +147,12 @@ public class BasicOzoneFileSystem extends FileSystem {
 
   private static final int PATH_DEPTH_TO_BUCKET = 0;
 
+  /**
+   * Upper bound for the total length of key names in a rename or delete
+   * batch, to stay well below the size limit of an OM Ratis log entry.
+   */
+  private static final int MAX_BATCH_BYTES = 4 * 1024 * 1024;
+
   @Override
   public void initialize(URI name, Configuration conf) throws IOException {
     super.initialize(name, conf);
@@ -139,6 +162,20 @@ public void initialize(URI name, Configuration conf) throws IOException {
     listingPageSize = OzoneClientUtils.limitValue(listingPageSize,
         OZONE_FS_LISTING_PAGE_SIZE,
         OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    batchesInFlight = Math.max(1, conf.getInt(
+        OZONE_FS_ITERATE_BATCHES_IN_FLIGHT,
+        OZONE_FS_ITERATE_BATCHES_IN_FLIGHT_DEFAULT));
+    if (batchesInFlight > 1) {
+      // One thread per batch in flight, shared by the renames and deletes
+      // running concurrently on this file system.
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(
+          batchesInFlight, batchesInFlight, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(),
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("O3FSBatch-%d").build());
+      executor.allowCoreThreadTimeOut(true);
+      batchExecutor = executor;
+    }
     isRatisStreamingEnabled = conf.getBoolean(
         OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED,
         OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT);
@@ -230,6 +267,9 @@ protected boolean isHsyncEnabled() {
 
   @Override
   public void close() throws IOException {
+    if (batchExecutor != null) {
+      batchExecutor.shutdownNow();
+    }
     try {
       adapter.close();
     } finally {
@@ -347,25 +387,43 @@ private class RenameIterator extends OzoneListingIterator {
 
     @Override
     boolean processKey(List<String> keyList) throws IOException {
-      // TODO RenameKey needs to be changed to batch operation
-      for (String key : keyList) {
+      if (keyList.size() == 1) {
+        String key = keyList.get(0);
         String newKeyName = dstKey.concat(key.substring(srcKey.length()));
         try {
           adapter.renameKey(key, newKeyName);
         } catch (OMException ome) {
           LOG.error("Key rename failed for source key: {} to " +
               "destination key: {}.", key, newKeyName, ome);
-          if (OMException.ResultCodes.KEY_ALREADY_EXISTS == ome.getResult() ||
-              OMException.ResultCodes.KEY_RENAME_ERROR  == ome.getResult() ||
-              OMException.ResultCodes.KEY_NOT_FOUND == ome.getResult()) {
-            return false;
-          } else {
-            throw ome;
-          }
+          return handleRenameFailure(ome);
         }
+        return true;
+      }
+      Map<String, String> keyMap = new LinkedHashMap<>();
+      for (String key : keyList) {
+        keyMap.put(key, dstKey.concat(key.substring(srcKey.length())));
+      }
+      try {
+        adapter.renameKeys(keyMap);
+      } catch (OMException ome) {
+        LOG.error("Rename of {} keys from {} to {} failed.",
+            keyMap.size(), srcKey, dstKey, ome);
+        return handleRenameFailure(ome);
       }
       return true;
     }
+
+    private boolean handleRenameFailure(OMException ome) throws OMException {
+      switch (ome.getResult()) {
+      case KEY_ALREADY_EXISTS:
+      case KEY_RENAME_ERROR:
+      case KEY_NOT_FOUND:
+      case PARTIAL_RENAME:
+        return false;
+      default:
+        throw ome;
+      }
+    }
   }
 
   /**
@@ -1196,26 +1254,30 @@ boolean iterate() throws IOException {
           OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT);
       if (status.isDirectory()) {
         LOG.trace("Iterating directory:{}", pathKey);
-        while (keyIterator.hasNext()) {
+        Deque<CompletableFuture<Boolean>> inFlight = new ArrayDeque<>();
+        boolean success = true;
+        long batchBytes = 0;
+        while (success && keyIterator.hasNext()) {
           BasicKeyInfo key = keyIterator.next();
           LOG.trace("iterating key:{}", key.getName());
           if (!key.getName().equals("")) {
             keyList.add(key.getName());
+            batchBytes += key.getName().getBytes(StandardCharsets.UTF_8)
+                .length;
           }
-          if (keyList.size() >= batchSize) {
-            if (!processKey(keyList)) {
-              return false;
-            } else {
-              keyList.clear();
-            }
+          if (keyList.size() >= batchSize || batchBytes >= MAX_BATCH_BYTES) {
+            success = submitBatch(keyList, inFlight);
+            keyList = new ArrayList<>();
+            batchBytes = 0;
           }
         }
-        if (keyList.size() > 0) {
-          if (!processKey(keyList)) {
-            return false;
-          }
+        if (success && keyList.size() > 0) {
+          success = submitBatch(keyList, inFlight);
         }
-        return true;
+        while (!inFlight.isEmpty()) {
+          success &= await(inFlight.poll());
+        }
+        return success;
       } else {
         LOG.trace("iterating file:{}", path);
         keyList.add(pathKey);
@@ -1223,6 +1285,54 @@ boolean iterate() throws IOException {
       }
     }
 
+    /**
+     * Processes a batch of keys, either right away or, if batches are
+     * pipelined, on the batch executor. Waits for the oldest batch in
+     * flight if the limit of in-flight batches is reached.
+     *
+     * @return false if a batch completed so far failed, in which case the
+     * given batch is not processed, true otherwise.
+     */
+    private boolean submitBatch(List<String> keyList,
+        Deque<CompletableFuture<Boolean>> inFlight) throws IOException {
+      if (batchExecutor == null) {
+        return processKey(keyList);
+      }
+      boolean success = true;
+      while (inFlight.size() >= batchesInFlight) {
+        success &= await(inFlight.poll());
+      }
+      if (!success) {
+        return false;
+      }
+      final UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+      inFlight.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return ugi.doAs((PrivilegedExceptionAction<Boolean>)
+              () -> processKey(keyList));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new CompletionException(e);
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+      }, batchExecutor));
+      return success;
+    }
+
+    private boolean await(CompletableFuture<Boolean> batch)
+        throws IOException {
+      try {
+        return batch.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        throw new IOException("Failed to process keys under " + path, cause);
+      }
+    }
+
     String getPathKey() {
       return pathKey;
     }
@@ -28,6 +28,7 @@
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Preconditions;
@@ -437,6 +438,12 @@ public void renameKey(String key, String newKeyName) throws IOException {
     throw new IOException("OFS doesn't support renameKey, use rename instead.");
   }
 
+  @Override
+  public void renameKeys(Map<String, String> keyMap) throws IOException {
+    throw new IOException(
+        "OFS doesn't support renameKeys, use rename instead.");
+  }
+
   /**
    * Rename a path into another.
    *
@@ -18,6 +18,7 @@
 package org.apache.hadoop.fs.ozone;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.CreateFlag;
@@ -64,6 +65,7 @@
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -71,6 +73,13 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_DEFAULT_USER;
@@ -80,6 +89,10 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_THREADS;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
@@ -115,6 +128,7 @@ public class BasicRootedOzoneFileSystem extends FileSystem {
 
   private int listingPageSize =
       OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+  private ExecutorService listingPrefetchExecutor;
 
   private boolean hsyncEnabled = OZONE_FS_HSYNC_ENABLED_DEFAULT;
   private boolean isRatisStreamingEnabled
@@ -140,6 +154,17 @@ public void initialize(URI name, Configuration conf) throws IOException {
     listingPageSize = OzoneClientUtils.limitValue(listingPageSize,
         OZONE_FS_LISTING_PAGE_SIZE,
         OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    if (conf.getBoolean(OZONE_FS_LISTING_PREFETCH_ENABLED,
+        OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT)) {
+      // Prefetches beyond the limit are rejected, those pages are fetched
+      // when the iterator reaches them.
+      listingPrefetchExecutor = new ThreadPoolExecutor(0,
+          Math.max(1, conf.getInt(OZONE_FS_LISTING_PREFETCH_THREADS,
+              OZONE_FS_LISTING_PREFETCH_THREADS_DEFAULT)),
+          60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("OFSListingPrefetch-%d").build());
+    }
     isRatisStreamingEnabled = conf.getBoolean(
         OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED,
         OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT);
@@ -216,6 +241,9 @@ protected boolean isHsyncEnabled() {
 
   @Override
   public void close() throws IOException {
+    if (listingPrefetchExecutor != null) {
+      listingPrefetchExecutor.shutdownNow();
+    }
     try {
       adapter.close();
     } finally {
@@ -1161,6 +1189,8 @@ public RemoteIterator<FileStatus> listStatusIterator(Path f)
     private Path p;
     private T curStat = null;
     private String startPath = "";
+    // next page being fetched in the background, if prefetch is enabled
+    private CompletableFuture<List<FileStatus>> nextListing;
 
     /**
      * Constructor to initialize OzoneFileStatusIterator.
@@ -1178,10 +1208,70 @@ private OzoneFileStatusIterator(Path p) throws IOException {
             thisListing.get(thisListing.size() - 1).getPath());
         LOG.debug("Got {} file status, next start path {}",
             thisListing.size(), startPath);
+        prefetchNextListing();
       }
       i = 0;
     }
 
+    /**
+     * @return true if the current listing is a full page, so there may be
+     * more entries left on the server.
+     */
+    private boolean isFullPage() {
+      return thisListing.size() == listingPageSize ||
+          thisListing.size() == listingPageSize - 1;
+    }
+
+    /**
+     * Starts fetching the page after the current one in the background,
+     * if prefetch is enabled, the current page is full and a prefetch thread
+     * is free.
+     */
+    private void prefetchNextListing() throws IOException {
+      if (listingPrefetchExecutor == null || !isFullPage()) {
+        return;
+      }
+      final String nextStartPath = startPath;
+      final UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+      try {
+        nextListing = CompletableFuture.supplyAsync(() -> {
+          try {
+            return ugi.doAs((PrivilegedExceptionAction<List<FileStatus>>)
+                () -> listFileStatus(p, nextStartPath));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+        }, listingPrefetchExecutor);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("No thread free to prefetch the listing of {} after {}",
+            p, nextStartPath);
+      }
+    }
+
+    /**
+     * @return the next page of the listing, either from the background
+     * prefetch or by fetching it now.
+     */
+    private List<FileStatus> fetchNextListing() throws IOException {
+      if (nextListing == null) {
+        return listFileStatus(p, startPath);
+      }
+      try {
+        return nextListing.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        throw new IOException("Failed to list " + p, cause);
+      } finally {
+        nextListing = null;
+      }
+    }
+
     /**
      * @return true if next entry exists false otherwise.
      * @throws IOException
@@ -1209,15 +1299,15 @@ private boolean hasNextNoFilter() throws IOException {
         return false;
       }
       if (i >= thisListing.size()) {
-        if (startPath != null && (thisListing.size() == listingPageSize ||
-            thisListing.size() == listingPageSize - 1)) {
+        if (startPath != null && isFullPage()) {
           // current listing is exhausted & fetch a new listing
-          thisListing = listFileStatus(p, startPath);
+          thisListing = fetchNextListing();
           if (thisListing != null && !thisListing.isEmpty()) {
             startPath = pathToKey(
                 thisListing.get(thisListing.size() - 1).getPath());
             LOG.debug("Got {} file status, next start path {}",
                 thisListing.size(), startPath);
+            prefetchNextListing();
           } else {
             return false;
           }
@@ -17,27 +17,132 @@
  */
 package org.apache.hadoop.fs.ozone;
 
+import org.apache.hadoop.fs.ByteBufferPositionedReadable;
+import org.apache.hadoop.fs.FSExceptionMessages;
 import org.apache.hadoop.fs.FileSystem.Statistics;
+import org.apache.hadoop.fs.PositionedReadable;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.util.StringUtils;
 
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.List;
+import java.util.function.IntFunction;
 
-final class CapableOzoneFSInputStream extends OzoneFSInputStream
-    implements StreamCapabilities {
+/**
+ * Input stream for Hadoop 3 clients, which in addition to the basic stream
+ * supports positioned reads into ByteBuffers.
+ */
+class CapableOzoneFSInputStream extends OzoneFSInputStream
+    implements ByteBufferPositionedReadable, StreamCapabilities {
+
+  private static final int EOF = -1;
+
+  // Vectored reads are only part of the API since Hadoop 3.3.5, so the
+  // stream implementing them is only loaded if the runtime has them.
+  private static final boolean VECTORED_IO_SUPPORTED =
+      isVectoredIOSupported();
 
   CapableOzoneFSInputStream(InputStream inputStream, Statistics statistics) {
     super(inputStream, statistics);
   }
 
+  /**
+   * @return a stream that also supports vectored reads if the Hadoop
+   * version on the classpath has them, a {@link CapableOzoneFSInputStream}
+   * otherwise.
+   */
+  static CapableOzoneFSInputStream create(InputStream inputStream,
+      Statistics statistics) {
+    return VECTORED_IO_SUPPORTED
+        ? new VectoredOzoneFSInputStream(inputStream, statistics)
+        : new CapableOzoneFSInputStream(inputStream, statistics);
+  }
+
+  private static boolean isVectoredIOSupported() {
+    try {
+      PositionedReadable.class.getMethod("readVectored",
+          List.class, IntFunction.class);
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
   @Override
   public boolean hasCapability(String capability) {
     switch (StringUtils.toLowerCase(capability)) {
     case StreamCapabilities.READBYTEBUFFER:
+    case StreamCapabilities.PREADBYTEBUFFER:
     case StreamCapabilities.UNBUFFER:
       return true;
     default:
       return false;
     }
   }
+
+  /**
+   * Reads up to {@code buf.remaining()} bytes starting at the given position
+   * without changing the current position of the stream.
+   * For unencrypted keys the read does not lock the whole stream, so
+   * concurrent positioned reads of different blocks proceed in parallel.
+   */
+  @Override
+  public int read(long position, ByteBuffer buf) throws IOException {
+    if (buf.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+    InputStream in = getWrappedStream();
+    if (in instanceof MultipartInputStream) {
+      int bytesRead = ((MultipartInputStream) in).read(position, buf);
+      Statistics statistics = getStatistics();
+      if (statistics != null && bytesRead > 0) {
+        statistics.incrementBytesRead(bytesRead);
+      }
+      return bytesRead;
+    }
+    return seekAndRead(position, buf);
+  }
+
+  private synchronized int seekAndRead(long position, ByteBuffer buf)
+      throws IOException {
+    if (!buf.hasRemaining()) {
+      return 0;
+    }
+    long oldPos = getPos();
+    try {
+      try {
+        seek(position);
+      } catch (EOFException e) {
+        return EOF;
+      }
+      int totalBytesRead = 0;
+      while (buf.hasRemaining()) {
+        int bytesRead = read(buf);
+        if (bytesRead <= 0) {
+          break;
+        }
+        totalBytesRead += bytesRead;
+      }
+      return totalBytesRead == 0 ? EOF : totalBytesRead;
+    } finally {
+      seek(oldPos);
+    }
+  }
+
+  @Override
+  public void readFully(long position, ByteBuffer buf) throws IOException {
+    long pos = position;
+    while (buf.hasRemaining()) {
+      int bytesRead = read(pos, buf);
+      if (bytesRead < 0) {
+        throw new EOFException(FSExceptionMessages.EOF_IN_READ_FULLY);
+      }
+      pos += bytesRead;
+    }
+  }
 }
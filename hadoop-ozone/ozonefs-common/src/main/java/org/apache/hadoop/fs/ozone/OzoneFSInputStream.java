@@ -131,6 +131,14 @@ public int read(ByteBuffer buf) throws IOException {
     return bytesRead;
   }
 
+  InputStream getWrappedStream() {
+    return inputStream;
+  }
+
+  Statistics getStatistics() {
+    return statistics;
+  }
+
   @Override
   public void unbuffer() {
     if (inputStream instanceof CanUnbuffer) {
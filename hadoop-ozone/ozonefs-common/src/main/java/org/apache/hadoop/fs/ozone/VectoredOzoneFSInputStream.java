@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.fs.ozone;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.fs.FileRange;
+import org.apache.hadoop.fs.FileSystem.Statistics;
+import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.util.StringUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Input stream for Hadoop 3.3.5 or later clients, which also supports
+ * vectored reads.
+ * <p>
+ * Only the public {@link FileRange} API is used, so that the stream does not
+ * depend on Hadoop internals that change between releases.
+ * Created by {@link CapableOzoneFSInputStream#create} only if the runtime
+ * supports vectored reads.
+ */
+final class VectoredOzoneFSInputStream extends CapableOzoneFSInputStream {
+
+  // Upper bound of concurrent range reads issued by vectored reads of all
+  // streams in the JVM; once reached, the calling thread reads the range.
+  private static final int MAX_VECTORED_READ_THREADS = 32;
+
+  private static final ExecutorService VECTORED_READ_EXECUTOR =
+      new ThreadPoolExecutor(0, MAX_VECTORED_READ_THREADS,
+          60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("ozone-vectored-read-%d").build(),
+          new ThreadPoolExecutor.CallerRunsPolicy());
+
+  VectoredOzoneFSInputStream(InputStream inputStream, Statistics statistics) {
+    super(inputStream, statistics);
+  }
+
+  @Override
+  public boolean hasCapability(String capability) {
+    return StreamCapabilities.VECTOREDIO.equals(
+        StringUtils.toLowerCase(capability))
+        || super.hasCapability(capability);
+  }
+
+  /**
+   * Reads the given ranges asynchronously.
+   * Ranges close to each other are merged into a single read, the merged
+   * reads are issued concurrently, and each range is completed with a slice
+   * of the buffer of the merged read it belongs to.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    List<FileRange> sortedRanges = validateAndSort(ranges);
+    for (FileRange range : ranges) {
+      range.setData(new CompletableFuture<>());
+    }
+    for (MergedRange mergedRange : merge(sortedRanges,
+        minSeekForVectorReads(), maxReadSizeForVectorReads())) {
+      VECTORED_READ_EXECUTOR.execute(
+          () -> readMergedRange(mergedRange, allocate));
+    }
+  }
+
+  private void readMergedRange(MergedRange mergedRange,
+      IntFunction<ByteBuffer> allocate) {
+    try {
+      ByteBuffer buffer = allocate.apply(mergedRange.getLength());
+      readFully(mergedRange.getOffset(), buffer);
+      buffer.flip();
+      for (FileRange range : mergedRange.getRanges()) {
+        range.getData().complete(
+            slice(buffer, mergedRange.getOffset(), range));
+      }
+    } catch (Exception e) {
+      for (FileRange range : mergedRange.getRanges()) {
+        range.getData().completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * @return the ranges sorted by offset
+   * @throws EOFException if a range starts at a negative offset
+   * @throws IllegalArgumentException if a range has a negative length or
+   * ranges overlap
+   */
+  static List<FileRange> validateAndSort(List<? extends FileRange> ranges)
+      throws EOFException {
+    List<FileRange> sorted = new ArrayList<>(ranges.size());
+    for (FileRange range : ranges) {
+      if (range.getLength() < 0) {
+        throw new IllegalArgumentException("Negative length in " + range);
+      }
+      if (range.getOffset() < 0) {
+        throw new EOFException("Negative position in " + range);
+      }
+      sorted.add(range);
+    }
+    sorted.sort(Comparator.comparingLong(FileRange::getOffset));
+    for (int i = 1; i < sorted.size(); i++) {
+      FileRange previous = sorted.get(i - 1);
+      FileRange current = sorted.get(i);
+      if (previous.getOffset() + previous.getLength() > current.getOffset()) {
+        throw new IllegalArgumentException(
+            "Overlapping ranges " + previous + " and " + current);
+      }
+    }
+    return sorted;
+  }
+
+  /**
+   * Merges sorted, non-overlapping ranges whose gap is at most
+   * {@code minSeek} bytes, as long as the merged read stays within
+   * {@code maxSize} bytes.
+   */
+  static List<MergedRange> merge(List<FileRange> sortedRanges, int minSeek,
+      int maxSize) {
+    List<MergedRange> merged = new ArrayList<>();
+    MergedRange current = null;
+    for (FileRange range : sortedRanges) {
+      long end = range.getOffset() + range.getLength();
+      if (current == null
+          || range.getOffset() - current.end > minSeek
+          || end - current.offset > maxSize) {
+        current = new MergedRange(range.getOffset());
+        merged.add(current);
+      }
+      current.ranges.add(range);
+      current.end = end;
+    }
+    return merged;
+  }
+
+  /**
+   * @return the part of {@code buffer}, which holds the data starting at
+   * {@code bufferOffset}, that belongs to {@code range}
+   */
+  static ByteBuffer slice(ByteBuffer buffer, long bufferOffset,
+      FileRange range) {
+    int start = (int) (range.getOffset() - bufferOffset);
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(start);
+    slice.limit(start + range.getLength());
+    return slice.slice();
+  }
+
+  /**
+   * Consecutive ranges read together into a single buffer.
+   */
+  static final class MergedRange {
+    private final long offset;
+    private long end;
+    private final List<FileRange> ranges = new ArrayList<>();
+
+    private MergedRange(long offset) {
+      this.offset = offset;
+      this.end = offset;
+    }
+
+    long getOffset() {
+      return offset;
+    }
+
+    int getLength() {
+      return (int) (end - offset);
+    }
+
+    List<FileRange> getRanges() {
+      return ranges;
+    }
+  }
+}
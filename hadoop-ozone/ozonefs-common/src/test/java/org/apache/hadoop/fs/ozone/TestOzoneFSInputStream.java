@@ -24,23 +24,30 @@
 import org.apache.hadoop.crypto.CryptoCodec;
 import org.apache.hadoop.crypto.CryptoInputStream;
 import org.apache.hadoop.crypto.Decryptor;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.fs.StreamCapabilities;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
 
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.IntFunction;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
@@ -133,11 +140,15 @@ public void testStreamCapability() throws IOException {
     final OzoneFSInputStream subject = createTestSubject(emptyStream());
     CapableOzoneFSInputStream capableOzoneFSInputStream = null;
     try {
-      capableOzoneFSInputStream = new CapableOzoneFSInputStream(subject,
+      capableOzoneFSInputStream = CapableOzoneFSInputStream.create(subject,
           new FileSystem.Statistics("test"));
 
       assertTrue(capableOzoneFSInputStream.
           hasCapability(StreamCapabilities.READBYTEBUFFER));
+      assertTrue(capableOzoneFSInputStream.
+          hasCapability(StreamCapabilities.PREADBYTEBUFFER));
+      assertTrue(capableOzoneFSInputStream.
+          hasCapability(StreamCapabilities.VECTOREDIO));
     } finally {
       if (capableOzoneFSInputStream != null) {
         capableOzoneFSInputStream.close();
@@ -145,6 +156,117 @@ public void testStreamCapability() throws IOException {
     }
   }
 
+  @Test
+  public void positionedReadToByteBuffer() throws IOException {
+    final byte[] source = RandomUtils.nextBytes(100);
+    for (IntFunction<ByteBuffer> constructor : BUFFER_CONSTRUCTORS) {
+      try (CapableOzoneFSInputStream subject = new CapableOzoneFSInputStream(
+          new SeekableByteArrayInputStream(source),
+          new FileSystem.Statistics("test"))) {
+        subject.seek(7);
+
+        final ByteBuffer buf = constructor.apply(30);
+        subject.readFully(40, buf);
+        buf.flip();
+        final byte[] content = new byte[30];
+        buf.get(content);
+        assertArrayEquals(Arrays.copyOfRange(source, 40, 70), content);
+        assertEquals(7, subject.getPos());
+
+        buf.clear();
+        assertEquals(10, subject.read(90, buf));
+        buf.clear();
+        assertEquals(-1, subject.read(100, buf));
+        assertEquals(7, subject.getPos());
+      }
+    }
+  }
+
+  @Test
+  public void testVectoredReadCapabilityOnlyWithVectoredStream()
+      throws IOException {
+    try (CapableOzoneFSInputStream subject = new CapableOzoneFSInputStream(
+        emptyStream(), new FileSystem.Statistics("test"))) {
+      assertTrue(subject.hasCapability(StreamCapabilities.PREADBYTEBUFFER));
+      assertFalse(subject.hasCapability(StreamCapabilities.VECTOREDIO));
+    }
+  }
+
+  @Test
+  public void readVectored() throws Exception {
+    final byte[] source = RandomUtils.nextBytes(10_000);
+    for (IntFunction<ByteBuffer> constructor : BUFFER_CONSTRUCTORS) {
+      try (VectoredOzoneFSInputStream subject = new VectoredOzoneFSInputStream(
+          new SeekableByteArrayInputStream(source),
+          new FileSystem.Statistics("test"))) {
+        final List<FileRange> ranges = new ArrayList<>();
+        // out of order, some close enough to be merged
+        ranges.add(FileRange.createFileRange(8_000, 1_000));
+        ranges.add(FileRange.createFileRange(0, 100));
+        ranges.add(FileRange.createFileRange(150, 50));
+        ranges.add(FileRange.createFileRange(9_500, 500));
+
+        subject.readVectored(ranges, constructor);
+
+        for (FileRange range : ranges) {
+          final ByteBuffer buf = range.getData().get(10, TimeUnit.SECONDS);
+          final byte[] content = new byte[range.getLength()];
+          buf.get(content);
+          assertArrayEquals(Arrays.copyOfRange(source,
+              (int) range.getOffset(),
+              (int) range.getOffset() + range.getLength()), content);
+        }
+        assertEquals(0, subject.getPos());
+      }
+    }
+  }
+
+  @Test
+  public void mergeVectoredRanges() throws IOException {
+    final List<FileRange> sorted = VectoredOzoneFSInputStream.validateAndSort(
+        Arrays.asList(FileRange.createFileRange(8_000, 1_000),
+            FileRange.createFileRange(0, 100),
+            FileRange.createFileRange(150, 50),
+            FileRange.createFileRange(9_500, 500)));
+    assertEquals(0, sorted.get(0).getOffset());
+    assertEquals(9_500, sorted.get(3).getOffset());
+
+    final List<VectoredOzoneFSInputStream.MergedRange> merged =
+        VectoredOzoneFSInputStream.merge(sorted, 100, 1_500);
+    assertEquals(3, merged.size());
+    assertEquals(0, merged.get(0).getOffset());
+    assertEquals(200, merged.get(0).getLength());
+    assertEquals(2, merged.get(0).getRanges().size());
+    // gap of 500 bytes is above the minimum seek
+    assertEquals(8_000, merged.get(1).getOffset());
+    assertEquals(1_000, merged.get(1).getLength());
+    assertEquals(9_500, merged.get(2).getOffset());
+
+    // the same ranges split by the maximum read size
+    assertEquals(4, VectoredOzoneFSInputStream.merge(sorted, 10_000, 150)
+        .size());
+
+    final ByteBuffer buffer = ByteBuffer.wrap(RandomUtils.nextBytes(200));
+    final ByteBuffer slice = VectoredOzoneFSInputStream.slice(buffer, 0,
+        sorted.get(1));
+    assertEquals(50, slice.remaining());
+    assertEquals(buffer.get(150), slice.get(0));
+  }
+
+  @Test
+  public void invalidVectoredRanges() {
+    assertThrows(IllegalArgumentException.class,
+        () -> VectoredOzoneFSInputStream.validateAndSort(Arrays.asList(
+            FileRange.createFileRange(100, 50),
+            FileRange.createFileRange(0, 101))));
+    assertThrows(IllegalArgumentException.class,
+        () -> VectoredOzoneFSInputStream.validateAndSort(Arrays.asList(
+            FileRange.createFileRange(0, -1))));
+    assertThrows(EOFException.class,
+        () -> VectoredOzoneFSInputStream.validateAndSort(Arrays.asList(
+            FileRange.createFileRange(-1, 10))));
+  }
+
   @Test
   public void testCryptoStreamUnbuffer()
       throws IOException, GeneralSecurityException {
@@ -175,6 +297,32 @@ private static InputStream emptyStream() {
     return new ByteArrayInputStream(new byte[0]);
   }
 
+  private static final class SeekableByteArrayInputStream
+      extends ByteArrayInputStream implements Seekable {
+
+    SeekableByteArrayInputStream(byte[] buf) {
+      super(buf);
+    }
+
+    @Override
+    public synchronized void seek(long newPos) throws IOException {
+      if (newPos > count) {
+        throw new EOFException("Seek past EOF: " + newPos);
+      }
+      pos = (int) newPos;
+    }
+
+    @Override
+    public synchronized long getPos() {
+      return pos;
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPos) {
+      return false;
+    }
+  }
+
   private static InputStream eofStream() {
     return new InputStream() {
       @Override
@@ -100,7 +100,7 @@ protected OzoneClientAdapter createAdapter(ConfigurationSource conf,
 
   @Override
   protected InputStream createFSInputStream(InputStream inputStream) {
-    return new CapableOzoneFSInputStream(inputStream, statistics);
+    return CapableOzoneFSInputStream.create(inputStream, statistics);
   }
 
   @Override
@@ -24,6 +24,7 @@
 import org.apache.hadoop.ozone.audit.S3GAction;
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneKey;
+import org.apache.hadoop.ozone.client.OzoneKeyListing;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadList;
 import org.apache.hadoop.ozone.client.OzoneVolume;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
@@ -117,6 +118,7 @@ public Response get(
     PerformanceStringBuilder perf = new PerformanceStringBuilder();
 
     Iterator<? extends OzoneKey> ozoneKeyIterator = null;
+    OzoneKeyListing keyListing = null;
     ContinueToken decodedToken =
         ContinueToken.decodeFromString(continueToken);
     OzoneBucket bucket = null;
@@ -156,7 +158,13 @@ public Response get(
           && OZONE_URI_DELIMITER.equals(delimiter);
 
       bucket = getBucket(bucketName);
-      ozoneKeyIterator = bucket.listKeys(prefix, prevKey, shallow);
+      if (StringUtils.isNotEmpty(delimiter)) {
+        keyListing = listKeysWithDelimiter(bucket, prefix, delimiter, prevKey,
+            maxKeys);
+      }
+      if (keyListing == null) {
+        ozoneKeyIterator = bucket.listKeys(prefix, prevKey, shallow);
+      }
 
     } catch (OMException ex) {
       AUDIT.logReadFailure(
@@ -203,6 +211,25 @@ public Response get(
     response.setStartAfter(
         EncodingTypeObject.createNullable(startAfter, encodingType));
 
+    if (keyListing != null) {
+      for (String commonPrefix : keyListing.getCommonPrefixes()) {
+        response.addPrefix(
+            EncodingTypeObject.createNullable(commonPrefix, encodingType));
+      }
+      for (OzoneKey key : keyListing.getKeys()) {
+        addKey(response, key);
+      }
+      if (keyListing.isTruncated()) {
+        response.setTruncated(true);
+        String lastKey = keyListing.getNextStartKey();
+        response.setNextToken(
+            new ContinueToken(lastKey, null).encodeToString());
+        // Set nextMarker to be lastKey. for the compatibility of aws api v1
+        response.setNextMarker(lastKey);
+      }
+      return listSucceeded(response, s3GAction, startNanos, perf);
+    }
+
     String prevDir = null;
     if (continueToken != null) {
       prevDir = decodedToken.getLastDir();
@@ -270,6 +297,11 @@ public Response get(
       response.setTruncated(false);
     }
 
+    return listSucceeded(response, s3GAction, startNanos, perf);
+  }
+
+  private Response listSucceeded(ListObjectResponse response,
+      S3GAction s3GAction, long startNanos, PerformanceStringBuilder perf) {
     int keyCount =
         response.getCommonPrefixes().size() + response.getContents().size();
     long opLatencyNs =
@@ -283,6 +315,33 @@ public Response get(
     return Response.ok(response).build();
   }
 
+  /**
+   * Lists the keys in Ozone Manager, which rolls up the keys into common
+   * prefixes without iterating over the keys under them.
+   *
+   * @return null if Ozone Manager does not support it for the bucket, and
+   * the keys have to be rolled up by the gateway
+   */
+  private OzoneKeyListing listKeysWithDelimiter(OzoneBucket bucket,
+      String prefix, String delimiter, String startAfter, int maxKeys)
+      throws IOException {
+    if (bucket.getBucketLayout().isFileSystemOptimized()
+        && !OZONE_URI_DELIMITER.equals(delimiter)) {
+      return null;
+    }
+    try {
+      return bucket.listKeysWithDelimiter(prefix, delimiter, startAfter,
+          maxKeys);
+    } catch (OMException ex) {
+      if (ex.getResult() == ResultCodes.NOT_SUPPORTED_OPERATION) {
+        LOG.debug("Listing keys with delimiter is not supported, falling back"
+            + " to listing all keys of bucket {}", bucket.getName());
+        return null;
+      }
+      throw ex;
+    }
+  }
+
   @PUT
   public Response put(@PathParam("bucket") String bucketName,
                       @QueryParam("acl") String aclMarker,
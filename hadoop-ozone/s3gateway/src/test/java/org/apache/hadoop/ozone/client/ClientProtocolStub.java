@@ -269,6 +269,13 @@ public List<OzoneKey> listKeys(String volumeName, String bucketName,
     return null;
   }
 
+  @Override
+  public OzoneKeyListing listKeysWithDelimiter(String volumeName,
+      String bucketName, String keyPrefix, String delimiter, String startAfter,
+      int maxKeys) throws IOException {
+    return null;
+  }
+
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName, String bucketName,
                                            String startKeyName,
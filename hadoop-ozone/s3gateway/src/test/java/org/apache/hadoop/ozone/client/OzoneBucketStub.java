@@ -344,6 +344,14 @@ public Iterator<? extends OzoneKey> listKeys(String keyPrefix,
         .iterator();
   }
 
+  @Override
+  public OzoneKeyListing listKeysWithDelimiter(String keyPrefix,
+      String delimiter, String startAfter, int maxKeys) throws IOException {
+    // like an Ozone Manager without support for it, the keys are listed by
+    // the gateway
+    throw new OMException(ResultCodes.NOT_SUPPORTED_OPERATION);
+  }
+
   public Iterator<? extends OzoneKey> listKeys(String keyPrefix,
       String prevKey, boolean shallow) throws IOException {
     if (!shallow) {
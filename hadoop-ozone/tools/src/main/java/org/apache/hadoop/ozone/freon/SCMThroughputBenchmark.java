@@ -36,6 +36,7 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.StorageTypeProto;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
@@ -70,10 +71,12 @@
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -95,6 +98,11 @@
  * - allocate containers (ops)
  * - process reports(container reports only) (ops)
  *
+ * With --hot-datanodes, some of the fake datanodes report nearly full disks
+ * with most of the free space committed to open containers.  The block
+ * allocation benchmark then also reports how many blocks were placed on
+ * these datanodes, to compare pipeline choose policies under skewed load.
+ *
  * Remember to add the following configs to your ozone-site.xml:
  * - ozone.scm.heartbeat.thread.interval: 1h
  * - hdds.heartbeat.interval: 1h
@@ -153,6 +161,11 @@ public enum BenchmarkType {
       defaultValue = "10")
   private int numDatanodes = 10;
 
+  @CommandLine.Option(names = {"--hot-datanodes"},
+      description = "Number of fake datanodes reporting high load.",
+      defaultValue = "0")
+  private int numHotDatanodes = 0;
+
   @CommandLine.Option(names = {"--num-threads"},
       description = "Number of scm client threads.",
       defaultValue = "4")
@@ -179,6 +192,8 @@ public enum BenchmarkType {
 
   private List<FakeDatanode> datanodes;
 
+  private final Set<UUID> hotDatanodes = new HashSet<>();
+
   private StorageContainerDatanodeProtocol datanodeScmClient;
 
   private StorageContainerLocationProtocol scmContainerClient;
@@ -252,12 +267,17 @@ private void registerFakeDatanodes() throws IOException {
     datanodes = new ArrayList<>();
 
     for (int i = 0; i < numDatanodes; i++) {
-      FakeDatanode dn = new FakeDatanode();
+      boolean hot = i < numHotDatanodes;
+      FakeDatanode dn = new FakeDatanode(hot);
       dn.register();
       datanodes.add(dn);
+      if (hot) {
+        hotDatanodes.add(dn.getDatanodeDetails().getUuid());
+      }
     }
 
-    LOG.info("Registered datanode(fake): {}", numDatanodes);
+    LOG.info("Registered datanode(fake): {}, hot: {}", numDatanodes,
+        hotDatanodes.size());
   }
 
   /**
@@ -440,6 +460,7 @@ private class BlockBenchmark extends ThroughputBenchmark {
     private AtomicLong totalBlockCounter;
     private AtomicLong succBlockCounter;
     private AtomicLong failBlockCounter;
+    private AtomicLong hotBlockCounter;
     private int totalBlocks;
     private long blockSize;
 
@@ -450,6 +471,7 @@ private class BlockBenchmark extends ThroughputBenchmark {
       this.totalBlockCounter = new AtomicLong();
       this.succBlockCounter = new AtomicLong();
       this.failBlockCounter = new AtomicLong();
+      this.hotBlockCounter = new AtomicLong();
       ReplicationConfig rc = replication.fromParamsOrConfig(conf);
       if (rc == null) {
         rc = RatisReplicationConfig.getInstance(ReplicationFactor.THREE);
@@ -484,6 +506,11 @@ public void showSummary() {
           succBlockCounter.get());
       System.out.printf("Total failed blocks: %d%n",
           failBlockCounter.get());
+      if (!hotDatanodes.isEmpty()) {
+        System.out.printf("Blocks on hot datanodes: %d (%.1f%%)%n",
+            hotBlockCounter.get(), blocks != 0
+                ? 100f * hotBlockCounter.get() / blocks : 0f);
+      }
       System.out.printf("Execution Time: %s%n", getFormattedTime());
       System.out.printf("Throughput: %f (ops)%n", blocksPerSec);
       System.out.println("***************************************");
@@ -500,8 +527,17 @@ public void waitForComplete() throws InterruptedException {
 
     private void doAllocateBlock(long size, ReplicationConfig config) {
       try {
-        scmBlockClient.allocateBlock(size, 1, config, "STB", excludeList);
+        List<AllocatedBlock> allocated = scmBlockClient.allocateBlock(
+            size, 1, config, "STB", excludeList);
         succBlockCounter.incrementAndGet();
+        if (!hotDatanodes.isEmpty()) {
+          for (AllocatedBlock block : allocated) {
+            if (block.getPipeline().getNodes().stream()
+                .anyMatch(dn -> hotDatanodes.contains(dn.getUuid()))) {
+              hotBlockCounter.incrementAndGet();
+            }
+          }
+        }
       } catch (IOException e) {
         LOG.error("Failed to allocate block", e);
         failBlockCounter.incrementAndGet();
@@ -797,16 +833,18 @@ public void run() {
   private class FakeDatanode {
     private DatanodeDetails datanodeDetails;
     private ContainerReportsProto containerReport;
+    private final boolean hot;
 
-    FakeDatanode() {
+    FakeDatanode(boolean hot) {
       datanodeDetails = createRandomDatanodeDetails();
       containerReport = null;
+      this.hot = hot;
     }
 
     public void register() throws IOException {
       SCMRegisteredResponseProto response = datanodeScmClient.register(
           datanodeDetails.getExtendedProtoBufMessage(),
-          createNodeReport(datanodeDetails.getUuid()),
+          createNodeReport(datanodeDetails.getUuid(), hot),
           createContainerReport(),
           createPipelineReport(),
           UpgradeUtils.defaultLayoutVersionProto());
@@ -882,11 +920,12 @@ private static DatanodeDetails createRandomDatanodeDetails() {
     return builder.build();
   }
 
-  private static NodeReportProto createNodeReport(UUID nodeId) {
+  private static NodeReportProto createNodeReport(UUID nodeId,
+      boolean hot) {
     List<StorageReportProto> storageReports = new ArrayList<>();
     List<MetadataStorageReportProto> metadataStorageReports =
         new ArrayList<>();
-    storageReports.add(createStorageReport(nodeId));
+    storageReports.add(createStorageReport(nodeId, hot));
     metadataStorageReports.add(createMetadataStorageReport());
     NodeReportProto.Builder nb = NodeReportProto.newBuilder();
     nb.addAllStorageReport(storageReports)
@@ -894,14 +933,18 @@ private static NodeReportProto createNodeReport(UUID nodeId) {
     return nb.build();
   }
 
-  private static StorageReportProto createStorageReport(UUID nodeId) {
+  private static StorageReportProto createStorageReport(UUID nodeId,
+      boolean hot) {
+    long used = hot ? 80 * OzoneConsts.TB : 0;
+    long committed = hot ? 15 * OzoneConsts.TB : 0;
     StorageReportProto.Builder srb = StorageReportProto.newBuilder();
     srb.setStorageUuid(nodeId.toString())
         .setStorageLocation("/data")
         .setCapacity(100 * OzoneConsts.TB)
-        .setScmUsed(0)
+        .setScmUsed(used)
+        .setCommitted(committed)
         .setFailed(false)
-        .setRemaining(100 * OzoneConsts.TB)
+        .setRemaining(100 * OzoneConsts.TB - used)
         .setStorageType(StorageTypeProto.DISK);
     return srb.build();
   }